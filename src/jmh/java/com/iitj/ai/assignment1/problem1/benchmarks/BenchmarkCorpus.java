@@ -0,0 +1,81 @@
+package com.iitj.ai.assignment1.problem1.benchmarks;
+
+import com.iitj.ai.assignment1.problem1.PuzzleState;
+
+import java.util.*;
+
+/**
+ * BenchmarkCorpus - Fixed set of solvable start states, bucketed by optimal
+ * solution depth, for the JMH benchmarks.
+ *
+ * The exact distance of every solvable state is computed once by a BFS from
+ * the goal over permutation ranks (181,440 states). Each bucket then takes
+ * up to INSTANCES_PER_BUCKET states of exactly that depth, in an order fixed
+ * by a seeded shuffle, so every run and every machine measures the same boards.
+ * Depth 31 has only two states; that bucket holds both.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class BenchmarkCorpus {
+
+    public static final int INSTANCES_PER_BUCKET = 16;
+    private static final long SEED = 20240131L;
+
+    private static byte[] distances;
+
+    private BenchmarkCorpus() {
+    }
+
+    /** Optimal depth of every permutation rank (-1 = unsolvable). */
+    static synchronized byte[] distances() {
+        if (distances != null) return distances;
+        byte[] dist = new byte[PuzzleState.PERMUTATIONS];
+        Arrays.fill(dist, (byte) -1);
+        int[] queue = new int[PuzzleState.PERMUTATIONS / 2];
+        int head = 0, tail = 0;
+        int goal = PuzzleState.rank(PuzzleState.GOAL);
+        dist[goal] = 0;
+        queue[tail++] = goal;
+        int[] state = new int[9];
+        while (head < tail) {
+            int r = queue[head++];
+            PuzzleState.unrank(r, state);
+            for (int[] next : PuzzleState.getNeighbors(state)) {
+                int nr = PuzzleState.rank(next);
+                if (dist[nr] < 0) {
+                    dist[nr] = (byte) (dist[r] + 1);
+                    queue[tail++] = nr;
+                }
+            }
+        }
+        distances = dist;
+        return dist;
+    }
+
+    /** Start states whose optimal solution has exactly 'depth' moves. */
+    public static int[][] bucket(int depth) {
+        byte[] dist = distances();
+        List<Integer> ranks = new ArrayList<>();
+        for (int r = 0; r < dist.length; r++) {
+            if (dist[r] == depth) ranks.add(r);
+        }
+        if (ranks.isEmpty()) throw new IllegalArgumentException("no state at depth " + depth);
+        Collections.shuffle(ranks, new Random(SEED + depth));
+        int n = Math.min(INSTANCES_PER_BUCKET, ranks.size());
+        int[][] states = new int[n][9];
+        for (int i = 0; i < n; i++) {
+            PuzzleState.unrank(ranks.get(i), states[i]);
+        }
+        return states;
+    }
+
+    /** Print the corpus, one "depth board" line per instance. */
+    public static void main(String[] args) {
+        for (int depth : new int[]{5, 10, 15, 20, 25, 31}) {
+            for (int[] s : bucket(depth)) {
+                System.out.println(depth + " " + PuzzleState.stateToString(s));
+            }
+        }
+    }
+}
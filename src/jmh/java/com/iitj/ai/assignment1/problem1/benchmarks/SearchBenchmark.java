@@ -0,0 +1,109 @@
+package com.iitj.ai.assignment1.problem1.benchmarks;
+
+import com.iitj.ai.assignment1.problem1.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SearchBenchmark - JMH benchmarks for every problem1 search algorithm.
+ *
+ * Each operation solves one start state from the BenchmarkCorpus bucket of the
+ * given optimal depth; a per-thread cursor walks through the bucket so every
+ * instance is measured equally often. Solvers are shared, thread-safe
+ * instances, exactly as an embedding application would use them.
+ *
+ * Run with allocation rates (gc profiler) and JSON output for comparisons:
+ *   mvn -Pjmh compile exec:exec
+ *   mvn -Pjmh compile exec:exec -Djmh.args="SearchBenchmark.aStarH2 -p depth=20 -prof gc"
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    @Param({"5", "10", "15", "20", "25", "31"})
+    public int depth;
+
+    private int[][] instances;
+
+    private static final Solver BFS = new BFSSearch();
+    private static final Solver DFS = new DFSSearch();
+    private static final Solver GREEDY = new GreedyBestFirstSearch();
+    private static final Solver ASTAR_H1 = new AStarSearch(true);
+    private static final Solver ASTAR_H2 = new AStarSearch(false);
+    private static final Solver IDA_STAR = new IDAStarSearch(false);
+    private static final Solver ANNEALING = new SimulatedAnnealingSearch();
+    private static final Solver ALPHA_BETA =
+            new AdversarialSearch(AdversarialSearch.Variant.ALPHA_BETA, 6);
+
+    @Setup(Level.Trial)
+    public void loadCorpus() {
+        instances = BenchmarkCorpus.bucket(depth);
+    }
+
+    /** Round-robin position in the bucket, one per benchmark thread. */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = 0;
+
+        int[] pick(int[][] instances) {
+            int[] s = instances[next];
+            next = (next + 1) % instances.length;
+            return s;
+        }
+    }
+
+    // -------------------- Uninformed --------------------
+
+    @Benchmark
+    public SearchResult bfs(Cursor cursor) {
+        return BFS.solve(cursor.pick(instances));
+    }
+
+    @Benchmark
+    public SearchResult dfs(Cursor cursor) {
+        return DFS.solve(cursor.pick(instances));
+    }
+
+    // -------------------- Informed --------------------
+
+    @Benchmark
+    public SearchResult greedy(Cursor cursor) {
+        return GREEDY.solve(cursor.pick(instances));
+    }
+
+    @Benchmark
+    public SearchResult aStarH1(Cursor cursor) {
+        return ASTAR_H1.solve(cursor.pick(instances));
+    }
+
+    @Benchmark
+    public SearchResult aStarH2(Cursor cursor) {
+        return ASTAR_H2.solve(cursor.pick(instances));
+    }
+
+    @Benchmark
+    public SearchResult idaStar(Cursor cursor) {
+        return IDA_STAR.solve(cursor.pick(instances));
+    }
+
+    // -------------------- Local and Adversarial --------------------
+
+    @Benchmark
+    public SearchResult simulatedAnnealing(Cursor cursor) {
+        return ANNEALING.solve(cursor.pick(instances));
+    }
+
+    @Benchmark
+    public SearchResult alphaBeta(Cursor cursor) {
+        return ALPHA_BETA.solve(cursor.pick(instances));
+    }
+}
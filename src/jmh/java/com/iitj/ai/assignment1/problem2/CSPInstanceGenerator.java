@@ -0,0 +1,73 @@
+package com.iitj.ai.assignment1.problem2;
+
+import java.util.*;
+
+/**
+ * CSPInstanceGenerator - Random Security Bot Scheduling instances for the
+ * CSP scaling benchmarks.
+ *
+ * An instance has 'slots' variables, 'bots' values and the usual constraints
+ * (no back-to-back, minimum coverage) plus random unary exclusions. To keep
+ * every instance satisfiable, a hidden solution is planted first: the first
+ * 'bots' slots get a random permutation of all bots, every later slot a random
+ * bot different from its predecessor. Each (slot, bot) pair not used by the
+ * planted solution is then excluded with probability 'density'.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+final class CSPInstanceGenerator {
+
+    private CSPInstanceGenerator() {
+    }
+
+    /** Bot names: A..Z, then Bot26, Bot27, ... */
+    static String botName(int i) {
+        return i < 26 ? String.valueOf((char) ('A' + i)) : "Bot" + i;
+    }
+
+    /**
+     * Generate an instance and make it the current CSPFramework problem.
+     * @return the planted solution
+     */
+    static String[] configure(int slots, int bots, double density, long seed) {
+        if (bots < 2 || slots < bots) {
+            throw new IllegalArgumentException("need 2 <= bots <= slots for coverage, got "
+                    + bots + " bots / " + slots + " slots");
+        }
+        Random rng = new Random(seed);
+        String[] names = new String[bots];
+        for (int i = 0; i < bots; i++) names[i] = botName(i);
+
+        // Planted solution: a permutation of all bots, then random non-repeating bots
+        List<String> order = new ArrayList<>(Arrays.asList(names));
+        Collections.shuffle(order, rng);
+        String[] planted = new String[slots];
+        for (int i = 0; i < slots; i++) {
+            if (i < bots) {
+                planted[i] = order.get(i);
+            } else {
+                String bot;
+                do {
+                    bot = names[rng.nextInt(bots)];
+                } while (bot.equals(planted[i - 1]));
+                planted[i] = bot;
+            }
+        }
+
+        // Unary exclusions that never touch the planted solution
+        List<Set<String>> excluded = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            Set<String> ex = new HashSet<>();
+            if (density > 0) {
+                for (String bot : names) {
+                    if (!bot.equals(planted[i]) && rng.nextDouble() < density) ex.add(bot);
+                }
+            }
+            excluded.add(ex);
+        }
+
+        CSPFramework.configure(names, slots, excluded);
+        return planted;
+    }
+}
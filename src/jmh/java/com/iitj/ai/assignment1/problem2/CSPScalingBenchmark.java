@@ -0,0 +1,148 @@
+package com.iitj.ai.assignment1.problem2;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSPScalingBenchmark - JMH scaling benchmarks for the CSP solvers.
+ *
+ * Instances come from CSPInstanceGenerator ("slots x bots", exclusion density,
+ * fixed seed) and are solved on bitset domains (Domains):
+ *   mrvForwardChecking : BacktrackingSearch (MRV + Forward Checking)
+ *   mrvBackjumping     : the same with backjumping and nogoods
+ *   ac3Backtracking    : ArcConsistency.ac2001 + backtracking with MRV
+ *   ac3Only            : ArcConsistency.ac3 alone (the textbook queue)
+ *   ac2001Only         : ArcConsistency.ac2001 alone (deduplicated queue)
+ * Each call includes building the domains. The solvers stop after
+ * budgetPerSlot * slots assignments, so sizes they cannot handle show up as
+ * budgetExhausted instead of never finishing. One iteration always completes
+ * at least one call, so the largest sizes (seconds per call) still report.
+ *
+ * Auxiliary counters are totals per iteration; divide by 'solves' for
+ * per-call values:
+ *   assignments, revisions, arcs, backjumps, nogoods, solves, solved, budgetExhausted
+ * (arcs = arcs revised, counted by the AC-only benchmarks; backjumps = levels
+ * skipped and nogoods = nogoods learned, by mrvBackjumping)
+ *
+ *   mvn -Pjmh compile exec:exec -Djmh.args="CSPScalingBenchmark -prof gc"
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Xss512m"})
+@State(Scope.Benchmark)
+public class CSPScalingBenchmark {
+
+    /** "slots x bots"; bots never exceed slots (coverage must be possible). */
+    @Param({"4x3", "16x3", "100x3", "100x10", "1000x10", "1000x100", "10000x3", "10000x100"})
+    public String size;
+
+    /** Probability that a (slot, bot) pair outside the planted solution is excluded. */
+    @Param({"0.0", "0.2", "0.5"})
+    public double density;
+
+    /** Assignment budget per solve, per slot (a solution needs at least one per slot). */
+    @Param({"4"})
+    public int budgetPerSlot;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        String[] parts = size.split("x");
+        int slots = Integer.parseInt(parts[0]);
+        CSPInstanceGenerator.configure(slots, Integer.parseInt(parts[1]), density, 42L);
+        CSPFramework.assignmentLimit = budgetPerSlot * slots;
+    }
+
+    /** Search effort, reported next to the timing. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Effort {
+        public long assignments;
+        public long revisions;
+        public long arcs;
+        public long backjumps;
+        public long nogoods;
+        public long solves;
+        public long solved;
+        public long budgetExhausted;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            assignments = revisions = arcs = backjumps = nogoods = solves = solved = budgetExhausted = 0;
+        }
+
+        void record(int[] assignment, int made) {
+            solves++;
+            assignments += made;
+            if (isComplete(assignment)) solved++;
+            else if (made >= CSPFramework.assignmentLimit) budgetExhausted++;
+        }
+
+        private static boolean isComplete(int[] assignment) {
+            for (int bot : assignment) {
+                if (bot == CSPFramework.UNASSIGNED) return false;
+            }
+            return true;
+        }
+    }
+
+    @Benchmark
+    public int[] mrvForwardChecking(Effort effort) {
+        Domains domains = CSPFramework.initDomains();
+        int[] assignment = CSPFramework.emptyAssignment();
+        effort.record(assignment, BacktrackingSearch.solve(assignment, domains));
+        return assignment;
+    }
+
+    @Benchmark
+    public int[] mrvBackjumping(Effort effort) {
+        Domains domains = CSPFramework.initDomains();
+        int[] assignment = CSPFramework.emptyAssignment();
+        BacktrackingSearch.backjumping = true;
+        try {
+            int made = BacktrackingSearch.solve(assignment, domains);
+            effort.backjumps += BacktrackingSearch.backjumps();
+            effort.nogoods += BacktrackingSearch.nogoodsLearned();
+            effort.record(assignment, made);
+        } finally {
+            BacktrackingSearch.backjumping = false;
+        }
+        return assignment;
+    }
+
+    @Benchmark
+    public int[] ac3Backtracking(Effort effort) {
+        Domains domains = CSPFramework.initDomains();
+        int[] assignment = CSPFramework.emptyAssignment();
+        int[] revisions = new int[1];
+        int made = ArcConsistency.solve(assignment, domains, revisions);
+        effort.revisions += revisions[0];
+        effort.record(assignment, made);
+        return assignment;
+    }
+
+    @Benchmark
+    public boolean ac3Only(Effort effort) {
+        int[] revisions = new int[2];
+        boolean consistent = ArcConsistency.ac3(CSPFramework.initDomains(), revisions, false);
+        effort.revisions += revisions[0];
+        effort.arcs += revisions[1];
+        effort.solves++;
+        return consistent;
+    }
+
+    @Benchmark
+    public boolean ac2001Only(Effort effort) {
+        int[] revisions = new int[2];
+        boolean consistent = ArcConsistency.ac2001(CSPFramework.initDomains(), revisions, false);
+        effort.revisions += revisions[0];
+        effort.arcs += revisions[1];
+        effort.solves++;
+        return consistent;
+    }
+}
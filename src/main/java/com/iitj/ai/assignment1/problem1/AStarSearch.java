@@ -1,4 +1,8 @@
-import java.util.*;
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
 
 /**
  * A* Search for the Manuscript Sorting Problem.
@@ -9,6 +13,11 @@ import java.util.*;
  *   h2: Total Manhattan Distance (dominates h1)
  * Optimal when heuristic is admissible. Both h1 and h2 are admissible.
  *
+ * Implements Solver: the search runs in the calling thread's SearchWorkspace
+ * (packed states, primitive arrays), so one instance can be shared freely.
+ * With a SolutionMemo, every solved path is recorded in it and searches stop
+ * early at states whose optimal distance is already known.
+ *
  * Time Complexity : O(b^d) - depends on heuristic quality
  * Space Complexity: O(b^d) - stores all generated states
  * Optimal         : Yes (with admissible heuristic)
@@ -16,88 +25,56 @@ import java.util.*;
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
  */
-public class AStarSearch {
+public final class AStarSearch implements Solver {
 
-    // Node for priority queue: ordered by f = g + h
-    static class Node implements Comparable<Node> {
-        int[] state;
-        int g;  // path cost
-        int h;  // heuristic value
-        int f;  // total estimated cost
-        String key;
+    private final boolean useH1;
+    private final SolutionMemo memo;     // null = none
+    private final SearchMetrics metrics;
 
-        Node(int[] state, int g, int h) {
-            this.state = state;
-            this.g = g;
-            this.h = h;
-            this.f = g + h;
-            this.key = Arrays.toString(state);
-        }
-
-        public int compareTo(Node o) {
-            if (this.f != o.f) return Integer.compare(this.f, o.f);
-            return Integer.compare(this.h, o.h); // tie-break: prefer lower h
-        }
+    /**
+     * @param useH1 true = h1 (misplaced tiles), false = h2 (Manhattan distance)
+     */
+    public AStarSearch(boolean useH1) {
+        this(useH1, null);
     }
 
     /**
-     * Run A* with specified heuristic.
      * @param useH1 true = h1 (misplaced tiles), false = h2 (Manhattan distance)
+     * @param memo  optimal suffixes shared with other solvers, or null
      */
-    static void runAStar(int[] initial, boolean useH1) {
-        String hName = useH1 ? "h1 - Misplaced Tiles" : "h2 - Manhattan Distance";
-        long startTime = System.currentTimeMillis();
-        int statesExplored = 0;
-        boolean success = false;
-        List<int[]> solutionPath = null;
-
-        PriorityQueue<Node> frontier = new PriorityQueue<>();
-        Map<String, Integer> bestG = new HashMap<>(); // best g-value found for each state
-        Map<String, String> parent = new HashMap<>();
-        Map<String, int[]> stateMap = new HashMap<>();
-
-        String initKey = Arrays.toString(initial);
-        int hVal = useH1 ? PuzzleState.h1(initial) : PuzzleState.h2(initial);
-        frontier.add(new Node(initial, 0, hVal));
-        bestG.put(initKey, 0);
-        parent.put(initKey, null);
-        stateMap.put(initKey, initial);
-
-        while (!frontier.isEmpty()) {
-            Node node = frontier.poll();
-            statesExplored++;
-
-            // Goal test
-            if (PuzzleState.isGoal(node.state)) {
-                success = true;
-                solutionPath = PuzzleState.reconstructPath(parent, stateMap, node.state);
-                break;
-            }
+    public AStarSearch(boolean useH1, SolutionMemo memo) {
+        this.useH1 = useH1;
+        this.memo = memo;
+        this.metrics = SearchTelemetry.search(name(), heuristic());
+    }
 
-            // Skip if we already found a better path to this state
-            if (node.g > bestG.getOrDefault(node.key, Integer.MAX_VALUE)) {
-                continue;
-            }
+    @Override
+    public String name() {
+        return "A* Search";
+    }
 
-            // Expand neighbors
-            for (int[] neighbor : PuzzleState.getNeighbors(node.state)) {
-                String nKey = Arrays.toString(neighbor);
-                int newG = node.g + 1; // each move costs 1 unit of System Energy
+    @Override
+    public String heuristic() {
+        return useH1 ? "h1 - Misplaced Tiles" : "h2 - Manhattan Distance";
+    }
 
-                if (newG < bestG.getOrDefault(nKey, Integer.MAX_VALUE)) {
-                    bestG.put(nKey, newG);
-                    parent.put(nKey, node.key);
-                    stateMap.put(nKey, neighbor);
-                    int nh = useH1 ? PuzzleState.h1(neighbor) : PuzzleState.h2(neighbor);
-                    frontier.add(new Node(neighbor, newG, nh));
-                }
-            }
+    @Override
+    public SearchResult solve(int[] initial) {
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        SearchWorkspace ws = SearchWorkspace.acquire();
+        try {
+            long start = PuzzleState.pack(initial);
+            boolean success = ws.solveAStar(start, useH1, memo);
+            long nanos = System.nanoTime() - startTime;
+            ws.record(metrics, nanos);
+            SearchResult result = ws.toResult(name(), heuristic(), success, nanos);
+            if (success && memo != null) memo.record(start, result);
+            result.commit(event);
+            return result;
+        } finally {
+            SearchWorkspace.release(ws);
         }
-
-        long timeMs = System.currentTimeMillis() - startTime;
-
-        PuzzleState.printResult("A* Search", hName,
-                success, solutionPath, statesExplored, timeMs);
     }
 
     public static void main(String[] args) throws Exception {
@@ -110,9 +87,9 @@ public class AStarSearch {
         System.out.println("Start Grid:\n" + PuzzleState.stateToGrid(initial));
 
         // Run A* with h1 (Misplaced Tiles)
-        runAStar(initial, true);
+        PuzzleState.printResult(new AStarSearch(true).solve(initial), initial);
 
         // Run A* with h2 (Manhattan Distance)
-        runAStar(initial, false);
+        PuzzleState.printResult(new AStarSearch(false).solve(initial), initial);
     }
 }
@@ -1,8 +1,16 @@
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
+
+import java.nio.file.*;
 import java.util.*;
 
 /**
  * Adversarial Search for the Manuscript Sorting Problem.
- * Implements both Minimax and Alpha-Beta Pruning.
+ * Implements Minimax, Alpha-Beta Pruning, Principal Variation Search (PVS)
+ * and MTD(f) on a single negamax core.
  *
  * Two-player adversarial formulation:
  *   MAX player (Robotic Sorter) : tries to reach goal (maximize utility)
@@ -11,16 +19,57 @@ import java.util.*;
  *     Higher (closer to 0) = better for MAX
  *     Lower (more negative) = better for MIN
  *
+ * Negamax: value(s) for the player to move = max over moves of -value(child).
+ *   One routine serves both players; the leaf is scored as color * u(s),
+ *   where color = +1 for MAX and -1 for MIN.
+ *
  * Alpha-Beta Pruning: prunes branches where beta <= alpha,
  *   returning the same result as Minimax with fewer state evaluations.
  *
+ * PVS and MTD(f) search most nodes with a zero-width window and use a
+ * transposition table (TT) for move ordering and stored bounds:
+ *   PVS    : first child with the full window, the rest with a null window
+ *            (re-searched only when they turn out better).
+ *   MTD(f) : repeated zero-window searches that converge on the value.
+ *
+ * The Manhattan distance is maintained incrementally while making and
+ * unmaking moves, so a leaf costs O(1) instead of a full h2 evaluation.
+ *
+ * Implements Solver: an instance fixes the variant and depth, and every call
+ * builds its own search state, so instances are thread-safe. The result holds
+ * MAX's chosen move (one move) and its backed-up utility. Given a HORIZON
+ * GameTablebase whose horizon is the depth, solve() reads the move and the
+ * utility from the table instead of searching.
+ *
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
  */
-public class AdversarialSearch {
+public final class AdversarialSearch implements Solver {
+
+    public enum Variant {
+        MINIMAX("Minimax"),
+        ALPHA_BETA("Alpha-Beta Pruning"),
+        PVS("Principal Variation Search (PVS + TT)"),
+        MTDF("MTD(f) (zero-window + TT)");
 
-    private static int minimaxCalls = 0;
-    private static int alphaBetaCalls = 0;
+        final String label;
+
+        Variant(String label) {
+            this.label = label;
+        }
+    }
+
+    // Larger than any |utility|; safe to negate (unlike Integer.MIN_VALUE)
+    static final int INF = 1_000_000;
+
+    // Root has no previous move
+    static final int NO_MOVE = 4;
+
+    // The 8-puzzle state graph has no cycle shorter than 12 moves. Below that
+    // depth, "not on the current path" is the same as "not undoing the last
+    // move", so a node's value depends only on (state, depth, side, last move)
+    // and can be stored in the transposition table.
+    static final int MIN_CYCLE = 12;
 
     // -------------------- Utility Function --------------------
 
@@ -33,165 +82,412 @@ public class AdversarialSearch {
         return -PuzzleState.h2(state);
     }
 
-    // -------------------- Minimax --------------------
+    // -------------------- Transposition Table --------------------
+
+    static final int EXACT = 0, LOWER = 1, UPPER = 2;
+
+    /** Stored search result for one (state, side, last move) at a given depth. */
+    static class TTEntry {
+        int depth;
+        int value;
+        int flag;      // EXACT, LOWER (fail high) or UPPER (fail low)
+        int bestMove;  // direction index, or -1
+    }
+
+    // -------------------- Negamax Core --------------------
 
     /**
-     * Plain Minimax search.
-     * @param state   current game state
-     * @param depth   remaining depth to search
-     * @param isMax   true if MAX's turn, false if MIN's turn
-     * @param visited set of visited states (prevent cycles)
-     * @return minimax value
+     * Positions above a search's root board, newest first. Immutable, so
+     * searches forked from one path (ParallelAlphaBetaSearch) share it.
      */
-    static int minimax(int[] state, int depth, boolean isMax, Set<String> visited) {
-        minimaxCalls++;
-
-        // Terminal test: depth exhausted or goal reached
-        if (depth == 0 || PuzzleState.isGoal(state)) {
-            return utility(state);
-        }
-
-        List<int[]> neighbors = PuzzleState.getNeighbors(state);
-
-        if (isMax) {
-            // MAX player: choose move that maximizes utility
-            int best = Integer.MIN_VALUE;
-            for (int[] next : neighbors) {
-                String key = Arrays.toString(next);
-                if (!visited.contains(key)) {
-                    visited.add(key);
-                    int val = minimax(next, depth - 1, false, visited);
-                    best = Math.max(best, val);
-                    visited.remove(key);
-                }
-            }
-            return best == Integer.MIN_VALUE ? utility(state) : best;
-        } else {
-            // MIN player: choose move that minimizes utility
-            int worst = Integer.MAX_VALUE;
-            for (int[] next : neighbors) {
-                String key = Arrays.toString(next);
-                if (!visited.contains(key)) {
-                    visited.add(key);
-                    int val = minimax(next, depth - 1, true, visited);
-                    worst = Math.min(worst, val);
-                    visited.remove(key);
-                }
+    static final class Ancestors {
+        final long key;
+        final Ancestors parent;
+
+        Ancestors(long key, Ancestors parent) {
+            this.key = key;
+            this.parent = parent;
+        }
+
+        boolean contains(long k) {
+            for (Ancestors a = this; a != null; a = a.parent) {
+                if (a.key == k) return true;
             }
-            return worst == Integer.MAX_VALUE ? utility(state) : worst;
+            return false;
         }
     }
 
-    // -------------------- Alpha-Beta Pruning --------------------
-
     /**
-     * Minimax with Alpha-Beta pruning.
-     * @param alpha best value MAX can guarantee (lower bound)
-     * @param beta  best value MIN can guarantee (upper bound)
-     * Prunes when beta <= alpha (remaining branches cannot affect decision).
+     * One search over a mutable board. Moves are made and unmade in place,
+     * keeping the packed key and the Manhattan distance up to date.
      */
-    static int alphaBeta(int[] state, int depth, int alpha, int beta,
-                         boolean isMax, Set<String> visited) {
-        alphaBetaCalls++;
+    static class Negamax {
+        final int[] board;
+        int blank;
+        long key;
+        int h;
+        final boolean prune;              // alpha-beta cutoffs
+        final boolean pvs;                // null-window search of later children
+        final Map<Long, TTEntry> tt;      // null = no transposition table
+        final Set<Long> path = new HashSet<>();
+        Ancestors above;                  // positions above the root board, or null
+        int nodes = 0;
+        int repeats = 0;                  // moves back onto the current path
+        int leaves = 0;                   // utility evaluations
 
-        if (depth == 0 || PuzzleState.isGoal(state)) {
-            return utility(state);
+        Negamax(int[] state, boolean prune, boolean pvs, Map<Long, TTEntry> tt) {
+            this.board = state.clone();
+            this.blank = PuzzleState.findBlank(board);
+            this.key = PuzzleState.pack(board);
+            this.h = PuzzleState.h2(board);
+            this.prune = prune;
+            this.pvs = pvs;
+            this.tt = tt;
+            path.add(key);
         }
 
-        List<int[]> neighbors = PuzzleState.getNeighbors(state);
+        /** Target index of the blank after moving in direction d, or -1. */
+        int target(int d) {
+            int r = blank / PuzzleState.SIZE + PuzzleState.DR[d];
+            int c = blank % PuzzleState.SIZE + PuzzleState.DC[d];
+            if (r < 0 || r >= PuzzleState.SIZE || c < 0 || c >= PuzzleState.SIZE) return -1;
+            return r * PuzzleState.SIZE + c;
+        }
 
-        if (isMax) {
-            int best = Integer.MIN_VALUE;
-            for (int[] next : neighbors) {
-                String key = Arrays.toString(next);
-                if (!visited.contains(key)) {
-                    visited.add(key);
-                    int val = alphaBeta(next, depth - 1, alpha, beta, false, visited);
-                    best = Math.max(best, val);
-                    visited.remove(key);
-                    alpha = Math.max(alpha, best);
-                    if (beta <= alpha) break;  // Beta cutoff - prune
+        /** Slide the tile at 'to' into the blank. Returns the old blank. */
+        int makeMove(int to) {
+            int from = blank;
+            int tile = board[to];
+            h += PuzzleState.MANHATTAN[tile][from] - PuzzleState.MANHATTAN[tile][to];
+            key += ((long) tile << (4 * from)) - ((long) tile << (4 * to));
+            board[from] = tile;
+            board[to] = 0;
+            blank = to;
+            return from;
+        }
+
+        void unmakeMove(int from) {
+            makeMove(from);
+        }
+
+        /**
+         * Negamax value of the current board for the player to move.
+         * @param color    +1 if MAX to move, -1 if MIN to move
+         * @param lastMove direction that produced this board (NO_MOVE at root)
+         */
+        int search(int depth, int alpha, int beta, int color, int lastMove) {
+            nodes++;
+
+            // Terminal test: depth exhausted or goal reached
+            if (depth == 0 || h == 0) {
+                leaves++;
+                return color * -h;
+            }
+
+            int alphaOrig = alpha;
+            int ttMove = -1;
+            long ttKey = 0;
+            if (tt != null) {
+                ttKey = (key << 4) | ((long) lastMove << 1) | (color > 0 ? 1 : 0);
+                TTEntry e = tt.get(ttKey);
+                if (e != null) {
+                    ttMove = e.bestMove;
+                    if (e.depth == depth) {
+                        if (e.flag == EXACT) return e.value;
+                        if (e.flag == LOWER) alpha = Math.max(alpha, e.value);
+                        else beta = Math.min(beta, e.value);
+                        if (alpha >= beta) return e.value;
+                    }
                 }
             }
-            return best == Integer.MIN_VALUE ? utility(state) : best;
-        } else {
-            int worst = Integer.MAX_VALUE;
-            for (int[] next : neighbors) {
-                String key = Arrays.toString(next);
-                if (!visited.contains(key)) {
-                    visited.add(key);
-                    int val = alphaBeta(next, depth - 1, alpha, beta, true, visited);
-                    worst = Math.min(worst, val);
-                    visited.remove(key);
-                    beta = Math.min(beta, worst);
-                    if (beta <= alpha) break;  // Alpha cutoff - prune
+
+            int best = -INF;
+            int bestMove = -1;
+            boolean first = true;
+            for (int i = -1; i < 4; i++) {
+                // TT move first, then the rest in the usual Up/Down/Left/Right order
+                int d = (i == -1) ? ttMove : i;
+                if (d < 0 || (i >= 0 && d == ttMove)) continue;
+                int to = target(d);
+                if (to < 0) continue;
+
+                int from = makeMove(to);
+                if ((above != null && above.contains(key)) || !path.add(key)) {   // already on the current path
+                    repeats++;
+                    unmakeMove(from);
+                    continue;
+                }
+
+                int val;
+                if (pvs && !first) {
+                    val = -search(depth - 1, -alpha - 1, -alpha, -color, d);
+                    if (val > alpha && val < beta) {
+                        val = -search(depth - 1, -beta, -alpha, -color, d);  // re-search
+                    }
+                } else {
+                    val = -search(depth - 1, -beta, -alpha, -color, d);
+                }
+
+                path.remove(key);
+                unmakeMove(from);
+                first = false;
+
+                if (val > best) {
+                    best = val;
+                    bestMove = d;
                 }
+                if (prune) {
+                    alpha = Math.max(alpha, best);
+                    if (alpha >= beta) break;  // cutoff - prune
+                }
+            }
+
+            if (bestMove < 0) {
+                leaves++;
+                return color * -h;  // no unvisited move
             }
-            return worst == Integer.MAX_VALUE ? utility(state) : worst;
+
+            if (tt != null) {
+                TTEntry e = tt.computeIfAbsent(ttKey, k -> new TTEntry());
+                e.depth = depth;
+                e.value = best;
+                e.bestMove = bestMove;
+                e.flag = best <= alphaOrig ? UPPER : best >= beta ? LOWER : EXACT;
+            }
+            return best;
         }
+
+        /**
+         * Value of one root move for MAX, searched with the given window.
+         * The caller passes the window in MAX terms.
+         */
+        int searchChild(int d, int depth, int alpha, int beta) {
+            int from = makeMove(target(d));
+            path.add(key);
+            int val = -search(depth - 1, -beta, -alpha, -1, d);
+            path.remove(key);
+            unmakeMove(from);
+            return val;
+        }
+    }
+
+    /** Fresh transposition table, or null when the depth is too large for it. */
+    static Map<Long, TTEntry> newTable(int depth) {
+        return depth < MIN_CYCLE ? new HashMap<>() : null;
     }
 
-    // -------------------- Run and Compare --------------------
+    // -------------------- Solver --------------------
+
+    private final Variant variant;
+    private final int depth;
+    private final GameTablebase table;    // null = always search
+    private final SearchMetrics metrics;
+
+    public AdversarialSearch(Variant variant, int depth) {
+        this(variant, depth, null);
+    }
 
     /**
-     * Find best move for MAX using Minimax.
+     * Search answered from 'table' when it is a HORIZON table of this depth;
+     * any other table is ignored and the variant searches as usual.
      */
-    static int[] runMinimax(int[] initial, int depth) {
-        minimaxCalls = 0;
-        Set<String> visited = new HashSet<>();
-        visited.add(Arrays.toString(initial));
+    public AdversarialSearch(Variant variant, int depth, GameTablebase table) {
+        if (depth < 1) throw new IllegalArgumentException("depth must be >= 1");
+        this.variant = variant;
+        this.depth = depth;
+        this.table = table != null && table.mode == GameTablebase.Mode.HORIZON
+                && table.horizon == depth ? table : null;
+        this.metrics = SearchTelemetry.search(name(), heuristic());
+    }
+
+    /** Adversarial result: the chosen root move plus its backed-up utility. */
+    public static class Result extends SearchResult {
+        public final int value;
+
+        Result(String algorithm, String heuristic, int bestDir, int value,
+               long evaluated, long peakMemory, long nanos) {
+            super(algorithm, heuristic, bestDir >= 0 ? Status.SOLVED : Status.FAILED,
+                    new long[]{Math.max(bestDir, 0)}, bestDir >= 0 ? 1 : -1,
+                    evaluated, evaluated, peakMemory, nanos);
+            this.value = value;
+        }
+
+        /** Best root move (index into PuzzleState.DIR_NAMES), or -1 if none. */
+        public int bestMove() {
+            return isSolved() ? moveAt(0) : -1;
+        }
+    }
+
+    @Override
+    public String name() {
+        return variant.label;
+    }
+
+    @Override
+    public String heuristic() {
+        return "depth " + depth + ", u(s) = -h2";
+    }
+
+    @Override
+    public Result solve(int[] initial) {
+        // The table has no move at the goal; the search still picks one
+        if (table != null && !PuzzleState.isGoal(initial)) return lookup(initial);
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        SearchEvents.AlphaBetaDepth pass = SearchEvents.AlphaBetaDepth.start();
+        Map<Long, TTEntry> tt = variant == Variant.PVS || variant == Variant.MTDF ? newTable(depth) : null;
+        Negamax search = new Negamax(initial, variant != Variant.MINIMAX, variant == Variant.PVS, tt);
+        int[] best;
+        switch (variant) {
+            case PVS:
+                best = rootPVS(search, depth);
+                break;
+            case MTDF:
+                best = rootMTDf(search, initial, depth);
+                break;
+            default:
+                best = rootFullWindow(search, depth);
+        }
+        // Path set plus transposition table (key, entry and map node per stored position)
+        long peakMemory = (depth + 1) * 48L + (tt == null ? 0 : tt.size() * 96L);
+        long nanos = System.nanoTime() - startTime;
+        metrics.record(search.nodes, search.nodes, search.repeats, search.leaves, depth + 1, nanos);
+        pass.finish(name(), depth, best[0] < 0 ? "" : PuzzleState.DIR_NAMES[best[0]], best[1], search.nodes);
+        Result result = new Result(name(), heuristic(), best[0], best[1], search.nodes,
+                peakMemory, nanos);
+        result.commit(event);
+        return result;
+    }
+
+    /** Best move for MAX and its utility, by one read of the tablebase. */
+    private Result lookup(int[] initial) {
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        int bestDir = table.bestMove(initial, true, NO_MOVE);
+        int value = table.value(initial, true, NO_MOVE);
+        long nanos = System.nanoTime() - startTime;
+        metrics.record(0, 0, 0, 0, 0, nanos);
+        Result result = new Result(name(), heuristic(), bestDir, value, 0, 0, nanos);
+        result.commit(event);
+        return result;
+    }
+
+    // -------------------- Root Drivers --------------------
+
+    /**
+     * Best root move when every root move is searched with the full window.
+     * Shared by Minimax and Alpha-Beta; the first move with the highest value wins.
+     * @return {best direction or -1, its value}
+     */
+    private static int[] rootFullWindow(Negamax search, int depth) {
         int bestVal = Integer.MIN_VALUE;
-        int[] bestMove = null;
-        String bestAction = "";
-
-        for (int[] next : PuzzleState.getNeighbors(initial)) {
-            String key = Arrays.toString(next);
-            visited.add(key);
-            int val = minimax(next, depth - 1, false, visited);
-            visited.remove(key);
+        int bestDir = -1;
+
+        for (int d = 0; d < 4; d++) {
+            if (search.target(d) < 0) continue;
+            int val = search.searchChild(d, depth, -INF, INF);
             if (val > bestVal) {
                 bestVal = val;
-                bestMove = next;
-                bestAction = PuzzleState.getAction(initial, next);
+                bestDir = d;
             }
         }
-
-        System.out.println("  Best move: " + bestAction + " (utility=" + bestVal + ")");
-        return bestMove;
+        return new int[]{bestDir, bestVal};
     }
 
     /**
-     * Find best move for MAX using Alpha-Beta.
+     * Principal Variation Search at the root.
+     * The first root move gets the full window; later moves are tested with
+     * a null window around the best value and re-searched only if better.
      */
-    static int[] runAlphaBeta(int[] initial, int depth) {
-        alphaBetaCalls = 0;
-        Set<String> visited = new HashSet<>();
-        visited.add(Arrays.toString(initial));
+    private static int[] rootPVS(Negamax search, int depth) {
         int bestVal = Integer.MIN_VALUE;
-        int[] bestMove = null;
-        String bestAction = "";
-
-        for (int[] next : PuzzleState.getNeighbors(initial)) {
-            String key = Arrays.toString(next);
-            visited.add(key);
-            int val = alphaBeta(next, depth - 1, Integer.MIN_VALUE, Integer.MAX_VALUE,
-                                false, visited);
-            visited.remove(key);
+        int bestDir = -1;
+
+        for (int d = 0; d < 4; d++) {
+            if (search.target(d) < 0) continue;
+            int val;
+            if (bestDir < 0) {
+                val = search.searchChild(d, depth, -INF, INF);
+            } else {
+                val = search.searchChild(d, depth, bestVal, bestVal + 1);
+                if (val > bestVal) {
+                    val = search.searchChild(d, depth, bestVal, INF);  // re-search
+                }
+            }
             if (val > bestVal) {
                 bestVal = val;
-                bestMove = next;
-                bestAction = PuzzleState.getAction(initial, next);
+                bestDir = d;
             }
         }
+        return new int[]{bestDir, bestVal};
+    }
+
+    /**
+     * MTD(f) at the root.
+     * Zero-window searches of the root narrow [lower, upper] until they meet.
+     * The first move whose value reaches f is then picked; those tests are
+     * answered mostly from the transposition table.
+     */
+    private static int[] rootMTDf(Negamax search, int[] initial, int depth) {
+        int g = utility(initial);  // first guess: static evaluation
+        int lower = -INF, upper = INF;
+
+        while (lower < upper) {
+            int beta = (g == lower) ? g + 1 : g;
+            g = search.search(depth, beta - 1, beta, 1, NO_MOVE);
+            if (g < beta) upper = g;
+            else lower = g;
+        }
 
-        System.out.println("  Best move: " + bestAction + " (utility=" + bestVal + ")");
-        return bestMove;
+        int bestDir = -1;
+        for (int d = 0; d < 4 && bestDir < 0; d++) {
+            if (search.target(d) < 0) continue;
+            if (search.searchChild(d, depth, g - 1, g) >= g) bestDir = d;
+        }
+        return new int[]{bestDir, g};
+    }
+
+    /**
+     * Alpha-Beta value of one root move (MAX perspective).
+     */
+    static int moveValue(int[] initial, int[] move, int depth) {
+        Negamax search = new Negamax(initial, true, false, null);
+        String action = PuzzleState.getAction(initial, move);
+        int d = Arrays.asList(PuzzleState.DIR_NAMES).indexOf(action);
+        return search.searchChild(d, depth, -INF, INF);
     }
 
     // -------------------- Main --------------------
 
+    private static void printBestMove(Result r) {
+        if (r.isSolved()) {
+            System.out.println("  Best move: " + PuzzleState.DIR_NAMES[r.bestMove()] + " (utility=" + r.value + ")");
+        }
+    }
+
+    private static Result runAndReport(AdversarialSearch solver, int[] initial,
+                                       String title, boolean showState) {
+        System.out.println(title);
+        Result r = solver.solve(initial);
+        printBestMove(r);
+        System.out.println("  States evaluated: " + r.expanded);
+        System.out.println("  Time: " + r.timeMs() + " ms");
+        if (showState && r.isSolved()) {
+            System.out.println("  Resulting state:");
+            System.out.print(PuzzleState.stateToGrid(PuzzleState.applyMove(initial, r.bestMove())));
+        }
+        System.out.println();
+        return r;
+    }
+
+    /**
+     * Usage: AdversarialSearch input.txt [tablebase file]. The tablebase is
+     * built in memory unless a file is given; that file is reused if it holds
+     * the right table, and (re)built otherwise.
+     */
     public static void main(String[] args) throws Exception {
         String inputFile = args.length > 0 ? args[0] : "input1.txt";
+        Path tableFile = args.length > 1 ? Paths.get(args[1]) : null;
         int[][] input = PuzzleState.readInput(inputFile);
         int[] initial = input[0];
 
@@ -204,46 +500,52 @@ public class AdversarialSearch {
         System.out.println("Utility function: u(s) = -ManhattanDistance(s)");
         System.out.println();
 
-        // ---- Minimax ----
-        System.out.println("--- Plain Minimax ---");
-        long t1 = System.currentTimeMillis();
-        int[] mmMove = runMinimax(initial, searchDepth);
-        long mmTime = System.currentTimeMillis() - t1;
-        int mmStates = minimaxCalls;
-        System.out.println("  States evaluated: " + mmStates);
-        System.out.println("  Time: " + mmTime + " ms");
-        if (mmMove != null) {
-            System.out.println("  Resulting state:");
-            System.out.print(PuzzleState.stateToGrid(mmMove));
-        }
-        System.out.println();
+        Result mm = runAndReport(new AdversarialSearch(Variant.MINIMAX, searchDepth), initial,
+                "--- Plain Minimax ---", true);
+        Result ab = runAndReport(new AdversarialSearch(Variant.ALPHA_BETA, searchDepth), initial,
+                "--- Alpha-Beta Pruning ---", true);
+        Result pvs = runAndReport(new AdversarialSearch(Variant.PVS, searchDepth), initial,
+                "--- Principal Variation Search (PVS + TT) ---", false);
+        Result mtdf = runAndReport(new AdversarialSearch(Variant.MTDF, searchDepth), initial,
+                "--- MTD(f) (zero-window + TT) ---", false);
 
-        // ---- Alpha-Beta ----
-        System.out.println("--- Alpha-Beta Pruning ---");
-        long t2 = System.currentTimeMillis();
-        int[] abMove = runAlphaBeta(initial, searchDepth);
-        long abTime = System.currentTimeMillis() - t2;
-        int abStates = alphaBetaCalls;
-        System.out.println("  States evaluated: " + abStates);
-        System.out.println("  Time: " + abTime + " ms");
-        if (abMove != null) {
-            System.out.println("  Resulting state:");
-            System.out.print(PuzzleState.stateToGrid(abMove));
-        }
+        // ---- Tablebase ----
+        System.out.println("--- Tablebase Lookup (retrograde analysis) ---");
+        GameTablebase table = tableFile == null
+                ? GameTablebase.inMemory(GameTablebase.Mode.HORIZON, searchDepth,
+                        Runtime.getRuntime().availableProcessors())
+                : GameTablebase.open(GameTablebase.Mode.HORIZON, searchDepth, tableFile);
+        Result tb = new AdversarialSearch(Variant.ALPHA_BETA, searchDepth, table).solve(initial);
+        printBestMove(tb);
+        System.out.println("  States evaluated: 0 (one table read)");
+        System.out.println("  Time: " + tb.nanos / 1000 + " us (lookup)");
         System.out.println();
 
+        long mmStates = mm.expanded, abStates = ab.expanded;
+        long pvsStates = pvs.expanded, mtdfStates = mtdf.expanded;
+
         // ---- Comparison ----
         System.out.println("=".repeat(60));
-        System.out.println("COMPARISON: Minimax vs Alpha-Beta (depth=" + searchDepth + ")");
+        System.out.println("COMPARISON: Minimax vs Alpha-Beta vs PVS vs MTD(f) (depth=" + searchDepth + ")");
         System.out.println("=".repeat(60));
-        System.out.println("                    Minimax    Alpha-Beta");
-        System.out.println("States evaluated:   " + String.format("%-11d%d", mmStates, abStates));
-        System.out.println("Time (ms):          " + String.format("%-11d%d", mmTime, abTime));
+        System.out.println("                    Minimax    Alpha-Beta PVS        MTD(f)");
+        System.out.println("States evaluated:   " + String.format("%-11d%-11d%-11d%d",
+                mmStates, abStates, pvsStates, mtdfStates));
+        System.out.println("Time (ms):          " + String.format("%-11d%-11d%-11d%d",
+                mm.timeMs(), ab.timeMs(), pvs.timeMs(), mtdf.timeMs()));
         System.out.println("Same best move?     "
-                + (Arrays.equals(mmMove, abMove) ? "YES (pruning is lossless)" : "NO (unexpected)"));
+                + (mm.bestMove() == ab.bestMove() ? "YES (pruning is lossless)" : "NO (unexpected)"));
+        System.out.println("PVS / MTD(f) agree? "
+                + (mm.bestMove() == pvs.bestMove() && mm.bestMove() == mtdf.bestMove()
+                        ? "YES" : "NO (unexpected)"));
+        System.out.println("Tablebase agrees?   "
+                + (mm.bestMove() == tb.bestMove() ? "YES (perfect play, no search)" : "NO (unexpected)"));
         if (mmStates > 0) {
             double savings = (1.0 - (double) abStates / mmStates) * 100;
             System.out.printf("Pruning saved:      %.1f%% of state evaluations%n", savings);
+            System.out.printf("PVS saved:          %.1f%%   MTD(f) saved: %.1f%%%n",
+                    (1.0 - (double) pvsStates / mmStates) * 100,
+                    (1.0 - (double) mtdfStates / mmStates) * 100);
         }
         System.out.println();
     }
@@ -1,4 +1,8 @@
-import java.util.*;
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
 
 /**
  * Breadth-First Search (BFS) for the Manuscript Sorting Problem.
@@ -7,6 +11,9 @@ import java.util.*;
  * the minimum number of moves (optimal for uniform step-cost problems).
  * A visited set prevents revisiting states.
  *
+ * Implements Solver: the search runs in the calling thread's SearchWorkspace
+ * (packed states, primitive arrays), so one instance can be shared freely.
+ *
  * Time Complexity : O(b^d) where b=avg branching factor, d=solution depth
  * Space Complexity: O(b^d) - stores all explored states
  * Optimal         : Yes (uniform cost)
@@ -14,7 +21,37 @@ import java.util.*;
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
  */
-public class BFSSearch {
+public final class BFSSearch implements Solver {
+
+    private final SearchMetrics metrics = SearchTelemetry.search(name(), heuristic());
+
+    @Override
+    public String name() {
+        return "Breadth-First Search (BFS)";
+    }
+
+    @Override
+    public String heuristic() {
+        return "";
+    }
+
+    @Override
+    public SearchResult solve(int[] initial) {
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        SearchWorkspace ws = SearchWorkspace.acquire();
+        try {
+            boolean success = ws.solveBFS(PuzzleState.pack(initial));
+            long nanos = System.nanoTime() - startTime;
+            ws.record(metrics, nanos);
+            SearchResult result = ws.toResult(name(), heuristic(), success, nanos);
+            result.commit(event);
+            return result;
+        } finally {
+            SearchWorkspace.release(ws);
+        }
+    }
+
     public static void main(String[] args) throws Exception {
         String inputFile = args.length > 0 ? args[0] : "input1.txt";
         int[][] input = PuzzleState.readInput(inputFile);
@@ -24,55 +61,7 @@ public class BFSSearch {
         System.out.println("Goal  State: " + PuzzleState.stateToString(PuzzleState.GOAL));
         System.out.println("Start Grid:\n" + PuzzleState.stateToGrid(initial));
 
-        // Run BFS
-        long startTime = System.currentTimeMillis();
-        int statesExplored = 0;
-        boolean success = false;
-        List<int[]> solutionPath = null;
-
-        // Frontier: FIFO queue
-        Queue<int[]> frontier = new LinkedList<>();
-        // Parent map for path reconstruction
-        Map<String, String> parent = new HashMap<>();
-        // State map: key -> state array
-        Map<String, int[]> stateMap = new HashMap<>();
-        // Visited set to avoid revisiting states
-        Set<String> visited = new HashSet<>();
-
-        String initKey = Arrays.toString(initial);
-        frontier.add(initial);
-        visited.add(initKey);
-        parent.put(initKey, null);
-        stateMap.put(initKey, initial);
-
-        while (!frontier.isEmpty()) {
-            int[] current = frontier.poll();
-            String curKey = Arrays.toString(current);
-            statesExplored++;
-
-            // Goal test
-            if (PuzzleState.isGoal(current)) {
-                success = true;
-                solutionPath = PuzzleState.reconstructPath(parent, stateMap, current);
-                break;
-            }
-
-            // Expand neighbors
-            for (int[] neighbor : PuzzleState.getNeighbors(current)) {
-                String nKey = Arrays.toString(neighbor);
-                if (!visited.contains(nKey)) {
-                    visited.add(nKey);
-                    parent.put(nKey, curKey);
-                    stateMap.put(nKey, neighbor);
-                    frontier.add(neighbor);
-                }
-            }
-        }
-
-        long timeMs = System.currentTimeMillis() - startTime;
-
-        // Print results
-        PuzzleState.printResult("Breadth-First Search (BFS)", "",
-                success, solutionPath, statesExplored, timeMs);
+        // Run BFS and print results
+        PuzzleState.printResult(new BFSSearch().solve(initial), initial);
     }
 }
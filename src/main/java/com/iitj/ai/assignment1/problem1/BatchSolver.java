@@ -0,0 +1,283 @@
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.input.MappedLines;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * BatchSolver - High-throughput batch mode for the Manuscript Sorting Problem.
+ *
+ * Solves every start state in a (possibly very large) instance file with
+ * A* (h2), instead of only the first line of input1.txt:
+ *   1. The file is memory-mapped (MappedLines) and each line is decoded with
+ *      BoardInput.decode straight into a packed state (no Scanner, no String
+ *      per line), so it accepts the same boards and reports the same error
+ *      codes as BoardInput. The mapping limits the file to 2 GB.
+ *   2. Instances are grouped into batches; each batch is split across a fixed
+ *      worker pool. Every worker thread owns one SearchWorkspace that is reused
+ *      for all of its instances.
+ *   3. Batches are written in input order, one compact line per instance:
+ *        start  length  moves  nodes  ns
+ *      where moves are packed 2 bits per move (Up=0, Down=1, Left=2, Right=3,
+ *      first move in the lowest bits) and printed in hex. Unsolvable states
+ *      have length -1; lines that are not a board are reported as
+ *        ERROR line N: message
+ *   4. Throughput and latency percentiles are printed at the end.
+ *
+ * Usage: java BatchSolver instances.txt [results.txt] [threads]
+ *        java BatchSolver generate <count> instances.txt   (random scrambles)
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class BatchSolver {
+
+    static final int BATCH_SIZE = 4096;
+    static final long INVALID = -1L;   // parse error marker
+
+    // Batch buffers allocated by the last run(); the rest of its batches reused them
+    static int batchesAllocated = 0;
+
+    // Same totals as AStarSearch(false), so batch solves show up under A* (h2)
+    private static final SearchMetrics METRICS =
+            SearchTelemetry.search("A* Search", "h2 - Manhattan Distance");
+
+    // -------------------- Line Cursor --------------------
+
+    /**
+     * Walks the mapped file line by line, decoding each line with
+     * BoardInput.decode, so batch mode accepts exactly what BoardInput does.
+     */
+    static class LineCursor {
+        private final ByteBuffer text;
+        private int pos = 0;
+        private int lineNumber = 0;
+
+        LineCursor(ByteBuffer text) {
+            this.text = text;
+        }
+
+        /**
+         * Fill a batch with up to BATCH_SIZE boards; bad lines get start
+         * INVALID and their error code.
+         * @return number of boards read (0 at end of file)
+         */
+        int read(Batch b) {
+            int count = 0, limit = text.limit();
+            while (count < BATCH_SIZE && pos < limit) {
+                int end = pos;
+                while (end < limit && text.get(end) != '\n') end++;
+                long key = BoardInput.decode(text, pos, MappedLines.trimCR(text, pos, end));
+                pos = end + 1;
+                lineNumber++;
+                if (key == BoardInput.SKIP) continue;
+                b.line[count] = lineNumber;
+                b.start[count] = key < 0 ? INVALID : key;
+                b.error[count] = key < 0 ? (int) (-1 - key) : 0;
+                count++;
+            }
+            return count;
+        }
+    }
+
+    // -------------------- Solving --------------------
+
+    /** Results of one batch, filled in by the workers. */
+    static class Batch {
+        final long[] start = new long[BATCH_SIZE];
+        final int[] line = new int[BATCH_SIZE];
+        final int[] error = new int[BATCH_SIZE];          // BoardInput code of an INVALID line
+        final int[] length = new int[BATCH_SIZE];
+        final long[] moves = new long[BATCH_SIZE];
+        final int[] nodes = new int[BATCH_SIZE];
+        final long[] nanos = new long[BATCH_SIZE];
+        int size;
+    }
+
+    /** Solve instances [from, to) of a batch with this thread's workspace. */
+    static void solveRange(Batch b, int from, int to) {
+        SearchWorkspace ws = SearchWorkspace.current();
+        for (int i = from; i < to; i++) {
+            long start = b.start[i];
+            if (start == INVALID) continue;
+            long t0 = System.nanoTime();
+            if (!PuzzleState.isSolvable(PuzzleState.unpack(start))) {
+                b.length[i] = -1;
+                b.moves[i] = 0;
+                b.nodes[i] = 0;
+            } else {
+                ws.solveAStar(start, false);
+                b.length[i] = ws.pathLength;
+                b.moves[i] = ws.pathLength > 0 ? ws.moves[0] : 0;
+                b.nodes[i] = ws.expanded;
+            }
+            b.nanos[i] = System.nanoTime() - t0;
+            if (b.length[i] >= 0) ws.record(METRICS, b.nanos[i]);
+        }
+    }
+
+    // -------------------- Latency Histogram --------------------
+
+    /**
+     * Log-linear histogram of nanosecond latencies: 16 sub-buckets per power
+     * of two, so percentiles are within about 6% with a fixed 1,024 counters.
+     */
+    static class LatencyHistogram {
+        private final long[] counts = new long[64 * 16];
+        long total = 0;
+        long max = 0;
+
+        void record(long ns) {
+            ns = Math.max(ns, 1);
+            int exp = 63 - Long.numberOfLeadingZeros(ns);
+            int sub = exp < 4 ? (int) (ns & 15) : (int) ((ns >>> (exp - 4)) & 15);
+            counts[exp * 16 + sub]++;
+            total++;
+            max = Math.max(max, ns);
+        }
+
+        /** Upper edge of the bucket holding the p-th percentile. */
+        long percentile(double p) {
+            long rank = (long) Math.ceil(p / 100.0 * total);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && counts[i] > 0) {
+                    int exp = i / 16, sub = i % 16;
+                    return exp < 4 ? sub : ((16L + sub + 1) << (exp - 4));
+                }
+            }
+            return max;
+        }
+    }
+
+    // -------------------- Batch Driver --------------------
+
+    static void run(Path input, Path output, int threads) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long instances = 0, errors = 0, unsolvable = 0, totalNodes = 0;
+        long wallStart = System.nanoTime();
+        batchesAllocated = 0;
+
+        // Batches in flight, oldest first: output stays in input order
+        ArrayDeque<Batch> pending = new ArrayDeque<>();
+        ArrayDeque<List<Future<?>>> pendingTasks = new ArrayDeque<>();
+        ArrayDeque<Batch> free = new ArrayDeque<>();
+
+        LineCursor reader = new LineCursor(MappedLines.map(input));
+        try (BufferedWriter out = Files.newBufferedWriter(output, StandardCharsets.US_ASCII)) {
+            out.write("# start length moves(hex, 2 bits/move) nodes ns\n");
+            while (true) {
+                if (free.isEmpty()) batchesAllocated++;
+                Batch b = free.isEmpty() ? new Batch() : free.poll();
+                b.size = reader.read(b);
+                if (b.size > 0) {
+                    List<Future<?>> tasks = new ArrayList<>();
+                    int chunk = (b.size + threads - 1) / threads;
+                    for (int from = 0; from < b.size; from += chunk) {
+                        int f = from, t = Math.min(b.size, from + chunk);
+                        tasks.add(pool.submit(() -> solveRange(b, f, t)));
+                    }
+                    pending.add(b);
+                    pendingTasks.add(tasks);
+                }
+                // Write completed batches once enough are queued (or at end of input)
+                while (!pending.isEmpty() && (b.size == 0 || pending.size() > 2)) {
+                    Batch done = pending.poll();
+                    for (Future<?> f : pendingTasks.poll()) f.get();
+                    for (int i = 0; i < done.size; i++) {
+                        instances++;
+                        if (done.start[i] == INVALID) {
+                            errors++;
+                            out.write("ERROR line " + done.line[i] + ": "
+                                    + BoardInput.MESSAGES[done.error[i]] + "\n");
+                            continue;
+                        }
+                        if (done.length[i] < 0) unsolvable++;
+                        totalNodes += done.nodes[i];
+                        histogram.record(done.nanos[i]);
+                        out.write(boardString(done.start[i]));
+                        out.write(' ');
+                        out.write(Integer.toString(done.length[i]));
+                        out.write(' ');
+                        out.write(Long.toHexString(done.moves[i]));
+                        out.write(' ');
+                        out.write(Integer.toString(done.nodes[i]));
+                        out.write(' ');
+                        out.write(Long.toString(done.nanos[i]));
+                        out.write('\n');
+                    }
+                    free.add(done);
+                }
+                if (b.size == 0) break;
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        double seconds = (System.nanoTime() - wallStart) / 1e9;
+        System.out.println("=".repeat(60));
+        System.out.println("BATCH RESULTS: A* (h2 - Manhattan Distance), " + threads + " threads");
+        System.out.println("=".repeat(60));
+        System.out.println("Instances        : " + instances);
+        System.out.println("Parse errors     : " + errors);
+        System.out.println("Unsolvable       : " + unsolvable);
+        System.out.println("States Explored  : " + totalNodes);
+        System.out.printf("Wall time        : %.3f s%n", seconds);
+        System.out.printf("Throughput       : %.0f instances/s%n", (instances - errors) / seconds);
+        System.out.printf("Latency p50      : %.1f us%n", histogram.percentile(50) / 1e3);
+        System.out.printf("Latency p90      : %.1f us%n", histogram.percentile(90) / 1e3);
+        System.out.printf("Latency p99      : %.1f us%n", histogram.percentile(99) / 1e3);
+        System.out.printf("Latency p99.9    : %.1f us%n", histogram.percentile(99.9) / 1e3);
+        System.out.printf("Latency max      : %.1f us%n", histogram.max / 1e3);
+        System.out.println("Batch buffers    : " + batchesAllocated);
+        System.out.println("Results written  : " + output);
+        System.out.println();
+    }
+
+    /** Packed state as 9 characters, e.g. "123B46758". */
+    static String boardString(long key) {
+        char[] c = new char[9];
+        for (int i = 0; i < 9; i++) {
+            int v = (int) (key >>> (4 * i)) & 0xF;
+            c[i] = v == 0 ? 'B' : (char) ('0' + v);
+        }
+        return new String(c);
+    }
+
+    /** Write 'count' random solvable scrambles (PuzzleState.scramble). */
+    static void generate(long count, Path file, long seed) throws IOException {
+        SplittableRandom rng = new SplittableRandom(seed);
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.US_ASCII)) {
+            for (long n = 0; n < count; n++) {
+                out.write(PuzzleState.inputLine(PuzzleState.scramble(rng)));
+                out.write('\n');
+            }
+        }
+    }
+
+    // -------------------- Main --------------------
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("generate")) {
+            long count = args.length > 1 ? Long.parseLong(args[1]) : 100000;
+            Path file = Paths.get(args.length > 2 ? args[2] : "instances.txt");
+            generate(count, file, 42);
+            System.out.println("Generated " + count + " instances in " + file);
+            return;
+        }
+        Path input = Paths.get(args.length > 0 ? args[0] : "instances.txt");
+        Path output = Paths.get(args.length > 1 ? args[1] : "batch-results.txt");
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        run(input, output, threads);
+    }
+}
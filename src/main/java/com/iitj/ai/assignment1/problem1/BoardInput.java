@@ -0,0 +1,133 @@
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.input.MappedLines;
+import com.iitj.ai.input.ParseErrors;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * BoardInput - Boards of a text file, decoded straight into packed states.
+ *
+ * One board per line, in any format PuzzleState.parseState accepts
+ * ("123;B46;758", "123 456 78B", "123B46758"). Blank lines and lines
+ * starting with '#' are skipped. The file is memory-mapped and parsed in
+ * parallel chunks (MappedLines); each byte is decoded into its 4-bit cell
+ * of the packed long at once, with no String, Scanner or int[] per line.
+ *
+ * A line that is not a board is recorded in errors with one of the codes
+ * below and parsing goes on; boards[] holds only the good lines, and
+ * lines[] their line numbers.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class BoardInput {
+
+    // Error codes (index into MESSAGES)
+    public static final int BAD_CHARACTER = 0;
+    public static final int WRONG_CELL_COUNT = 1;
+    public static final int REPEATED_CELL = 2;
+    public static final String[] MESSAGES = {
+            "unexpected character", "a board needs 9 cells", "a cell value appears twice"};
+
+    static final long SKIP = 0;    // blank or comment line (no board packs to 0)
+
+    public final long[] boards;
+    public final int[] lines;
+    public final int size;
+    public final ParseErrors errors;
+
+    private BoardInput(long[] boards, int[] lines, int size, ParseErrors errors) {
+        this.boards = boards;
+        this.lines = lines;
+        this.size = size;
+        this.errors = errors;
+    }
+
+    /** Boards and errors of one chunk, in growable primitive arrays. */
+    static final class Part {
+        long[] boards = new long[256];
+        int[] lines = new int[256];
+        int size;
+        final ParseErrors errors = new ParseErrors();
+
+        void line(ByteBuffer text, int from, int to, int line) {
+            long key = decode(text, from, to);
+            if (key == SKIP) return;
+            if (key < 0) {
+                errors.add(line, (int) (-key - 1));
+                return;
+            }
+            if (size == boards.length) {
+                boards = Arrays.copyOf(boards, size * 2);
+                lines = Arrays.copyOf(lines, size * 2);
+            }
+            boards[size] = key;
+            lines[size++] = line;
+        }
+    }
+
+    // -------------------- Reading --------------------
+
+    /** Read with one chunk per available processor. */
+    public static BoardInput read(Path file) throws IOException {
+        return read(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static BoardInput read(Path file, int threads) throws IOException {
+        return parse(MappedLines.map(file), threads);
+    }
+
+    static BoardInput parse(ByteBuffer text, int threads) {
+        List<MappedLines.Chunk<Part>> chunks = MappedLines.parse(text, threads, Part::new,
+                (buf, from, to, line, part) -> part.line(buf, from, to, line));
+        int total = 0;
+        for (MappedLines.Chunk<Part> c : chunks) total += c.result.size;
+        long[] boards = new long[total];
+        int[] lines = new int[total];
+        ParseErrors errors = new ParseErrors();
+        int n = 0;
+        for (MappedLines.Chunk<Part> c : chunks) {
+            Part p = c.result;
+            System.arraycopy(p.boards, 0, boards, n, p.size);
+            for (int i = 0; i < p.size; i++) lines[n + i] = p.lines[i] + c.firstLine - 1;
+            n += p.size;
+            errors.addAll(p.errors, c.firstLine - 1);
+        }
+        return new BoardInput(boards, lines, total, errors);
+    }
+
+    /**
+     * Decode bytes [from, to) into a packed board.
+     * @return the packed board, SKIP for blank and comment lines, or
+     *         -1 - (error code) if the line is not a board
+     */
+    static long decode(ByteBuffer text, int from, int to) {
+        long key = 0;
+        int cells = 0, seen = 0;
+        for (int i = from; i < to; i++) {
+            int ch = text.get(i);
+            int v = ch == 'B' || ch == 'b' ? 0 : (ch >= '0' && ch <= '8') ? ch - '0' : -1;
+            if (v >= 0) {
+                if (cells == 9) return -1 - WRONG_CELL_COUNT;
+                if ((seen & (1 << v)) != 0) return -1 - REPEATED_CELL;
+                key |= (long) v << (4 * cells++);
+                seen |= 1 << v;
+            } else if (ch == '#' && cells == 0) {
+                return SKIP;
+            } else if (ch != ';' && ch != ' ' && ch != '\t' && ch != ',') {
+                return -1 - BAD_CHARACTER;
+            }
+        }
+        if (cells == 0) return SKIP;
+        return cells == 9 ? key : -1 - WRONG_CELL_COUNT;
+    }
+
+    /** Error i as "line N: message". */
+    public String error(int i) {
+        return errors.describe(i, MESSAGES);
+    }
+}
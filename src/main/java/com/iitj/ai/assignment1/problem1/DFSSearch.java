@@ -1,4 +1,8 @@
-import java.util.*;
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
 
 /**
  * Depth-First Search (DFS) for the Manuscript Sorting Problem.
@@ -8,6 +12,9 @@ import java.util.*;
  *   2. Visited set to eliminate cycles
  * DFS is NOT guaranteed to find the optimal solution.
  *
+ * Implements Solver: the search runs in the calling thread's SearchWorkspace,
+ * so one instance can be shared freely.
+ *
  * Time Complexity : O(b^m) where m=max depth
  * Space Complexity: O(b*m) - stores only current path + siblings
  * Optimal         : No
@@ -15,10 +22,50 @@ import java.util.*;
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
  */
-public class DFSSearch {
+public final class DFSSearch implements Solver {
 
     private static final int DEPTH_LIMIT = 50;
 
+    private final int depthLimit;
+    private final SearchMetrics metrics;
+
+    public DFSSearch() {
+        this(DEPTH_LIMIT);
+    }
+
+    public DFSSearch(int depthLimit) {
+        if (depthLimit < 0) throw new IllegalArgumentException("depthLimit must be >= 0");
+        this.depthLimit = depthLimit;
+        this.metrics = SearchTelemetry.search(name(), heuristic());
+    }
+
+    @Override
+    public String name() {
+        return "Depth-First Search (DFS)";
+    }
+
+    @Override
+    public String heuristic() {
+        return "Depth Limit = " + depthLimit;
+    }
+
+    @Override
+    public SearchResult solve(int[] initial) {
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        SearchWorkspace ws = SearchWorkspace.acquire();
+        try {
+            boolean success = ws.solveDFS(PuzzleState.pack(initial), depthLimit);
+            long nanos = System.nanoTime() - startTime;
+            ws.record(metrics, nanos);
+            SearchResult result = ws.toResult(name(), heuristic(), success, nanos);
+            result.commit(event);
+            return result;
+        } finally {
+            SearchWorkspace.release(ws);
+        }
+    }
+
     public static void main(String[] args) throws Exception {
         String inputFile = args.length > 0 ? args[0] : "input1.txt";
         int[][] input = PuzzleState.readInput(inputFile);
@@ -28,63 +75,7 @@ public class DFSSearch {
         System.out.println("Goal  State: " + PuzzleState.stateToString(PuzzleState.GOAL));
         System.out.println("Start Grid:\n" + PuzzleState.stateToGrid(initial));
 
-        // Run DFS
-        long startTime = System.currentTimeMillis();
-        int statesExplored = 0;
-        boolean success = false;
-        List<int[]> solutionPath = null;
-
-        // Frontier: LIFO stack
-        Deque<int[]> frontier = new ArrayDeque<>();
-        Deque<Integer> depths = new ArrayDeque<>();
-        // Parent map for path reconstruction
-        Map<String, String> parent = new HashMap<>();
-        Map<String, int[]> stateMap = new HashMap<>();
-        // Visited set: prevents cycles and revisiting root/parent/explored states
-        Set<String> visited = new HashSet<>();
-
-        String initKey = Arrays.toString(initial);
-        frontier.push(initial);
-        depths.push(0);
-        parent.put(initKey, null);
-        stateMap.put(initKey, initial);
-
-        while (!frontier.isEmpty()) {
-            int[] current = frontier.pop();
-            int depth = depths.pop();
-            String curKey = Arrays.toString(current);
-
-            // Skip if already visited (cycle detection)
-            if (visited.contains(curKey)) continue;
-            visited.add(curKey);
-            statesExplored++;
-
-            // Goal test
-            if (PuzzleState.isGoal(current)) {
-                success = true;
-                solutionPath = PuzzleState.reconstructPath(parent, stateMap, current);
-                break;
-            }
-
-            // Depth bound: prevent infinite paths
-            if (depth >= DEPTH_LIMIT) continue;
-
-            // Expand neighbors
-            for (int[] neighbor : PuzzleState.getNeighbors(current)) {
-                String nKey = Arrays.toString(neighbor);
-                if (!visited.contains(nKey)) {
-                    parent.put(nKey, curKey);
-                    stateMap.put(nKey, neighbor);
-                    frontier.push(neighbor);
-                    depths.push(depth + 1);
-                }
-            }
-        }
-
-        long timeMs = System.currentTimeMillis() - startTime;
-
-        PuzzleState.printResult("Depth-First Search (DFS)",
-                "Depth Limit = " + DEPTH_LIMIT,
-                success, solutionPath, statesExplored, timeMs);
+        // Run DFS and print results
+        PuzzleState.printResult(new DFSSearch().solve(initial), initial);
     }
 }
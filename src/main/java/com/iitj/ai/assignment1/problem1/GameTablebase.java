@@ -0,0 +1,333 @@
+package com.iitj.ai.assignment1.problem1;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Exact game-value tablebase for the adversarial Manuscript Sorting game,
+ * computed by retrograde analysis instead of tree search.
+ *
+ * A game position is (board, side to move, last move). The last move matters
+ * because a move may not be undone immediately; for horizons below 12 this is
+ * exactly the "not on the current path" rule of AdversarialSearch, since the
+ * 8-puzzle graph has no shorter cycle. HORIZON tables are therefore limited
+ * to horizons below 12.
+ *
+ * Two value modes:
+ *   HORIZON    : minimax value of u(s) = -ManhattanDistance(s) after H plies
+ *                (goal is terminal), i.e. the value AdversarialSearch computes
+ *                with search depth H.
+ *   REACH_GOAL : plies until MAX reaches the goal against best MIN defence,
+ *                or NO_WIN if MIN can hold out for H plies.
+ *
+ * Layered sweep: layer k holds the value of every position with k plies left,
+ * computed only from layer k-1. Each layer is split into rank ranges that are
+ * swept by a pool of threads.
+ *
+ * Storage: one byte per position, (value << 2) | bestMove, indexed by
+ *   ((rank * 2 + side) * 5 + lastMove)     rank = Lehmer rank of the board
+ * 9! * 2 * 5 = 3,628,800 bytes, kept in memory or written to and read from
+ * a memory-mapped file.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class GameTablebase {
+
+    enum Mode { HORIZON, REACH_GOAL }
+
+    static final int LAST_MOVES = 5;           // Up, Down, Left, Right, none (root)
+    static final int ENTRIES = PuzzleState.PERMUTATIONS * 2 * LAST_MOVES;
+    static final int NO_WIN = 63;              // REACH_GOAL: no forced win in time
+    static final int MAX_HORIZON = 11;         // HORIZON: below the shortest cycle (12)
+    private static final int MAGIC = 0x54424C31;  // "TBL1"
+    private static final int HEADER_BYTES = 16;
+
+    final Mode mode;
+    final int horizon;
+    private final ByteBuffer table;            // ENTRIES bytes after the header
+
+    private GameTablebase(Mode mode, int horizon, ByteBuffer table) {
+        this.mode = mode;
+        this.horizon = horizon;
+        this.table = table;
+    }
+
+    static int index(int rank, boolean maxToMove, int lastMove) {
+        return (rank * 2 + (maxToMove ? 0 : 1)) * LAST_MOVES + lastMove;
+    }
+
+    // -------------------- Lookup --------------------
+
+    private int entry(int[] state, boolean maxToMove, int lastMove) {
+        return table.get(index(PuzzleState.rank(state), maxToMove, lastMove)) & 0xFF;
+    }
+
+    /**
+     * HORIZON: minimax utility (<= 0) for MAX.
+     * REACH_GOAL: plies to goal with best play, or NO_WIN.
+     */
+    int value(int[] state, boolean maxToMove, int lastMove) {
+        int v = entry(state, maxToMove, lastMove) >> 2;
+        return mode == Mode.HORIZON ? -v : v;
+    }
+
+    /** Best move (direction index) for the side to move, or -1 at the goal. */
+    int bestMove(int[] state, boolean maxToMove, int lastMove) {
+        if (PuzzleState.isGoal(state)) return -1;
+        return entry(state, maxToMove, lastMove) & 3;
+    }
+
+    // -------------------- Retrograde Solver --------------------
+
+    /**
+     * Compute the table with a layered sweep on 'threads' threads.
+     * Layer 0 is the static value; layer k takes the best child in layer k-1.
+     */
+    static byte[] solve(Mode mode, int horizon, int threads) throws Exception {
+        checkHorizon(mode, horizon);
+        int perms = PuzzleState.PERMUTATIONS;
+        int[] child = new int[perms * 4];    // child rank per direction, -1 if illegal
+        byte[] h2 = new byte[perms];
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            // Move generator: one pass over all boards
+            sweep(pool, threads, perms, (from, to) -> {
+                int[] board = new int[9];
+                for (int r = from; r < to; r++) {
+                    PuzzleState.unrank(r, board);
+                    h2[r] = (byte) PuzzleState.h2(board);
+                    int blank = PuzzleState.findBlank(board);
+                    for (int d = 0; d < 4; d++) {
+                        int nr = blank / PuzzleState.SIZE + PuzzleState.DR[d];
+                        int nc = blank % PuzzleState.SIZE + PuzzleState.DC[d];
+                        if (nr < 0 || nr >= PuzzleState.SIZE || nc < 0 || nc >= PuzzleState.SIZE) {
+                            child[r * 4 + d] = -1;
+                        } else {
+                            child[r * 4 + d] = PuzzleState.rank(
+                                    PuzzleState.swap(board, blank, nr * PuzzleState.SIZE + nc));
+                        }
+                    }
+                }
+            });
+
+            // Layer 0: no plies left
+            byte[] prev = new byte[ENTRIES];
+            byte[] next = new byte[ENTRIES];
+            for (int r = 0; r < perms; r++) {
+                int v = mode == Mode.HORIZON ? h2[r] : (h2[r] == 0 ? 0 : NO_WIN);
+                for (int i = r * 2 * LAST_MOVES; i < (r + 1) * 2 * LAST_MOVES; i++) {
+                    prev[i] = (byte) (v << 2);
+                }
+            }
+
+            // Layers 1..horizon
+            for (int k = 1; k <= horizon; k++) {
+                byte[] src = prev, dst = next;
+                sweep(pool, threads, perms, (from, to) -> {
+                    for (int r = from; r < to; r++) {
+                        for (int side = 0; side < 2; side++) {
+                            for (int last = 0; last < LAST_MOVES; last++) {
+                                dst[(r * 2 + side) * LAST_MOVES + last] = (byte) (h2[r] == 0 ? 0
+                                        : bestChild(mode, src, child, r, side == 0, last));
+                            }
+                        }
+                    }
+                });
+                prev = dst;
+                next = src;
+            }
+            return prev;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Packed (value << 2 | move) of the best move from one position.
+     * Values are "distance-like": HORIZON stores -utility, REACH_GOAL stores
+     * plies to goal, so MAX minimizes and MIN maximizes in both modes.
+     * Ties go to the first direction, as in AdversarialSearch.
+     */
+    private static int bestChild(Mode mode, byte[] layer, int[] child,
+                                 int r, boolean maxToMove, int last) {
+        int bestVal = -1, bestMove = 0;
+        int undo = last == LAST_MOVES - 1 ? -1 : last ^ 1;  // Up<->Down, Left<->Right
+        for (int d = 0; d < 4; d++) {
+            int c = child[r * 4 + d];
+            if (c < 0 || d == undo) continue;
+            int v = (layer[index(c, !maxToMove, d)] & 0xFF) >> 2;
+            if (mode == Mode.REACH_GOAL) v = Math.min(NO_WIN, v + 1);
+            if (bestVal < 0 || (maxToMove ? v < bestVal : v > bestVal)) {
+                bestVal = v;
+                bestMove = d;
+            }
+        }
+        return (bestVal << 2) | bestMove;
+    }
+
+    interface RangeTask {
+        void run(int from, int to);
+    }
+
+    /** Split [0, n) into equal ranges and run them on the pool. */
+    private static void sweep(ExecutorService pool, int threads, int n, RangeTask task)
+            throws Exception {
+        int chunks = threads * 4;
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < chunks; i++) {
+            int from = (int) ((long) n * i / chunks);
+            int to = (int) ((long) n * (i + 1) / chunks);
+            futures.add(pool.submit(() -> task.run(from, to)));
+        }
+        for (Future<?> f : futures) f.get();
+    }
+
+    /** HORIZON tables are exact below MAX_HORIZON + 1 plies; REACH_GOAL values must fit below NO_WIN. */
+    private static boolean validHorizon(Mode mode, int horizon) {
+        return horizon >= 0 && horizon <= (mode == Mode.HORIZON ? MAX_HORIZON : NO_WIN - 1);
+    }
+
+    private static void checkHorizon(Mode mode, int horizon) {
+        if (!validHorizon(mode, horizon)) {
+            throw new IllegalArgumentException("Unsupported horizon for " + mode + ": " + horizon);
+        }
+    }
+
+    // -------------------- Storage --------------------
+
+    /** Table solved in memory, not backed by a file. */
+    static GameTablebase inMemory(Mode mode, int horizon, int threads) throws Exception {
+        return new GameTablebase(mode, horizon,
+                ByteBuffer.wrap(solve(mode, horizon, threads)).asReadOnlyBuffer());
+    }
+
+    /** Solve and write the table to 'file' through a memory-mapped buffer. */
+    static GameTablebase build(Mode mode, int horizon, int threads, Path file) throws Exception {
+        byte[] values = solve(mode, horizon, threads);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + ENTRIES);
+            buf.putInt(MAGIC).putInt(mode.ordinal()).putInt(horizon).putInt(ENTRIES);
+            buf.put(values);
+            buf.force();
+        }
+        return load(file);
+    }
+
+    /** Map an existing table file read-only. */
+    static GameTablebase load(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (ch.size() != HEADER_BYTES + ENTRIES || buf.getInt() != MAGIC) {
+                throw new IOException("Not a tablebase file: " + file);
+            }
+            int ordinal = buf.getInt();
+            int horizon = buf.getInt();
+            if (ordinal < 0 || ordinal >= Mode.values().length
+                    || !validHorizon(Mode.values()[ordinal], horizon)) {
+                throw new IOException("Bad tablebase header: " + file);
+            }
+            Mode mode = Mode.values()[ordinal];
+            buf.getInt();
+            return new GameTablebase(mode, horizon, buf.slice());
+        }
+    }
+
+    /** Load the table from 'file' if it matches, otherwise build it. */
+    static GameTablebase open(Mode mode, int horizon, Path file) throws Exception {
+        if (Files.exists(file)) {
+            try {
+                GameTablebase tb = load(file);
+                if (tb.mode == mode && tb.horizon == horizon) return tb;
+            } catch (IOException e) {
+                // stale or foreign file: rebuild below
+            }
+        }
+        return build(mode, horizon, Runtime.getRuntime().availableProcessors(), file);
+    }
+
+    /** File name of a table in a directory of tables. */
+    static String fileName(Mode mode, int horizon) {
+        return "tablebase-" + mode.name().toLowerCase() + horizon + ".bin";
+    }
+
+    // -------------------- Main --------------------
+
+    /**
+     * Usage: GameTablebase input.txt [horizon [threads [directory]]]. The tables are
+     * kept in memory unless a directory is given to write them to.
+     */
+    public static void main(String[] args) throws Exception {
+        String inputFile = args.length > 0 ? args[0] : "input1.txt";
+        int horizon = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        Path tableDir = args.length > 3 ? Paths.get(args[3]) : null;
+        int[][] input = PuzzleState.readInput(inputFile);
+        int[] initial = input[0];
+
+        System.out.println("Start State: " + PuzzleState.stateToString(initial));
+        System.out.println("Goal  State: " + PuzzleState.stateToString(PuzzleState.GOAL));
+        System.out.println("Start Grid:\n" + PuzzleState.stateToGrid(initial));
+        System.out.println("Tablebase horizon: " + horizon + " plies, "
+                + ENTRIES + " positions (" + (HEADER_BYTES + ENTRIES) / 1024 + " KB)");
+        System.out.println();
+
+        // ---- Layered sweep, 1..N threads ----
+        System.out.println("=".repeat(60));
+        System.out.println("RETROGRADE SOLVE: layered sweep (horizon=" + horizon + ")");
+        System.out.println("=".repeat(60));
+        System.out.println("Threads  Time (ms)");
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            long t0 = System.nanoTime();
+            solve(Mode.HORIZON, horizon, threads);
+            System.out.printf("%-9d%.1f%n", threads, (System.nanoTime() - t0) / 1e6);
+        }
+        System.out.println();
+
+        int reachHorizon = 2 * horizon;
+        GameTablebase minimax, reach;
+        if (tableDir == null) {
+            minimax = inMemory(Mode.HORIZON, horizon, maxThreads);
+            reach = inMemory(Mode.REACH_GOAL, reachHorizon, maxThreads);
+        } else {
+            minimax = build(Mode.HORIZON, horizon, maxThreads, tableDir.resolve(fileName(Mode.HORIZON, horizon)));
+            reach = build(Mode.REACH_GOAL, reachHorizon, maxThreads,
+                    tableDir.resolve(fileName(Mode.REACH_GOAL, reachHorizon)));
+        }
+
+        // ---- Lookups for the start state ----
+        int dir = minimax.bestMove(initial, true, AdversarialSearch.NO_MOVE);
+        System.out.println("Perfect play (horizon " + horizon + "):");
+        System.out.println("  Best move: " + (dir < 0 ? "-" : PuzzleState.DIR_NAMES[dir])
+                + " (utility=" + minimax.value(initial, true, AdversarialSearch.NO_MOVE) + ")");
+        int plies = reach.value(initial, true, AdversarialSearch.NO_MOVE);
+        System.out.println("Reach-goal (within " + reachHorizon + " plies): "
+                + (plies == NO_WIN ? "no forced win" : "forced win in " + plies + " plies"));
+
+        // ---- Agreement with Alpha-Beta on random positions ----
+        Random rng = new Random(42);
+        int samples = 200, agree = 0;
+        for (int i = 0; i < samples; i++) {
+            int[] s = PuzzleState.GOAL.clone();
+            for (int k = 0; k < 40; k++) {
+                List<int[]> n = PuzzleState.getNeighbors(s);
+                s = n.get(rng.nextInt(n.size()));
+            }
+            if (PuzzleState.isGoal(s)) { agree++; continue; }
+            int d = minimax.bestMove(s, true, AdversarialSearch.NO_MOVE);
+            int[] move = PuzzleState.applyMove(s, d);
+            if (AdversarialSearch.moveValue(s, move, horizon)
+                    == minimax.value(s, true, AdversarialSearch.NO_MOVE)) agree++;
+        }
+        System.out.println("Agreement with Alpha-Beta on " + samples + " random positions: "
+                + agree + "/" + samples);
+        System.out.println();
+    }
+}
@@ -1,4 +1,8 @@
-import java.util.*;
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
 
 /**
  * Greedy Best-First Search for the Manuscript Sorting Problem.
@@ -7,6 +11,9 @@ import java.util.*;
  * Prioritizes states with smallest heuristic value (h2 - Manhattan Distance).
  * Fast but NOT guaranteed to find the optimal solution.
  *
+ * Implements Solver: the search runs in the calling thread's SearchWorkspace,
+ * so one instance can be shared freely.
+ *
  * Time Complexity : O(b^m) worst case
  * Space Complexity: O(b^m) - stores frontier and visited set
  * Optimal         : No
@@ -14,22 +21,34 @@ import java.util.*;
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
  */
-public class GreedyBestFirstSearch {
+public final class GreedyBestFirstSearch implements Solver {
 
-    // Node for priority queue: ordered by heuristic h only
-    static class Node implements Comparable<Node> {
-        int[] state;
-        int h;
-        String key;
+    private final SearchMetrics metrics = SearchTelemetry.search(name(), heuristic());
 
-        Node(int[] state, int h) {
-            this.state = state;
-            this.h = h;
-            this.key = Arrays.toString(state);
-        }
+    @Override
+    public String name() {
+        return "Greedy Best-First Search";
+    }
 
-        public int compareTo(Node o) {
-            return Integer.compare(this.h, o.h);
+    @Override
+    public String heuristic() {
+        return "h2 - Manhattan Distance";
+    }
+
+    @Override
+    public SearchResult solve(int[] initial) {
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        SearchWorkspace ws = SearchWorkspace.acquire();
+        try {
+            boolean success = ws.solveGreedy(PuzzleState.pack(initial));
+            long nanos = System.nanoTime() - startTime;
+            ws.record(metrics, nanos);
+            SearchResult result = ws.toResult(name(), heuristic(), success, nanos);
+            result.commit(event);
+            return result;
+        } finally {
+            SearchWorkspace.release(ws);
         }
     }
 
@@ -42,53 +61,7 @@ public class GreedyBestFirstSearch {
         System.out.println("Goal  State: " + PuzzleState.stateToString(PuzzleState.GOAL));
         System.out.println("Start Grid:\n" + PuzzleState.stateToGrid(initial));
 
-        // Run Greedy Best-First Search
-        long startTime = System.currentTimeMillis();
-        int statesExplored = 0;
-        boolean success = false;
-        List<int[]> solutionPath = null;
-
-        PriorityQueue<Node> frontier = new PriorityQueue<>();
-        Map<String, String> parent = new HashMap<>();
-        Map<String, int[]> stateMap = new HashMap<>();
-        Set<String> visited = new HashSet<>();
-
-        String initKey = Arrays.toString(initial);
-        frontier.add(new Node(initial, PuzzleState.h2(initial)));
-        parent.put(initKey, null);
-        stateMap.put(initKey, initial);
-
-        while (!frontier.isEmpty()) {
-            Node node = frontier.poll();
-
-            if (visited.contains(node.key)) continue;
-            visited.add(node.key);
-            statesExplored++;
-
-            // Goal test
-            if (PuzzleState.isGoal(node.state)) {
-                success = true;
-                solutionPath = PuzzleState.reconstructPath(parent, stateMap, node.state);
-                break;
-            }
-
-            // Expand: prioritize by h(n) only
-            for (int[] neighbor : PuzzleState.getNeighbors(node.state)) {
-                String nKey = Arrays.toString(neighbor);
-                if (!visited.contains(nKey)) {
-                    if (!parent.containsKey(nKey)) {
-                        parent.put(nKey, node.key);
-                        stateMap.put(nKey, neighbor);
-                    }
-                    frontier.add(new Node(neighbor, PuzzleState.h2(neighbor)));
-                }
-            }
-        }
-
-        long timeMs = System.currentTimeMillis() - startTime;
-
-        PuzzleState.printResult("Greedy Best-First Search",
-                "h2 - Manhattan Distance",
-                success, solutionPath, statesExplored, timeMs);
+        // Run Greedy Best-First Search and print results
+        PuzzleState.printResult(new GreedyBestFirstSearch().solve(initial), initial);
     }
 }
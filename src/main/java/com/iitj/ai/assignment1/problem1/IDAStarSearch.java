@@ -1,3 +1,10 @@
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.jobs.Deadline;
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
+
 import java.util.*;
 
 /**
@@ -8,6 +15,19 @@ import java.util.*;
  * Threshold increases to the minimum f-value exceeding the previous bound.
  * Uses path-based cycle detection (not a global visited set) to save memory.
  *
+ * Implements Solver. The board is changed in place while descending and the
+ * current path is kept as packed states in a per-thread Context, so a call
+ * allocates nothing per node and one instance can be shared between threads.
+ * Telemetry is handed over after every threshold iteration, so long solves
+ * show progress while they run. The thread's Deadline is polled every
+ * Deadline.CHECK_INTERVAL expansions; a stopped solve returns the path to
+ * the state with the lowest h seen so far.
+ *
+ * With a SolutionMemo, a generated state whose optimal distance d is known
+ * is not searched below: it is a leaf with f = g + d, exact rather than
+ * estimated. Every threshold is a lower bound on the optimal cost, so a
+ * memoized leaf with f within the threshold is an optimal solution.
+ *
  * Time Complexity : O(b^d) - but re-expands states across iterations
  * Space Complexity: O(b*d) - linear in depth (only current path stored)
  * Optimal         : Yes (with admissible heuristic)
@@ -15,88 +35,300 @@ import java.util.*;
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
  */
-public class IDAStarSearch {
+public final class IDAStarSearch implements Solver {
 
-    private static int statesExplored;
+    private static final int FOUND = -1;
+    private static final int STOPPED = -2;     // the deadline expired
+
+    private final boolean useH1;
+    private final boolean verbose;   // print one line per iteration
+    private final SolutionMemo memo; // null = none
+    private final SearchMetrics metrics;
+
+    public IDAStarSearch(boolean useH1) {
+        this(useH1, false);
+    }
+
+    /**
+     * @param useH1   true = h1 (misplaced tiles), false = h2 (Manhattan distance)
+     * @param verbose print the threshold of every iteration
+     */
+    public IDAStarSearch(boolean useH1, boolean verbose) {
+        this(useH1, verbose, null);
+    }
+
+    /**
+     * @param memo optimal suffixes shared with other solvers, or null
+     */
+    public IDAStarSearch(boolean useH1, boolean verbose, SolutionMemo memo) {
+        this.useH1 = useH1;
+        this.verbose = verbose;
+        this.memo = memo;
+        this.metrics = SearchTelemetry.search(name(), heuristic());
+    }
+
+    /** IDA* result with the number of threshold iterations. */
+    public static class Result extends SearchResult {
+        public final int iterations;
+
+        Result(String algorithm, String heuristic, Status status, long[] moves, int pathLength,
+               long expanded, long generated, long peakMemory, long nanos, int iterations) {
+            super(algorithm, heuristic, status, moves, pathLength,
+                    expanded, generated, peakMemory, nanos);
+            this.iterations = iterations;
+        }
+    }
+
+    // -------------------- Per-Thread Search State --------------------
+
+    /** Mutable board and current path, reused by every call on one thread. */
+    static class Context {
+        final int[] board = new int[9];
+        int blank;
+        boolean useH1;
+        long[] pathKeys = new long[64];    // pathKeys[g] = packed state at depth g
+        byte[] pathMoves = new byte[64];   // pathMoves[g] = move from depth g to g + 1
+        int goalDepth;
+        int maxDepth;
+        long expanded;
+        long generated;
+        long duplicates;        // successors already on the current path
+        private final long[] sent = new long[3];   // counters already handed to telemetry
+        Deadline deadline;      // of the solve in progress, null if none
+        int bestH;              // lowest h expanded so far and the path to it
+        int bestDepth;
+        byte[] bestMoves = new byte[64];
+        SolutionMemo memo;      // null = none
+        long via;               // memoized state the solution ends in, at depth viaDepth
+        int viaDepth;
+
+        void reset(int[] initial, boolean h1, SolutionMemo m) {
+            System.arraycopy(initial, 0, board, 0, 9);
+            blank = PuzzleState.findBlank(board);
+            useH1 = h1;
+            pathKeys[0] = PuzzleState.pack(board);
+            goalDepth = -1;
+            maxDepth = 0;
+            expanded = 0;
+            generated = 0;
+            duplicates = 0;
+            Arrays.fill(sent, 0);
+            deadline = Deadline.current();
+            bestH = Integer.MAX_VALUE;
+            bestDepth = 0;
+            memo = m;
+            viaDepth = -1;
+        }
+
+        /** Record a solution ending in memoized state 'state' at depth g, total cost 'cost'. */
+        void foundVia(long state, int g, int cost) {
+            via = state;
+            viaDepth = g;
+            goalDepth = cost;
+        }
+
+        /** Remember the current path as the best-so-far result. */
+        void keepBest(int g, int h) {
+            if (g > bestMoves.length) bestMoves = Arrays.copyOf(bestMoves, pathMoves.length);
+            System.arraycopy(pathMoves, 0, bestMoves, 0, g);
+            bestH = h;
+            bestDepth = g;
+        }
+
+        /**
+         * Periodic work, every Deadline.CHECK_INTERVAL expansions: the deadline
+         * check and, less often, the JFR NodeExpansion sample.
+         * @return true if the search must stop
+         */
+        boolean poll(int g, int h) {
+            if (deadline != null && deadline.expired()) return true;
+            if ((expanded & SearchEvents.EXPANSION_MASK) == 0) {
+                SearchEvents.NodeExpansion.sample(useH1 ? "IDA* h1" : "IDA* h2",
+                        expanded, pathKeys[g], g, h, g + 1);
+            }
+            return false;
+        }
+
+        /**
+         * Send the counters gathered since the last flush to telemetry.
+         * Every successor that is not on the path gets a heuristic value.
+         */
+        void flush(SearchMetrics metrics) {
+            long newGenerated = generated - sent[1];
+            long newDuplicates = duplicates - sent[2];
+            metrics.add(expanded - sent[0], newGenerated, newDuplicates,
+                    newGenerated - newDuplicates + (sent[1] == 0 ? 1 : 0));   // + the root
+            sent[0] = expanded;
+            sent[1] = generated;
+            sent[2] = duplicates;
+        }
+
+        void ensureDepth(int depth) {
+            if (depth >= pathKeys.length) {
+                pathKeys = Arrays.copyOf(pathKeys, pathKeys.length * 2);
+                pathMoves = Arrays.copyOf(pathMoves, pathMoves.length * 2);
+            }
+        }
+    }
+
+    private static final ThreadLocal<Context> CONTEXT = ThreadLocal.withInitial(Context::new);
+
+    private static int misplaced(int tile, int pos) {
+        return PuzzleState.GOAL[pos] != tile ? 1 : 0;
+    }
 
     /**
      * Recursive DFS with f-value threshold.
-     * Returns: -1 if FOUND, otherwise the minimum f exceeding threshold.
+     * Returns: FOUND (-1) if the goal was reached, STOPPED (-2) if the deadline
+     * expired, otherwise the minimum f exceeding threshold.
      */
-    static int idaSearch(List<int[]> path, Set<String> pathSet,
-                         int g, int threshold, boolean useH1) {
-        int[] current = path.get(path.size() - 1);
-        int h = useH1 ? PuzzleState.h1(current) : PuzzleState.h2(current);
+    static int idaSearch(Context c, int g, int h, int threshold) {
         int f = g + h;
-
         if (f > threshold) return f;        // Exceeded threshold
-        statesExplored++;
-        if (PuzzleState.isGoal(current)) return -1;  // FOUND
+        c.expanded++;
+        if ((c.expanded & Deadline.CHECK_MASK) == 0 && c.poll(g, h)) return STOPPED;
+        if (h < c.bestH) c.keepBest(g, h);
+        c.maxDepth = Math.max(c.maxDepth, g);
+        if (h == 0) {                        // h1 = h2 = 0 only at the goal
+            c.goalDepth = g;
+            return FOUND;
+        }
 
+        long key = c.pathKeys[g];
+        int b = c.blank;
+        int r = b / PuzzleState.SIZE, col = b % PuzzleState.SIZE;
         int min = Integer.MAX_VALUE;
-        for (int[] neighbor : PuzzleState.getNeighbors(current)) {
-            String nKey = Arrays.toString(neighbor);
-            if (!pathSet.contains(nKey)) {  // Cycle detection on current path
-                path.add(neighbor);
-                pathSet.add(nKey);
+        c.ensureDepth(g + 1);
+        for (int d = 0; d < 4; d++) {
+            int nr = r + PuzzleState.DR[d], nc = col + PuzzleState.DC[d];
+            if (nr < 0 || nr >= PuzzleState.SIZE || nc < 0 || nc >= PuzzleState.SIZE) continue;
+            int to = nr * PuzzleState.SIZE + nc;
+            int tile = c.board[to];
+            long next = key + ((long) tile << (4 * b)) - ((long) tile << (4 * to));
+            c.generated++;
+            if (onPath(c, next, g)) {           // Cycle detection on current path
+                c.duplicates++;
+                continue;
+            }
+            if (c.memo != null) {
+                int dist = c.memo.distance(next);
+                if (dist >= 0) {                // Exact leaf: f = g + 1 + dist
+                    int cost = g + 1 + dist;
+                    if (cost <= threshold) {
+                        c.pathMoves[g] = (byte) d;
+                        c.foundVia(next, g + 1, cost);
+                        return FOUND;
+                    }
+                    if (cost < min) min = cost;
+                    continue;
+                }
+            }
 
-                int result = idaSearch(path, pathSet, g + 1, threshold, useH1);
+            int nh = c.useH1
+                    ? h - misplaced(tile, to) + misplaced(tile, b)
+                    : h + PuzzleState.MANHATTAN[tile][b] - PuzzleState.MANHATTAN[tile][to];
+            c.board[b] = tile;
+            c.board[to] = 0;
+            c.blank = to;
+            c.pathKeys[g + 1] = next;
+            c.pathMoves[g] = (byte) d;
 
-                if (result == -1) return -1;  // Found solution
-                if (result < min) min = result;
+            int result = idaSearch(c, g + 1, nh, threshold);
+            if (result < 0) return result;      // Found solution, or stopped
+            if (result < min) min = result;
 
-                path.remove(path.size() - 1);
-                pathSet.remove(nKey);
-            }
+            c.board[to] = tile;
+            c.board[b] = 0;
+            c.blank = b;
         }
         return min;
     }
 
+    private static boolean onPath(Context c, long key, int g) {
+        for (int i = g; i >= 0; i--) {
+            if (c.pathKeys[i] == key) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public String name() {
+        return "Iterative Deepening A* (IDA*)";
+    }
+
+    @Override
+    public String heuristic() {
+        return useH1 ? "h1 - Misplaced Tiles" : "h2 - Manhattan Distance";
+    }
+
     /**
-     * Run IDA* with specified heuristic.
-     * @param useH1 true = h1 (misplaced tiles), false = h2 (Manhattan distance)
+     * Run IDA* with this solver's heuristic. Unsolvable start states are
+     * rejected up front; path-based cycle detection alone would never stop.
      */
-    static void runIDAStar(int[] initial, boolean useH1) {
-        String hName = useH1 ? "h1 - Misplaced Tiles" : "h2 - Manhattan Distance";
-        long startTime = System.currentTimeMillis();
-        statesExplored = 0;
-        boolean success = false;
-        List<int[]> solutionPath = null;
-
-        int threshold = useH1 ? PuzzleState.h1(initial) : PuzzleState.h2(initial);
-        List<int[]> path = new ArrayList<>();
-        path.add(initial);
-        Set<String> pathSet = new HashSet<>();
-        pathSet.add(Arrays.toString(initial));
+    @Override
+    public Result solve(int[] initial) {
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        Context c = CONTEXT.get();
+        c.reset(initial, useH1, memo);
+        long start = c.pathKeys[0];
+        int known = memo == null ? -1 : memo.distance(start);
+        if (known >= 0) c.foundVia(start, 0, known);
 
+        int h0 = useH1 ? PuzzleState.h1(initial) : PuzzleState.h2(initial);
+        int threshold = h0;
         int iteration = 0;
-        while (true) {
+        boolean stopped = false;
+        while (known < 0 && PuzzleState.isSolvable(initial)) {
             iteration++;
-            int result = idaSearch(path, pathSet, 0, threshold, useH1);
+            SearchEvents.IDAStarIteration pass = SearchEvents.IDAStarIteration.start();
+            long expandedBefore = c.expanded;
+            int result = idaSearch(c, 0, h0, threshold);
+            c.flush(metrics);
+            pass.finish(heuristic(), iteration, threshold, result, c.expanded - expandedBefore);
 
-            if (result == -1) {
-                // Solution found - path contains the solution
-                success = true;
-                solutionPath = new ArrayList<>(path);
-                break;
-            }
-            if (result == Integer.MAX_VALUE) {
-                // No solution exists
-                break;
+            stopped = result == STOPPED;
+            if (result == FOUND || stopped || result == Integer.MAX_VALUE) {
+                break;  // Solution found, deadline expired, or no solution exists
             }
 
-            System.out.println("  IDA* iteration " + iteration
-                    + ": threshold=" + threshold + " -> next=" + result
-                    + " (states so far: " + statesExplored + ")");
+            if (verbose) {
+                System.out.println("  IDA* iteration " + iteration
+                        + ": threshold=" + threshold + " -> next=" + result
+                        + " (states so far: " + c.expanded + ")");
+            }
             threshold = result;  // Increase threshold to next smallest f
         }
 
-        long timeMs = System.currentTimeMillis() - startTime;
-
-        PuzzleState.printResult("Iterative Deepening A* (IDA*)", hName,
-                success, solutionPath, statesExplored, timeMs);
-        System.out.println("Total IDA* iterations: " + iteration);
-        System.out.println();
+        boolean success = c.goalDepth >= 0;
+        long nanos = System.nanoTime() - startTime;
+        c.flush(metrics);
+        metrics.finish(c.maxDepth + 1, nanos);
+        SearchResult.Status status;
+        int length;
+        byte[] path;
+        if (success) {
+            status = SearchResult.Status.SOLVED;
+            length = c.goalDepth;
+            path = c.pathMoves;
+        } else if (stopped) {
+            status = c.deadline.cancelled() ? SearchResult.Status.CANCELLED : SearchResult.Status.TIMED_OUT;
+            length = c.bestDepth;
+            path = c.bestMoves;
+        } else {
+            status = SearchResult.Status.FAILED;
+            length = -1;
+            path = c.pathMoves;
+        }
+        long[] moves = new long[Math.max(SearchResult.words(length), 1)];
+        int prefix = success && c.viaDepth >= 0 ? c.viaDepth : length;
+        for (int i = 0; i < prefix; i++) SearchResult.setMove(moves, i, path[i]);
+        if (prefix < length) memo.appendSuffix(c.via, moves, prefix);
+        Result result = new Result(name(), heuristic(), status, moves, length,
+                c.expanded, c.generated, (c.maxDepth + 1) * 9L, nanos, iteration);
+        if (success && memo != null) memo.record(start, result);
+        result.commit(event);
+        return result;
     }
 
     public static void main(String[] args) throws Exception {
@@ -108,10 +340,12 @@ public class IDAStarSearch {
         System.out.println("Goal  State: " + PuzzleState.stateToString(PuzzleState.GOAL));
         System.out.println("Start Grid:\n" + PuzzleState.stateToGrid(initial));
 
-        // Run IDA* with h1 (Misplaced Tiles)
-        runIDAStar(initial, true);
-
-        // Run IDA* with h2 (Manhattan Distance)
-        runIDAStar(initial, false);
+        // Run IDA* with h1 (Misplaced Tiles), then h2 (Manhattan Distance)
+        for (boolean useH1 : new boolean[]{true, false}) {
+            Result result = new IDAStarSearch(useH1, true).solve(initial);
+            PuzzleState.printResult(result, initial);
+            System.out.println("Total IDA* iterations: " + result.iterations);
+            System.out.println();
+        }
     }
 }
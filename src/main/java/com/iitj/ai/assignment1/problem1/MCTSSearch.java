@@ -0,0 +1,378 @@
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.telemetry.SearchEvents;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Monte Carlo Tree Search (MCTS) for the adversarial Manuscript Sorting game.
+ *
+ * Same game as AdversarialSearch: MAX (Robotic Sorter) and MIN (System Glitch)
+ * alternate moves for a fixed horizon of plies; a state on the current path is
+ * never revisited (for horizons below 12 that means "no undo of the last move").
+ * The outcome for MAX is the normalized utility
+ *   r = 1 - ManhattanDistance(s) / 32   (1 = goal, 0 = worst possible)
+ *
+ * Each playout:
+ *   1. Selection : descend with UCT, Q + C * sqrt(ln N / n), where Q is the
+ *                  mean outcome for the player who made the move.
+ *   2. Expansion : a node is expanded (all children at once) when it is
+ *                  reached again after its first visit.
+ *   3. Simulation: light playout to the horizon, either uniformly random or
+ *                  h2-guided (MAX prefers lower h2, MIN prefers higher h2).
+ *   4. Backup    : outcome added along the path.
+ *
+ * Tree parallelism: all threads share one tree. Node statistics are plain
+ * fields updated with atomic field updaters (no locks). During selection each
+ * traversed node gets a virtual loss (extra visits, no reward) so that other
+ * threads are steered to different branches; it is removed during backup.
+ *
+ * The move returned is the most-visited root child.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class MCTSSearch {
+
+    private static final double EXPLORATION = 1.0;   // UCT constant C (rewards in [0,1])
+    private static final int VIRTUAL_LOSS = 3;
+    private static final double MAX_H2 = 32.0;       // 8 tiles, at most 4 moves each
+    private static final double GREEDY_PROB = 0.8;   // h2-guided playout: best move probability
+
+    static {
+        SearchEvents.load();                // no metrics to register, so load the events here
+    }
+
+    // -------------------- Tree Node --------------------
+
+    static final class Node {
+        private static final AtomicIntegerFieldUpdater<Node> VISITS =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+        private static final AtomicLongFieldUpdater<Node> REWARD =
+                AtomicLongFieldUpdater.newUpdater(Node.class, "reward");
+        private static final AtomicReferenceFieldUpdater<Node, Node[]> CHILDREN =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node[].class, "children");
+
+        // Rewards are summed in fixed point so they fit an atomic long
+        static final double SCALE = 1 << 20;
+
+        final int move;            // direction that led here (-1 at root)
+        final boolean maxToMove;   // player to move from this node
+        volatile int visits;
+        volatile long reward;      // sum of outcomes for the player who moved here
+        volatile Node[] children;
+
+        Node(int move, boolean maxToMove) {
+            this.move = move;
+            this.maxToMove = maxToMove;
+        }
+
+        double mean() {
+            int n = visits;
+            return n == 0 ? 0 : reward / SCALE / n;
+        }
+    }
+
+    private final int horizon;
+    private final boolean guided;
+
+    MCTSSearch(int horizon, boolean guided) {
+        this.horizon = horizon;
+        this.guided = guided;
+    }
+
+    /** Result of one search: chosen move and how many playouts it took. */
+    static class Result {
+        final int move;
+        final long playouts;
+        final long nanos;
+        final Node root;
+
+        Result(int move, long playouts, long nanos, Node root) {
+            this.move = move;
+            this.playouts = playouts;
+            this.nanos = nanos;
+            this.root = root;
+        }
+
+        double playoutsPerSecond() {
+            return playouts / (nanos / 1e9);
+        }
+    }
+
+    // -------------------- Search --------------------
+
+    /**
+     * Run MCTS from 'initial' on 'threads' threads until either the playout
+     * budget or the time budget is used up (a budget of 0 means unlimited).
+     */
+    Result search(int[] initial, int threads, long maxPlayouts, long timeMs) throws Exception {
+        Node root = new Node(-1, true);
+        AtomicLong playouts = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = timeMs > 0 ? start + timeMs * 1_000_000L : Long.MAX_VALUE;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = 42 + t;
+            workers.add(pool.submit(() -> {
+                Worker w = new Worker(initial, new SplittableRandom(seed));
+                while (System.nanoTime() < deadline) {
+                    if (maxPlayouts > 0 && playouts.getAndIncrement() >= maxPlayouts) break;
+                    w.playout(root);
+                    if (maxPlayouts <= 0) playouts.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> f : workers) f.get();
+        pool.shutdown();
+        long nanos = System.nanoTime() - start;
+
+        // Most-visited root move
+        Node best = null;
+        Node[] children = root.children;
+        if (children != null) {
+            for (Node c : children) {
+                if (best == null || c.visits > best.visits) best = c;
+            }
+        }
+        return new Result(best == null ? -1 : best.move,
+                Math.min(playouts.get(), maxPlayouts > 0 ? maxPlayouts : Long.MAX_VALUE),
+                nanos, root);
+    }
+
+    /** Per-thread playout state: a mutable board and a random source. */
+    final class Worker {
+        final int[] initial;
+        final int[] board = new int[9];
+        final SplittableRandom rng;
+        final Node[] pathNodes = new Node[horizon + 1];
+        final long[] pathKeys = new long[horizon + 1];
+        int blank, h;
+        long key;
+
+        Worker(int[] initial, SplittableRandom rng) {
+            this.initial = initial;
+            this.rng = rng;
+        }
+
+        int target(int d) {
+            int r = blank / PuzzleState.SIZE + PuzzleState.DR[d];
+            int c = blank % PuzzleState.SIZE + PuzzleState.DC[d];
+            if (r < 0 || r >= PuzzleState.SIZE || c < 0 || c >= PuzzleState.SIZE) return -1;
+            return r * PuzzleState.SIZE + c;
+        }
+
+        void move(int to) {
+            int tile = board[to];
+            h += PuzzleState.MANHATTAN[tile][blank] - PuzzleState.MANHATTAN[tile][to];
+            key += ((long) tile << (4 * blank)) - ((long) tile << (4 * to));
+            board[blank] = tile;
+            board[to] = 0;
+            blank = to;
+        }
+
+        /** True if the current board already occurs on the path [0, ply). */
+        boolean onPath(int ply) {
+            for (int i = 0; i < ply; i++) {
+                if (pathKeys[i] == key) return true;
+            }
+            return false;
+        }
+
+        void playout(Node root) {
+            System.arraycopy(initial, 0, board, 0, 9);
+            blank = PuzzleState.findBlank(board);
+            h = PuzzleState.h2(board);
+            key = PuzzleState.pack(board);
+
+            // 1. Selection with virtual loss
+            Node node = root;
+            int ply = 0;
+            pathNodes[0] = root;
+            pathKeys[0] = key;
+            Node.VISITS.addAndGet(root, VIRTUAL_LOSS);
+            while (ply < horizon && h != 0) {
+                Node[] children = node.children;
+                if (children == null) {
+                    // 2. Expansion once a node has been visited before
+                    if (node.visits <= VIRTUAL_LOSS && node != root) break;
+                    children = expand(node, ply);
+                    if (children.length == 0) break;
+                }
+                node = select(node, children);
+                move(target(node.move));
+                ply++;
+                pathNodes[ply] = node;
+                pathKeys[ply] = key;
+                Node.VISITS.addAndGet(node, VIRTUAL_LOSS);
+            }
+
+            // 3. Simulation
+            double outcome = simulate(ply);
+
+            // 4. Backup, removing the virtual loss
+            for (int i = 0; i <= ply; i++) {
+                Node n = pathNodes[i];
+                Node.VISITS.addAndGet(n, 1 - VIRTUAL_LOSS);
+                // Stored from the point of view of the player who moved into n
+                double r = n.maxToMove ? 1 - outcome : outcome;
+                Node.REWARD.addAndGet(n, (long) (r * Node.SCALE));
+            }
+        }
+
+        Node[] expand(Node node, int ply) {
+            List<Node> list = new ArrayList<>(4);
+            for (int d = 0; d < 4; d++) {
+                int to = target(d);
+                if (to < 0) continue;
+                int from = blank;
+                move(to);
+                if (!onPath(ply + 1)) list.add(new Node(d, !node.maxToMove));
+                move(from);
+            }
+            Node[] fresh = list.toArray(new Node[0]);
+            // Another thread may have expanded first; keep whichever won
+            Node.CHILDREN.compareAndSet(node, null, fresh);
+            return node.children;
+        }
+
+        Node select(Node parent, Node[] children) {
+            double logN = Math.log(Math.max(1, parent.visits));
+            Node best = null;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (Node c : children) {
+                int n = c.visits;
+                double score = n == 0 ? Double.POSITIVE_INFINITY
+                        : c.mean() + EXPLORATION * Math.sqrt(logN / n);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = c;
+                }
+            }
+            return best;
+        }
+
+        /** Play to the horizon from the current board; outcome for MAX. */
+        double simulate(int ply) {
+            int[] moves = new int[4];
+            while (ply < horizon && h != 0) {
+                boolean maxToMove = (ply % 2 == 0);
+                int count = 0, bestTo = -1, bestH = 0;
+                for (int d = 0; d < 4; d++) {
+                    int to = target(d);
+                    if (to < 0) continue;
+                    int from = blank;
+                    move(to);
+                    boolean legal = !onPath(ply + 1);
+                    int childH = h;
+                    move(from);
+                    if (!legal) continue;
+                    moves[count++] = to;
+                    if (bestTo < 0 || (maxToMove ? childH < bestH : childH > bestH)) {
+                        bestTo = to;
+                        bestH = childH;
+                    }
+                }
+                if (count == 0) break;
+                int to = (guided && rng.nextDouble() < GREEDY_PROB) ? bestTo : moves[rng.nextInt(count)];
+                move(to);
+                ply++;
+                pathKeys[ply] = key;
+            }
+            return 1.0 - h / MAX_H2;
+        }
+    }
+
+    // -------------------- Alpha-Beta at Equal Time --------------------
+
+    /**
+     * Iterative-deepening alpha-beta up to the horizon within the time budget.
+     * Returns {best direction, deepest completed depth}.
+     */
+    static int[] alphaBetaWithin(int[] initial, int horizon, long timeMs) {
+        long deadline = System.nanoTime() + timeMs * 1_000_000L;
+        int bestDir = -1, completed = 0;
+        for (int depth = 1; depth <= horizon && System.nanoTime() < deadline; depth++) {
+            SearchEvents.AlphaBetaDepth pass = SearchEvents.AlphaBetaDepth.start();
+            AdversarialSearch.Negamax search = new AdversarialSearch.Negamax(initial, true, false, null);
+            int bestVal = Integer.MIN_VALUE, dir = -1;
+            for (int d = 0; d < 4; d++) {
+                if (search.target(d) < 0) continue;
+                int val = search.searchChild(d, depth, -AdversarialSearch.INF, AdversarialSearch.INF);
+                if (val > bestVal) {
+                    bestVal = val;
+                    dir = d;
+                }
+            }
+            if (System.nanoTime() > deadline && depth > 1) break;  // unfinished in time
+            pass.finish("Iterative Alpha-Beta", depth, dir < 0 ? "" : PuzzleState.DIR_NAMES[dir], bestVal, search.nodes);
+            bestDir = dir;
+            completed = depth;
+        }
+        return new int[]{bestDir, completed};
+    }
+
+    // -------------------- Main --------------------
+
+    public static void main(String[] args) throws Exception {
+        String inputFile = args.length > 0 ? args[0] : "input1.txt";
+        int horizon = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        long timeMs = args.length > 2 ? Long.parseLong(args[2]) : 200;
+        int maxThreads = args.length > 3 ? Integer.parseInt(args[3])
+                : Runtime.getRuntime().availableProcessors();
+        int[][] input = PuzzleState.readInput(inputFile);
+        int[] initial = input[0];
+
+        System.out.println("Start State: " + PuzzleState.stateToString(initial));
+        System.out.println("Goal  State: " + PuzzleState.stateToString(PuzzleState.GOAL));
+        System.out.println("Start Grid:\n" + PuzzleState.stateToGrid(initial));
+        System.out.println("MCTS Horizon: " + horizon + " plies, time budget: " + timeMs + " ms");
+        System.out.println("Outcome for MAX: r = 1 - ManhattanDistance(s) / " + (int) MAX_H2);
+        System.out.println();
+
+        // ---- Throughput, 1..N threads ----
+        System.out.println("=".repeat(60));
+        System.out.println("THROUGHPUT: Tree-parallel MCTS with virtual loss");
+        System.out.println("=".repeat(60));
+        System.out.println("Threads  Playouts    Playouts/s    Best move");
+        MCTSSearch mcts = new MCTSSearch(horizon, true);
+        mcts.search(initial, 1, 0, timeMs);  // warm-up
+        Result last = null;
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            last = mcts.search(initial, threads, 0, timeMs);
+            System.out.printf("%-9d%-12d%-14.0f%s%n", threads, last.playouts,
+                    last.playoutsPerSecond(), last.move < 0 ? "" : PuzzleState.DIR_NAMES[last.move]);
+        }
+        System.out.println();
+        if (last.move < 0) {
+            System.out.println("The start state is the goal: there is no move to choose.");
+            return;
+        }
+
+        System.out.println("Root statistics (" + maxThreads + " threads):");
+        for (Node c : last.root.children) {
+            System.out.printf("  %-6s visits=%-9d mean outcome=%.3f%n",
+                    PuzzleState.DIR_NAMES[c.move], c.visits, c.mean());
+        }
+        System.out.println();
+
+        // ---- Move quality vs Alpha-Beta at equal time ----
+        System.out.println("=".repeat(60));
+        System.out.println("QUALITY: MCTS vs Alpha-Beta at equal time (" + timeMs + " ms)");
+        System.out.println("=".repeat(60));
+        int[] ab = alphaBetaWithin(initial, horizon, timeMs);
+        int mctsValue = AdversarialSearch.moveValue(initial, PuzzleState.applyMove(initial, last.move), horizon);
+        int abValue = ab[0] < 0 ? mctsValue
+                : AdversarialSearch.moveValue(initial, PuzzleState.applyMove(initial, ab[0]), horizon);
+        System.out.println("                    MCTS       Alpha-Beta");
+        System.out.println("Move:               " + String.format("%-11s%s",
+                PuzzleState.DIR_NAMES[last.move], ab[0] < 0 ? "" : PuzzleState.DIR_NAMES[ab[0]]));
+        System.out.println("Depth-" + horizon + " value:     " + String.format("%-11d%d", mctsValue, abValue));
+        System.out.println("Alpha-Beta depth reached: " + ab[1] + " of " + horizon);
+        System.out.println();
+    }
+}
@@ -1,3 +1,5 @@
+package com.iitj.ai.assignment1.problem1;
+
 import java.util.*;
 
 /**
@@ -56,5 +58,7 @@ public class ManuscriptSorter {
         System.out.println("*".repeat(60));
         System.out.println();
         AdversarialSearch.main(new String[]{inputFile});
+        ParallelAlphaBetaSearch.main(new String[]{inputFile});
+        MCTSSearch.main(new String[]{inputFile});
     }
 }
@@ -0,0 +1,291 @@
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.assignment1.problem1.AdversarialSearch.Ancestors;
+import com.iitj.ai.assignment1.problem1.AdversarialSearch.Negamax;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * Parallel Alpha-Beta Pruning for the adversarial Manuscript Sorting game.
+ *
+ * Same game and utility as AdversarialSearch (u(s) = -ManhattanDistance(s)),
+ * searched on a ForkJoinPool using the Young Brothers Wait Concept (YBWC):
+ *   1. The eldest child of a node is searched serially to establish a bound.
+ *   2. If it does not cause a cutoff, the remaining siblings ("young brothers")
+ *      are forked in parallel. They share the node's bound through an
+ *      AtomicInteger, so a sibling that starts late uses the tightest window.
+ *   3. Near the leaves (depth < SPLIT_DEPTH) subtrees are searched serially,
+ *      because task overhead would outweigh the work.
+ *
+ * Every task runs on AdversarialSearch's Negamax core: its own board, made
+ * and unmade in place, with the packed key and the Manhattan distance kept
+ * up to date, and the serial subtrees are Negamax.search itself. A forked
+ * sibling gets a fresh Negamax of its board (nine cells); the positions
+ * above it are an immutable chain (Ancestors) shared with its parent, so
+ * nothing is copied per fork and repetitions are checked by packed key.
+ *
+ * At the root every move is searched (root splitting), with the eldest move
+ * searched first. Each root sibling uses the window (best - 1, +inf) so ties
+ * are resolved exactly; the first move with the highest value wins, which is
+ * the same move the serial AdversarialSearch (ALPHA_BETA) returns.
+ *
+ * Each task counts nodes in its Negamax and adds them to a LongAdder when it
+ * finishes, so the count is safe to update from every worker thread.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class ParallelAlphaBetaSearch {
+
+    // Remaining depth below which a subtree is searched on the current thread
+    private static final int SPLIT_DEPTH = 3;
+    // Timed repetitions per thread count (the fastest one is reported)
+    private static final int TIMED_RUNS = 5;
+
+    private final ForkJoinPool pool;
+    private final LongAdder nodes = new LongAdder();
+
+    ParallelAlphaBetaSearch(int threads) {
+        this.pool = new ForkJoinPool(threads);
+    }
+
+    /** Best root move (direction index, -1 if none) and its alpha-beta value. */
+    static class RootResult {
+        final int bestMove;
+        final int value;
+
+        RootResult(int bestMove, int value) {
+            this.bestMove = bestMove;
+            this.value = value;
+        }
+    }
+
+    // -------------------- Young Brothers Wait --------------------
+
+    /**
+     * Negamax value of n's board for the player to move, searched in
+     * parallel above SPLIT_DEPTH. The eldest child is searched first; the
+     * rest are forked only if it did not already produce a cutoff.
+     * @param above    the positions from the root down to this board's parent
+     * @param color    +1 if MAX to move, -1 if MIN to move
+     * @param lastMove direction that produced this board
+     */
+    private int search(Negamax n, Ancestors above, int depth, int alpha, int beta,
+                       int color, int lastMove) {
+        if (depth < SPLIT_DEPTH) return n.search(depth, alpha, beta, color, lastMove);
+        n.nodes++;
+        if (n.h == 0) {
+            n.leaves++;
+            return 0;
+        }
+
+        // Children not on the current path, in the usual Up/Down/Left/Right order
+        int[] dirs = new int[4];
+        int count = 0;
+        for (int d = 0; d < 4; d++) {
+            int to = n.target(d);
+            if (to < 0) continue;
+            int from = n.makeMove(to);
+            boolean repeat = n.path.contains(n.key) || (n.above != null && n.above.contains(n.key));
+            n.unmakeMove(from);
+            if (repeat) n.repeats++;
+            else dirs[count++] = d;
+        }
+        if (count == 0) {
+            n.leaves++;
+            return color * -n.h;  // no unvisited move
+        }
+
+        // Eldest brother: searched on this thread to establish the bound
+        Ancestors here = new Ancestors(n.key, above);
+        int best = -child(n, here, dirs[0], depth - 1, -beta, -alpha, -color);
+        alpha = Math.max(alpha, best);
+        if (alpha >= beta || count == 1) return best;
+
+        // Young brothers: searched in parallel, sharing the tightened bound
+        AtomicInteger bound = new AtomicInteger(alpha);
+        List<ForkJoinTask<Integer>> tasks = new ArrayList<>(count - 1);
+        for (int i = 1; i < count; i++) {
+            Negamax sibling = childSearch(n, dirs[i], here);
+            tasks.add(new SiblingTask(sibling, depth - 1, alpha, beta, -color, dirs[i], bound).fork());
+        }
+        for (ForkJoinTask<Integer> task : tasks) best = Math.max(best, task.join());
+        return best;
+    }
+
+    /**
+     * Value of child d of n's board for the player to move on it, searched
+     * on n itself.
+     * @param here the positions from the root down to n's board
+     */
+    private int child(Negamax n, Ancestors here, int d, int depth, int alpha, int beta, int color) {
+        int from = n.makeMove(n.target(d));
+        n.path.add(n.key);
+        int val = search(n, here, depth, alpha, beta, color, d);
+        n.path.remove(n.key);
+        n.unmakeMove(from);
+        return val;
+    }
+
+    /** A search of child d of n's board of its own, below the positions 'here'. */
+    private static Negamax childSearch(Negamax n, int d, Ancestors here) {
+        int from = n.makeMove(n.target(d));
+        Negamax sibling = new Negamax(n.board, true, false, null);
+        n.unmakeMove(from);
+        sibling.above = here;
+        return sibling;
+    }
+
+    /**
+     * One young brother. Reads the shared bound when it starts running and
+     * publishes its own value so that later siblings get a narrower window.
+     * Tasks are never serialized.
+     */
+    @SuppressWarnings("serial")
+    private final class SiblingTask extends RecursiveTask<Integer> {
+        private final Negamax search;
+        private final int depth;
+        private final int alpha, beta;      // the parent's window
+        private final int color;            // the side to move on the sibling
+        private final int lastMove;
+        private final AtomicInteger bound;
+
+        SiblingTask(Negamax search, int depth, int alpha, int beta, int color, int lastMove,
+                    AtomicInteger bound) {
+            this.search = search;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.beta = beta;
+            this.color = color;
+            this.lastMove = lastMove;
+            this.bound = bound;
+        }
+
+        @Override
+        protected Integer compute() {
+            int a = Math.max(alpha, bound.get());
+            if (a >= beta) return -AdversarialSearch.INF;  // a sibling already cut off
+            int val = -ParallelAlphaBetaSearch.this.search(search, search.above, depth, -beta, -a,
+                    color, lastMove);
+            nodes.add(search.nodes);
+            bound.accumulateAndGet(val, Math::max);
+            return val;
+        }
+    }
+
+    // -------------------- Root Splitting --------------------
+
+    /**
+     * Find the best move for MAX. The eldest root move is searched first,
+     * the remaining root moves in parallel.
+     */
+    RootResult run(int[] initial, int depth) {
+        nodes.reset();
+        return pool.invoke(new RecursiveTask<RootResult>() {
+            @Override
+            protected RootResult compute() {
+                Negamax root = new Negamax(initial, true, false, null);
+                Ancestors top = new Ancestors(root.key, null);
+                int[] dirs = new int[4];
+                int count = 0;
+                for (int d = 0; d < 4; d++) {
+                    if (root.target(d) >= 0) dirs[count++] = d;
+                }
+                int[] values = new int[count];
+
+                int inf = AdversarialSearch.INF;
+                values[0] = -child(root, top, dirs[0], depth - 1, -inf, inf, -1);
+                nodes.add(root.nodes);
+
+                AtomicInteger bound = new AtomicInteger(values[0]);
+                List<ForkJoinTask<Integer>> tasks = new ArrayList<>(count - 1);
+                for (int i = 1; i < count; i++) {
+                    Negamax sibling = childSearch(root, dirs[i], top);
+                    int d = dirs[i];
+                    tasks.add(ForkJoinTask.adapt(() -> {
+                        // Window (best - 1, +inf): a value >= best is exact, so ties are seen
+                        int val = -search(sibling, top, depth - 1, -inf, -(bound.get() - 1), -1, d);
+                        nodes.add(sibling.nodes);
+                        bound.accumulateAndGet(val, Math::max);
+                        return val;
+                    }).fork());
+                }
+                for (int i = 1; i < count; i++) {
+                    values[i] = tasks.get(i - 1).join();
+                }
+
+                // First move with the highest value, as in the serial search
+                int best = 0;
+                for (int i = 1; i < count; i++) {
+                    if (values[i] > values[best]) best = i;
+                }
+                return new RootResult(dirs[best], values[best]);
+            }
+        });
+    }
+
+    long nodeCount() {
+        return nodes.sum();
+    }
+
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    // -------------------- Main --------------------
+
+    public static void main(String[] args) throws Exception {
+        String inputFile = args.length > 0 ? args[0] : "input1.txt";
+        int searchDepth = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        int[][] input = PuzzleState.readInput(inputFile);
+        int[] initial = input[0];
+
+        System.out.println("Start State: " + PuzzleState.stateToString(initial));
+        System.out.println("Goal  State: " + PuzzleState.stateToString(PuzzleState.GOAL));
+        System.out.println("Start Grid:\n" + PuzzleState.stateToGrid(initial));
+        System.out.println("Parallel Alpha-Beta (YBWC) Depth: " + searchDepth);
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+        System.out.println();
+
+        // ---- Serial reference ----
+        System.out.println("--- Serial Alpha-Beta (reference) ---");
+        AdversarialSearch.Result serial = new AdversarialSearch(
+                AdversarialSearch.Variant.ALPHA_BETA, searchDepth).solve(initial);
+        int serialValue = serial.value;
+        System.out.println("  Best move: " + PuzzleState.DIR_NAMES[serial.bestMove()]
+                + " (utility=" + serialValue + ")");
+        System.out.printf("  Time: %.2f ms%n", serial.nanos / 1e6);
+        System.out.println();
+
+        // ---- Parallel, 1..N threads ----
+        System.out.println("=".repeat(60));
+        System.out.println("SPEEDUP: Parallel Alpha-Beta (depth=" + searchDepth + ")");
+        System.out.println("=".repeat(60));
+        System.out.println("Threads  Time (ms)   Nodes       Speedup  Matches serial?");
+        double oneThreadMs = 0;
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            ParallelAlphaBetaSearch search = new ParallelAlphaBetaSearch(threads);
+            search.run(initial, searchDepth);  // warm-up
+            RootResult result = null;
+            double ms = Double.MAX_VALUE;
+            for (int rep = 0; rep < TIMED_RUNS; rep++) {  // best of TIMED_RUNS
+                long t1 = System.nanoTime();
+                result = search.run(initial, searchDepth);
+                ms = Math.min(ms, (System.nanoTime() - t1) / 1e6);
+            }
+            search.shutdown();
+            if (threads == 1) oneThreadMs = ms;
+
+            boolean same = result.bestMove == serial.bestMove() && result.value == serialValue;
+            System.out.printf("%-9d%-12.2f%-12d%-9.2f%s%n", threads, ms, search.nodeCount(),
+                    oneThreadMs / ms, same ? "YES" : "NO (value=" + result.value + ")");
+        }
+        System.out.println("Serial best move: " + PuzzleState.DIR_NAMES[serial.bestMove()]
+                + " (utility=" + serialValue + ")");
+        System.out.println();
+    }
+}
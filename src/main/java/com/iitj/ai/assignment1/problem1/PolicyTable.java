@@ -0,0 +1,284 @@
+package com.iitj.ai.assignment1.problem1;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+/**
+ * PolicyTable - Optimal next move for every solvable board, looked up
+ * instead of searched.
+ *
+ * A breadth-first search backwards from the goal reaches all 181,440
+ * solvable boards. When board s is first reached from board p by moving the
+ * blank in direction d, moving it the opposite way (d ^ 1) is an optimal
+ * first move from s. That move is all the table stores, 2 bits per board,
+ * so following it from any board walks an optimal path to the goal.
+ *
+ * Index of a solvable board (dense, in [0, 181440)):
+ *   blank position * 20160 + rank8 / 2
+ * where rank8 is the Lehmer rank of the 8 tiles read in cell order. The
+ * board is solvable exactly when that tile order has an even number of
+ * inversions, and ranks 2k and 2k+1 differ by swapping the last two tiles,
+ * so exactly one of them is solvable and rank8 / 2 loses nothing.
+ *
+ * Storage: a 16-byte header (magic, boards, bits per board) and then
+ * 181,440 * 2 bits = 45,360 bytes, four boards per byte, lowest bits first.
+ * Tables are built once and memory-mapped read-only, like GameTablebase.
+ *
+ * Implements Solver: solve() follows the table (no states are expanded).
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class PolicyTable implements Solver {
+
+    public static final int STATES = PuzzleState.PERMUTATIONS / 2;   // 181,440
+    static final int TABLE_BYTES = STATES / 4;                      // 45,360
+    private static final int TILE_ORDERS = 20160;                   // 8! / 2
+    private static final int MAGIC = 0x504F4C31;   // "POL1"
+    private static final int HEADER_BYTES = 16;
+    private static final int[] FACTORIAL8 = {5040, 720, 120, 24, 6, 2, 1, 1};
+    static final long GOAL = PuzzleState.pack(PuzzleState.GOAL);
+
+    private final ByteBuffer table;                // TABLE_BYTES after the header
+
+    private PolicyTable(ByteBuffer table) {
+        this.table = table;
+    }
+
+    // -------------------- Indexing --------------------
+
+    /** Dense index of a packed board, or -1 if the board is not solvable. */
+    static int index(long key) {
+        int blank = -1, rank = 0, inversions = 0, seen = 0, t = 0;
+        for (int pos = 0; pos < 9; pos++) {
+            int tile = (int) (key >>> (4 * pos)) & 0xF;
+            if (tile == 0) {
+                blank = pos;
+                continue;
+            }
+            int smallerLater = tile - 1 - Integer.bitCount(seen & ((1 << tile) - 1));
+            seen |= 1 << tile;
+            inversions += smallerLater;
+            rank += smallerLater * FACTORIAL8[t++];
+        }
+        if ((inversions & 1) != 0) return -1;
+        return blank * TILE_ORDERS + (rank >>> 1);
+    }
+
+    // -------------------- Lookup --------------------
+
+    /**
+     * Optimal next move (index into PuzzleState.DIR_NAMES) from a packed
+     * board, or -1 at the goal and for unsolvable boards.
+     */
+    public int nextMove(long packedState) {
+        if (packedState == GOAL) return -1;
+        int i = index(packedState);
+        if (i < 0) return -1;
+        return (table.get(i >>> 2) >>> ((i & 3) * 2)) & 3;
+    }
+
+    public int nextMove(int[] state) {
+        return nextMove(PuzzleState.pack(state));
+    }
+
+    /**
+     * Optimal moves from a packed board to the goal, produced one lookup at a
+     * time as the stream is consumed.
+     * @throws IllegalArgumentException if the board is not solvable
+     */
+    public IntStream moves(long packedState) {
+        if (index(packedState) < 0) throw new IllegalArgumentException("board is not solvable");
+        PrimitiveIterator.OfInt steps = new PrimitiveIterator.OfInt() {
+            long state = packedState;
+
+            @Override
+            public boolean hasNext() {
+                return state != GOAL;
+            }
+
+            @Override
+            public int nextInt() {
+                if (state == GOAL) throw new NoSuchElementException();
+                int d = nextMove(state);
+                state = PuzzleState.applyMove(state, d);
+                return d;
+            }
+        };
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(steps,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public String name() {
+        return "Policy Table";
+    }
+
+    @Override
+    public String heuristic() {
+        return "";
+    }
+
+    @Override
+    public SearchResult solve(int[] initial) {
+        return solve(PuzzleState.pack(initial));
+    }
+
+    @Override
+    public SearchResult solve(long packedState) {
+        long startTime = System.nanoTime();
+        if (index(packedState) < 0) {
+            return new SearchResult(name(), heuristic(), SearchResult.Status.FAILED,
+                    new long[1], -1, 0, 0, 0, System.nanoTime() - startTime);
+        }
+        long[] moves = new long[1];                // at most 31 moves
+        int length = 0;
+        for (long s = packedState; s != GOAL; length++) {
+            int d = nextMove(s);
+            SearchResult.setMove(moves, length, d);
+            s = PuzzleState.applyMove(s, d);
+        }
+        return new SearchResult(name(), heuristic(), SearchResult.Status.SOLVED,
+                moves, length, 0, 0, 0, System.nanoTime() - startTime);
+    }
+
+    // -------------------- Generation --------------------
+
+    /** Breadth-first search from the goal; returns the packed 2-bit moves. */
+    static byte[] generate() {
+        byte[] moves = new byte[TABLE_BYTES];
+        long[] seen = new long[(STATES + 63) >>> 6];
+        long[] queue = new long[STATES];
+        int head = 0, tail = 0;
+        queue[tail++] = GOAL;
+        int g = index(GOAL);
+        seen[g >>> 6] |= 1L << g;
+        while (head < tail) {
+            long s = queue[head++];
+            for (int d = 0; d < 4; d++) {
+                long next = PuzzleState.applyMove(s, d);
+                if (next < 0) continue;
+                int i = index(next);
+                if ((seen[i >>> 6] & (1L << i)) != 0) continue;
+                seen[i >>> 6] |= 1L << i;
+                moves[i >>> 2] |= (byte) ((d ^ 1) << ((i & 3) * 2));   // back towards s
+                queue[tail++] = next;
+            }
+        }
+        if (tail != STATES) throw new IllegalStateException("reached " + tail + " boards");
+        return moves;
+    }
+
+    // -------------------- Storage --------------------
+
+    /** Table generated in memory, not backed by a file. */
+    public static PolicyTable inMemory() {
+        return new PolicyTable(ByteBuffer.wrap(generate()).asReadOnlyBuffer());
+    }
+
+    /** Generate the table and write it to 'file' through a memory-mapped buffer. */
+    public static PolicyTable build(Path file) throws IOException {
+        byte[] moves = generate();
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + TABLE_BYTES);
+            buf.putInt(MAGIC).putInt(STATES).putInt(2).putInt(0);
+            buf.put(moves);
+            buf.force();
+        }
+        return load(file);
+    }
+
+    /** Map an existing table file read-only. */
+    public static PolicyTable load(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() != HEADER_BYTES + TABLE_BYTES) {
+                throw new IOException("Not a policy table file: " + file);
+            }
+            MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (buf.getInt() != MAGIC || buf.getInt() != STATES || buf.getInt() != 2) {
+                throw new IOException("Not a policy table file: " + file);
+            }
+            buf.getInt();
+            return new PolicyTable(buf.slice());
+        }
+    }
+
+    /** Load the table from 'file' if it is valid, otherwise build it there. */
+    public static PolicyTable open(Path file) throws IOException {
+        if (Files.exists(file)) {
+            try {
+                return load(file);
+            } catch (IOException e) {
+                // stale or foreign file: rebuild below
+            }
+        }
+        return build(file);
+    }
+
+    // -------------------- Main --------------------
+
+    /**
+     * Usage: PolicyTable input.txt [table file]. The table is generated in
+     * memory unless a file is given to write it to.
+     */
+    public static void main(String[] args) throws Exception {
+        String inputFile = args.length > 0 ? args[0] : "input1.txt";
+        Path tableFile = args.length > 1 ? Paths.get(args[1]) : null;
+        int[][] input = PuzzleState.readInput(inputFile);
+        int[] initial = input[0];
+
+        System.out.println("Start State: " + PuzzleState.stateToString(initial));
+        System.out.println("Goal  State: " + PuzzleState.stateToString(PuzzleState.GOAL));
+        System.out.println("Start Grid:\n" + PuzzleState.stateToGrid(initial));
+
+        System.out.println("=".repeat(60));
+        System.out.println("POLICY TABLE: optimal next move for " + STATES + " boards");
+        System.out.println("=".repeat(60));
+        long t0 = System.nanoTime();
+        PolicyTable policy = tableFile == null ? inMemory() : build(tableFile);
+        System.out.printf("Built %s (%d bytes) in %.1f ms%n", tableFile == null ? "in memory" : tableFile,
+                tableFile == null ? TABLE_BYTES : HEADER_BYTES + TABLE_BYTES, (System.nanoTime() - t0) / 1e6);
+
+        long start = PuzzleState.pack(initial);
+        String path = policy.moves(start)
+                .mapToObj(d -> PuzzleState.DIR_NAMES[d])
+                .collect(Collectors.joining(" -> "));
+        System.out.println("Path from start: " + (path.isEmpty() ? "(already at goal)" : path));
+        System.out.println();
+
+        // ---- Lookup throughput and agreement with BFS on random boards ----
+        Random rng = new Random(42);
+        int samples = 200, agree = 0;
+        List<Long> boards = new ArrayList<>();
+        Solver bfs = new BFSSearch();
+        while (boards.size() < samples) {
+            int[] s = PuzzleState.GOAL.clone();
+            for (int k = 0; k < 60; k++) {
+                List<int[]> n = PuzzleState.getNeighbors(s);
+                s = n.get(rng.nextInt(n.size()));
+            }
+            boards.add(PuzzleState.pack(s));
+            if (policy.solve(s).pathLength == bfs.solve(s).pathLength) agree++;
+        }
+        long steps = 0;
+        for (int pass = 0; pass < 2; pass++) {      // first pass warms up the JIT
+            steps = 0;
+            t0 = System.nanoTime();
+            for (int rep = 0; rep < 500; rep++) {
+                for (long b : boards) {
+                    for (long s = b; s != GOAL; steps++) s = PuzzleState.applyMove(s, policy.nextMove(s));
+                }
+            }
+        }
+        double ns = (System.nanoTime() - t0) / (double) steps;
+        System.out.println("Optimal path length agrees with BFS on " + samples + " random boards: "
+                + agree + "/" + samples);
+        System.out.printf("Next-move lookup: %.1f ns per step%n", ns);
+        System.out.println();
+    }
+}
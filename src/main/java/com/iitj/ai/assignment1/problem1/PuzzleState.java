@@ -1,5 +1,7 @@
+package com.iitj.ai.assignment1.problem1;
+
 import java.util.*;
-import java.io.*;
+import java.nio.file.Paths;
 
 /**
  * PuzzleState - Shared utility class for the Manuscript Sorting Problem.
@@ -22,11 +24,20 @@ public class PuzzleState {
     // Goal positions for Manhattan distance: GOAL_POS[tile] = {row, col}
     public static final int[][] GOAL_POS = new int[9][2];
 
+    // MANHATTAN[tile][pos] = distance of tile at pos from its goal position (0 for blank)
+    public static final int[][] MANHATTAN = new int[9][9];
+
     static {
         for (int i = 0; i < 9; i++) {
             int val = GOAL[i];
             GOAL_POS[val] = new int[]{i / SIZE, i % SIZE};
         }
+        for (int tile = 1; tile < 9; tile++) {
+            for (int pos = 0; pos < 9; pos++) {
+                MANHATTAN[tile][pos] = Math.abs(pos / SIZE - GOAL_POS[tile][0])
+                        + Math.abs(pos % SIZE - GOAL_POS[tile][1]);
+            }
+        }
     }
 
     // -------------------- State Parsing --------------------
@@ -45,15 +56,47 @@ public class PuzzleState {
     }
 
     /**
-     * Read initial and goal states from input1.txt.
+     * Read initial and goal states from input1.txt (first and second board;
+     * the goal defaults to GOAL). Parsed by BoardInput.
      * Returns int[2][9]: [0] = initial, [1] = goal.
      */
     public static int[][] readInput(String filename) throws Exception {
-        Scanner sc = new Scanner(new File(filename));
-        String startLine = sc.nextLine().trim();
-        String goalLine = sc.hasNextLine() ? sc.nextLine().trim() : "123 456 78B";
-        sc.close();
-        return new int[][]{parseState(startLine), parseState(goalLine)};
+        BoardInput in = BoardInput.read(Paths.get(filename), 1);
+        if (!in.errors.isEmpty()) throw new IllegalArgumentException(filename + ", " + in.error(0));
+        if (in.size == 0) throw new IllegalArgumentException(filename + ": no board");
+        int[] goal = in.size > 1 ? unpack(in.boards[1]) : GOAL.clone();
+        return new int[][]{unpack(in.boards[0]), goal};
+    }
+
+    /**
+     * Pack a state into a long, 4 bits per cell (cell i at bits 4i..4i+3).
+     * Packed states are cheap hash keys compared to Arrays.toString(state).
+     */
+    public static long pack(int[] state) {
+        long key = 0;
+        for (int i = 0; i < 9; i++) key |= (long) state[i] << (4 * i);
+        return key;
+    }
+
+    /** Inverse of pack(). */
+    public static int[] unpack(long key) {
+        int[] state = new int[9];
+        for (int i = 0; i < 9; i++) state[i] = (int) (key >>> (4 * i)) & 0xF;
+        return state;
+    }
+
+    /**
+     * A state can reach the goal only if its number of inversions
+     * (tile pairs out of order, ignoring the blank) is even.
+     */
+    public static boolean isSolvable(int[] state) {
+        int inversions = 0;
+        for (int i = 0; i < 9; i++) {
+            for (int j = i + 1; j < 9; j++) {
+                if (state[i] != 0 && state[j] != 0 && state[i] > state[j]) inversions++;
+            }
+        }
+        return inversions % 2 == 0;
     }
 
     // -------------------- State Display --------------------
@@ -69,6 +112,17 @@ public class PuzzleState {
         return sb.toString();
     }
 
+    /** Packed state as an input line, e.g. "123;B46;758". */
+    public static String inputLine(long key) {
+        char[] c = new char[11];
+        for (int i = 0, k = 0; i < 9; i++) {
+            if (i > 0 && i % 3 == 0) c[k++] = ';';
+            int v = (int) (key >>> (4 * i)) & 0xF;
+            c[k++] = v == 0 ? 'B' : (char) ('0' + v);
+        }
+        return new String(c);
+    }
+
     /** Display state as a 3x3 grid */
     public static String stateToGrid(int[] state) {
         StringBuilder sb = new StringBuilder();
@@ -117,6 +171,51 @@ public class PuzzleState {
         return neighbors;
     }
 
+    /** State after moving the blank in direction d (index into DIR_NAMES). */
+    public static int[] applyMove(int[] state, int d) {
+        int blank = findBlank(state);
+        return swap(state, blank, blank + DR[d] * SIZE + DC[d]);
+    }
+
+    /** Index of the blank in a packed state. */
+    public static int findBlank(long key) {
+        for (int i = 0; i < 9; i++) {
+            if (((key >>> (4 * i)) & 0xF) == 0) return i;
+        }
+        return -1;
+    }
+
+    /** Packed state after moving the blank in direction d, or -1 if that leaves the board. */
+    public static long applyMove(long key, int d) {
+        int blank = findBlank(key);
+        int r = blank / SIZE + DR[d], c = blank % SIZE + DC[d];
+        if (r < 0 || r >= SIZE || c < 0 || c >= SIZE) return -1;
+        int to = r * SIZE + c;
+        long tile = (key >>> (4 * to)) & 0xF;
+        return key + (tile << (4 * blank)) - (tile << (4 * to));
+    }
+
+    /**
+     * A random solvable state, packed: a walk of 20 to 79 random moves of
+     * the blank from the goal (a move off the board is skipped).
+     */
+    public static long scramble(SplittableRandom rng) {
+        long key = pack(GOAL);
+        int steps = 20 + rng.nextInt(60);
+        for (int k = 0; k < steps; k++) {
+            long next = applyMove(key, rng.nextInt(4));
+            if (next >= 0) key = next;
+        }
+        return key;
+    }
+
+    /** Manhattan distance (h2) of a packed state. */
+    public static int h2(long key) {
+        int sum = 0;
+        for (int pos = 0; pos < 9; pos++) sum += MANHATTAN[(int) (key >>> (4 * pos)) & 0xF][pos];
+        return sum;
+    }
+
     /** Get the action name (Up/Down/Left/Right) that transforms 'from' to 'to'. */
     public static String getAction(int[] from, int[] to) {
         int blankFrom = findBlank(from);
@@ -129,6 +228,46 @@ public class PuzzleState {
         return "?";
     }
 
+    // -------------------- Permutation Ranking --------------------
+
+    /** Number of permutations of the 9 cells (9!). */
+    public static final int PERMUTATIONS = 362880;
+
+    private static final int[] FACTORIAL = {40320, 5040, 720, 120, 24, 6, 2, 1, 1};
+
+    /**
+     * Lehmer-code rank of a state in [0, 9!).
+     * Every arrangement of the 9 cells gets a unique index, so a rank can
+     * be used directly as an array index.
+     */
+    public static int rank(int[] state) {
+        int rank = 0;
+        for (int i = 0; i < 9; i++) {
+            int smaller = 0;
+            for (int j = i + 1; j < 9; j++) {
+                if (state[j] < state[i]) smaller++;
+            }
+            rank += smaller * FACTORIAL[i];
+        }
+        return rank;
+    }
+
+    /** Inverse of rank(): writes the state with the given rank into 'state'. */
+    public static void unrank(int rank, int[] state) {
+        boolean[] used = new boolean[9];
+        for (int i = 0; i < 9; i++) {
+            int smaller = rank / FACTORIAL[i];
+            rank %= FACTORIAL[i];
+            int v = 0;
+            while (used[v] || smaller > 0) {
+                if (!used[v]) smaller--;
+                v++;
+            }
+            used[v] = true;
+            state[i] = v;
+        }
+    }
+
     // -------------------- Heuristic Functions --------------------
 
     /** h1: Number of misplaced manuscripts (excluding blank). */
@@ -176,6 +315,12 @@ public class PuzzleState {
 
     // -------------------- Result Printing --------------------
 
+    /** Print a Solver result in the same format, rebuilding the boards from its moves. */
+    public static void printResult(SearchResult result, int[] initial) {
+        printResult(result.algorithm, result.heuristic, result.isSolved(),
+                result.path(initial), (int) result.expanded, result.timeMs());
+    }
+
     /** Print search results in the required output format. */
     public static void printResult(String algorithm, String heuristic,
                                     boolean success, List<int[]> path,
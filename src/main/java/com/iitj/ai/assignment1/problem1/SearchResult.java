@@ -0,0 +1,137 @@
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.telemetry.SearchEvents;
+
+import java.util.*;
+
+/**
+ * SearchResult - Immutable outcome of one Solver call.
+ *
+ * The solution is stored as a packed move list: 2 bits per move
+ * (Up=0, Down=1, Left=2, Right=3, the direction the blank moves),
+ * 32 moves per long, first move in the lowest bits. The full list of
+ * boards is only built on demand (path), so a result stays small even
+ * for long Simulated Annealing walks.
+ *
+ * Counters:
+ *   expanded   : states taken from the frontier and expanded
+ *   generated  : successor states produced
+ *   peakMemory : estimated bytes held by the search structures at their peak
+ *   nanos      : wall-clock time of the call
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class SearchResult {
+
+    public enum Status {
+        SOLVED,      // goal reached, moves hold the solution
+        FAILED,      // frontier exhausted or a search limit was hit
+        TIMED_OUT,   // deadline passed; moves lead to the best state found so far (none if never run)
+        CANCELLED,   // stopped by the caller; moves lead to the best state found so far (none if never run)
+        REJECTED     // never run: the job queue was full
+    }
+
+    public final String algorithm;
+    public final String heuristic;
+    public final Status status;
+    public final int pathLength;      // number of moves, -1 if there is no path
+    private final long[] moves;
+    public final long expanded;
+    public final long generated;
+    public final long peakMemory;
+    public final long nanos;
+
+    public SearchResult(String algorithm, String heuristic, Status status,
+                        long[] moves, int pathLength,
+                        long expanded, long generated, long peakMemory, long nanos) {
+        this.algorithm = algorithm;
+        this.heuristic = heuristic;
+        this.status = status;
+        this.pathLength = pathLength;
+        this.moves = Arrays.copyOf(moves, (Math.max(pathLength, 0) + 31) >>> 5);
+        this.expanded = expanded;
+        this.generated = generated;
+        this.peakMemory = peakMemory;
+        this.nanos = nanos;
+    }
+
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    /** True if a deadline or the caller stopped the search; moves then hold a partial path. */
+    public boolean isPartial() {
+        return status == Status.TIMED_OUT || status == Status.CANCELLED;
+    }
+
+    /** Result for a job that never ran. */
+    public static SearchResult rejected(String algorithm, String heuristic, Status status) {
+        return new SearchResult(algorithm, heuristic, status, new long[0], -1, 0, 0, 0, 0);
+    }
+
+    /** Move i of the solution (index into PuzzleState.DIR_NAMES). */
+    public int moveAt(int i) {
+        if (i < 0 || i >= pathLength) {
+            throw new IndexOutOfBoundsException("move " + i + " of " + pathLength);
+        }
+        return (int) (moves[i >>> 5] >>> ((i & 31) * 2)) & 3;
+    }
+
+    /** Copy of the packed move list. */
+    public long[] packedMoves() {
+        return moves.clone();
+    }
+
+    public long timeMs() {
+        return nanos / 1_000_000;
+    }
+
+    /** Moves as text, e.g. "Up -> Left -> Down". */
+    public String movesToString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < pathLength; i++) {
+            if (i > 0) sb.append(" -> ");
+            sb.append(PuzzleState.DIR_NAMES[moveAt(i)]);
+        }
+        return sb.toString();
+    }
+
+    /** Boards visited by the solution (or partial path), starting with initial; null if none. */
+    public List<int[]> path(int[] initial) {
+        if (pathLength < 0) return null;
+        List<int[]> path = new ArrayList<>(pathLength + 1);
+        int[] state = initial.clone();
+        path.add(state);
+        for (int i = 0; i < pathLength; i++) {
+            state = PuzzleState.applyMove(state, moveAt(i));
+            path.add(state);
+        }
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return algorithm + (heuristic.isEmpty() ? "" : " (" + heuristic + ")")
+                + ": " + status + ", " + pathLength + " moves, "
+                + expanded + " expanded, " + generated + " generated, "
+                + peakMemory + " bytes, " + nanos + " ns";
+    }
+
+    /** Close a JFR Search event with this result's outcome. */
+    void commit(SearchEvents.Search event) {
+        event.finish(algorithm, heuristic, isSolved(), pathLength, expanded, generated);
+    }
+
+    // -------------------- Move Packing --------------------
+
+    /** Store move i into a packed move list (the word must start at 0). */
+    static void setMove(long[] moves, int i, int dir) {
+        moves[i >>> 5] |= (long) dir << ((i & 31) * 2);
+    }
+
+    /** Number of longs needed for n moves. */
+    static int words(int n) {
+        return (n + 31) >>> 5;
+    }
+}
@@ -0,0 +1,564 @@
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.jobs.Deadline;
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * SearchWorkspace - Reusable, allocation-free search data structures for the
+ * Manuscript Sorting Problem (BFS, DFS, Greedy Best-First and A*).
+ *
+ * States are packed longs (PuzzleState.pack). All search data lives in
+ * primitive arrays that are kept between calls:
+ *   Node store : state, parent, g, h, blank, move of every stored node
+ *   Closed/seen: open-addressing hash table, state -> node index
+ *   Open list  : binary min-heap of longs, (priority << 32) | node index
+ *                (BFS uses the node store itself as its FIFO queue,
+ *                 DFS a separate stack of not-yet-visited successors)
+ *
+ * Resetting only clears the hash slots that were used, so the cost of a
+ * solve is proportional to the nodes it touched, not to the capacity.
+ * Every Deadline.CHECK_INTERVAL expansions the loops poll the thread's
+ * Deadline; when it has expired they stop and keep the path to the stored
+ * state with the lowest Manhattan distance as the best-so-far result.
+ * A workspace is NOT thread-safe; give every thread its own.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class SearchWorkspace {
+
+    // Estimated bytes per stored node: node arrays (24) + hash table at <= 50% load (8)
+    static final int NODE_BYTES = 32;
+    private static final int HEAP_ENTRY_BYTES = 8;
+    private static final int STACK_ENTRY_BYTES = 14;
+
+    private static final long GOAL = PuzzleState.pack(PuzzleState.GOAL);
+
+    private static final ThreadLocal<SearchWorkspace> CURRENT =
+            ThreadLocal.withInitial(SearchWorkspace::new);
+
+    // Virtual threads run one job each and are never reused, so a ThreadLocal
+    // workspace would start cold every time; they borrow from this pool instead.
+    private static final ConcurrentLinkedQueue<SearchWorkspace> POOL = new ConcurrentLinkedQueue<>();
+
+    /** The calling thread's workspace, shared by all solvers on that thread. */
+    static SearchWorkspace current() {
+        return CURRENT.get();
+    }
+
+    /** A workspace for one solve: the thread's own, or a pooled one on a virtual thread. */
+    static SearchWorkspace acquire() {
+        if (!Thread.currentThread().isVirtual()) return CURRENT.get();
+        SearchWorkspace ws = POOL.poll();
+        return ws != null ? ws : new SearchWorkspace();
+    }
+
+    /** Give back a workspace from acquire() once its results have been read. */
+    static void release(SearchWorkspace ws) {
+        if (Thread.currentThread().isVirtual()) POOL.offer(ws);
+    }
+
+    // -------------------- Node Store --------------------
+
+    private long[] state = new long[1 << 12];
+    private int[] parent = new int[1 << 12];
+    private int[] g = new int[1 << 12];
+    private byte[] h = new byte[1 << 12];
+    private byte[] blank = new byte[1 << 12];
+    private byte[] move = new byte[1 << 12];    // blank direction from parent
+    private boolean[] closed = new boolean[1 << 12];
+    private int[] slotOf = new int[1 << 12];     // hash slot holding the node
+    private int nodeCount = 0;
+
+    // -------------------- Hash Table --------------------
+
+    private int[] table = new int[1 << 13];      // node index + 1, 0 = empty
+    private int mask = table.length - 1;
+
+    // -------------------- Open List --------------------
+
+    private long[] heap = new long[1 << 12];
+    private int heapSize = 0;
+
+    // DFS stack: successor state, its parent node, move and blank position
+    private long[] stackState = new long[1 << 8];
+    private int[] stackParent = new int[1 << 8];
+    private byte[] stackMove = new byte[1 << 8];
+    private byte[] stackBlank = new byte[1 << 8];
+    private int stackSize = 0;
+
+    // -------------------- Results of the last solve --------------------
+
+    int pathLength;                 // moves in the solution, -1 if none
+    long[] moves = new long[1];     // 2 bits per move, 32 moves per long
+    int expanded;
+    int generated;
+    int peakNodes;                  // nodes stored at the end (open + closed)
+    int peakFrontier;               // largest open list / queue / stack seen
+
+    /** Move i of the last solution (index into PuzzleState.DIR_NAMES). */
+    int moveAt(int i) {
+        return (int) (moves[i >>> 5] >>> ((i & 31) * 2)) & 3;
+    }
+
+    private int frontierEntryBytes;  // per open-list entry of the last solve
+    private boolean informed;        // last solve computed h for every stored node
+    private String mode;             // search of the last solve, for JFR samples
+    private Deadline deadline;       // of the solve in progress, null if none
+    private SearchResult.Status stopped;   // TIMED_OUT / CANCELLED if the deadline ended the last solve
+
+    /** Estimated bytes used by the last solve at its peak. */
+    long peakMemory() {
+        return (long) peakNodes * NODE_BYTES + (long) peakFrontier * frontierEntryBytes;
+    }
+
+    /** Package the last solve as an immutable SearchResult. */
+    SearchResult toResult(String algorithm, String heuristic, boolean solved, long nanos) {
+        SearchResult.Status status = solved ? SearchResult.Status.SOLVED
+                : stopped != null ? stopped : SearchResult.Status.FAILED;
+        return new SearchResult(algorithm, heuristic, status, moves, pathLength,
+                expanded, generated, peakMemory(), nanos);
+    }
+
+    /**
+     * Hand the counters of the last solve to the telemetry totals in one batch.
+     * Duplicates and heuristic evaluations are not counted in the loops: every
+     * generated successor is either stored, still on the DFS stack, or a
+     * duplicate, and informed searches compute h once per stored node.
+     */
+    void record(SearchMetrics metrics, long nanos) {
+        long duplicates = generated + 1L - nodeCount - stackSize;
+        metrics.record(expanded, generated, duplicates, informed ? nodeCount : 0,
+                peakFrontier, nanos);
+    }
+
+    // -------------------- Breadth-First Search --------------------
+
+    /**
+     * BFS with a visited set; the node store doubles as the FIFO queue.
+     * @return true if the goal was reached
+     */
+    boolean solveBFS(long start) {
+        reset(0, false, "BFS");
+        int[] board = PuzzleState.unpack(start);
+        addNode(start, -1, 0, 0, PuzzleState.findBlank(board), -1);
+
+        for (int head = 0; head < nodeCount; head++) {
+            peakFrontier = Math.max(peakFrontier, nodeCount - head);
+            expanded++;
+            if ((expanded & Deadline.CHECK_MASK) == 0 && poll(head, nodeCount - head)) return stop();
+            if (state[head] == GOAL) {
+                buildPath(head);
+                finish();
+                return true;
+            }
+            long s = state[head];
+            int b = blank[head];
+            int r = b / PuzzleState.SIZE, c = b % PuzzleState.SIZE;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + PuzzleState.DR[d], nc = c + PuzzleState.DC[d];
+                if (nr < 0 || nr >= PuzzleState.SIZE || nc < 0 || nc >= PuzzleState.SIZE) continue;
+                int to = nr * PuzzleState.SIZE + nc;
+                long next = slide(s, b, to);
+                generated++;
+                if (find(next) < 0) addNode(next, head, g[head] + 1, 0, to, d);
+            }
+        }
+        return fail();
+    }
+
+    // -------------------- Depth-First Search --------------------
+
+    /**
+     * Depth-limited DFS with a global visited set. States are marked visited
+     * when popped; a state pushed by several parents keeps the most recent one.
+     * @return true if the goal was reached
+     */
+    boolean solveDFS(long start, int depthLimit) {
+        reset(STACK_ENTRY_BYTES, false, "DFS");
+        int[] board = PuzzleState.unpack(start);
+        pushStack(start, -1, -1, PuzzleState.findBlank(board));
+
+        while (stackSize > 0) {
+            int top = --stackSize;
+            long s = stackState[top];
+            if (find(s) >= 0) continue;                 // already visited
+            int par = stackParent[top];
+            int depth = par < 0 ? 0 : g[par] + 1;
+            int node = addNode(s, par, depth, 0, stackBlank[top], stackMove[top]);
+            expanded++;
+            if ((expanded & Deadline.CHECK_MASK) == 0 && poll(node, stackSize)) return stop();
+
+            if (s == GOAL) {
+                buildPath(node);
+                finish();
+                return true;
+            }
+            if (depth >= depthLimit) continue;
+
+            int b = blank[node];
+            int r = b / PuzzleState.SIZE, c = b % PuzzleState.SIZE;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + PuzzleState.DR[d], nc = c + PuzzleState.DC[d];
+                if (nr < 0 || nr >= PuzzleState.SIZE || nc < 0 || nc >= PuzzleState.SIZE) continue;
+                int to = nr * PuzzleState.SIZE + nc;
+                long next = slide(s, b, to);
+                generated++;
+                if (find(next) < 0) pushStack(next, node, d, to);
+            }
+        }
+        return fail();
+    }
+
+    private void pushStack(long s, int par, int dir, int blankPos) {
+        if (stackSize == stackState.length) {
+            int n = stackSize * 2;
+            stackState = Arrays.copyOf(stackState, n);
+            stackParent = Arrays.copyOf(stackParent, n);
+            stackMove = Arrays.copyOf(stackMove, n);
+            stackBlank = Arrays.copyOf(stackBlank, n);
+        }
+        stackState[stackSize] = s;
+        stackParent[stackSize] = par;
+        stackMove[stackSize] = (byte) dir;
+        stackBlank[stackSize] = (byte) blankPos;
+        stackSize++;
+        peakFrontier = Math.max(peakFrontier, stackSize);
+    }
+
+    // -------------------- Greedy Best-First Search --------------------
+
+    /**
+     * Greedy Best-First Search on h2 only. A state keeps the parent that first
+     * generated it and is pushed again each time it is generated before being
+     * expanded; stale entries are skipped. With the heap's tie order (see
+     * push) this expands exactly what a java.util.PriorityQueue search would.
+     * @return true if the goal was reached
+     */
+    boolean solveGreedy(long start) {
+        reset(HEAP_ENTRY_BYTES, true, "Greedy");
+        int[] board = PuzzleState.unpack(start);
+        int root = addNode(start, -1, 0, PuzzleState.h2(board), PuzzleState.findBlank(board), -1);
+        push(root, h[root]);
+
+        while (heapSize > 0) {
+            int node = pop();
+            if (closed[node]) continue;       // stale heap entry
+            closed[node] = true;
+            expanded++;
+            if ((expanded & Deadline.CHECK_MASK) == 0 && poll(node, heapSize)) return stop();
+            if (state[node] == GOAL) {
+                buildPath(node);
+                finish();
+                return true;
+            }
+            long s = state[node];
+            int b = blank[node];
+            int r = b / PuzzleState.SIZE, c = b % PuzzleState.SIZE;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + PuzzleState.DR[d], nc = c + PuzzleState.DC[d];
+                if (nr < 0 || nr >= PuzzleState.SIZE || nc < 0 || nc >= PuzzleState.SIZE) continue;
+                int to = nr * PuzzleState.SIZE + nc;
+                long next = slide(s, b, to);
+                generated++;
+                int existing = find(next);
+                if (existing >= 0) {
+                    if (!closed[existing]) push(existing, h[existing]);
+                    continue;
+                }
+                int tile = (int) (s >>> (4 * to)) & 0xF;
+                int nh = h[node] + PuzzleState.MANHATTAN[tile][b] - PuzzleState.MANHATTAN[tile][to];
+                int child = addNode(next, node, g[node] + 1, nh, to, d);
+                push(child, nh);
+            }
+        }
+        return fail();
+    }
+
+    // -------------------- A* --------------------
+
+    /**
+     * Optimal solve with A* on f = g + h (ties: lower h first). Every pop
+     * counts as an expansion, stale heap entries included, as in the
+     * PriorityQueue version this replaced.
+     * @param useH1 true = h1 (misplaced tiles), false = h2 (Manhattan distance)
+     * @return true if the goal was reached
+     */
+    boolean solveAStar(long start, boolean useH1) {
+        return solveAStar(start, useH1, null);
+    }
+
+    /**
+     * A* that also stops at states with a memoized optimal distance d. Such a
+     * state is not stored; it gives a candidate solution of cost g + d. h is
+     * consistent, so the f values popped never decrease and bound the cost of
+     * every solution not seen yet: the best candidate is optimal as soon as
+     * the smallest f on the open list reaches its cost.
+     * @param memo solved-path memo, or null for plain A*
+     */
+    boolean solveAStar(long start, boolean useH1, SolutionMemo memo) {
+        reset(HEAP_ENTRY_BYTES, true, useH1 ? "A* h1" : "A* h2");
+        int[] board = PuzzleState.unpack(start);
+        int h0 = useH1 ? PuzzleState.h1(board) : PuzzleState.h2(board);
+        int root = addNode(start, -1, 0, h0, PuzzleState.findBlank(board), -1);
+        if (memo != null && memo.distance(start) >= 0) return finishThroughMemo(memo, root, -1, start);
+        pushF(root);
+
+        int bestCost = Integer.MAX_VALUE;    // cheapest solution through a memoized state
+        int viaNode = -1, viaMove = -1;
+        long viaState = 0;
+        while (heapSize > 0) {
+            if ((int) (heap[0] >>> 40) >= bestCost) break;   // smallest open f, see pushF
+            int node = pop();
+            expanded++;
+            if ((expanded & Deadline.CHECK_MASK) == 0 && poll(node, heapSize)) return stop();
+            if (closed[node]) continue;       // stale heap entry
+            closed[node] = true;
+
+            if (state[node] == GOAL) {
+                buildPath(node);
+                finish();
+                return true;
+            }
+
+            long s = state[node];
+            int b = blank[node];
+            int r = b / PuzzleState.SIZE, c = b % PuzzleState.SIZE;
+            for (int d = 0; d < 4; d++) {
+                int nr = r + PuzzleState.DR[d], nc = c + PuzzleState.DC[d];
+                if (nr < 0 || nr >= PuzzleState.SIZE || nc < 0 || nc >= PuzzleState.SIZE) continue;
+                int to = nr * PuzzleState.SIZE + nc;
+                int tile = (int) (s >>> (4 * to)) & 0xF;
+                long next = slide(s, b, to);
+                int newG = g[node] + 1;
+                generated++;
+
+                int existing = find(next);
+                if (existing >= 0) {
+                    if (closed[existing] || newG >= g[existing]) continue;
+                    // Better path to an open node: update it and push again
+                    g[existing] = newG;
+                    parent[existing] = node;
+                    move[existing] = (byte) d;
+                    pushF(existing);
+                } else {
+                    if (memo != null) {
+                        int dist = memo.distance(next);
+                        if (dist >= 0) {
+                            if (newG + dist < bestCost) {
+                                bestCost = newG + dist;
+                                viaNode = node;
+                                viaMove = d;
+                                viaState = next;
+                            }
+                            continue;
+                        }
+                    }
+                    int nh;
+                    if (useH1) {
+                        nh = h[node] - misplaced(tile, to) + misplaced(tile, b);
+                    } else {
+                        nh = h[node] + PuzzleState.MANHATTAN[tile][b] - PuzzleState.MANHATTAN[tile][to];
+                    }
+                    pushF(addNode(next, node, newG, nh, to, d));
+                }
+            }
+        }
+        if (bestCost != Integer.MAX_VALUE) return finishThroughMemo(memo, viaNode, viaMove, viaState);
+        return fail();
+    }
+
+    private static int misplaced(int tile, int pos) {
+        return PuzzleState.GOAL[pos] != tile ? 1 : 0;
+    }
+
+    /** Packed state after sliding the tile at 'to' into the blank at 'b'. */
+    private static long slide(long s, int b, int to) {
+        long tile = (s >>> (4 * to)) & 0xF;
+        return s + (tile << (4 * b)) - (tile << (4 * to));
+    }
+
+    // -------------------- Internals --------------------
+
+    private void reset(int entryBytes, boolean usesHeuristic, String search) {
+        for (int i = 0; i < nodeCount; i++) table[slotOf[i]] = 0;
+        nodeCount = 0;
+        heapSize = 0;
+        stackSize = 0;
+        expanded = 0;
+        generated = 0;
+        pathLength = 0;
+        peakFrontier = 0;
+        frontierEntryBytes = entryBytes;
+        informed = usesHeuristic;
+        mode = search;
+        deadline = Deadline.current();
+        stopped = null;
+    }
+
+    /**
+     * Periodic work, every Deadline.CHECK_INTERVAL expansions: the deadline
+     * check and, less often, the JFR NodeExpansion sample.
+     * @return true if the search must stop
+     */
+    private boolean poll(int node, int frontier) {
+        if (deadline != null && deadline.expired()) return true;
+        if ((expanded & SearchEvents.EXPANSION_MASK) == 0) {
+            SearchEvents.NodeExpansion.sample(mode, expanded, state[node], g[node], h[node], frontier);
+        }
+        return false;
+    }
+
+    /** End a solve stopped by its deadline with the path to the best stored state. */
+    private boolean stop() {
+        stopped = deadline.cancelled() ? SearchResult.Status.CANCELLED : SearchResult.Status.TIMED_OUT;
+        int best = 0, bestH = Integer.MAX_VALUE;
+        for (int i = 0; i < nodeCount; i++) {
+            int hi = PuzzleState.h2(state[i]);
+            if (hi < bestH) {
+                best = i;
+                bestH = hi;
+            }
+        }
+        buildPath(best);
+        finish();
+        return false;
+    }
+
+    private void finish() {
+        peakNodes = nodeCount;
+    }
+
+    private boolean fail() {
+        pathLength = -1;
+        finish();
+        return false;
+    }
+
+    /**
+     * Solution = path to node, then move dir (if >= 0) into via, then the
+     * memoized optimal moves from via.
+     */
+    private boolean finishThroughMemo(SolutionMemo memo, int node, int dir, long via) {
+        buildPath(node, 1 + memo.distance(via));
+        if (dir >= 0) SearchResult.setMove(moves, pathLength++, dir);
+        pathLength += memo.appendSuffix(via, moves, pathLength);
+        finish();
+        return true;
+    }
+
+    private void buildPath(int node) {
+        buildPath(node, 0);
+    }
+
+    /** Moves from the root to node, with room for 'extra' more moves after them. */
+    private void buildPath(int node, int extra) {
+        int len = 0;
+        for (int n = node; parent[n] >= 0; n = parent[n]) len++;
+        pathLength = len;
+        int words = (len + extra + 31) >>> 5;
+        if (moves.length < words) moves = new long[words];
+        Arrays.fill(moves, 0, Math.max(words, 1), 0L);
+        int i = len;
+        for (int n = node; parent[n] >= 0; n = parent[n]) {
+            i--;
+            moves[i >>> 5] |= (long) move[n] << ((i & 31) * 2);
+        }
+    }
+
+    private static int hash(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+
+    /** Node index for a state, or -1 if it was never generated. */
+    private int find(long key) {
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int idx = table[slot];
+            if (idx == 0) return -1;
+            if (state[idx - 1] == key) return idx - 1;
+        }
+    }
+
+    private int addNode(long key, int par, int gVal, int hVal, int blankPos, int dir) {
+        if (nodeCount == state.length) growNodes();
+        if ((nodeCount + 1) * 2 > table.length) growTable();
+        int idx = nodeCount++;
+        state[idx] = key;
+        parent[idx] = par;
+        g[idx] = gVal;
+        h[idx] = (byte) hVal;
+        blank[idx] = (byte) blankPos;
+        move[idx] = (byte) dir;
+        closed[idx] = false;
+        int slot = hash(key) & mask;
+        while (table[slot] != 0) slot = (slot + 1) & mask;
+        table[slot] = idx + 1;
+        slotOf[idx] = slot;
+        return idx;
+    }
+
+    private void growNodes() {
+        int n = state.length * 2;
+        state = Arrays.copyOf(state, n);
+        parent = Arrays.copyOf(parent, n);
+        g = Arrays.copyOf(g, n);
+        h = Arrays.copyOf(h, n);
+        blank = Arrays.copyOf(blank, n);
+        move = Arrays.copyOf(move, n);
+        closed = Arrays.copyOf(closed, n);
+        slotOf = Arrays.copyOf(slotOf, n);
+    }
+
+    private void growTable() {
+        table = new int[table.length * 2];
+        mask = table.length - 1;
+        for (int i = 0; i < nodeCount; i++) {
+            int slot = hash(state[i]) & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = i + 1;
+            slotOf[i] = slot;
+        }
+    }
+
+    // A* priority: f first, then h (prefer nodes closer to the goal)
+    private void pushF(int node) {
+        push(node, ((long) (g[node] + h[node]) << 8) | h[node]);
+    }
+
+    // Entries compare on priority only and sift like java.util.PriorityQueue,
+    // so equal priorities pop in the same order as they did there
+    private void push(int node, long priority) {
+        long entry = (priority << 32) | node;
+        if (heapSize == heap.length) heap = Arrays.copyOf(heap, heapSize * 2);
+        int i = heapSize++;
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (heap[p] >>> 32 <= priority) break;
+            heap[i] = heap[p];
+            i = p;
+        }
+        heap[i] = entry;
+        peakFrontier = Math.max(peakFrontier, heapSize);
+    }
+
+    private int pop() {
+        long top = heap[0];
+        long last = heap[--heapSize];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= heapSize) break;
+            if (child + 1 < heapSize && heap[child + 1] >>> 32 < heap[child] >>> 32) child++;
+            if (heap[child] >>> 32 >= last >>> 32) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        if (heapSize > 0) heap[i] = last;
+        return (int) top;
+    }
+}
@@ -1,3 +1,9 @@
+package com.iitj.ai.assignment1.problem1;
+
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
+
 import java.util.*;
 
 /**
@@ -20,10 +26,14 @@ import java.util.*;
  * Space Complexity: O(1) - only stores current state
  * Optimal         : No (stochastic, no guarantee)
  *
+ * Implements Solver. Each call draws from its own Random(seed), so results
+ * are reproducible and independent of other calls; the accepted moves are
+ * recorded in a per-thread buffer that is reused between calls.
+ *
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
  */
-public class SimulatedAnnealingSearch {
+public final class SimulatedAnnealingSearch implements Solver {
 
     // Cooling schedule parameters
     private static final double INITIAL_TEMP = 1000.0;
@@ -31,41 +41,75 @@ public class SimulatedAnnealingSearch {
     private static final double MIN_TEMP = 0.001;
     private static final int MAX_ITERATIONS = 500000;
 
-    public static void main(String[] args) throws Exception {
-        String inputFile = args.length > 0 ? args[0] : "input1.txt";
-        int[][] input = PuzzleState.readInput(inputFile);
-        int[] initial = input[0];
+    private final long seed;
+    private final boolean verbose;   // progress line every 100,000 iterations
+    private final SearchMetrics metrics = SearchTelemetry.search(name(), heuristic());
 
-        System.out.println("Start State: " + PuzzleState.stateToString(initial));
-        System.out.println("Goal  State: " + PuzzleState.stateToString(PuzzleState.GOAL));
-        System.out.println("Start Grid:\n" + PuzzleState.stateToGrid(initial));
+    public SimulatedAnnealingSearch() {
+        this(42, false);  // fixed seed for reproducibility
+    }
 
-        // Cooling schedule info
-        System.out.println("Cooling Schedule:");
-        System.out.println("  T0           = " + INITIAL_TEMP);
-        System.out.println("  Cooling Rate = " + COOLING_RATE);
-        System.out.println("  T_min        = " + MIN_TEMP);
-        System.out.println("  Max Iter     = " + MAX_ITERATIONS);
-        System.out.println();
+    public SimulatedAnnealingSearch(long seed, boolean verbose) {
+        this.seed = seed;
+        this.verbose = verbose;
+    }
 
-        // Run Simulated Annealing
-        long startTime = System.currentTimeMillis();
-        Random rng = new Random(42); // fixed seed for reproducibility
+    /** Annealing result with the final temperature and the best state reached. */
+    public static class Result extends SearchResult {
+        public final double finalTemperature;
+        public final int bestH;
+        private final int[] bestState;
+
+        Result(Status status, long[] moves, int pathLength, long expanded, long generated,
+               long peakMemory, long nanos, double finalTemperature, int bestH, int[] bestState) {
+            super("Simulated Annealing", "h2 - Manhattan Distance", status, moves, pathLength,
+                    expanded, generated, peakMemory, nanos);
+            this.finalTemperature = finalTemperature;
+            this.bestH = bestH;
+            this.bestState = bestState.clone();
+        }
+
+        public int[] bestState() {
+            return bestState.clone();
+        }
+    }
+
+    // Accepted moves of the current call (2 bits each), reused per thread
+    private static final ThreadLocal<long[][]> MOVE_BUFFER =
+            ThreadLocal.withInitial(() -> new long[][]{new long[64]});
+
+    @Override
+    public String name() {
+        return "Simulated Annealing";
+    }
+
+    @Override
+    public String heuristic() {
+        return "h2 - Manhattan Distance";
+    }
+
+    @Override
+    public Result solve(int[] initial) {
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        Random rng = new Random(seed);
+        long[][] buffer = MOVE_BUFFER.get();
+        long[] moves = buffer[0];
         int statesExplored = 0;
+        int generated = 0;
+        int pathLength = 0;
         boolean success = false;
 
         double T = INITIAL_TEMP;
         int[] current = initial.clone();
+        int blank = PuzzleState.findBlank(current);
         int currentH = PuzzleState.h2(current);
 
         // Track best state found
         int[] bestState = current.clone();
         int bestH = currentH;
 
-        // Track path
-        List<int[]> path = new ArrayList<>();
-        path.add(initial.clone());
-
+        int[] valid = new int[4];
         for (int iter = 0; iter < MAX_ITERATIONS && T > MIN_TEMP; iter++) {
             statesExplored++;
 
@@ -75,17 +119,32 @@ public class SimulatedAnnealingSearch {
                 break;
             }
 
-            // Select a random neighbor
-            List<int[]> neighbors = PuzzleState.getNeighbors(current);
-            int[] next = neighbors.get(rng.nextInt(neighbors.size()));
-            int nextH = PuzzleState.h2(next);
+            // Select a random neighbor (directions in Up/Down/Left/Right order)
+            int count = 0;
+            for (int d = 0; d < 4; d++) {
+                int nr = blank / PuzzleState.SIZE + PuzzleState.DR[d];
+                int nc = blank % PuzzleState.SIZE + PuzzleState.DC[d];
+                if (nr >= 0 && nr < PuzzleState.SIZE && nc >= 0 && nc < PuzzleState.SIZE) valid[count++] = d;
+            }
+            int d = valid[rng.nextInt(count)];
+            int to = blank + PuzzleState.DR[d] * PuzzleState.SIZE + PuzzleState.DC[d];
+            int tile = current[to];
+            int nextH = currentH + PuzzleState.MANHATTAN[tile][blank] - PuzzleState.MANHATTAN[tile][to];
             int deltaE = nextH - currentH; // positive = worse
+            generated++;
 
             // Acceptance criterion: P = e^(-deltaE / T)
             if (deltaE < 0 || rng.nextDouble() < Math.exp(-deltaE / T)) {
-                current = next;
+                current[blank] = tile;
+                current[to] = 0;
+                blank = to;
                 currentH = nextH;
-                path.add(current.clone());
+
+                if ((pathLength >>> 5) == moves.length) {
+                    moves = buffer[0] = Arrays.copyOf(moves, moves.length * 2);
+                }
+                if ((pathLength & 31) == 0) moves[pathLength >>> 5] = 0;
+                SearchResult.setMove(moves, pathLength++, d);
 
                 if (currentH < bestH) {
                     bestH = currentH;
@@ -96,26 +155,57 @@ public class SimulatedAnnealingSearch {
             // Cool down
             T *= COOLING_RATE;
 
+            if ((iter & SearchEvents.ANNEALING_MASK) == SearchEvents.ANNEALING_MASK) {
+                SearchEvents.AnnealingProgress.sample(iter + 1, T, currentH, bestH, pathLength);
+            }
+
             // Progress logging every 100,000 iterations
-            if ((iter + 1) % 100000 == 0) {
+            if (verbose && (iter + 1) % 100000 == 0) {
                 System.out.printf("  Iteration %d: T=%.4f, current h2=%d, best h2=%d%n",
                         iter + 1, T, currentH, bestH);
             }
         }
 
-        long timeMs = System.currentTimeMillis() - startTime;
+        // Every neighbour gets an h2 value, plus the start state; the open list is one state
+        long nanos = System.nanoTime() - startTime;
+        metrics.record(statesExplored, generated, 0, generated + 1, 1, nanos);
+        Result result = new Result(success ? SearchResult.Status.SOLVED : SearchResult.Status.FAILED,
+                moves, success ? pathLength : -1, statesExplored, generated,
+                SearchResult.words(pathLength) * 8L + 3 * 9 * 4, nanos,
+                T, bestH, bestState);
+        result.commit(event);
+        return result;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String inputFile = args.length > 0 ? args[0] : "input1.txt";
+        int[][] input = PuzzleState.readInput(inputFile);
+        int[] initial = input[0];
+
+        System.out.println("Start State: " + PuzzleState.stateToString(initial));
+        System.out.println("Goal  State: " + PuzzleState.stateToString(PuzzleState.GOAL));
+        System.out.println("Start Grid:\n" + PuzzleState.stateToGrid(initial));
+
+        // Cooling schedule info
+        System.out.println("Cooling Schedule:");
+        System.out.println("  T0           = " + INITIAL_TEMP);
+        System.out.println("  Cooling Rate = " + COOLING_RATE);
+        System.out.println("  T_min        = " + MIN_TEMP);
+        System.out.println("  Max Iter     = " + MAX_ITERATIONS);
+        System.out.println();
+
+        // Run Simulated Annealing
+        Result result = new SimulatedAnnealingSearch(42, true).solve(initial);
 
         // Print results
         System.out.println();
-        PuzzleState.printResult("Simulated Annealing",
-                "h2 - Manhattan Distance",
-                success, success ? path : null, statesExplored, timeMs);
+        PuzzleState.printResult(result, initial);
 
-        System.out.println("Final Temperature: " + String.format("%.6f", T));
-        System.out.println("Best h2 achieved : " + bestH);
-        if (!success) {
+        System.out.println("Final Temperature: " + String.format("%.6f", result.finalTemperature));
+        System.out.println("Best h2 achieved : " + result.bestH);
+        if (!result.isSolved()) {
             System.out.println("Best state found (not goal):");
-            System.out.print(PuzzleState.stateToGrid(bestState));
+            System.out.print(PuzzleState.stateToGrid(result.bestState()));
         }
         System.out.println();
     }
@@ -0,0 +1,238 @@
+package com.iitj.ai.assignment1.problem1;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.concurrent.atomic.*;
+
+/**
+ * SolutionMemo - Optimal distances learned from solved paths.
+ *
+ * When an optimal search returns a path s0 -> s1 -> ... -> GOAL of length L,
+ * every si on it has optimal distance L - i and its next move is the move
+ * taken from it. record() stores all of them; later A* / IDA* searches that
+ * generate a memoized state know the exact remaining cost below it and can
+ * stop early (see SearchWorkspace.solveAStar and IDAStarSearch).
+ *
+ * Invariant: a state is stored only after its successor on the path, so
+ * following next moves from any stored state always reaches the goal through
+ * stored states, each one move closer. Every distance is therefore backed by
+ * a stored path and the memo never claims a distance it cannot produce.
+ *
+ * Table: open addressing over an AtomicLongArray, one long per entry:
+ *   bits  0-35 packed state (never 0, the tiles 1..8 are non-zero)
+ *   bits 36-43 distance to the goal
+ *   bits 44-45 next move (index into PuzzleState.DIR_NAMES)
+ * Lookups are lock-free; record() is synchronized (it is called once per
+ * solved miss). When the table reaches MAX_LOAD, record() stops adding.
+ *
+ * Persistence (optional): the same longs are appended to a file after an
+ * 8-byte header, in insertion order. open() replays the file and keeps only
+ * entries that satisfy the invariant, so a torn or edited file can cost
+ * entries but never correctness.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class SolutionMemo implements Closeable {
+
+    private static final int MAGIC = 0x4D454D31;  // "MEM1"
+    private static final int HEADER_BYTES = 8;    // magic, entry size
+    private static final long KEY_MASK = (1L << 36) - 1;
+    private static final double MAX_LOAD = 0.75;
+    static final long GOAL = PuzzleState.pack(PuzzleState.GOAL);
+
+    private final AtomicLongArray table;
+    private final int mask;
+    private final int maxEntries;
+    private final AtomicInteger size = new AtomicInteger();
+    private final FileChannel log;                // null = in memory only
+
+    private final LongAdder shortcuts = new LongAdder();   // searches finished through a memoized non-goal state
+    private final LongAdder recorded = new LongAdder();
+
+    /**
+     * In-memory memo.
+     * @param capacity table slots, rounded up to a power of two
+     *                 (2^19 holds all 181,440 solvable boards)
+     */
+    public SolutionMemo(int capacity) {
+        this(capacity, null);
+    }
+
+    private SolutionMemo(int capacity, FileChannel log) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be > 0");
+        int slots = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        this.table = new AtomicLongArray(slots);
+        this.mask = slots - 1;
+        this.maxEntries = (int) (slots * MAX_LOAD);
+        this.log = log;
+    }
+
+    /** Memo backed by an append-only file, created if missing and replayed if present. */
+    public static SolutionMemo open(Path file, int capacity) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            SolutionMemo memo = new SolutionMemo(capacity, ch);
+            memo.replay();
+            return memo;
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    // -------------------- Lookup --------------------
+
+    private static int hash(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+
+    private long entry(long state) {
+        for (int slot = hash(state) & mask; ; slot = (slot + 1) & mask) {
+            long e = table.get(slot);
+            if (e == 0) return 0;
+            if ((e & KEY_MASK) == state) return e;
+        }
+    }
+
+    /** Optimal number of moves from state to the goal, or -1 if not memoized. */
+    public int distance(long state) {
+        long e = entry(state);
+        return e == 0 ? -1 : (int) (e >>> 36) & 0xFF;
+    }
+
+    /** Optimal next move from state (index into PuzzleState.DIR_NAMES), or -1. */
+    public int nextMove(long state) {
+        long e = entry(state);
+        return e == 0 || (e & KEY_MASK) == GOAL ? -1 : (int) (e >>> 44) & 3;
+    }
+
+    /**
+     * Write the memoized optimal moves from state to the goal into a packed
+     * move list (2 bits per move) starting at move index 'from'.
+     * @return number of moves written, or -1 if state is not memoized
+     */
+    int appendSuffix(long state, long[] moves, int from) {
+        int d = distance(state);
+        if (d < 0) return -1;
+        if (d > 0) shortcuts.increment();
+        for (int i = 0; i < d; i++) {
+            int m = nextMove(state);
+            SearchResult.setMove(moves, from + i, m);
+            state = PuzzleState.applyMove(state, m);
+        }
+        return d;
+    }
+
+    // -------------------- Recording --------------------
+
+    /**
+     * Memoize every state on an optimal solution. Only pass results of
+     * optimal solvers (A*, IDA* with an admissible heuristic, BFS).
+     * @param start the packed start state of the search
+     */
+    public synchronized void record(long start, SearchResult result) {
+        if (!result.isSolved()) return;
+        int n = result.pathLength;
+        long[] states = new long[n + 1];
+        states[0] = start;
+        for (int i = 0; i < n; i++) {
+            states[i + 1] = PuzzleState.applyMove(states[i], result.moveAt(i));
+            if (states[i + 1] < 0) throw new IllegalArgumentException("move " + i + " leaves the board");
+        }
+        if (states[n] != GOAL) throw new IllegalArgumentException("path does not reach the goal");
+
+        long[] added = new long[n + 1];
+        int count = 0;
+        for (int i = n; i >= 0; i--) {                 // goal end first: keeps the invariant
+            long e = states[i] | (long) (n - i) << 36 | (i < n ? (long) result.moveAt(i) << 44 : 0);
+            int stored = insert(e);
+            if (stored < 0) break;                     // full
+            if (stored > 0) added[count++] = e;
+        }
+        if (count > 0) {
+            recorded.add(count);
+            append(added, count);
+        }
+    }
+
+    /** @return 1 if inserted, 0 if the state was already present, -1 if the table is full */
+    private int insert(long e) {
+        long state = e & KEY_MASK;
+        for (int slot = hash(state) & mask; ; slot = (slot + 1) & mask) {
+            long cur = table.get(slot);
+            if (cur == 0) {
+                if (size.get() >= maxEntries) return -1;
+                if (table.compareAndSet(slot, 0, e)) {
+                    size.incrementAndGet();
+                    return 1;
+                }
+                cur = table.get(slot);
+            }
+            if ((cur & KEY_MASK) == state) return 0;
+        }
+    }
+
+    /** True if e may be stored: its move leads to a stored state one move closer. */
+    private boolean consistent(long e) {
+        long state = e & KEY_MASK;
+        int tiles = 0;
+        for (int i = 0; i < 9; i++) tiles |= 1 << ((state >>> (4 * i)) & 0xF);
+        if (tiles != 0x1FF || (e >>> 46) != 0) return false;      // not a board
+        int d = (int) (e >>> 36) & 0xFF;
+        if (d == 0) return state == GOAL;
+        if (d < PuzzleState.h2(state)) return false;
+        long next = PuzzleState.applyMove(state, (int) (e >>> 44) & 3);
+        long n = next < 0 ? 0 : entry(next);
+        return n != 0 && ((int) (n >>> 36) & 0xFF) == d - 1;
+    }
+
+    // -------------------- Persistence --------------------
+
+    private void append(long[] entries, int count) {
+        if (log == null) return;
+        ByteBuffer buf = ByteBuffer.allocate(count * 8);
+        for (int i = 0; i < count; i++) buf.putLong(entries[i]);
+        buf.flip();
+        try {
+            while (buf.hasRemaining()) log.write(buf, log.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void replay() throws IOException {
+        long length = log.size();
+        if (length == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putInt(8);
+            header.flip();
+            log.write(header, 0);
+            return;
+        }
+        MappedByteBuffer buf = log.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        if (length < HEADER_BYTES || buf.getInt() != MAGIC || buf.getInt() != 8) {
+            throw new IOException("not a solution memo file");
+        }
+        long whole = HEADER_BYTES + (length - HEADER_BYTES) / 8 * 8;
+        while (buf.position() < whole) {
+            long e = buf.getLong();
+            if (consistent(e) && insert(e) < 0) break;
+        }
+        if (whole < length) log.truncate(whole);       // torn last entry
+    }
+
+    // -------------------- Statistics --------------------
+
+    public int size() { return size.get(); }
+    public long shortcuts() { return shortcuts.sum(); }
+    public long recorded() { return recorded.sum(); }
+
+    @Override
+    public void close() throws IOException {
+        if (log != null) log.close();
+    }
+}
@@ -0,0 +1,29 @@
+package com.iitj.ai.assignment1.problem1;
+
+/**
+ * Solver - Common entry point for the Manuscript Sorting Problem searches.
+ *
+ * A Solver is configured once (algorithm, heuristic, limits) and can then be
+ * called any number of times, from any number of threads. Implementations
+ * keep no per-call state in fields; the open/closed structures they need are
+ * reused per thread, so repeated calls do not reallocate them.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public interface Solver {
+
+    /** Display name, e.g. "A* Search". */
+    String name();
+
+    /** Heuristic description, or "" if the algorithm uses none. */
+    String heuristic();
+
+    /** Search from the given start state towards PuzzleState.GOAL. */
+    SearchResult solve(int[] initial);
+
+    /** Same as solve(int[]) for a packed state (PuzzleState.pack). */
+    default SearchResult solve(long packedState) {
+        return solve(PuzzleState.unpack(packedState));
+    }
+}
@@ -1,3 +1,10 @@
+package com.iitj.ai.assignment1.problem2;
+
+import com.iitj.ai.jobs.Deadline;
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
+
 import java.util.*;
 
 /**
@@ -9,20 +16,27 @@ import java.util.*;
  * there exists at least one value in Dj that satisfies the constraint.
  *
  * After AC-3 preprocessing, Backtracking with MRV is run to find a solution.
+ * The solvers use ac2001 (the change-driven queue of AC-2001/AC-3.1,
+ * without duplicates); ac3 is kept as the textbook baseline it is
+ * measured against.
  *
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
  */
 public class ArcConsistency {
 
+    private static final SearchMetrics METRICS = SearchTelemetry.csp("AC-3 + Backtracking", "MRV");
+
     /**
-     * Run AC-3 algorithm on the CSP domains.
+     * Run AC-3 algorithm on the CSP domains, with optional tracing.
      * Binary constraint: No Back-to-Back (Slot[i] != Slot[i+1]).
      *
-     * @param domains mutable list of domains for each slot
+     * @param domains   mutable domains of every slot
+     * @param revisions out: revisions[0] = number of revisions that removed values;
+     *                  revisions[1], if present, = arcs revised in all
      * @return true if arc-consistent (no empty domains), false if inconsistent
      */
-    static boolean ac3(List<List<String>> domains) {
+    static boolean ac3(Domains domains, int[] revisions, boolean verbose) {
         // Build queue of all arcs (directed edges)
         // Arcs: (i, i+1) and (i+1, i) for all consecutive slots
         Queue<int[]> queue = new LinkedList<>();
@@ -32,21 +46,33 @@ public class ArcConsistency {
         }
 
         int revisionsCount = 0;
+        int removed = 0;
 
         while (!queue.isEmpty()) {
             int[] arc = queue.poll();
             int xi = arc[0], xj = arc[1];
+            if (revisions.length > 1) revisions[1]++;
 
+            int before = domains.size(xi);
             if (revise(domains, xi, xj)) {
                 revisionsCount++;
-                System.out.println("  Revised " + CSPFramework.SLOT_NAMES[xi]
-                        + " -> " + CSPFramework.SLOT_NAMES[xj]
-                        + " : " + CSPFramework.SLOT_NAMES[xi]
-                        + " domain = " + domains.get(xi));
-
-                if (domains.get(xi).isEmpty()) {
-                    System.out.println("  FAILURE: " + CSPFramework.SLOT_NAMES[xi]
-                            + " has empty domain!");
+                int remaining = domains.size(xi);
+                removed += before - remaining;
+                SearchEvents.AC3Revision.emit(xi, xj, before - remaining, remaining);
+                revisions[0] = revisionsCount;
+                if (verbose) {
+                    System.out.println("  Revised " + CSPFramework.SLOT_NAMES[xi]
+                            + " -> " + CSPFramework.SLOT_NAMES[xj]
+                            + " : " + CSPFramework.SLOT_NAMES[xi]
+                            + " domain = " + domains.names(xi));
+                }
+
+                if (domains.isEmpty(xi)) {
+                    if (verbose) {
+                        System.out.println("  FAILURE: " + CSPFramework.SLOT_NAMES[xi]
+                                + " has empty domain!");
+                    }
+                    METRICS.addCsp(0, removed, revisionsCount);
                     return false;
                 }
 
@@ -59,7 +85,8 @@ public class ArcConsistency {
             }
         }
 
-        System.out.println("  Total revisions performed: " + revisionsCount);
+        if (verbose) System.out.println("  Total revisions performed: " + revisionsCount);
+        METRICS.addCsp(0, removed, revisionsCount);
         return true;
     }
 
@@ -70,27 +97,120 @@ public class ArcConsistency {
      *
      * @return true if any value was removed from Di
      */
-    static boolean revise(List<List<String>> domains, int xi, int xj) {
-        boolean revised = false;
-        List<String> toRemove = new ArrayList<>();
-
-        for (String val : domains.get(xi)) {
-            // Check if there exists at least one value in Dj != val
-            boolean hasSupport = false;
-            for (String other : domains.get(xj)) {
-                if (!other.equals(val)) {
-                    hasSupport = true;
-                    break;
+    static boolean revise(Domains domains, int xi, int xj) {
+        // A value of Di lacks support only if Dj holds that value alone
+        int supports = domains.size(xj);
+        if (supports > 1) return false;
+        return supports == 1 ? domains.removeAll(xi, xj) : domains.clear(xi);
+    }
+
+    // -------------------- AC-2001 / AC-3.1 --------------------
+
+    /**
+     * Arc consistency with the queue of AC-2001 / AC-3.1.
+     *
+     * Arc 2 * i + 1 is (Slot i, Slot i+1) and arc 2 * i + 2 is (Slot i+1, Slot i),
+     * so the arcs into slot i are 2 * i - 1 and 2 * i + 2. The queue is a ring
+     * of arc ids with an in-queue bitset, so an arc is queued at most once at
+     * a time, and only the arcs into a slot whose domain changed are queued
+     * again. Removals go through Domains, so an attached Trail can undo them.
+     *
+     * There are no residual supports. For No Back-to-Back, a neighbour domain
+     * with two or more values supports every value, which one bit count
+     * shows, and one with a single value supports all values but that one,
+     * so revise() needs no support search for a residue to shorten.
+     *
+     * @param revisions out: as for ac3
+     * @return true if arc-consistent (no empty domains), false if inconsistent
+     */
+    static boolean ac2001(Domains domains, int[] revisions, boolean verbose) {
+        int n = CSPFramework.NUM_SLOTS;
+        int arcs = 2 * n;                            // ids 1 .. 2n-2 are used
+        int[] queue = new int[arcs];
+        BitSet queued = new BitSet(arcs);
+        int head = 0, length = 0;
+        for (int arc = 1; arc < arcs - 1; arc++) {
+            queue[length++] = arc;
+            queued.set(arc);
+        }
+
+        int revisionsCount = 0;
+        int removed = 0;
+
+        while (length > 0) {
+            int arc = queue[head];
+            head = (head + 1) % arcs;
+            length--;
+            queued.clear(arc);
+            int xi = (arc - 1) / 2 + (arc + 1) % 2;      // odd: Slot i, even: Slot i+1
+            int xj = arc % 2 == 1 ? xi + 1 : xi - 1;
+            if (revisions.length > 1) revisions[1]++;
+
+            int before = domains.size(xi);
+            if (revise(domains, xi, xj)) {
+                revisionsCount++;
+                int remaining = domains.size(xi);
+                removed += before - remaining;
+                SearchEvents.AC3Revision.emit(xi, xj, before - remaining, remaining);
+                revisions[0] = revisionsCount;
+                if (verbose) {
+                    System.out.println("  Revised " + CSPFramework.SLOT_NAMES[xi]
+                            + " -> " + CSPFramework.SLOT_NAMES[xj]
+                            + " : " + CSPFramework.SLOT_NAMES[xi]
+                            + " domain = " + domains.names(xi));
+                }
+
+                if (domains.isEmpty(xi)) {
+                    if (verbose) {
+                        System.out.println("  FAILURE: " + CSPFramework.SLOT_NAMES[xi]
+                                + " has empty domain!");
+                    }
+                    METRICS.addCsp(0, removed, revisionsCount);
+                    return false;
+                }
+
+                // Queue the arc (Xk, Xi) from the other neighbour Xk of Xi, if any
+                int xk = 2 * xi - xj;
+                if (xk >= 0 && xk < n) {
+                    int into = xk < xi ? 2 * xk + 1 : 2 * xi + 2;
+                    if (!queued.get(into)) {
+                        queued.set(into);
+                        queue[(head + length++) % arcs] = into;
+                    }
                 }
-            }
-            if (!hasSupport) {
-                toRemove.add(val);
-                revised = true;
             }
         }
 
-        domains.get(xi).removeAll(toRemove);
-        return revised;
+        if (verbose) System.out.println("  Total revisions performed: " + revisionsCount);
+        METRICS.addCsp(0, removed, revisionsCount);
+        return true;
+    }
+
+    /**
+     * Run arc consistency (ac2001) and then backtracking with MRV quietly
+     * on the current problem.
+     * @param revisions out: revisions[0] = revisions that removed values (see ac3)
+     * @return number of assignments made; the assignment is complete if solved
+     */
+    static int solve(int[] assignment, Domains domains, int[] revisions) {
+        return solve(assignment, domains, revisions, 0);
+    }
+
+    /**
+     * As solve(assignment, domains, revisions), with the value order of the
+     * search seeded as in MacSearch (0 for bot order).
+     */
+    static int solve(int[] assignment, Domains domains, int[] revisions, long seed) {
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        int[] count = {0};
+        boolean success = ac2001(domains, revisions, false)
+                && backtrackSimple(assignment, domains, count, seed);
+        METRICS.addCsp(count[0], 0, 0);
+        METRICS.finish(0, System.nanoTime() - startTime);
+        event.finish(METRICS.algorithm(), METRICS.heuristic(), success,
+                success ? CSPFramework.NUM_SLOTS : -1, count[0], 0);
+        return count[0];
     }
 
     // -------------------- Main --------------------
@@ -109,39 +229,36 @@ public class ArcConsistency {
         CSPFramework.printConstraintGraph();
 
         // Initialize domains
-        List<List<String>> domains = CSPFramework.initDomains();
+        Domains domains = CSPFramework.initDomains();
         System.out.println("Initial Domains (after unary constraint):");
-        for (int i = 0; i < CSPFramework.NUM_SLOTS; i++) {
-            System.out.println("  " + CSPFramework.SLOT_NAMES[i] + " = " + domains.get(i));
-        }
+        CSPFramework.printDomains(domains, "  ");
         System.out.println();
 
         // Run AC-3
         System.out.println("=== Running AC-3 Arc Consistency ===");
-        System.out.println("Arcs to process: (Slot1,Slot2), (Slot2,Slot1), "
-                + "(Slot2,Slot3), (Slot3,Slot2), (Slot3,Slot4), (Slot4,Slot3)");
+        System.out.println("Arcs to process: " + describeArcs());
         System.out.println();
 
         long startTime = System.currentTimeMillis();
-        boolean consistent = ac3(domains);
+        boolean consistent = ac2001(domains, new int[1], true);
 
         System.out.println();
         System.out.println("Domains after AC-3:");
-        for (int i = 0; i < CSPFramework.NUM_SLOTS; i++) {
-            System.out.println("  " + CSPFramework.SLOT_NAMES[i] + " = " + domains.get(i));
-        }
+        CSPFramework.printDomains(domains, "  ");
         System.out.println("Arc Consistent: " + (consistent ? "YES" : "NO"));
         System.out.println();
 
         if (consistent) {
             // Now run backtracking on the reduced domains
             System.out.println("=== Running Backtracking on AC-3 Reduced Domains ===\n");
-            String[] assignment = new String[CSPFramework.NUM_SLOTS];
+            int[] assignment = CSPFramework.emptyAssignment();
             int[] count = {0};
 
             boolean success = backtrackSimple(assignment, domains, count);
 
             long timeMs = System.currentTimeMillis() - startTime;
+            METRICS.addCsp(count[0], 0, 0);
+            METRICS.finish(0, timeMs * 1_000_000);
 
             CSPFramework.printResult(
                     "AC-3 + Backtracking",
@@ -150,43 +267,91 @@ public class ArcConsistency {
                     success, assignment, count[0], timeMs);
         } else {
             long timeMs = System.currentTimeMillis() - startTime;
+            METRICS.finish(0, timeMs * 1_000_000);
             System.out.println("CSP is INCONSISTENT - no solution exists.");
             System.out.println("Time: " + timeMs + " ms");
         }
     }
 
+    /** The initial arcs, "(Slot1,Slot2), (Slot2,Slot1), ...", or their count for long schedules. */
+    static String describeArcs() {
+        int n = CSPFramework.NUM_SLOTS;
+        if (n > CSPFramework.PRINT_LIMIT) {
+            return 2 * (n - 1) + " (both directions of each consecutive pair, "
+                    + CSPFramework.SLOT_NAMES[0] + " .. " + CSPFramework.SLOT_NAMES[n - 1] + ")";
+        }
+        List<String> arcs = new ArrayList<>();
+        for (int i = 0; i + 1 < n; i++) {
+            String a = CSPFramework.SLOT_NAMES[i], b = CSPFramework.SLOT_NAMES[i + 1];
+            arcs.add("(" + a + "," + b + ")");
+            arcs.add("(" + b + "," + a + ")");
+        }
+        return String.join(", ", arcs);
+    }
+
     /**
      * Simple backtracking with MRV on AC-3 reduced domains.
+     * The domains do not change during this search, so the MRV order is
+     * fixed: the unassigned slots sorted by domain size, lowest index first
+     * on ties. Level k of the search assigns order[k]. Minimum Coverage
+     * is checked (not propagated, as that would prune) by a CoveragePropagator.
+     * The thread's Deadline, if any, is checked before every assignment.
      */
-    static boolean backtrackSimple(String[] assignment, List<List<String>> domains,
-                                    int[] count) {
-        boolean complete = true;
-        for (String s : assignment) {
-            if (s == null) { complete = false; break; }
-        }
-        if (complete) return CSPFramework.checkMinimumCoverage(assignment);
-
-        // MRV: select variable with fewest remaining values
-        int slot = -1;
-        int minSize = Integer.MAX_VALUE;
-        for (int i = 0; i < CSPFramework.NUM_SLOTS; i++) {
-            if (assignment[i] == null && domains.get(i).size() < minSize) {
-                minSize = domains.get(i).size();
-                slot = i;
-            }
+    static boolean backtrackSimple(int[] assignment, Domains domains, int[] count) {
+        return backtrackSimple(assignment, domains, count, 0);
+    }
+
+    /**
+     * As backtrackSimple(assignment, domains, count); with a non-zero seed,
+     * each slot tries its values in bot order from a random bot on, wrapping
+     * around (as MacSearch does), instead of from the first bot.
+     */
+    static boolean backtrackSimple(int[] assignment, Domains domains, int[] count, long seed) {
+        CoveragePropagator coverage = new CoveragePropagator(assignment, domains);
+        List<Integer> unassigned = new ArrayList<>();
+        for (int i = 0; i < assignment.length; i++) {
+            if (assignment[i] == CSPFramework.UNASSIGNED) unassigned.add(i);
         }
-        if (slot == -1) return false;
+        unassigned.sort(Comparator.comparingInt(domains::size));
+        int[] order = new int[unassigned.size()];
+        for (int k = 0; k < order.length; k++) order[k] = unassigned.get(k);
+        Deadline deadline = Deadline.current();
+        Random rng = seed == 0 ? null : new Random(seed);
+        return CSPFramework.withSearchStack(
+                () -> backtrackSimple(assignment, domains, order, 0, coverage, deadline, count, rng));
+    }
 
-        for (String bot : new ArrayList<>(domains.get(slot))) {
+    private static boolean backtrackSimple(int[] assignment, Domains domains,
+                                           int[] order, int level, CoveragePropagator coverage,
+                                           Deadline deadline, int[] count, Random rng) {
+        if (level == order.length) return CSPFramework.checkMinimumCoverage(assignment);
+
+        // MRV: the slot with fewest remaining values
+        int slot = order[level];
+        int values = domains.size(slot);
+        int bot = rng == null ? domains.first(slot) : firstFrom(domains, slot, rng.nextInt(domains.bots));
+        for (int k = 0; k < values; k++, bot = firstFrom(domains, slot, bot + 1)) {
+            if (count[0] >= CSPFramework.assignmentLimit) return false;  // budget spent
+            if (deadline != null && deadline.expired()) return false;
             if (CSPFramework.isConsistent(assignment, slot, bot)) {
                 count[0]++;
                 assignment[slot] = bot;
-                if (CSPFramework.canSatisfyCoverage(assignment, domains)) {
-                    if (backtrackSimple(assignment, domains, count)) return true;
+                coverage.assign(slot, bot);
+                if (coverage.feasible()) {
+                    if (backtrackSimple(assignment, domains, order, level + 1, coverage, deadline, count,
+                            rng)) {
+                        return true;
+                    }
                 }
-                assignment[slot] = null;
+                coverage.unassign(slot, bot);
+                assignment[slot] = CSPFramework.UNASSIGNED;
             }
         }
         return false;
     }
+    /** The slot's first value from 'from' on, wrapping around to its first value. */
+    private static int firstFrom(Domains domains, int slot, int from) {
+        int bot = domains.next(slot, from);
+        return bot >= 0 ? bot : domains.first(slot);
+    }
 }
@@ -1,3 +1,10 @@
+package com.iitj.ai.assignment1.problem2;
+
+import com.iitj.ai.jobs.Deadline;
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
+
 import java.util.*;
 
 /**
@@ -12,170 +19,459 @@ import java.util.*;
  * from the domains of unassigned neighbors. If any domain becomes
  * empty, backtrack immediately without further exploration.
  *
+ * Domains are bitsets over bot ids (Domains): a prune clears one bit and
+ * MRV sizes come from Long.bitCount. Prunings are recorded on a Trail, and
+ * backtracking restores the trail to the mark taken before the assignment,
+ * so memory follows the prunings made and, without backjumping, no node
+ * allocates. MRV keeps the unassigned slots bucketed by domain size
+ * (MrvIndex), and Minimum Coverage is propagated from incremental support
+ * counts (CoveragePropagator), so a node costs O(bots + slots / 64) in the
+ * usual case.
+ *
+ * With 'backjumping' set, backtracking is conflict-directed (FC-CBJ). It is
+ * off by default: MRV takes forced slots first, so on the instances tried
+ * CBJ skips no nodes and only adds bookkeeping. Every pruning is recorded
+ * with the levels of the assignments that caused it (ConflictSets), and a
+ * failed value adds the levels behind the failure (the pruned values of the
+ * wiped-out slot, or the coverage explanation) to the current level's
+ * conflict set. When every value of a slot has failed, the search jumps
+ * straight back to the deepest level in that set, passing the rest of the
+ * set on to it, instead of retrying each level in between. The set, read as
+ * assignments, is also learned as a nogood (NogoodStore, watched literals),
+ * so the same combination is refused wherever it turns up again. With
+ * 'restarts' set, the search restarts from the root after a growing number
+ * of failures and keeps its nogoods. Reason sets reuse the BitSet of their
+ * ConflictSets record, so once the search has been as deep before, a node
+ * in this mode allocates only to learn a nogood (its literals) or to
+ * explain a Minimum Coverage pruning of several bots at once (their mask).
+ *
+ * solve() checks the thread's Deadline before every assignment. If it
+ * expires, the search unwinds and the assignment array is left holding the
+ * deepest consistent partial assignment found so far (see stopped()).
+ *
+ * The search state is kept in static fields, so solve() is synchronized on
+ * the class: calls from several threads (a PortfolioSolver race, a
+ * Rescheduler fallback) run one at a time. The counters of the last search
+ * (stopped(), backjumps() ...) are only meaningful on the thread that ran it.
+ *
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
  */
 public class BacktrackingSearch {
 
     private static int totalAssignments = 0;
+    private static int totalPrunings = 0;
     private static int stepCount = 0;
 
+    // Deadline of the current solve() and the best partial assignment so far
+    private static Deadline deadline;
+    private static boolean stopped = false;
+    private static int[] best;
+    private static int bestAssigned;
+
+    // Minimum Coverage, MRV and undo bookkeeping of the current search
+    private static CoveragePropagator coverage;
+    private static MrvIndex mrv;
+    private static Trail trail;
+
+    // Search options: conflict-directed backjumping and nogoods, and restarts
+    static boolean backjumping = false;
+    static boolean restarts = false;
+    static int nogoodCapacity = 10_000;
+    static int firstRestart = 100;                  // failures before the first restart
+
+    // Backjumping bookkeeping of the current search
+    private static ConflictSets conflicts;
+    private static NogoodStore nogoods;
+    private static BitSet[] conflictAt;             // conflict set of each level
+    private static int[] slotAt;                    // slot assigned at each level
+    private static int firstLevel;                  // level of the first assignment of the search
+    private static int failures, failureLimit;
+    private static int backjumps, restartCount, nogoodsLearned;
+
+    // Results of backtrack() besides the level to go back to
+    private static final int SOLVED = Integer.MAX_VALUE;
+    private static final int STOPPED = -1;          // Deadline or assignment budget
+    private static final int RESTART = -2;
+
+    private static final SearchMetrics METRICS =
+            SearchTelemetry.csp("Backtracking Search", "MRV + Forward Checking");
+
     // -------------------- MRV Heuristic --------------------
 
     /**
-     * Select the unassigned slot with the Minimum Remaining Values.
-     * Returns -1 if all slots are assigned.
+     * MrvIndex - The unassigned slots, bucketed by domain size. The search
+     * moves a slot between buckets whenever it assigns, unassigns, prunes or
+     * restores (as the trail's listener), so selecting the MRV slot needs no
+     * scan of all slots.
      */
-    static int selectMRV(String[] assignment, List<List<String>> domains) {
-        int minSize = Integer.MAX_VALUE;
-        int bestSlot = -1;
-
-        for (int i = 0; i < CSPFramework.NUM_SLOTS; i++) {
-            if (assignment[i] == null) {
-                int domSize = domains.get(i).size();
-                if (domSize < minSize) {
-                    minSize = domSize;
-                    bestSlot = i;
-                }
+    static final class MrvIndex implements Trail.Listener {
+        private final Domains domains;
+        private final BitSet[] bySize;    // bySize[k] = unassigned slots with k values left
+        private final int[] count;
+        private final int[] sizeOf;       // bucket of each slot, -1 while assigned
+
+        MrvIndex(int[] assignment, Domains domains) {
+            this.domains = domains;
+            bySize = new BitSet[CSPFramework.BOTS.length + 1];
+            count = new int[bySize.length];
+            sizeOf = new int[CSPFramework.NUM_SLOTS];
+            Arrays.fill(sizeOf, -1);
+            for (int k = 0; k < bySize.length; k++) bySize[k] = new BitSet(CSPFramework.NUM_SLOTS);
+            for (int i = 0; i < CSPFramework.NUM_SLOTS; i++) {
+                if (assignment[i] == CSPFramework.UNASSIGNED) add(i);
             }
         }
-        return bestSlot;
-    }
 
-    // -------------------- Forward Checking --------------------
+        void add(int slot) {
+            int size = domains.size(slot);
+            sizeOf[slot] = size;
+            bySize[size].set(slot);
+            count[size]++;
+        }
 
-    /**
-     * Perform Forward Checking after assigning bot to slot.
-     * Removes inconsistent values from neighboring unassigned variables.
-     * Returns the list of pruned (slot, value) pairs for undo, or null if failure.
-     */
-    static List<int[]> forwardCheck(String[] assignment, List<List<String>> domains,
-                                     int slot, String bot) {
-        List<int[]> pruned = new ArrayList<>();
-
-        // Check left neighbor (slot - 1)
-        if (slot > 0 && assignment[slot - 1] == null) {
-            List<String> dom = domains.get(slot - 1);
-            if (dom.contains(bot)) {
-                dom.remove(bot);
-                pruned.add(new int[]{slot - 1, Arrays.asList(CSPFramework.BOTS).indexOf(bot)});
-                if (dom.isEmpty()) return null; // Domain wipeout = failure
-            }
+        void remove(int slot) {
+            bySize[sizeOf[slot]].clear(slot);
+            count[sizeOf[slot]]--;
+            sizeOf[slot] = -1;
+        }
+
+        /** The slot's domain changed size; move it to its new bucket. */
+        void resized(int slot) {
+            if (sizeOf[slot] < 0) return;
+            remove(slot);
+            add(slot);
+        }
+
+        @Override
+        public void removed(int slot, int word, long bits) {
+            resized(slot);
+        }
+
+        @Override
+        public void restored(int slot, int word, long bits) {
+            resized(slot);
         }
 
-        // Check right neighbor (slot + 1)
-        if (slot < CSPFramework.NUM_SLOTS - 1 && assignment[slot + 1] == null) {
-            List<String> dom = domains.get(slot + 1);
-            if (dom.contains(bot)) {
-                dom.remove(bot);
-                pruned.add(new int[]{slot + 1, Arrays.asList(CSPFramework.BOTS).indexOf(bot)});
-                if (dom.isEmpty()) return null; // Domain wipeout = failure
+        /** The unassigned slot with the fewest values (lowest index on ties), or -1. */
+        int select() {
+            for (int k = 0; k < count.length; k++) {
+                if (count[k] > 0) return bySize[k].nextSetBit(0);
             }
+            return -1;
         }
+    }
 
-        return pruned;
+    /**
+     * Select the unassigned slot with the Minimum Remaining Values.
+     * Returns -1 if all slots are assigned.
+     */
+    static int selectMRV() {
+        return mrv.select();
     }
 
+    // -------------------- Forward Checking --------------------
+
     /**
-     * Undo Forward Checking by restoring pruned values.
+     * Perform Forward Checking after assigning bot to slot.
+     * Removes inconsistent values from neighboring unassigned variables,
+     * recording them on the trail for the caller to restore.
+     * Returns false on a domain wipeout.
      */
-    static void undoForwardCheck(List<int[]> pruned, List<List<String>> domains) {
-        for (int[] p : pruned) {
-            domains.get(p[0]).add(CSPFramework.BOTS[p[1]]);
+    static boolean forwardCheck(int[] assignment, Domains domains, int slot, int bot) {
+        // Check left neighbor (slot - 1), then right neighbor (slot + 1)
+        for (int n = slot - 1; n <= slot + 1; n += 2) {
+            if (n < 0 || n >= CSPFramework.NUM_SLOTS || assignment[n] != CSPFramework.UNASSIGNED) continue;
+            if (domains.remove(n, bot)) {
+                totalPrunings++;
+                if (domains.isEmpty(n)) return false;     // Domain wipeout = failure
+            }
         }
+        return true;
     }
 
     // -------------------- Backtracking Algorithm --------------------
 
+    // Assignments traced in detail by main (the first 3 steps and the tries that follow)
+    private static final int TRACE_LIMIT = 20;
+
+    private static boolean tracing(boolean showSteps) {
+        return showSteps && stepCount <= 3 && totalAssignments <= TRACE_LIMIT;
+    }
+
     /**
      * Recursive backtracking with MRV + Forward Checking.
+     * The slot chosen here is assigned at level assigned + 1.
+     * @param assigned  number of slots already assigned
      * @param showSteps if true, prints the first 3 steps in detail
+     * @return SOLVED; STOPPED or RESTART; or the level to go back to: the
+     *         caller's level to try its next value, a lower one to jump, 0 if
+     *         there is no solution
      */
-    static boolean backtrack(String[] assignment, List<List<String>> domains,
-                             boolean showSteps) {
+    static int backtrack(int[] assignment, Domains domains, int assigned, boolean showSteps) {
         // Check if assignment is complete
-        boolean complete = true;
-        for (String s : assignment) {
-            if (s == null) { complete = false; break; }
+        if (deadline != null && assigned > bestAssigned) {
+            bestAssigned = assigned;
+            System.arraycopy(assignment, 0, best, 0, assignment.length);
         }
-        if (complete) {
-            // Check minimum coverage (global constraint)
-            return CSPFramework.checkMinimumCoverage(assignment);
+        if (assigned == assignment.length) {
+            // Check minimum coverage (global constraint); the propagator makes this hold
+            if (CSPFramework.checkMinimumCoverage(assignment)) return SOLVED;
+            if (conflicts != null && assigned > firstLevel) conflictAt[assigned].set(firstLevel, assigned);
+            return assigned;
         }
 
         // Select variable using MRV heuristic
-        int slot = selectMRV(assignment, domains);
-        if (slot == -1) return false;
+        int slot = selectMRV();
+        if (slot == -1) return assigned;
+        int level = assigned + 1;
+        BitSet conflict = null;
+        if (conflicts != null) {
+            if (conflictAt[level] == null) conflictAt[level] = new BitSet();
+            conflict = conflictAt[level];
+            conflict.clear();
+            slotAt[level] = slot;
+        }
 
         if (showSteps && stepCount < 3) {
             stepCount++;
             System.out.println("--- Step " + stepCount + " ---");
             System.out.println("  MRV selects: " + CSPFramework.SLOT_NAMES[slot]
-                    + " (domain size = " + domains.get(slot).size()
-                    + ", values = " + domains.get(slot) + ")");
-            System.out.print("  Current assignment: {");
-            for (int i = 0; i < CSPFramework.NUM_SLOTS; i++) {
-                System.out.print(CSPFramework.SLOT_NAMES[i] + "="
-                        + (assignment[i] != null ? assignment[i] : "_"));
-                if (i < CSPFramework.NUM_SLOTS - 1) System.out.print(", ");
-            }
-            System.out.println("}");
+                    + " (domain size = " + domains.size(slot)
+                    + ", values = " + domains.names(slot) + ")");
+            System.out.println("  Current assignment: " + CSPFramework.describe(assignment));
         }
 
         // Try each value in the domain
-        List<String> domainCopy = new ArrayList<>(domains.get(slot));
-        for (String bot : domainCopy) {
+        // (assigned slots are never pruned, so the slot's domain stays as it is)
+        mrv.remove(slot);
+        for (int bot = domains.first(slot); bot >= 0; bot = domains.next(slot, bot + 1)) {
             // Check consistency
-            if (CSPFramework.isConsistent(assignment, slot, bot)) {
+            int result = level;                                       // go on to the next value
+            if (totalAssignments >= CSPFramework.assignmentLimit) {
+                result = STOPPED;                                     // budget spent
+            } else if (deadline != null && (stopped || deadline.expired())) {
+                stopped = true;                                       // deadline expired
+                result = STOPPED;
+            } else if (CSPFramework.isConsistent(assignment, slot, bot)) {
                 totalAssignments++;
                 assignment[slot] = bot;
 
-                if (showSteps && stepCount <= 3) {
+                if (tracing(showSteps)) {
                     System.out.println("  Try: " + CSPFramework.SLOT_NAMES[slot]
-                            + " = " + bot);
+                            + " = " + CSPFramework.BOTS[bot]);
                 }
 
-                // Deep copy domains for forward checking
-                List<List<String>> domainsCopy = new ArrayList<>();
-                for (List<String> d : domains) domainsCopy.add(new ArrayList<>(d));
-
-                // Forward checking
-                List<int[]> pruned = forwardCheck(assignment, domains, slot, bot);
-
-                if (pruned != null) {
-                    // Check if coverage can still be satisfied
-                    if (CSPFramework.canSatisfyCoverage(assignment, domains)) {
-                        if (showSteps && stepCount <= 3) {
-                            System.out.println("  Forward Check: domains after pruning:");
-                            for (int i = 0; i < CSPFramework.NUM_SLOTS; i++) {
-                                if (assignment[i] == null) {
-                                    System.out.println("    " + CSPFramework.SLOT_NAMES[i]
-                                            + " = " + domains.get(i));
-                                }
-                            }
-                        }
-
-                        if (backtrack(assignment, domains, showSteps)) {
-                            return true;
-                        }
-                    }
-                    undoForwardCheck(pruned, domains);
-                } else {
-                    if (showSteps && stepCount <= 3) {
-                        System.out.println("  Forward Check: DOMAIN WIPEOUT! Backtracking.");
-                    }
-                    // Restore domains from copy
-                    for (int i = 0; i < domains.size(); i++) {
-                        domains.set(i, domainsCopy.get(i));
-                    }
+                coverage.assign(slot, bot);
+                if (conflicts != null) conflicts.assign(slot, level);
+
+                // Nogoods, forward checking, then Minimum Coverage
+                int mark = trail.mark();
+                if (propagate(assignment, domains, slot, bot, level, conflict, showSteps)) {
+                    result = backtrack(assignment, domains, assigned + 1, showSteps);
+                    if (result == SOLVED) return SOLVED;
+                } else if (restarts && ++failures >= failureLimit) {
+                    result = RESTART;
                 }
+                trail.restore(mark);
 
                 // Undo assignment
-                assignment[slot] = null;
+                coverage.unassign(slot, bot);
+                assignment[slot] = CSPFramework.UNASSIGNED;
+            }
+            if (result != level) {
+                mrv.add(slot);
+                return result;                                        // unwind past this level
             }
         }
 
-        return false; // No valid assignment found for this branch
+        mrv.add(slot);
+        if (conflicts == null) return level - 1;                      // chronological
+
+        // No value left: jump to the deepest level to blame, which takes over the conflict set
+        conflicts.addPrunings(slot, conflict);
+        conflict.clear(level);
+        int target = Math.max(0, conflict.length() - 1);
+        learn(assignment, conflict);
+        if (target > 0) {
+            conflictAt[target].or(conflict);
+            conflictAt[target].clear(target);
+        }
+        backjumps += level - 1 - target;
+        return target;
+    }
+
+    /**
+     * Propagate the assignment slot = bot made at 'level'.
+     * @return false on a wipeout, a violated nogood or if coverage cannot be
+     *         met; the levels to blame are then added to 'conflict'
+     */
+    private static boolean propagate(int[] assignment, Domains domains, int slot, int bot,
+                                     int level, BitSet conflict, boolean showSteps) {
+        if (conflicts != null && !nogoods.assigned(slot, bot, conflict)) {
+            if (tracing(showSteps)) System.out.println("  Nogood violated. Backtracking.");
+            return false;
+        }
+        if (conflicts != null) conflicts.because(level);
+        if (!forwardCheck(assignment, domains, slot, bot)) {
+            if (tracing(showSteps)) {
+                System.out.println("  Forward Check: DOMAIN WIPEOUT! Backtracking.");
+            }
+            if (conflicts != null) {
+                for (int n = slot - 1; n <= slot + 1; n += 2) {
+                    if (n >= 0 && n < CSPFramework.NUM_SLOTS && assignment[n] == CSPFramework.UNASSIGNED
+                            && domains.isEmpty(n)) conflicts.addPrunings(n, conflict);
+                }
+            }
+            return false;
+        }
+        // Check if coverage can still be satisfied, pruning what it forces
+        if (conflicts != null) conflicts.becauseCoverage();
+        if (!coverage.propagate()) {
+            if (conflicts != null) conflicts.addCoverage(conflict);
+            return false;
+        }
+        if (tracing(showSteps)) {
+            System.out.println("  Forward Check: domains after pruning:");
+            for (int i = 0; i < CSPFramework.NUM_SLOTS; i++) {
+                if (assignment[i] == CSPFramework.UNASSIGNED && !CSPFramework.elided(i)) {
+                    System.out.println("    " + CSPFramework.SLOT_NAMES[i]
+                            + " = " + domains.names(i));
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Propagate before the first decision, and again after each restart:
+     * unit nogoods, then Minimum Coverage. Prunings made here hold for the
+     * whole search and are never undone.
+     * @return false if the problem is refuted without an assignment
+     */
+    private static boolean propagateRoot(boolean showSteps) {
+        boolean ok = nogoods == null || nogoods.units();
+        if (ok) {
+            if (conflicts != null) conflicts.becauseCoverage();
+            ok = coverage.propagate();
+        }
+        if (!ok && tracing(showSteps)) System.out.println("  Refuted at the root. No schedule.");
+        return ok;
+    }
+
+    /** Learn the conflict set as a nogood, the assignments of its deepest levels first. */
+    private static void learn(int[] assignment, BitSet conflict) {
+        int size = conflict.cardinality();
+        if (size == 0 || size > NogoodStore.MAX_LENGTH) return;
+        int[] slots = new int[size], values = new int[size];
+        int k = 0;
+        for (int level = conflict.length() - 1; level > 0; level = conflict.previousSetBit(level - 1)) {
+            slots[k] = slotAt[level];
+            values[k++] = assignment[slotAt[level]];
+        }
+        nogoods.add(slots, values);
+    }
+
+    /**
+     * Run MRV + Forward Checking quietly on the current problem definition.
+     * @return number of assignments made; the assignment is complete if solved,
+     *         or the best partial assignment if the thread's Deadline expired
+     */
+    static synchronized int solve(int[] assignment, Domains domains) {
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        deadline = Deadline.current();
+        best = assignment.clone();
+        bestAssigned = 0;
+        boolean success = search(assignment, domains, false);
+        if (stopped) System.arraycopy(best, 0, assignment, 0, assignment.length);
+        deadline = null;
+        record(event, success, System.nanoTime() - startTime);
+        return totalAssignments;
+    }
+
+    /** Set up the bookkeeping, search from the root (again after each restart), and clear up. */
+    private static synchronized boolean search(int[] assignment, Domains domains, boolean showSteps) {
+        totalAssignments = 0;
+        totalPrunings = 0;
+        stepCount = 0;
+        stopped = false;
+        backjumps = 0;
+        restartCount = 0;
+        coverage = new CoveragePropagator(assignment, domains);
+        mrv = new MrvIndex(assignment, domains);
+        if (backjumping) {
+            conflicts = new ConflictSets(assignment, domains, coverage);
+            nogoods = new NogoodStore(assignment, domains, conflicts, nogoodCapacity);
+            conflictAt = new BitSet[assignment.length + 2];
+            slotAt = new int[assignment.length + 2];
+            trail = new Trail(domains, mrv, coverage, conflicts);
+        } else {
+            trail = new Trail(domains, mrv, coverage);
+        }
+        int assigned = 0;
+        for (int bot : assignment) {
+            if (bot != CSPFramework.UNASSIGNED) assigned++;
+        }
+        int depth = assigned;
+        firstLevel = depth + 1;
+        failures = 0;
+        failureLimit = firstRestart;
+        int result;
+        while (true) {
+            if (!propagateRoot(showSteps)) {
+                result = 0;                             // refuted before any assignment
+                break;
+            }
+            result = CSPFramework.withSearchStack(() -> backtrack(assignment, domains, depth, showSteps));
+            if (result != RESTART) break;
+            restartCount++;
+            failures = 0;
+            failureLimit += (failureLimit + 1) / 2;
+        }
+        trail.detach();
+        totalPrunings += coverage.prunings;
+        nogoodsLearned = 0;
+        if (nogoods != null) {
+            totalPrunings += nogoods.prunings;
+            nogoodsLearned = nogoods.learned;
+        }
+        coverage = null;
+        mrv = null;
+        trail = null;
+        conflicts = null;
+        nogoods = null;
+        conflictAt = null;
+        slotAt = null;
+        return result == SOLVED;
+    }
+
+    /** True if the last solve() was ended by its Deadline rather than by the search. */
+    static boolean stopped() {
+        return stopped;
+    }
+
+    /** Levels skipped by backjumps in the last search (beyond one per failed slot). */
+    static int backjumps() {
+        return backjumps;
+    }
+
+    /** Nogoods learned in the last search. */
+    static int nogoodsLearned() {
+        return nogoodsLearned;
+    }
+
+    /** Restarts in the last search. */
+    static int restarts() {
+        return restartCount;
+    }
+
+    /** Hand the counters of the last run to the telemetry totals and JFR. */
+    private static void record(SearchEvents.Search event, boolean success, long nanos) {
+        METRICS.addCsp(totalAssignments, totalPrunings, 0);
+        METRICS.finish(0, nanos);
+        event.finish(METRICS.algorithm(), METRICS.heuristic(), success,
+                success ? CSPFramework.NUM_SLOTS : -1, totalAssignments, 0);
     }
 
     // -------------------- Main --------------------
@@ -194,24 +490,21 @@ public class BacktrackingSearch {
         CSPFramework.printConstraintGraph();
 
         // Initialize domains
-        List<List<String>> domains = CSPFramework.initDomains();
+        Domains domains = CSPFramework.initDomains();
         System.out.println("Initial Domains:");
-        for (int i = 0; i < CSPFramework.NUM_SLOTS; i++) {
-            System.out.println("  " + CSPFramework.SLOT_NAMES[i] + " = " + domains.get(i));
-        }
+        CSPFramework.printDomains(domains, "  ");
         System.out.println();
 
         // Show first 3 steps of backtracking with MRV
         System.out.println("=== First 3 Steps of Backtracking with MRV ===\n");
 
-        String[] assignment = new String[CSPFramework.NUM_SLOTS];
-        totalAssignments = 0;
-        stepCount = 0;
+        int[] assignment = CSPFramework.emptyAssignment();
         long startTime = System.currentTimeMillis();
-
-        boolean success = backtrack(assignment, domains, true);
+        SearchEvents.Search event = SearchEvents.Search.start();
+        boolean success = search(assignment, domains, true);
 
         long timeMs = System.currentTimeMillis() - startTime;
+        record(event, success, timeMs * 1_000_000);
 
         System.out.println();
         CSPFramework.printResult(
@@ -1,61 +1,205 @@
+package com.iitj.ai.assignment1.problem2;
+
 import java.util.*;
-import java.io.*;
+import java.util.function.Supplier;
+import java.nio.file.Paths;
 
 /**
  * CSPFramework - Shared utility class for the Security Bot Scheduling CSP.
  *
  * Problem:
- *   Variables : {Slot1, Slot2, Slot3, Slot4}
- *   Domains   : Each slot can be assigned {A, B, C}
+ *   Variables : {Slot1, Slot2, ..., SlotN}, one per SLOTS entry of the input
+ *   Domains   : Each slot can be assigned any of the BOTS
  *   Constraints:
  *     1. No Back-to-Back: A bot cannot work two consecutive slots
- *     2. Maintenance Break: Bot C cannot work in Slot 4
- *     3. Minimum Coverage: Every bot (A, B, C) must be used at least once
+ *     2. Maintenance Break: BOT_X_NOT_IN lines exclude bot X from slots
+ *        (the assignment instance: Bot C cannot work in Slot 4)
+ *     3. Minimum Coverage: Every bot must be used at least once
+ *
+ * readInput builds the model at runtime; the defaults below are the
+ * assignment instance. Long schedules are printed with their middle elided
+ * (PRINT_LIMIT).
+ *
+ * The solvers work on bot ids (indexes into BOTS): an assignment is an int[]
+ * with UNASSIGNED for open slots, and domains are bitsets (Domains). Bot
+ * names are looked up only when something is printed.
  *
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
  */
 public class CSPFramework {
 
-    // Problem constants
-    public static final String[] BOTS = {"A", "B", "C"};
-    public static final int NUM_SLOTS = 4;
-    public static final String[] SLOT_NAMES = {"Slot1", "Slot2", "Slot3", "Slot4"};
+    // Problem definition (defaults = the assignment instance; see configure)
+    public static String[] BOTS = {"A", "B", "C"};
+    public static int NUM_SLOTS = 4;
+    public static String[] SLOT_NAMES = {"Slot1", "Slot2", "Slot3", "Slot4"};
+    static int[] SLOT_NUMBERS = {1, 2, 3, 4};
+
+    // Unary constraints: ALLOWED = each slot's domain after the exclusions
+    static Domains ALLOWED = defaultAllowed();
+    private static Map<String, Integer> BOT_IDS = ids(BOTS);
+
+    // Assignment value of a slot with no bot yet
+    public static final int UNASSIGNED = -1;
+
+    // Search budget shared by the solvers: they give up after this many assignments
+    static int assignmentLimit = Integer.MAX_VALUE;
+
+    // Slots printed in full by the display helpers; longer schedules are elided
+    static final int PRINT_LIMIT = 12;
+    // Slots drawn by printConstraintGraph's visual
+    private static final int VISUAL_LIMIT = 6;
+
+    // Recursive searches over more slots than this get a thread with a deeper stack
+    private static final int CALLER_STACK_SLOTS = 1000;
+    private static final long STACK_BYTES_PER_SLOT = 2048;
+
+    private static Domains defaultAllowed() {
+        Domains allowed = Domains.full(4, 3);
+        allowed.remove(3, 2);  // Maintenance Break: Bot C cannot work in Slot 4
+        return allowed;
+    }
+
+    private static Map<String, Integer> ids(String[] bots) {
+        Map<String, Integer> ids = new HashMap<>(bots.length * 2);
+        for (int b = 0; b < bots.length; b++) ids.put(bots[b], b);
+        return ids;
+    }
+
+    /** The id of a bot name, or -1 if there is no such bot. */
+    static int botId(String name) {
+        return BOT_IDS.getOrDefault(name, -1);
+    }
+
+    /**
+     * Replace the problem definition, e.g. with a generated instance.
+     * Slots are numbered 1..numSlots.
+     * @param excluded per slot, the bots that may not work it (unary constraints)
+     */
+    static void configure(String[] bots, int numSlots, List<Set<String>> excluded) {
+        int[] numbers = new int[numSlots];
+        for (int i = 0; i < numSlots; i++) numbers[i] = i + 1;
+        configure(bots, numbers, excluded);
+    }
+
+    /**
+     * Replace the problem definition.
+     * @param slotNumbers the slot numbers, in schedule order (consecutive
+     *                    entries are the back-to-back neighbours)
+     * @param excluded    per slot index, the bots that may not work it
+     */
+    static void configure(String[] bots, int[] slotNumbers, List<Set<String>> excluded) {
+        if (excluded.size() != slotNumbers.length) {
+            throw new IllegalArgumentException("need one exclusion set per slot");
+        }
+        Map<String, Integer> ids = ids(bots);
+        Domains allowed = Domains.full(slotNumbers.length, bots.length);
+        for (int i = 0; i < slotNumbers.length; i++) {
+            for (String bot : excluded.get(i)) {
+                Integer b = ids.get(bot);
+                if (b != null) allowed.remove(i, b);
+            }
+        }
+        configure(bots, slotNumbers, allowed);
+    }
+
+    /**
+     * Replace the problem definition.
+     * @param allowed per slot index, the bots that may work it (over ids into bots)
+     */
+    static void configure(String[] bots, int[] slotNumbers, Domains allowed) {
+        if (allowed.slots != slotNumbers.length || allowed.bots != bots.length) {
+            throw new IllegalArgumentException("need one domain per slot over the given bots");
+        }
+        BOTS = bots.clone();
+        BOT_IDS = ids(BOTS);
+        NUM_SLOTS = slotNumbers.length;
+        SLOT_NUMBERS = slotNumbers.clone();
+        SLOT_NAMES = new String[NUM_SLOTS];
+        for (int i = 0; i < NUM_SLOTS; i++) SLOT_NAMES[i] = "Slot" + slotNumbers[i];
+        ALLOWED = allowed;
+    }
+
+    /**
+     * Replace the slots over the same bots, taking the arrays as given
+     * instead of copying them (Rescheduler builds them for this).
+     */
+    static void replaceSlots(int[] slotNumbers, String[] slotNames, Domains allowed) {
+        if (allowed.slots != slotNumbers.length || slotNames.length != slotNumbers.length
+                || allowed.bots != BOTS.length) {
+            throw new IllegalArgumentException("need one name and one domain per slot over the current bots");
+        }
+        NUM_SLOTS = slotNumbers.length;
+        SLOT_NUMBERS = slotNumbers;
+        SLOT_NAMES = slotNames;
+        ALLOWED = allowed;
+    }
+
+    /** Restore the assignment instance (A, B, C over Slot1..Slot4, C not in Slot4). */
+    static void reset() {
+        configure(new String[]{"A", "B", "C"}, new int[]{1, 2, 3, 4}, defaultAllowed());
+    }
+
+    /** True if the current problem is the assignment instance. */
+    static boolean isAssignmentInstance() {
+        return Arrays.equals(BOTS, new String[]{"A", "B", "C"})
+                && Arrays.equals(SLOT_NUMBERS, new int[]{1, 2, 3, 4})
+                && ALLOWED.equals(defaultAllowed());
+    }
 
     // -------------------- Input Parsing --------------------
 
     /**
-     * Read CSP configuration from input.txt.
+     * Read the CSP from input.txt (parsed by CSPInput) and make it the
+     * current problem definition. A file without BOTS or SLOTS lines keeps
+     * the default bots or slots. Slots are sorted by number, so the schedule
+     * order does not depend on the order of the SLOTS lines.
      * Returns a map with parsed values.
+     * @throws IllegalArgumentException naming the first bad line, a repeated
+     *         bot or slot, or an exclusion of an unknown bot or slot
      */
     public static Map<String, Object> readInput(String filename) throws Exception {
-        Map<String, Object> config = new HashMap<>();
-        List<String> bots = new ArrayList<>();
-        List<Integer> slots = new ArrayList<>();
-        Map<String, Set<Integer>> unaryExclusions = new HashMap<>();
+        CSPInput in = CSPInput.read(Paths.get(filename), 1);
+        if (!in.errors.isEmpty()) throw new IllegalArgumentException(filename + ", " + in.error(0));
+
+        String[] bots = in.bots.length == 0 ? new String[]{"A", "B", "C"} : in.bots;
+        int[] slots = in.slots.length == 0 ? new int[]{1, 2, 3, 4} : in.slots.clone();
+        Arrays.sort(slots);
+        Map<String, Integer> ids = new HashMap<>(bots.length * 2);
+        for (int b = 0; b < bots.length; b++) {
+            if (ids.put(bots[b], b) != null) {
+                throw new IllegalArgumentException(filename + ": bot " + bots[b] + " listed twice");
+            }
+        }
+        Map<Integer, Integer> slotIndex = new HashMap<>(slots.length * 2);
+        for (int i = 0; i < slots.length; i++) {
+            if (slotIndex.put(slots[i], i) != null) {
+                throw new IllegalArgumentException(filename + ": slot " + slots[i] + " listed twice");
+            }
+        }
 
-        Scanner sc = new Scanner(new File(filename));
-        while (sc.hasNextLine()) {
-            String line = sc.nextLine().trim();
-            if (line.isEmpty() || line.startsWith("#")) continue;
-
-            if (line.startsWith("BOTS:")) {
-                String[] parts = line.substring(5).trim().split(",");
-                for (String p : parts) bots.add(p.trim());
-            } else if (line.startsWith("SLOTS:")) {
-                String[] parts = line.substring(6).trim().split(",");
-                for (String p : parts) slots.add(Integer.parseInt(p.trim()));
-            } else if (line.startsWith("BOT_C_NOT_IN:")) {
-                String[] parts = line.substring(13).trim().split(",");
-                Set<Integer> excluded = new HashSet<>();
-                for (String p : parts) excluded.add(Integer.parseInt(p.trim()));
-                unaryExclusions.put("C", excluded);
+        Domains allowed = Domains.full(slots.length, bots.length);
+        Map<String, Set<Integer>> unaryExclusions = new HashMap<>();
+        for (int i = 0; i < in.excludedBot.length; i++) {
+            String bot = in.excludedBot[i];
+            Integer slot = slotIndex.get(in.excludedSlot[i]);
+            if (!ids.containsKey(bot)) {
+                throw new IllegalArgumentException(filename + ": BOT_" + bot + "_NOT_IN names an unknown bot");
+            }
+            if (slot == null) {
+                throw new IllegalArgumentException(filename + ": BOT_" + bot + "_NOT_IN names unknown slot "
+                        + in.excludedSlot[i]);
             }
+            allowed.remove(slot, ids.get(bot));
+            unaryExclusions.computeIfAbsent(bot, b -> new HashSet<>()).add(in.excludedSlot[i]);
         }
-        sc.close();
+        configure(bots, slots, allowed);
 
-        config.put("bots", bots.isEmpty() ? Arrays.asList(BOTS) : bots);
-        config.put("slots", slots.isEmpty() ? Arrays.asList(1, 2, 3, 4) : slots);
+        List<Integer> slotList = new ArrayList<>(slots.length);
+        for (int s : slots) slotList.add(s);
+        Map<String, Object> config = new HashMap<>();
+        config.put("bots", Arrays.asList(bots));
+        config.put("slots", slotList);
         config.put("unaryExclusions", unaryExclusions);
         return config;
     }
@@ -64,19 +208,17 @@ public class CSPFramework {
 
     /**
      * Initialize domains for each slot variable.
-     * Applies unary constraint: Bot C cannot be in Slot 4.
+     * Applies the unary constraints (BOT_X_NOT_IN lines of the input).
      */
-    public static List<List<String>> initDomains() {
-        List<List<String>> domains = new ArrayList<>();
-        for (int i = 0; i < NUM_SLOTS; i++) {
-            List<String> domain = new ArrayList<>(Arrays.asList(BOTS));
-            // Unary constraint: Bot C cannot work in Slot 4 (index 3)
-            if (i == 3) {
-                domain.remove("C");
-            }
-            domains.add(domain);
-        }
-        return domains;
+    public static Domains initDomains() {
+        return ALLOWED.copy();
+    }
+
+    /** An assignment with every slot unassigned. */
+    public static int[] emptyAssignment() {
+        int[] assignment = new int[NUM_SLOTS];
+        Arrays.fill(assignment, UNASSIGNED);
+        return assignment;
     }
 
     // -------------------- Constraint Checking --------------------
@@ -85,97 +227,93 @@ public class CSPFramework {
      * Check No Back-to-Back constraint:
      * Assignment[slot] != Assignment[slot+1] for consecutive slots.
      */
-    public static boolean checkNoBackToBack(String[] assignment) {
+    public static boolean checkNoBackToBack(int[] assignment) {
         for (int i = 0; i < assignment.length - 1; i++) {
-            if (assignment[i] != null && assignment[i + 1] != null
-                    && assignment[i].equals(assignment[i + 1])) {
-                return false;
-            }
+            if (assignment[i] != UNASSIGNED && assignment[i] == assignment[i + 1]) return false;
         }
         return true;
     }
 
     /**
-     * Check Maintenance Break constraint:
-     * Bot C cannot be assigned to Slot 4 (index 3).
+     * Check Maintenance Break constraint (and any other unary exclusion):
+     * no bot works a slot it is excluded from.
      */
-    public static boolean checkMaintenanceBreak(String[] assignment) {
-        return assignment[3] == null || !assignment[3].equals("C");
+    public static boolean checkMaintenanceBreak(int[] assignment) {
+        for (int i = 0; i < assignment.length; i++) {
+            if (assignment[i] != UNASSIGNED && !ALLOWED.contains(i, assignment[i])) return false;
+        }
+        return true;
     }
 
     /**
      * Check Minimum Coverage constraint:
-     * Every bot {A, B, C} must appear at least once.
+     * Every bot must appear at least once.
      * Only checked when assignment is complete.
      */
-    public static boolean checkMinimumCoverage(String[] assignment) {
-        Set<String> used = new HashSet<>();
-        for (String bot : assignment) {
-            if (bot != null) used.add(bot);
+    public static boolean checkMinimumCoverage(int[] assignment) {
+        long[] used = ALLOWED.emptyMask();
+        for (int bot : assignment) {
+            if (bot != UNASSIGNED) used[bot >>> 6] |= 1L << bot;
         }
-        return used.containsAll(Arrays.asList(BOTS));
+        return ALLOWED.isFull(used);
     }
 
     /**
      * Check if a partial assignment is consistent (does not violate any constraint).
      * For partial assignments, only checks constraints that can be evaluated.
      */
-    public static boolean isConsistent(String[] assignment, int slot, String bot) {
-        // Temporarily assign
-        assignment[slot] = bot;
-
+    public static boolean isConsistent(int[] assignment, int slot, int bot) {
         // Check No Back-to-Back with neighbors
-        if (slot > 0 && assignment[slot - 1] != null
-                && assignment[slot - 1].equals(bot)) {
-            assignment[slot] = null;
-            return false;
-        }
-        if (slot < NUM_SLOTS - 1 && assignment[slot + 1] != null
-                && assignment[slot + 1].equals(bot)) {
-            assignment[slot] = null;
-            return false;
-        }
+        if (slot > 0 && assignment[slot - 1] == bot) return false;
+        if (slot < NUM_SLOTS - 1 && assignment[slot + 1] == bot) return false;
 
-        // Check Maintenance Break
-        if (slot == 3 && bot.equals("C")) {
-            assignment[slot] = null;
-            return false;
-        }
-
-        // Undo temporary assignment
-        assignment[slot] = null;
-        return true;
+        // Check Maintenance Break (unary exclusions)
+        return ALLOWED.contains(slot, bot);
     }
 
     /**
      * Check if minimum coverage CAN still be satisfied given current assignment.
-     * Returns false if any bot has no remaining slot it could be assigned to.
+     * Returns false if any bot is neither assigned nor in the domain of an
+     * unassigned slot. Rescans every slot; the solvers use a CoveragePropagator instead.
      */
-    public static boolean canSatisfyCoverage(String[] assignment, List<List<String>> domains) {
-        Set<String> assigned = new HashSet<>();
-        int unassigned = 0;
+    public static boolean canSatisfyCoverage(int[] assignment, Domains domains) {
+        long[] possible = domains.emptyMask();
         for (int i = 0; i < NUM_SLOTS; i++) {
-            if (assignment[i] != null) {
-                assigned.add(assignment[i]);
-            } else {
-                unassigned++;
-            }
+            if (assignment[i] != UNASSIGNED) possible[assignment[i] >>> 6] |= 1L << assignment[i];
+            else domains.addTo(possible, i);
         }
+        return domains.isFull(possible);
+    }
 
-        // Check if each unassigned bot can still be placed
-        for (String bot : BOTS) {
-            if (!assigned.contains(bot)) {
-                boolean canPlace = false;
-                for (int i = 0; i < NUM_SLOTS; i++) {
-                    if (assignment[i] == null && domains.get(i).contains(bot)) {
-                        canPlace = true;
-                        break;
-                    }
-                }
-                if (!canPlace) return false;
+    // -------------------- Deep Recursion --------------------
+
+    /**
+     * Run a recursive search. The solvers recurse once per assigned slot, so
+     * for long schedules the search runs on a thread whose stack is sized
+     * for NUM_SLOTS levels, and the caller waits for it.
+     */
+    static <T> T withSearchStack(Supplier<T> search) {
+        if (NUM_SLOTS <= CALLER_STACK_SLOTS) return search.get();
+        Object[] result = new Object[1];
+        Throwable[] failure = new Throwable[1];
+        Thread thread = new Thread(null, () -> {
+            try {
+                result[0] = search.get();
+            } catch (Throwable t) {
+                failure[0] = t;
             }
+        }, "csp-search", (1L << 20) + NUM_SLOTS * STACK_BYTES_PER_SLOT);
+        thread.start();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while searching", e);
         }
-        return true;
+        if (failure[0] instanceof RuntimeException) throw (RuntimeException) failure[0];
+        if (failure[0] instanceof Error) throw (Error) failure[0];
+        @SuppressWarnings("unchecked") T value = (T) result[0];
+        return value;
     }
 
     // -------------------- Display --------------------
@@ -183,16 +321,103 @@ public class CSPFramework {
     /**
      * Print the assignment in the required output format.
      */
-    public static void printAssignment(String[] assignment) {
+    public static void printAssignment(int[] assignment) {
+        int slotWidth = 4, botWidth = 1;
+        for (int i = 0; i < NUM_SLOTS; i++) {
+            slotWidth = Math.max(slotWidth, ("Slot " + SLOT_NUMBERS[i]).length());
+            botWidth = Math.max(botWidth, name(assignment[i]).length());
+        }
+        String line = "+" + "-".repeat(slotWidth + 2) + "+" + "-".repeat(botWidth + 4) + "+";
+        String row = "| %-" + slotWidth + "s |  %-" + botWidth + "s  |%n";
         System.out.println("\nFinal Assignment:");
-        System.out.println("+--------+-----+");
-        System.out.println("| Slot   | Bot |");
-        System.out.println("+--------+-----+");
+        System.out.println(line);
+        System.out.printf("| %-" + slotWidth + "s | %-" + (botWidth + 2) + "s |%n", "Slot", "Bot");
+        System.out.println(line);
         for (int i = 0; i < NUM_SLOTS; i++) {
-            System.out.printf("| Slot %d |  %s  |%n", i + 1,
-                    assignment[i] != null ? assignment[i] : "?");
+            if (elided(i)) {
+                if (i == PRINT_LIMIT) System.out.printf(row, "...", botWidth < 3 ? ":" : "...");
+                continue;
+            }
+            System.out.printf(row, "Slot " + SLOT_NUMBERS[i],
+                    assignment[i] != UNASSIGNED ? name(assignment[i]) : "?");
+        }
+        System.out.println(line);
+    }
+
+    /** Print each slot's domain on its own line, eliding the middle of long schedules. */
+    static void printDomains(Domains domains, String indent) {
+        for (int i = 0; i < NUM_SLOTS; i++) {
+            if (elided(i)) {
+                if (i == PRINT_LIMIT) System.out.println(indent + "... (" + (NUM_SLOTS - PRINT_LIMIT - 1) + " more slots)");
+                continue;
+            }
+            System.out.println(indent + SLOT_NAMES[i] + " = " + domains.names(i));
         }
-        System.out.println("+--------+-----+");
+    }
+
+    /** The name of a bot id, or "" for UNASSIGNED. */
+    static String name(int bot) {
+        return bot == UNASSIGNED ? "" : BOTS[bot];
+    }
+
+    /** The bot names of an assignment, null for unassigned slots. */
+    static String[] names(int[] assignment) {
+        String[] names = new String[assignment.length];
+        for (int i = 0; i < assignment.length; i++) {
+            if (assignment[i] != UNASSIGNED) names[i] = BOTS[assignment[i]];
+        }
+        return names;
+    }
+
+    /** The bots excluded from slot i, by name. */
+    static List<String> excluded(int i) {
+        List<String> out = new ArrayList<>();
+        for (int b = 0; b < BOTS.length; b++) {
+            if (!ALLOWED.contains(i, b)) out.add(BOTS[b]);
+        }
+        return out;
+    }
+
+    /** True if slot i is left out of printed schedules (all but the first PRINT_LIMIT and the last). */
+    static boolean elided(int i) {
+        return i >= PRINT_LIMIT && i < NUM_SLOTS - 1;
+    }
+
+    /** {Slot1=A, Slot2=_, ...}, eliding the middle of long schedules. */
+    static String describe(int[] assignment) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < NUM_SLOTS; i++) {
+            if (elided(i)) {
+                if (i == PRINT_LIMIT) sb.append("..., ");
+                continue;
+            }
+            sb.append(SLOT_NAMES[i]).append('=').append(assignment[i] != UNASSIGNED ? name(assignment[i]) : "_");
+            if (i < NUM_SLOTS - 1) sb.append(", ");
+        }
+        return sb.append('}').toString();
+    }
+
+    /** The unary exclusions as "Bot C not in Slot 4, ...", at most 'limit' of them. */
+    static String describeExclusions(int limit) {
+        List<String> pairs = new ArrayList<>();
+        int total = 0;
+        for (int i = 0; i < NUM_SLOTS; i++) {
+            for (int b = 0; b < BOTS.length; b++) {
+                if (ALLOWED.contains(i, b)) continue;
+                if (total++ < limit) pairs.add("Bot " + BOTS[b] + " not in Slot " + SLOT_NUMBERS[i]);
+            }
+        }
+        if (total == 0) return "none";
+        String text = String.join(", ", pairs);
+        return total > limit ? text + ", ... (" + total + " in total)" : text;
+    }
+
+    /** "{A,B,C}", or the first and last bots and the count for many bots. */
+    static String botSet(Collection<String> bots) {
+        if (bots.size() <= 8) return "{" + String.join(",", bots) + "}";
+        List<String> list = new ArrayList<>(bots);
+        return "{" + list.get(0) + "," + list.get(1) + ",...," + list.get(list.size() - 1)
+                + "} (" + list.size() + " bots)";
     }
 
     /**
@@ -200,7 +425,7 @@ public class CSPFramework {
      */
     public static void printResult(String algorithm, String heuristic,
                                     String inference, boolean success,
-                                    String[] assignment, int totalAssignments,
+                                    int[] assignment, int totalAssignments,
                                     long timeMs) {
         System.out.println("=".repeat(55));
         System.out.println("Algorithm : " + algorithm);
@@ -213,8 +438,8 @@ public class CSPFramework {
 
         System.out.println("\nConstraints Applied:");
         System.out.println("  1. No Back-to-Back  : Slot[i] != Slot[i+1]");
-        System.out.println("  2. Maintenance Break: Bot C not in Slot 4");
-        System.out.println("  3. Minimum Coverage : All bots {A,B,C} used");
+        System.out.println("  2. Maintenance Break: " + describeExclusions(3));
+        System.out.println("  3. Minimum Coverage : All bots " + botSet(Arrays.asList(BOTS)) + " used");
 
         if (success && assignment != null) {
             printAssignment(assignment);
@@ -233,19 +458,61 @@ public class CSPFramework {
 
     /**
      * Print constraint graph (adjacency representation).
+     * The graph is a path; the visual is drawn for up to VISUAL_LIMIT slots.
      */
     public static void printConstraintGraph() {
         System.out.println("Constraint Graph (No Back-to-Back edges):");
-        System.out.println("  Nodes: Slot1, Slot2, Slot3, Slot4");
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < NUM_SLOTS; i++) {
+            if (elided(i)) {
+                if (i == PRINT_LIMIT) nodes.add("...");
+                continue;
+            }
+            nodes.add(SLOT_NAMES[i]);
+        }
+        System.out.println("  Nodes: " + String.join(", ", nodes)
+                + (NUM_SLOTS > PRINT_LIMIT + 1 ? " (" + NUM_SLOTS + " slots)" : ""));
         System.out.println("  Edges (binary constraints):");
-        System.out.println("    Slot1 --- Slot2  (Slot1 != Slot2)");
-        System.out.println("    Slot2 --- Slot3  (Slot2 != Slot3)");
-        System.out.println("    Slot3 --- Slot4  (Slot3 != Slot4)");
+        for (int i = 0; i + 1 < NUM_SLOTS; i++) {
+            if (i == PRINT_LIMIT && NUM_SLOTS > PRINT_LIMIT + 1) {
+                System.out.println("    ... (" + (NUM_SLOTS - 1) + " edges in total)");
+                break;
+            }
+            System.out.println("    " + SLOT_NAMES[i] + " --- " + SLOT_NAMES[i + 1]
+                    + "  (" + SLOT_NAMES[i] + " != " + SLOT_NAMES[i + 1] + ")");
+        }
         System.out.println();
+        if (NUM_SLOTS <= VISUAL_LIMIT) printVisual();
+    }
+
+    private static void printVisual() {
+        String[] labels = new String[NUM_SLOTS], domains = new String[NUM_SLOTS], notes = new String[NUM_SLOTS];
+        int width = 0;
+        boolean anyNote = false;
+        for (int i = 0; i < NUM_SLOTS; i++) {
+            labels[i] = "[" + SLOT_NAMES[i] + "]";
+            domains[i] = botSet(ALLOWED.names(i));
+            List<String> out = excluded(i);
+            notes[i] = out.isEmpty() ? null : "(" + String.join(",", out) + " excluded)";
+            anyNote |= notes[i] != null;
+            width = Math.max(width, Math.max(labels[i].length(), domains[i].length()));
+        }
+        StringBuilder slotLine = new StringBuilder("    "), domainLine = new StringBuilder("    ");
+        StringBuilder noteLine = new StringBuilder();
+        for (int i = 0; i < NUM_SLOTS; i++) {
+            int column = 4 + (width + 9) * i;
+            slotLine.append(labels[i]);
+            if (i < NUM_SLOTS - 1) slotLine.append(" ").append("-".repeat(width - labels[i].length() + 7)).append(" ");
+            domainLine.append(" ".repeat(column - domainLine.length())).append(domains[i]);
+            if (notes[i] != null) {
+                noteLine.append(" ".repeat(Math.max(noteLine.length() > 0 ? 1 : 0, column - 2 - noteLine.length())));
+                noteLine.append(notes[i]);
+            }
+        }
         System.out.println("  Visual:");
-        System.out.println("    [Slot1] ------- [Slot2] ------- [Slot3] ------- [Slot4]");
-        System.out.println("    {A,B,C}         {A,B,C}         {A,B,C}         {A,B}");
-        System.out.println("                                                  (C excluded)");
+        System.out.println(slotLine);
+        System.out.println(domainLine);
+        if (anyNote) System.out.println(noteLine);
         System.out.println();
     }
 }
@@ -0,0 +1,195 @@
+package com.iitj.ai.assignment1.problem2;
+
+import com.iitj.ai.input.MappedLines;
+import com.iitj.ai.input.ParseErrors;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * CSPInput - The Security Bot Scheduling input file, parsed byte by byte.
+ *
+ * Lines (blank lines and lines starting with '#' are skipped):
+ *   BOTS: A, B, C               bot names, in order
+ *   SLOTS: 1, 2, 3, 4           slot numbers; "1-8760" is a range (of at most MAX_RANGE)
+ *   BOT_C_NOT_IN: 4             unary exclusions, for any bot name X
+ * A key may appear on several lines; the values are appended in file order,
+ * so a large instance can spread its slots and exclusions over many lines.
+ *
+ * The file is memory-mapped and parsed in parallel chunks (MappedLines).
+ * Numbers go straight into int arrays; a String is made only per bot name.
+ * A bad line is recorded in errors with one of the codes below, and its
+ * values are dropped.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class CSPInput {
+
+    // Error codes (index into MESSAGES)
+    public static final int UNKNOWN_KEY = 0;
+    public static final int BAD_NUMBER = 1;
+    public static final int EMPTY_NAME = 2;
+    public static final String[] MESSAGES = {
+            "expected BOTS:, SLOTS: or BOT_<name>_NOT_IN:", "expected a number or a range a-b",
+            "empty bot name"};
+
+    /** Most numbers one range a-b may stand for; a longer range is a BAD_NUMBER. */
+    public static final int MAX_RANGE = 1_000_000;
+
+    public final String[] bots;
+    public final int[] slots;
+    public final String[] excludedBot;    // exclusion i: bot excludedBot[i] may not work
+    public final int[] excludedSlot;      //              slot number excludedSlot[i]
+    public final ParseErrors errors;
+
+    private CSPInput(String[] bots, int[] slots, String[] excludedBot, int[] excludedSlot,
+                     ParseErrors errors) {
+        this.bots = bots;
+        this.slots = slots;
+        this.excludedBot = excludedBot;
+        this.excludedSlot = excludedSlot;
+        this.errors = errors;
+    }
+
+    /** Growable int array. */
+    static final class Ints {
+        int[] values = new int[16];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /** Values and errors of one chunk. */
+    static final class Part {
+        final List<String> bots = new ArrayList<>();
+        final Ints slots = new Ints();
+        final List<String> excludedBot = new ArrayList<>();
+        final Ints excludedSlot = new Ints();
+        final ParseErrors errors = new ParseErrors();
+
+        void line(ByteBuffer text, int from, int to, int line) {
+            from = MappedLines.skipBlanks(text, from, to);
+            if (from == to || text.get(from) == '#') return;
+            int colon = from;
+            while (colon < to && text.get(colon) != ':') colon++;
+            int keyEnd = MappedLines.trimBlanks(text, from, colon);
+            if (colon == to) {
+                errors.add(line, UNKNOWN_KEY);
+            } else if (MappedLines.equalsAscii(text, from, keyEnd, "BOTS")) {
+                names(text, colon + 1, to, line);
+            } else if (MappedLines.equalsAscii(text, from, keyEnd, "SLOTS")) {
+                if (!numbers(text, colon + 1, to, slots)) errors.add(line, BAD_NUMBER);
+            } else if (keyEnd - from > 11 && MappedLines.startsWith(text, from, keyEnd, "BOT_")
+                    && MappedLines.equalsAscii(text, keyEnd - 7, keyEnd, "_NOT_IN")) {
+                int before = excludedSlot.size;
+                if (!numbers(text, colon + 1, to, excludedSlot)) {
+                    errors.add(line, BAD_NUMBER);
+                    return;
+                }
+                String bot = MappedLines.ascii(text, from + 4, keyEnd - 7);
+                for (int i = before; i < excludedSlot.size; i++) excludedBot.add(bot);
+            } else {
+                errors.add(line, UNKNOWN_KEY);
+            }
+        }
+
+        private void names(ByteBuffer text, int from, int to, int line) {
+            List<String> names = new ArrayList<>();
+            for (int start = from; start <= to; ) {
+                int end = start;
+                while (end < to && text.get(end) != ',') end++;
+                String name = MappedLines.ascii(text, start, end);
+                if (name.isEmpty()) {
+                    errors.add(line, EMPTY_NAME);
+                    return;
+                }
+                names.add(name);
+                start = end + 1;
+            }
+            bots.addAll(names);
+        }
+    }
+
+    /**
+     * Append the comma-separated numbers and ranges in [from, to) to out.
+     * @return false (and out unchanged) if the list is malformed
+     */
+    static boolean numbers(ByteBuffer text, int from, int to, Ints out) {
+        int before = out.size;
+        int i = from;
+        while (true) {
+            i = MappedLines.skipBlanks(text, i, to);
+            int first = 0, digits = 0;
+            while (i < to && text.get(i) >= '0' && text.get(i) <= '9' && digits < 9) {
+                first = first * 10 + (text.get(i++) - '0');
+                digits++;
+            }
+            int last = first;
+            i = MappedLines.skipBlanks(text, i, to);
+            if (digits > 0 && i < to && text.get(i) == '-') {
+                i = MappedLines.skipBlanks(text, i + 1, to);
+                int d2 = 0;
+                last = 0;
+                while (i < to && text.get(i) >= '0' && text.get(i) <= '9' && d2 < 9) {
+                    last = last * 10 + (text.get(i++) - '0');
+                    d2++;
+                }
+                if (d2 == 0 || last < first || last - first >= MAX_RANGE) digits = 0;
+                i = MappedLines.skipBlanks(text, i, to);
+            }
+            if (digits == 0 || (i < to && text.get(i) != ',')) {
+                out.size = before;
+                return false;
+            }
+            for (int v = first; v <= last; v++) out.add(v);
+            if (i == to) return true;
+            i++;                                   // ','
+        }
+    }
+
+    // -------------------- Reading --------------------
+
+    /** Read with one chunk per available processor. */
+    public static CSPInput read(Path file) throws IOException {
+        return read(file, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static CSPInput read(Path file, int threads) throws IOException {
+        return parse(MappedLines.map(file), threads);
+    }
+
+    static CSPInput parse(ByteBuffer text, int threads) {
+        List<MappedLines.Chunk<Part>> chunks = MappedLines.parse(text, threads, Part::new,
+                (buf, from, to, line, part) -> part.line(buf, from, to, line));
+        List<String> bots = new ArrayList<>();
+        Ints slots = new Ints();
+        List<String> excludedBot = new ArrayList<>();
+        Ints excludedSlot = new Ints();
+        ParseErrors errors = new ParseErrors();
+        for (MappedLines.Chunk<Part> c : chunks) {
+            Part p = c.result;
+            bots.addAll(p.bots);
+            for (int i = 0; i < p.slots.size; i++) slots.add(p.slots.values[i]);
+            excludedBot.addAll(p.excludedBot);
+            for (int i = 0; i < p.excludedSlot.size; i++) excludedSlot.add(p.excludedSlot.values[i]);
+            errors.addAll(p.errors, c.firstLine - 1);
+        }
+        return new CSPInput(bots.toArray(new String[0]), slots.toArray(),
+                excludedBot.toArray(new String[0]), excludedSlot.toArray(), errors);
+    }
+
+    /** Error i as "line N: message". */
+    public String error(int i) {
+        return errors.describe(i, MESSAGES);
+    }
+}
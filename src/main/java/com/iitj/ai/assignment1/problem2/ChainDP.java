@@ -0,0 +1,369 @@
+package com.iitj.ai.assignment1.problem2;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * ChainDP - Dynamic programming over the chain of slots, for solving,
+ * counting, sampling and enumerating schedules without search.
+ *
+ * The No Back-to-Back constraint graph is a path (Slot1 --- Slot2 --- ...),
+ * so a slot's choice only interacts with the slots before it through its
+ * neighbour's bot. Minimum Coverage is global, but only needs the set of
+ * bots covered so far. The DP state after slot i is therefore
+ * (bot of slot i, covered bots as a bitmask): d * 2^d states, which limits
+ * the engine to MAX_BOTS bots. A state's number of prefixes is
+ *   F[i][c][m | c] += sum over b != c of F[i-1][b][m]
+ * and the sum over b != c is the total over all b minus F[i-1][c][m], so a
+ * slot costs O(d * 2^d) rather than O(d^2 * 2^d) (the prefix-sum trick).
+ * The schedules are the states of the last slot with every bot covered.
+ *
+ *   count()     exact number of schedules; two layers of BigIntegers. The
+ *               counts grow to n * log2(d) bits, so 10^4 slots x 3 bots take
+ *               tens of ms, but 10^4 slots x 10 bots take tens of seconds
+ *   sample()    a schedule drawn uniformly at random: forward layers as
+ *               doubles, walked back from the last slot, choosing each
+ *               predecessor in proportion to its number of prefixes. Every
+ *               sqrt(n)-th layer is kept and the others recomputed, so memory
+ *               is O(sqrt(n) * d * 2^d)
+ *   enumerate() every schedule, streamed lazily; a walk back over a table of
+ *               reachable states (one bit each), in which every branch ends
+ *               in a schedule, so each one costs O(n * d) at worst
+ *   solve()     the first schedule enumerated, or false if there is none
+ *
+ * Slots assigned on entry are kept as they are.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class ChainDP {
+
+    /** Most bots handled: there are d * 2^d states per slot. */
+    public static final int MAX_BOTS = 16;
+
+    /** Most bits in the table of reachable states used by enumerate() and solve(). */
+    static final long MAX_TABLE_BITS = 1L << 31;
+
+    private final int n, d, masks, full;
+    private final int[] allowed;     // allowed[i] = bots slot i may take, as a bitmask
+    private final int interval;      // distance between kept sampling layers
+    private double[][] checkpoints;  // sampling layers 0, interval, 2 * interval, ...
+    private long[][] reachable;      // reachable[i] = bit b * masks + m set if F[i][b][m] > 0
+
+    /**
+     * @param assignment slots already assigned are fixed to their bot
+     * @throws IllegalArgumentException with more than MAX_BOTS bots
+     */
+    public ChainDP(int[] assignment, Domains domains) {
+        if (domains.bots > MAX_BOTS) {
+            throw new IllegalArgumentException("ChainDP handles at most " + MAX_BOTS
+                    + " bots (one state per set of covered bots), not " + domains.bots);
+        }
+        this.n = domains.slots;
+        this.d = domains.bots;
+        this.masks = 1 << d;
+        this.full = masks - 1;
+        this.allowed = new int[n];
+        for (int i = 0; i < n; i++) {
+            int bot = assignment[i];
+            if (bot == CSPFramework.UNASSIGNED) allowed[i] = (int) domains.word(i, 0);
+            else if (domains.contains(i, bot)) allowed[i] = 1 << bot;
+        }
+        this.interval = Math.max(1, (int) Math.ceil(Math.sqrt(n)));
+    }
+
+    // -------------------- Counting --------------------
+
+    /** The exact number of valid schedules. */
+    public BigInteger count() {
+        if (n == 0) return BigInteger.ZERO;
+        BigInteger[] layer = new BigInteger[d * masks], next = new BigInteger[d * masks];
+        BigInteger[] total = new BigInteger[masks];
+        Arrays.fill(layer, BigInteger.ZERO);
+        for (int c = 0; c < d; c++) {
+            if ((allowed[0] >>> c & 1) != 0) layer[c * masks + (1 << c)] = BigInteger.ONE;
+        }
+        for (int i = 1; i < n; i++) {
+            Arrays.fill(total, BigInteger.ZERO);
+            for (int b = 0; b < d; b++) {
+                for (int m = 0; m < masks; m++) {
+                    if (layer[b * masks + m].signum() != 0) total[m] = total[m].add(layer[b * masks + m]);
+                }
+            }
+            Arrays.fill(next, BigInteger.ZERO);
+            for (int c = 0; c < d; c++) {
+                if ((allowed[i] >>> c & 1) == 0) continue;
+                for (int m = 0; m < masks; m++) {
+                    if (total[m].signum() == 0) continue;
+                    int to = c * masks + (m | 1 << c);
+                    next[to] = next[to].add(total[m].subtract(layer[c * masks + m]));
+                }
+            }
+            BigInteger[] t = layer;
+            layer = next;
+            next = t;
+        }
+        BigInteger count = BigInteger.ZERO;
+        for (int b = 0; b < d; b++) count = count.add(layer[b * masks + full]);
+        return count;
+    }
+
+    // -------------------- Sampling --------------------
+
+    /** Layer 0 of the sampling DP. */
+    private double[] firstLayer() {
+        double[] layer = new double[d * masks];
+        for (int c = 0; c < d; c++) {
+            if ((allowed[0] >>> c & 1) != 0) layer[c * masks + (1 << c)] = 1;
+        }
+        return layer;
+    }
+
+    /**
+     * Layer i of the sampling DP from layer i - 1, scaled so its largest
+     * entry is 1: only ratios within a layer are ever used, and the scaling
+     * keeps the counts (up to d^n) inside the range of a double.
+     */
+    private double[] nextLayer(double[] layer, int i) {
+        double[] total = new double[masks], next = new double[d * masks];
+        for (int b = 0; b < d; b++) {
+            for (int m = 0; m < masks; m++) total[m] += layer[b * masks + m];
+        }
+        double max = 0;
+        for (int c = 0; c < d; c++) {
+            if ((allowed[i] >>> c & 1) == 0) continue;
+            for (int m = 0; m < masks; m++) {
+                double ways = total[m] - layer[c * masks + m];
+                if (ways <= 0) continue;
+                int to = c * masks + (m | 1 << c);
+                next[to] += ways;
+                max = Math.max(max, next[to]);
+            }
+        }
+        if (max > 0) {
+            for (int k = 0; k < next.length; k++) next[k] /= max;
+        }
+        return next;
+    }
+
+    private void computeCheckpoints() {
+        checkpoints = new double[(n + interval - 1) / interval][];
+        double[] layer = firstLayer();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) layer = nextLayer(layer, i);
+            if (i % interval == 0) checkpoints[i / interval] = layer;
+        }
+    }
+
+    /**
+     * A schedule drawn uniformly at random from all valid schedules (up to
+     * double rounding in the weights).
+     * @return null if there is no schedule
+     */
+    public int[] sample(Random rng) {
+        if (n == 0) return null;
+        if (checkpoints == null) computeCheckpoints();
+        int[] assignment = new int[n];
+        double[][] block = new double[interval][];
+        int blockStart = -1;
+        int bot = -1, mask = full;
+        for (int i = n - 1; i >= 0; i--) {
+            if (blockStart < 0 || i < blockStart) {
+                // Recompute the layers of the block holding slot i from its checkpoint
+                blockStart = i / interval * interval;
+                block[0] = checkpoints[i / interval];
+                for (int k = 1; blockStart + k <= i; k++) block[k] = nextLayer(block[k - 1], blockStart + k);
+            }
+            double[] layer = block[i - blockStart];
+            // Candidates: bot b != the next slot's bot, covering mask or mask without that bot
+            double sum = 0;
+            for (int k = 0; k < 2 * d; k++) sum += weight(layer, k, bot, mask, i);
+            if (sum <= 0) return null;
+            double r = rng.nextDouble() * sum;
+            int chosen = -1;
+            for (int k = 0; k < 2 * d && r >= 0; k++) {
+                double w = weight(layer, k, bot, mask, i);
+                if (w > 0) {
+                    chosen = k;
+                    r -= w;
+                }
+            }
+            bot = chosen >> 1;
+            mask = predecessorMask(chosen, assignment, i, mask);
+            assignment[i] = bot;
+        }
+        return assignment;
+    }
+
+    /**
+     * Weight of candidate k for slot i: bot k / 2, covering the next slot's
+     * mask (k even) or that mask without the next slot's bot (k odd). For the
+     * last slot the candidates are (bot, every bot covered), k even only.
+     */
+    private double weight(double[] layer, int k, int nextBot, int nextMask, int i) {
+        int b = k >> 1;
+        if (i == n - 1) return (k & 1) == 0 ? layer[b * masks + full] : 0;
+        if (b == nextBot) return 0;
+        int m = (k & 1) == 0 ? nextMask : nextMask & ~(1 << nextBot);
+        return layer[b * masks + m];
+    }
+
+    private int predecessorMask(int k, int[] assignment, int i, int nextMask) {
+        if (i == n - 1) return full;
+        return (k & 1) == 0 ? nextMask : nextMask & ~(1 << assignment[i + 1]);
+    }
+
+    // -------------------- Enumeration --------------------
+
+    private void computeReachable() {
+        long bits = (long) n * d * masks;
+        if (bits > MAX_TABLE_BITS) {
+            throw new IllegalStateException("ChainDP: " + n + " slots x " + d + " bots needs "
+                    + bits + " bits of reachable states; at most " + MAX_TABLE_BITS);
+        }
+        int words = (d * masks + 63) >>> 6;
+        reachable = new long[n][words];
+        if (n == 0) return;
+        for (int c = 0; c < d; c++) {
+            if ((allowed[0] >>> c & 1) != 0) set(reachable[0], c * masks + (1 << c));
+        }
+        int[] ways = new int[masks];
+        for (int i = 1; i < n; i++) {
+            long[] layer = reachable[i - 1], next = reachable[i];
+            Arrays.fill(ways, 0);
+            for (int b = 0; b < d; b++) {
+                for (int m = 0; m < masks; m++) {
+                    if (get(layer, b * masks + m)) ways[m]++;
+                }
+            }
+            for (int c = 0; c < d; c++) {
+                if ((allowed[i] >>> c & 1) == 0) continue;
+                for (int m = 0; m < masks; m++) {
+                    if (ways[m] - (get(layer, c * masks + m) ? 1 : 0) > 0) set(next, c * masks + (m | 1 << c));
+                }
+            }
+        }
+    }
+
+    private static boolean get(long[] bits, int k) {
+        return (bits[k >>> 6] & 1L << k) != 0;
+    }
+
+    private static void set(long[] bits, int k) {
+        bits[k >>> 6] |= 1L << k;
+    }
+
+    /**
+     * Every valid schedule, each once, generated lazily as the stream is
+     * consumed. Each schedule is a new array.
+     * @throws IllegalStateException if the table of reachable states would exceed MAX_TABLE_BITS
+     */
+    public Stream<int[]> enumerate() {
+        if (reachable == null) computeReachable();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new Schedules(),
+                Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+    }
+
+    /**
+     * Fill the assignment with a valid schedule.
+     * @return false if there is none
+     */
+    public boolean solve(int[] assignment) {
+        Optional<int[]> first = enumerate().findFirst();
+        first.ifPresent(schedule -> System.arraycopy(schedule, 0, assignment, 0, n));
+        return first.isPresent();
+    }
+
+    /**
+     * Depth-first walk from the last slot back to the first over the
+     * reachable states, so every branch reaches Slot1 and ends in a schedule.
+     */
+    private final class Schedules implements Iterator<int[]> {
+        private final int[] bot = new int[n], mask = new int[n], cursor = new int[n];
+        private int level = n - 1;          // n: exhausted
+        private boolean ready;
+
+        @Override
+        public boolean hasNext() {
+            if (ready) return true;
+            while (level >= 0 && level < n) {
+                if (advance(level)) {
+                    if (level == 0) return ready = true;
+                    cursor[--level] = 0;
+                } else {
+                    level++;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int[] next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            ready = false;
+            return bot.clone();
+        }
+
+        /** Move the slot to its next candidate state; false if there is none left. */
+        private boolean advance(int i) {
+            int nextBot = i == n - 1 ? -1 : bot[i + 1];
+            int nextMask = i == n - 1 ? full : mask[i + 1];
+            for (int k = cursor[i]; k < 2 * d; k++) {
+                int b = k >> 1, m;
+                if (i == n - 1) {
+                    if ((k & 1) != 0) continue;
+                    m = full;
+                } else {
+                    if (b == nextBot) continue;
+                    m = (k & 1) == 0 ? nextMask : nextMask & ~(1 << nextBot);
+                }
+                if (!get(reachable[i], b * masks + m)) continue;
+                bot[i] = b;
+                mask[i] = m;
+                cursor[i] = k + 1;
+                return true;
+            }
+            cursor[i] = 2 * d;
+            return false;
+        }
+    }
+
+    // -------------------- Main --------------------
+
+    public static void main(String[] args) throws Exception {
+        String inputFile = args.length > 0 ? args[0] : "input.txt";
+        CSPFramework.readInput(inputFile);
+
+        System.out.println("#".repeat(55));
+        System.out.println("# SECURITY BOT SCHEDULING - CSP");
+        System.out.println("# Chain Dynamic Programming (count, sample, enumerate)");
+        System.out.println("#".repeat(55));
+        System.out.println();
+        CSPFramework.printConstraintGraph();
+
+        long startTime = System.nanoTime();
+        ChainDP dp = new ChainDP(CSPFramework.emptyAssignment(), CSPFramework.initDomains());
+        BigInteger count = dp.count();
+        long countMs = (System.nanoTime() - startTime) / 1_000_000;
+        String digits = count.toString();
+        System.out.println("Valid schedules: " + (digits.length() <= 30 ? digits
+                : digits.substring(0, 6) + "... (" + digits.length() + " digits)") + "  [" + countMs + " ms]");
+
+        startTime = System.nanoTime();
+        int[] sample = dp.sample(new Random(42));
+        long sampleMs = (System.nanoTime() - startTime) / 1_000_000;
+        if (sample == null) {
+            System.out.println("No valid schedule exists.");
+            return;
+        }
+        System.out.println("Uniformly sampled schedule  [" + sampleMs + " ms]:");
+        CSPFramework.printAssignment(sample);
+        System.out.println();
+
+        System.out.println("First schedules enumerated:");
+        dp.enumerate().limit(5).forEach(schedule -> System.out.println("  " + CSPFramework.describe(schedule)));
+        System.out.println();
+    }
+}
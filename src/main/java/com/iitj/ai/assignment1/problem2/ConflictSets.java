@@ -0,0 +1,229 @@
+package com.iitj.ai.assignment1.problem2;
+
+import java.util.*;
+
+/**
+ * ConflictSets - Why each value was pruned, for conflict-directed
+ * backjumping (BacktrackingSearch).
+ *
+ * Every assignment of the search has a decision level (1, 2, ... in the
+ * order made; slots assigned before the search are level 0 and never
+ * blamed). Every removal on the Trail is recorded here with its reason, the
+ * set of levels whose assignments caused it:
+ *   - forward checking: the level of the neighbour just assigned;
+ *   - a nogood made unit: the levels of its other assignments;
+ *   - Minimum Coverage: for the bots U it concerns (CoveragePropagator.reason),
+ *     the levels of the assigned slots that could have taken a bot of U but
+ *     took another, plus the reasons U's bots were pruned from unassigned
+ *     slots. Nothing else affects where U's bots can still go, so that is
+ *     enough to explain a Hall violation or a forced slot. A coverage
+ *     pruning keeps only U and the level it was made at; its reason is
+ *     worked out from the older records the first time it is asked for, as
+ *     most are never needed.
+ * The records are kept as a stack in step with the trail (one per entry,
+ * popped on restore), linked per slot, so the reasons for a slot's missing
+ * values are found without a scan. A record keeps its set of levels in a
+ * BitSet of its own position on the stack, cleared and reused by the
+ * records that take that position later. Removals made before the search (the
+ * input's exclusions) have no record and need no reason.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+final class ConflictSets implements Trail.Listener {
+
+    private final int[] assignment;
+    private final Domains domains;
+    private final CoveragePropagator coverage;
+    private final int[] levelOf;        // level of each assigned slot, 0 if before the search
+    private final int[][] slotsOf;      // slotsOf[b] = slots whose domain held b when the search began
+
+    // Removal records, newest last; next[k] = the slot's previous record
+    private int[] word = new int[64], next = new int[64], level = new int[64];
+    private long[] bits = new long[64];
+    private BitSet[] reasons = new BitSet[64];  // reasons[k] holds record k's levels when level[k] == -1
+    private long[][] cover = new long[64][];   // U of a coverage pruning whose reason is not worked out
+    private int size;
+    private final int[] newest;         // newest record of each slot, -1 if none
+
+    // Reason for the removals being made now: one level, a set of levels, or Minimum Coverage
+    private int reasonLevel;
+    private BitSet reasonSet;
+    private boolean byCoverage;
+    private long[] uncovered;           // U of the current coverage prunings, once made
+    private final long[][] single;      // single[b] = the mask of bot b alone, made on first use
+
+    private final int[] seen;           // slots visited, by stamp
+    private int stamp;
+
+    ConflictSets(int[] assignment, Domains domains, CoveragePropagator coverage) {
+        this.assignment = assignment;
+        this.domains = domains;
+        this.coverage = coverage;
+        this.levelOf = new int[domains.slots];
+        this.newest = new int[domains.slots];
+        this.seen = new int[domains.slots];
+        this.single = new long[domains.bots][];
+        Arrays.fill(newest, -1);
+        int[] count = new int[domains.bots];
+        for (int s = 0; s < domains.slots; s++) {
+            for (int b = domains.first(s); b >= 0; b = domains.next(s, b + 1)) count[b]++;
+        }
+        slotsOf = new int[domains.bots][];
+        for (int b = 0; b < domains.bots; b++) slotsOf[b] = new int[count[b]];
+        Arrays.fill(count, 0);
+        for (int s = 0; s < domains.slots; s++) {
+            for (int b = domains.first(s); b >= 0; b = domains.next(s, b + 1)) slotsOf[b][count[b]++] = s;
+        }
+    }
+
+    /** Record the level of an assignment just made. */
+    void assign(int s, int lvl) {
+        levelOf[s] = lvl;
+    }
+
+    /** The level of an assigned slot (0 if assigned before the search). */
+    int level(int s) {
+        return levelOf[s];
+    }
+
+    // -------------------- Reasons --------------------
+
+    /** Removals from now on are caused by the assignment at this level. */
+    void because(int lvl) {
+        reasonLevel = lvl;
+        reasonSet = null;
+        byCoverage = false;
+    }
+
+    /** Removals from now on are caused by the assignments at these levels (copied into each record). */
+    void because(BitSet levels) {
+        reasonSet = levels;
+        byCoverage = false;
+    }
+
+    /** Removals from now on are made by CoveragePropagator.propagate(). */
+    void becauseCoverage() {
+        byCoverage = true;
+        uncovered = null;
+    }
+
+    @Override
+    public void removed(int s, int w, long removedBits) {
+        if (size == word.length) grow();
+        word[size] = w;
+        bits[size] = removedBits;
+        cover[size] = null;
+        if (byCoverage) {
+            // The reason depends on the bots the pruning is for
+            if (coverage.reason != CoveragePropagator.ALL_UNCOVERED) {
+                cover[size] = singleBot(coverage.reason);
+            } else {
+                if (uncovered == null) uncovered = uncoveredBots();
+                cover[size] = uncovered;
+            }
+            level[size] = reasonLevel;
+        } else if (reasonSet != null) {
+            level[size] = -1;
+            reasonsAt(size).or(reasonSet);
+        } else {
+            level[size] = reasonLevel;
+        }
+        next[size] = newest[s];
+        newest[s] = size++;
+    }
+
+    @Override
+    public void restored(int s, int w, long restoredBits) {
+        size--;
+        newest[s] = next[size];
+        cover[size] = null;
+    }
+
+    /** The cleared BitSet of record k. */
+    private BitSet reasonsAt(int k) {
+        if (reasons[k] == null) reasons[k] = new BitSet();
+        else reasons[k].clear();
+        return reasons[k];
+    }
+
+    private long[] singleBot(int b) {
+        if (single[b] == null) {
+            single[b] = domains.emptyMask();
+            single[b][b >>> 6] = 1L << b;
+        }
+        return single[b];
+    }
+
+    private void grow() {
+        int n = word.length * 2;
+        word = Arrays.copyOf(word, n);
+        next = Arrays.copyOf(next, n);
+        level = Arrays.copyOf(level, n);
+        bits = Arrays.copyOf(bits, n);
+        reasons = Arrays.copyOf(reasons, n);
+        cover = Arrays.copyOf(cover, n);
+    }
+
+    // -------------------- Explanations --------------------
+
+    /** Add the levels that removed values from the slot's domain (why it has what is left). */
+    void addPrunings(int s, BitSet into) {
+        for (int k = newest[s]; k >= 0; k = next[k]) addReason(k, into);
+    }
+
+    private void addReason(int k, BitSet into) {
+        if (cover[k] != null) {
+            BitSet reason = reasonsAt(k);
+            explain(cover[k], k, level[k], reason);
+            cover[k] = null;
+            level[k] = -1;
+        }
+        if (level[k] == -1) into.or(reasons[k]);
+        else if (level[k] > 0) into.set(level[k]);
+    }
+
+    /** Add the levels behind the latest Minimum Coverage failure. */
+    void addCoverage(BitSet into) {
+        long[] bots;
+        if (coverage.reason != CoveragePropagator.ALL_UNCOVERED) {
+            bots = singleBot(coverage.reason);
+        } else {
+            bots = uncoveredBots();
+        }
+        explain(bots, size, Integer.MAX_VALUE, into);
+    }
+
+    private long[] uncoveredBots() {
+        long[] bots = domains.emptyMask();
+        for (int b = 0; b < domains.bots; b++) {
+            if (!coverage.covered(b)) bots[b >>> 6] |= 1L << b;
+        }
+        return bots;
+    }
+
+    /**
+     * Add the levels behind where the bots could go when record 'before' was
+     * made at level 'atLevel': the levels of the slots then assigned that
+     * could have taken one of them, and the reasons for the older removals
+     * of them from the other slots.
+     */
+    private void explain(long[] bots, int before, int atLevel, BitSet into) {
+        int mark = ++stamp;
+        for (int w = 0; w < bots.length; w++) {
+            for (long m = bots[w]; m != 0; m &= m - 1) {
+                for (int s : slotsOf[(w << 6) + Long.numberOfTrailingZeros(m)]) {
+                    if (seen[s] == mark) continue;
+                    seen[s] = mark;
+                    if (assignment[s] != CSPFramework.UNASSIGNED && levelOf[s] <= atLevel) {
+                        if (levelOf[s] > 0) into.set(levelOf[s]);
+                    } else {
+                        for (int k = newest[s]; k >= 0; k = next[k]) {
+                            if (k < before && (bits[k] & bots[word[k]]) != 0) addReason(k, into);
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
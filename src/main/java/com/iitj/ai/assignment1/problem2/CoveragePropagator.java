@@ -0,0 +1,233 @@
+package com.iitj.ai.assignment1.problem2;
+
+import java.util.*;
+
+/**
+ * CoveragePropagator - Propagation for the Minimum Coverage global
+ * constraint (every bot works at least one slot) during a search.
+ *
+ * Kept per bot, and updated on assign / unassign and, as a Trail listener,
+ * on every domain removal and restore:
+ *   used[b]     slots assigned to b
+ *   support[b]  unassigned slots whose domain still holds b
+ * On top of the counts, each uncovered bot (used == 0) is matched to its
+ * own unassigned slot that allows it. The matching is a cache: a pair
+ * broken by an assignment or a prune is repaired by an augmenting path
+ * (Kuhn) when propagate() next runs, so a node usually repairs one pair.
+ *
+ * propagate() fails if some uncovered bot has no support or cannot be
+ * matched (Hall's condition: k uncovered bots need k distinct slots), and
+ * otherwise prunes:
+ *   - an uncovered bot with a single supporting slot takes that slot, so
+ *     the slot's domain becomes {bot};
+ *   - when k uncovered bots are left for exactly k unassigned slots, every
+ *     slot must take one of them, so covered bots leave all those domains.
+ * Prunings go through Domains and so onto the Trail; restoring the trail
+ * undoes them and the support counts with them. The matching needs no undo.
+ *
+ * For conflict-directed backjumping (ConflictSets), 'reason' names the bots
+ * behind the latest failure or pruning: one bot (no support, or a single
+ * supporting slot) or ALL_UNCOVERED (a Hall violation or the k-for-k rule).
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+final class CoveragePropagator implements Trail.Listener {
+
+    private final int[] assignment;
+    private final Domains domains;
+    private final int bots, slots;
+    private final int[] used, support;
+    private final int[] mate;        // mate[b] = slot matched to uncovered bot b, or -1
+    private final int[] owner;       // owner[s] = bot matched to slot s, or -1
+    private final int[] last;        // where b was matched last (the next search starts there)
+    private final int[] seen;        // augmenting path marks, by stamp
+    private int stamp;
+    private int uncovered, unassigned;
+    private final long[] keep;       // scratch mask for retain
+    int prunings;                    // values removed by propagate()
+
+    /** reason: the uncovered bots together, rather than a single bot. */
+    static final int ALL_UNCOVERED = -1;
+    int reason = ALL_UNCOVERED;      // bots behind the latest failure or pruning
+
+    CoveragePropagator(int[] assignment, Domains domains) {
+        this.assignment = assignment;
+        this.domains = domains;
+        this.bots = domains.bots;
+        this.slots = domains.slots;
+        used = new int[bots];
+        support = new int[bots];
+        mate = new int[bots];
+        owner = new int[slots];
+        last = new int[bots];
+        seen = new int[slots];
+        keep = domains.emptyMask();
+        Arrays.fill(mate, -1);
+        Arrays.fill(owner, -1);
+        Arrays.fill(last, slots - 1);
+        for (int s = 0; s < slots; s++) {
+            if (assignment[s] == CSPFramework.UNASSIGNED) {
+                unassigned++;
+                count(s, +1);
+            } else {
+                used[assignment[s]]++;
+            }
+        }
+        for (int b = 0; b < bots; b++) {
+            if (used[b] == 0) uncovered++;
+        }
+    }
+
+    /** Add delta to the support of every bot in the slot's domain. */
+    private void count(int slot, int delta) {
+        for (int w = 0; w < domains.words(); w++) count(w, domains.word(slot, w), delta);
+    }
+
+    private void count(int word, long bits, int delta) {
+        for (; bits != 0; bits &= bits - 1) support[(word << 6) + Long.numberOfTrailingZeros(bits)] += delta;
+    }
+
+    // -------------------- Updates --------------------
+
+    /** Call after assignment[slot] = bot. */
+    void assign(int slot, int bot) {
+        unassigned--;
+        count(slot, -1);
+        if (used[bot]++ == 0) uncovered--;
+    }
+
+    /** Call before assignment[slot] is cleared. */
+    void unassign(int slot, int bot) {
+        unassigned++;
+        count(slot, +1);
+        if (--used[bot] == 0) uncovered++;
+    }
+
+    @Override
+    public void removed(int slot, int word, long bits) {
+        if (assignment[slot] == CSPFramework.UNASSIGNED) count(word, bits, -1);
+    }
+
+    @Override
+    public void restored(int slot, int word, long bits) {
+        if (assignment[slot] == CSPFramework.UNASSIGNED) count(word, bits, +1);
+    }
+
+    // -------------------- Propagation --------------------
+
+    /** Cheap necessary condition: enough slots, and a supporting slot for every uncovered bot. */
+    boolean canSatisfy() {
+        reason = ALL_UNCOVERED;
+        if (uncovered > unassigned) return false;
+        if (uncovered == 0) return true;
+        for (int b = 0; b < bots; b++) {
+            if (used[b] == 0 && support[b] == 0) {
+                reason = b;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** canSatisfy, and every uncovered bot matched to a slot of its own; prunes nothing. */
+    boolean feasible() {
+        if (!canSatisfy()) return false;
+        reason = ALL_UNCOVERED;
+        return uncovered == 0 || match();
+    }
+
+    /** True if some assigned slot has the bot. */
+    boolean covered(int bot) {
+        return used[bot] > 0;
+    }
+
+    /**
+     * Check Minimum Coverage can still be met and prune what it forces.
+     * @return false if it cannot be met
+     */
+    boolean propagate() {
+        if (!feasible()) return false;
+        if (uncovered == 0) return true;
+
+        if (uncovered == unassigned) {
+            // k bots for k slots: only uncovered bots may stay
+            reason = ALL_UNCOVERED;
+            Arrays.fill(keep, 0L);
+            for (int b = 0; b < bots; b++) {
+                if (used[b] == 0) keep[b >>> 6] |= 1L << b;
+            }
+            for (int s = 0; s < slots; s++) {
+                if (assignment[s] == CSPFramework.UNASSIGNED) retain(s);
+            }
+        }
+        for (int b = 0; b < bots; b++) {
+            if (used[b] == 0 && support[b] == 1 && domains.size(mate[b]) > 1) {
+                // The matched slot is the only one left for b
+                reason = b;
+                Arrays.fill(keep, 0L);
+                keep[b >>> 6] = 1L << b;
+                retain(mate[b]);
+                if (!canSatisfy()) return false;
+            }
+        }
+        return true;
+    }
+
+    private void retain(int slot) {
+        int before = domains.size(slot);
+        if (domains.retain(slot, keep)) prunings += before - domains.size(slot);
+    }
+
+    /** Repair the matching so every uncovered bot has its own slot. */
+    private boolean match() {
+        for (int b = 0; b < bots; b++) {
+            int m = mate[b];
+            if (m >= 0 && (used[b] > 0 || assignment[m] != CSPFramework.UNASSIGNED
+                    || !domains.contains(m, b))) {
+                owner[m] = -1;                        // covered, or the pair is broken
+                mate[b] = -1;
+            }
+        }
+        for (int b = 0; b < bots; b++) {
+            if (used[b] == 0 && mate[b] < 0) {
+                stamp++;
+                if (!augment(b, last[b])) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find bot b a slot, taking a free one if possible and otherwise moving
+     * the bot that holds one along an augmenting path. Slots are scanned
+     * downwards from 'from': MRV breaks ties towards low slots, so the high
+     * ones tend to stay unassigned longest.
+     */
+    private boolean augment(int b, int from) {
+        for (int k = 0; k < slots; k++) {
+            int s = (from - k + slots) % slots;
+            if (owner[s] < 0 && assignment[s] == CSPFramework.UNASSIGNED && domains.contains(s, b)) {
+                take(b, s);
+                return true;
+            }
+        }
+        for (int k = 0; k < slots; k++) {
+            int s = (from - k + slots) % slots;
+            if (seen[s] != stamp && assignment[s] == CSPFramework.UNASSIGNED && domains.contains(s, b)) {
+                seen[s] = stamp;
+                if (augment(owner[s], s)) {
+                    take(b, s);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void take(int b, int s) {
+        mate[b] = s;
+        last[b] = s;
+        owner[s] = b;
+    }
+}
@@ -0,0 +1,211 @@
+package com.iitj.ai.assignment1.problem2;
+
+import java.util.*;
+
+/**
+ * Domains - The domains of all slots as bitsets over bot ids.
+ *
+ * Bot b (an index into CSPFramework.BOTS) is in the domain of slot s if bit
+ * b of the slot's words is set. A slot has one long per 64 bots, and all
+ * slots share one long[], so a domain operation is a few word operations
+ * with no objects. Bot names are looked up only when a domain is printed.
+ * While a Trail is attached, every removal is recorded on it for undo.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class Domains {
+
+    public final int slots;
+    public final int bots;
+    private final int words;         // longs per slot
+    private final long[] bits;       // slot s = bits[s * words .. (s + 1) * words)
+    Trail trail;                     // records removals, if attached
+
+    /** Empty domains for every slot. */
+    public Domains(int slots, int bots) {
+        this.slots = slots;
+        this.bots = bots;
+        this.words = Math.max(1, (bots + 63) >>> 6);
+        this.bits = new long[slots * words];
+    }
+
+    private Domains(Domains other) {
+        this.slots = other.slots;
+        this.bots = other.bots;
+        this.words = other.words;
+        this.bits = other.bits.clone();
+    }
+
+    /** Every bot in every slot's domain. */
+    public static Domains full(int slots, int bots) {
+        Domains d = new Domains(slots, bots);
+        for (int s = 0; s < slots; s++) {
+            for (int w = 0; w < d.words; w++) d.bits[s * d.words + w] = d.fullWord(w);
+        }
+        return d;
+    }
+
+    public Domains copy() {
+        return new Domains(this);
+    }
+
+    /** Word w of a domain holding every bot. */
+    private long fullWord(int w) {
+        int n = Math.min(64, bots - 64 * w);
+        return n == 64 ? -1L : (1L << n) - 1;
+    }
+
+    // -------------------- Single Values --------------------
+
+    public boolean contains(int slot, int bot) {
+        return (bits[slot * words + (bot >>> 6)] & (1L << bot)) != 0;
+    }
+
+    /** Remove bot from the slot's domain; false if it was not there. */
+    public boolean remove(int slot, int bot) {
+        int i = slot * words + (bot >>> 6);
+        long bit = 1L << bot;
+        if ((bits[i] & bit) == 0) return false;
+        bits[i] &= ~bit;
+        if (trail != null) trail.push(i, bit);
+        return true;
+    }
+
+    public void add(int slot, int bot) {
+        bits[slot * words + (bot >>> 6)] |= 1L << bot;
+    }
+
+    /** Number of bots left in the slot's domain. */
+    public int size(int slot) {
+        int n = 0;
+        for (int i = slot * words, end = i + words; i < end; i++) n += Long.bitCount(bits[i]);
+        return n;
+    }
+
+    public boolean isEmpty(int slot) {
+        for (int i = slot * words, end = i + words; i < end; i++) {
+            if (bits[i] != 0) return false;
+        }
+        return true;
+    }
+
+    /** The lowest bot id >= from in the slot's domain, or -1. */
+    public int next(int slot, int from) {
+        if (from >= bots) return -1;
+        int w = from >>> 6;
+        long word = bits[slot * words + w] & (-1L << from);
+        while (true) {
+            if (word != 0) return (w << 6) + Long.numberOfTrailingZeros(word);
+            if (++w == words) return -1;
+            word = bits[slot * words + w];
+        }
+    }
+
+    public int first(int slot) {
+        return next(slot, 0);
+    }
+
+    // -------------------- Whole Domains --------------------
+
+    /** Remove from 'slot' every bot in the domain of 'other'; false if nothing changed. */
+    public boolean removeAll(int slot, int other) {
+        boolean changed = false;
+        for (int w = 0; w < words; w++) {
+            changed |= clearBits(slot * words + w, bits[other * words + w]);
+        }
+        return changed;
+    }
+
+    /** Empty the slot's domain; false if it was empty already. */
+    public boolean clear(int slot) {
+        boolean changed = false;
+        for (int i = slot * words, end = i + words; i < end; i++) changed |= clearBits(i, -1L);
+        return changed;
+    }
+
+    /** Clear mask in word i, recording what was actually cleared on the trail. */
+    private boolean clearBits(int i, long mask) {
+        long gone = bits[i] & mask;
+        if (gone == 0) return false;
+        bits[i] &= ~gone;
+        if (trail != null) trail.push(i, gone);
+        return true;
+    }
+
+    /** Keep only the bots of mask (one long per 64 bots) in the slot's domain; false if nothing changed. */
+    boolean retain(int slot, long[] mask) {
+        boolean changed = false;
+        for (int w = 0; w < words; w++) changed |= clearBits(slot * words + w, ~mask[w]);
+        return changed;
+    }
+
+    /** Set the slot's domain to the domain of 'fromSlot' in 'from', over the same bots. */
+    void copySlot(int slot, Domains from, int fromSlot) {
+        System.arraycopy(from.bits, fromSlot * words, bits, slot * words, words);
+    }
+
+    /** Set bits back in word i (Trail.restore). */
+    void restore(int i, long set) {
+        bits[i] |= set;
+    }
+
+    /** Word i of the bits array belongs to this slot ... */
+    int slotOf(int i) {
+        return i / words;
+    }
+
+    /** ... and holds bots 64 * wordOf(i) onwards. */
+    int wordOf(int i) {
+        return i % words;
+    }
+
+    /** Word w of the slot's domain. */
+    long word(int slot, int w) {
+        return bits[slot * words + w];
+    }
+
+    /** Longs per slot. */
+    int words() {
+        return words;
+    }
+
+    /** OR the slot's domain into mask (one long per 64 bots). */
+    void addTo(long[] mask, int slot) {
+        for (int w = 0; w < words; w++) mask[w] |= bits[slot * words + w];
+    }
+
+    /** A mask with one bit per bot, all clear (see addTo). */
+    long[] emptyMask() {
+        return new long[words];
+    }
+
+    /** True if mask holds every bot. */
+    boolean isFull(long[] mask) {
+        for (int w = 0; w < words; w++) {
+            if (mask[w] != fullWord(w)) return false;
+        }
+        return true;
+    }
+
+    // -------------------- Display --------------------
+
+    /** The slot's domain as bot names, in id order. */
+    public List<String> names(int slot) {
+        List<String> names = new ArrayList<>(size(slot));
+        for (int b = first(slot); b >= 0; b = next(slot, b + 1)) names.add(CSPFramework.BOTS[b]);
+        return names;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Domains)) return false;
+        Domains d = (Domains) o;
+        return d.slots == slots && d.bots == bots && Arrays.equals(d.bits, bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bits);
+    }
+}
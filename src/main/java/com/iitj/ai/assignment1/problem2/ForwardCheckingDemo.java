@@ -1,3 +1,5 @@
+package com.iitj.ai.assignment1.problem2;
+
 import java.util.*;
 
 /**
@@ -8,12 +10,17 @@ import java.util.*;
  * in a very restricted domain scenario.
  *
  * Also demonstrates the general Forward Checking process step by step.
+ * The assignment instance gets the scripted walk-through below; any other
+ * input gets the same two demos computed from its own slots and bots.
  *
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
  */
 public class ForwardCheckingDemo {
 
+    // Slots assigned one by one in stepDemo
+    private static final int STEPS = 4;
+
     public static void main(String[] args) throws Exception {
         String inputFile = args.length > 0 ? args[0] : "input.txt";
         CSPFramework.readInput(inputFile);
@@ -23,11 +30,27 @@ public class ForwardCheckingDemo {
         System.out.println("#".repeat(55));
         System.out.println();
 
+        if (CSPFramework.isAssignmentInstance()) {
+            scriptedDemo();
+        } else {
+            stepDemo();
+            failureDemo();
+        }
+        System.out.println();
+        System.out.println("KEY INSIGHT: Forward Checking prunes domains eagerly.");
+        System.out.println("Combined with coverage checking, it detects failures");
+        System.out.println("MUCH earlier than naive backtracking, which would");
+        System.out.println("only discover the violation after trying all combinations.");
+    }
+
+    /** The walk-through for the assignment instance (A, B, C over 4 slots). */
+    static void scriptedDemo() {
         // ======== Demo 1: Standard Forward Checking ========
         System.out.println("=== Demo 1: Step-by-Step Forward Checking ===\n");
 
-        List<List<String>> domains = CSPFramework.initDomains();
-        String[] assignment = new String[CSPFramework.NUM_SLOTS];
+        Domains domains = CSPFramework.initDomains();
+        int[] assignment = CSPFramework.emptyAssignment();
+        int a = CSPFramework.botId("A"), b = CSPFramework.botId("B"), c = CSPFramework.botId("C");
 
         System.out.println("Initial Domains:");
         printDomains(domains);
@@ -35,52 +58,52 @@ public class ForwardCheckingDemo {
 
         // Step 1: Assign Slot1 = A
         System.out.println("Step 1: Assign Slot1 = A");
-        assignment[0] = "A";
+        assignment[0] = a;
         System.out.println("  Assignment: {Slot1=A, Slot2=_, Slot3=_, Slot4=_}");
         System.out.println("  Forward Check: Remove 'A' from Slot2's domain (back-to-back)");
-        domains.get(1).remove("A");
+        domains.remove(1, a);
         System.out.println("  Domains after FC:");
         printDomains(domains);
         System.out.println("  All domains non-empty -> Continue.\n");
 
         // Step 2: Assign Slot2 = B
         System.out.println("Step 2: Assign Slot2 = B");
-        assignment[1] = "B";
+        assignment[1] = b;
         System.out.println("  Assignment: {Slot1=A, Slot2=B, Slot3=_, Slot4=_}");
         System.out.println("  Forward Check: Remove 'B' from Slot3's domain (back-to-back)");
-        domains.get(2).remove("B");
+        domains.remove(2, b);
         System.out.println("  Domains after FC:");
         printDomains(domains);
         System.out.println("  All domains non-empty -> Continue.\n");
 
         // Step 3: Assign Slot3 = C (or A)
         System.out.println("Step 3: Assign Slot3 = A");
-        assignment[2] = "A";
+        assignment[2] = a;
         System.out.println("  Assignment: {Slot1=A, Slot2=B, Slot3=A, Slot4=_}");
         System.out.println("  Forward Check: Remove 'A' from Slot4's domain (back-to-back)");
-        domains.get(3).remove("A");
+        domains.remove(3, a);
         System.out.println("  Domains after FC:");
         printDomains(domains);
         System.out.println("  Slot4 has domain {B} -> Still valid.\n");
 
         // Step 4: Assign Slot4 = B
         System.out.println("Step 4: Assign Slot4 = B");
-        assignment[3] = "B";
+        assignment[3] = b;
         System.out.println("  Assignment: {Slot1=A, Slot2=B, Slot3=A, Slot4=B}");
         System.out.println("  Check minimum coverage: A used, B used, C NOT used -> FAIL!");
         System.out.println("  Backtrack needed to satisfy minimum coverage.\n");
 
         System.out.println("  Backtrack: Try Slot3 = C instead.");
-        assignment[2] = "C";
-        assignment[3] = null;
+        assignment[2] = c;
+        assignment[3] = CSPFramework.UNASSIGNED;
         // Reset Slot4 domain
-        domains.set(3, new ArrayList<>(Arrays.asList("A", "B")));
+        domains.add(3, a);
         System.out.println("  Forward Check: Remove 'C' from Slot4's domain");
         // C was already not in Slot4's domain (unary constraint)
         System.out.println("  (C already excluded from Slot4 by maintenance constraint)");
         System.out.println("  Slot4 domain = {A, B}");
         System.out.println("  Assign Slot4 = A");
-        assignment[3] = "A";
+        assignment[3] = a;
         System.out.println("  Final: {Slot1=A, Slot2=B, Slot3=C, Slot4=A}");
         System.out.println("  Coverage: A=yes, B=yes, C=yes -> ALL CONSTRAINTS SATISFIED!\n");
 
@@ -93,60 +116,145 @@ public class ForwardCheckingDemo {
         System.out.println("Scenario: Suppose domain is restricted to only {A, B}");
         System.out.println("for all slots (Bot C unavailable entirely).\n");
 
-        List<List<String>> restrictedDomains = new ArrayList<>();
+        Domains restrictedDomains = new Domains(4, CSPFramework.BOTS.length);
         for (int i = 0; i < 4; i++) {
-            restrictedDomains.add(new ArrayList<>(Arrays.asList("A", "B")));
+            restrictedDomains.add(i, a);
+            restrictedDomains.add(i, b);
         }
-        String[] assignment2 = new String[4];
+        int[] assignment2 = new int[4];
 
         System.out.println("Restricted Domains:");
         printDomainsCustom(restrictedDomains);
         System.out.println();
 
         System.out.println("Step 1: Assign Slot1 = A");
-        assignment2[0] = "A";
+        assignment2[0] = a;
         System.out.println("  Forward Check: Remove 'A' from Slot2");
-        restrictedDomains.get(1).remove("A");
-        System.out.println("  Slot2 domain = " + restrictedDomains.get(1));
+        restrictedDomains.remove(1, a);
+        System.out.println("  Slot2 domain = " + restrictedDomains.names(1));
 
         System.out.println("\nStep 2: Assign Slot2 = B (only option)");
-        assignment2[1] = "B";
+        assignment2[1] = b;
         System.out.println("  Forward Check: Remove 'B' from Slot3");
-        restrictedDomains.get(2).remove("B");
-        System.out.println("  Slot3 domain = " + restrictedDomains.get(2));
+        restrictedDomains.remove(2, b);
+        System.out.println("  Slot3 domain = " + restrictedDomains.names(2));
 
         System.out.println("\nStep 3: Assign Slot3 = A (only option)");
-        assignment2[2] = "A";
+        assignment2[2] = a;
         System.out.println("  Forward Check: Remove 'A' from Slot4");
-        restrictedDomains.get(3).remove("A");
-        System.out.println("  Slot4 domain = " + restrictedDomains.get(3));
+        restrictedDomains.remove(3, a);
+        System.out.println("  Slot4 domain = " + restrictedDomains.names(3));
 
         System.out.println("\nStep 4: Assign Slot4 = B (only option)");
-        assignment2[3] = "B";
+        assignment2[3] = b;
         System.out.println("  Check minimum coverage: A=yes, B=yes, C=NO!");
         System.out.println("  FAILURE: Bot C never assigned (coverage violated).");
         System.out.println("  Forward Checking detects that with only {A,B} in domains,");
         System.out.println("  the minimum coverage constraint for C can NEVER be satisfied.");
         System.out.println("  This is detected IMMEDIATELY by checking canSatisfyCoverage()");
-        System.out.println("  even before completing the assignment.\n");
+        System.out.println("  even before completing the assignment.");
+    }
 
-        System.out.println("KEY INSIGHT: Forward Checking prunes domains eagerly.");
-        System.out.println("Combined with coverage checking, it detects failures");
-        System.out.println("MUCH earlier than naive backtracking, which would");
-        System.out.println("only discover the violation after trying all combinations.");
+    // -------------------- Demos for Any Input --------------------
+
+    /**
+     * Demo 1 for any input: assign the first STEPS slots in order, each to
+     * the first value left in its domain, forward checking the next slot;
+     * then let BacktrackingSearch complete the schedule.
+     */
+    static void stepDemo() {
+        System.out.println("=== Demo 1: Step-by-Step Forward Checking ===\n");
+
+        Domains domains = CSPFramework.initDomains();
+        int[] assignment = CSPFramework.emptyAssignment();
+
+        System.out.println("Initial Domains:");
+        printDomains(domains);
+        System.out.println();
+
+        int steps = Math.min(STEPS, CSPFramework.NUM_SLOTS);
+        for (int i = 0; i < steps; i++) {
+            if (domains.isEmpty(i)) break;
+            int bot = domains.first(i);
+            String name = CSPFramework.BOTS[bot];
+            System.out.println("Step " + (i + 1) + ": Assign " + CSPFramework.SLOT_NAMES[i] + " = " + name);
+            assignment[i] = bot;
+            System.out.println("  Assignment: " + CSPFramework.describe(assignment));
+            if (i + 1 < CSPFramework.NUM_SLOTS && domains.remove(i + 1, bot)) {
+                System.out.println("  Forward Check: Remove '" + name + "' from "
+                        + CSPFramework.SLOT_NAMES[i + 1] + "'s domain (back-to-back)");
+                System.out.println("  Domains after FC:");
+                printDomains(domains);
+                if (domains.isEmpty(i + 1)) {
+                    System.out.println("  " + CSPFramework.SLOT_NAMES[i + 1]
+                            + " has an empty domain -> DOMAIN WIPEOUT, backtrack.\n");
+                    break;
+                }
+            } else if (i + 1 < CSPFramework.NUM_SLOTS) {
+                System.out.println("  Forward Check: '" + name + "' is not in "
+                        + CSPFramework.SLOT_NAMES[i + 1] + "'s domain, nothing to prune");
+            }
+            System.out.println("  All domains non-empty -> Continue.\n");
+        }
+
+        System.out.println("Completing the schedule with MRV + Forward Checking:");
+        int[] solution = CSPFramework.emptyAssignment();
+        int made = BacktrackingSearch.solve(solution, CSPFramework.initDomains());
+        boolean complete = CSPFramework.checkNoBackToBack(solution)
+                && CSPFramework.checkMaintenanceBreak(solution)
+                && CSPFramework.checkMinimumCoverage(solution);
+        System.out.println("  " + made + " assignments -> "
+                + (complete ? "ALL CONSTRAINTS SATISFIED!" : "no schedule found."));
+        if (complete) CSPFramework.printAssignment(solution);
+    }
+
+    /**
+     * Demo 2 for any input: take the last bot out of every domain. The
+     * coverage check fails before a single slot is assigned.
+     */
+    static void failureDemo() {
+        int last = CSPFramework.BOTS.length - 1;
+        String missing = CSPFramework.BOTS[last];
+        System.out.println();
+        System.out.println("=".repeat(55));
+        System.out.println("=== Demo 2: Failure Detection with Restricted Domain ===\n");
+        System.out.println("Scenario: Suppose Bot " + missing + " is unavailable entirely,");
+        System.out.println("so every slot's domain loses " + missing + ".\n");
+
+        Domains restricted = CSPFramework.initDomains();
+        for (int i = 0; i < CSPFramework.NUM_SLOTS; i++) restricted.remove(i, last);
+        System.out.println("Restricted Domains:");
+        printDomains(restricted);
+        System.out.println();
+
+        boolean possible = CSPFramework.canSatisfyCoverage(
+                CSPFramework.emptyAssignment(), restricted);
+        System.out.println("canSatisfyCoverage() with no slot assigned: " + possible);
+        System.out.println("  FAILURE: Bot " + missing + " is in no domain (coverage violated).");
+        System.out.println("  Detected before the first assignment, instead of after");
+        System.out.println("  completing all " + CSPFramework.NUM_SLOTS + " slots.");
     }
 
-    static void printDomains(List<List<String>> domains) {
+    static void printDomains(Domains domains) {
         for (int i = 0; i < CSPFramework.NUM_SLOTS; i++) {
-            String marker = (i == 3) ? " (C excluded: maintenance)" : "";
+            if (CSPFramework.elided(i)) {
+                if (i == CSPFramework.PRINT_LIMIT) {
+                    System.out.println("    ... (" + (CSPFramework.NUM_SLOTS - CSPFramework.PRINT_LIMIT - 1)
+                            + " more slots)");
+                }
+                continue;
+            }
+            List<String> out = CSPFramework.excluded(i);
+            String marker = out.isEmpty() ? ""
+                    : " (" + String.join(",", new TreeSet<>(out)) + " excluded: maintenance)";
             System.out.println("    " + CSPFramework.SLOT_NAMES[i]
-                    + " = " + domains.get(i) + marker);
+                    + " = " + domains.names(i) + marker);
         }
     }
 
-    static void printDomainsCustom(List<List<String>> domains) {
-        for (int i = 0; i < domains.size(); i++) {
-            System.out.println("    Slot" + (i + 1) + " = " + domains.get(i));
+    static void printDomainsCustom(Domains domains) {
+        for (int i = 0; i < domains.slots; i++) {
+            System.out.println("    Slot" + (i + 1) + " = " + domains.names(i));
         }
     }
 }
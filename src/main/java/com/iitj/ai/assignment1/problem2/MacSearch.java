@@ -0,0 +1,190 @@
+package com.iitj.ai.assignment1.problem2;
+
+import com.iitj.ai.jobs.Deadline;
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
+
+import java.util.*;
+
+/**
+ * MAC (Maintaining Arc Consistency) for the Security Bot Scheduling CSP.
+ *
+ * Backtracking with MRV that restores full arc consistency after every
+ * assignment, not just forward checking. For No Back-to-Back (Xi != Xj) a
+ * value loses its support only when the neighbour's domain is down to that
+ * value, so arc consistency is propagated from the slots that become
+ * singletons (or get assigned): their value leaves both neighbours, which
+ * may become singletons in turn. Minimum Coverage is propagated in the same
+ * loop (CoveragePropagator); its prunings can create singletons too.
+ *
+ * All prunings go onto a Trail and are undone on backtracking. Unlike
+ * BacktrackingSearch a MacSearch is an object, so several can run at once
+ * (PortfolioSolver). With a seed, values are tried from a random bot
+ * onwards at each node instead of in bot order, which gives each seed its
+ * own search tree.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class MacSearch implements Trail.Listener {
+
+    private static final SearchMetrics METRICS = SearchTelemetry.csp("MAC", "MRV");
+
+    private final int[] assignment;
+    private final Domains domains;
+    private final Random rng;            // null: values in bot order
+    private final int slots;
+    private final int[] pending;         // slots whose value is still to propagate
+    private final boolean[] isPending;
+    private int top;
+    private BacktrackingSearch.MrvIndex mrv;
+    private CoveragePropagator coverage;
+    private Trail trail;
+    private Deadline deadline;
+    private boolean stopped;
+    private int assignments;
+    private int prunings;
+
+    /**
+     * @param seed 0 for bot order, otherwise the seed of the value ordering
+     */
+    public MacSearch(int[] assignment, Domains domains, long seed) {
+        this.assignment = assignment;
+        this.domains = domains;
+        this.rng = seed == 0 ? null : new Random(seed);
+        this.slots = domains.slots;
+        this.pending = new int[slots];
+        this.isPending = new boolean[slots];
+    }
+
+    /**
+     * Search for a complete schedule; the thread's Deadline, if any, is
+     * checked before every assignment.
+     * @return true if the assignment is now complete and valid
+     */
+    public boolean solve() {
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        deadline = Deadline.current();
+        int assigned = 0;
+        boolean success = ArcConsistency.ac2001(domains, new int[1], false);
+        if (success) {
+            mrv = new BacktrackingSearch.MrvIndex(assignment, domains);
+            coverage = new CoveragePropagator(assignment, domains);
+            trail = new Trail(domains, mrv, coverage, this);
+            for (int s = 0; s < slots; s++) {
+                if (assignment[s] != CSPFramework.UNASSIGNED) {
+                    push(s);
+                    assigned++;
+                } else if (domains.size(s) == 1) {
+                    push(s);
+                }
+            }
+            int depth = assigned;
+            success = propagate() && CSPFramework.withSearchStack(() -> search(depth));
+            trail.detach();
+            prunings += coverage.prunings;
+        }
+        METRICS.addCsp(assignments, prunings, 0);
+        METRICS.finish(0, System.nanoTime() - startTime);
+        event.finish(METRICS.algorithm(), METRICS.heuristic(), success,
+                success ? slots : -1, assignments, 0);
+        return success;
+    }
+
+    public int assignments() {
+        return assignments;
+    }
+
+    /** True if the last solve() was ended by its Deadline. */
+    public boolean stopped() {
+        return stopped;
+    }
+
+    // -------------------- Search --------------------
+
+    private boolean search(int assigned) {
+        if (assigned == slots) return CSPFramework.checkMinimumCoverage(assignment);
+        int slot = mrv.select();
+        if (slot < 0) return false;
+
+        // The slot's domain is not pruned while we try its values (only unassigned
+        // slots are, and everything pruned below is restored before the next value)
+        mrv.remove(slot);
+        int values = domains.size(slot);
+        int bot = rng == null ? domains.first(slot) : firstFrom(slot, rng.nextInt(domains.bots));
+        for (int k = 0; k < values; k++, bot = firstFrom(slot, bot + 1)) {
+            if (assignments >= CSPFramework.assignmentLimit) break;    // budget spent
+            if (deadline != null && (stopped || deadline.expired())) {
+                stopped = true;
+                break;
+            }
+            assignments++;
+            assignment[slot] = bot;
+            coverage.assign(slot, bot);
+            int mark = trail.mark();
+            push(slot);
+            if (propagate() && search(assigned + 1)) return true;
+            trail.restore(mark);
+            coverage.unassign(slot, bot);
+            assignment[slot] = CSPFramework.UNASSIGNED;
+        }
+        mrv.add(slot);
+        return false;
+    }
+
+    /** The first bot >= from in the slot's domain, wrapping round to the lowest. */
+    private int firstFrom(int slot, int from) {
+        int bot = domains.next(slot, from);
+        return bot >= 0 ? bot : domains.first(slot);
+    }
+
+    // -------------------- Propagation --------------------
+
+    private void push(int slot) {
+        if (isPending[slot]) return;
+        isPending[slot] = true;
+        pending[top++] = slot;
+    }
+
+    /** A slot that drops to one value has that value to propagate. */
+    @Override
+    public void removed(int slot, int word, long bits) {
+        if (assignment[slot] == CSPFramework.UNASSIGNED && domains.size(slot) == 1) push(slot);
+    }
+
+    @Override
+    public void restored(int slot, int word, long bits) {
+    }
+
+    /**
+     * Remove the value of every pending slot from its unassigned neighbours,
+     * then propagate Minimum Coverage, until neither prunes any more.
+     * @return false on a wipeout or if coverage can no longer be met
+     */
+    private boolean propagate() {
+        while (true) {
+            while (top > 0) {
+                int x = pending[--top];
+                isPending[x] = false;
+                int value = assignment[x] != CSPFramework.UNASSIGNED ? assignment[x] : domains.first(x);
+                if (value < 0) return clearPending();
+                for (int y = x - 1; y <= x + 1; y += 2) {
+                    if (y < 0 || y >= slots || assignment[y] != CSPFramework.UNASSIGNED) continue;
+                    if (domains.remove(y, value)) {
+                        prunings++;
+                        if (domains.isEmpty(y)) return clearPending();
+                    }
+                }
+            }
+            if (!coverage.propagate()) return clearPending();
+            if (top == 0) return true;
+        }
+    }
+
+    private boolean clearPending() {
+        while (top > 0) isPending[pending[--top]] = false;
+        return false;
+    }
+}
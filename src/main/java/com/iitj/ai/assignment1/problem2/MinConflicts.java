@@ -0,0 +1,346 @@
+package com.iitj.ai.assignment1.problem2;
+
+import com.iitj.ai.jobs.Deadline;
+import com.iitj.ai.telemetry.SearchEvents;
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
+
+import java.util.*;
+
+/**
+ * Min-Conflicts local search for the Security Bot Scheduling CSP.
+ *
+ * Starts from a complete assignment that respects the unary exclusions
+ * (each slot greedily avoids its left neighbour's bot and prefers unused
+ * bots), then repairs conflicts one move at a time. There are two kinds:
+ *   - a clash: a slot has its neighbour's bot (No Back-to-Back). The move
+ *     picks a random clashing slot and gives it the value with the fewest
+ *     conflicts, ties broken at random;
+ *   - an unused bot (Minimum Coverage). The move picks a random unused bot
+ *     and gives it to a slot that allows it and whose bot works other slots
+ *     too, clashing as little as possible.
+ * The cost of a value counts back-to-back clashes, plus one if it would
+ * leave the slot's old bot unused, minus one if it covers an unused bot.
+ *
+ * Every count is kept up to date as moves are made: the clashes of each
+ * slot, the slots working each bot, and two index sets (clashing slots,
+ * unused bots) that add, remove and pick at random in constant time. A
+ * move costs O(bots) for the value choice, or a few random probes for a
+ * slot to cover a bot, instead of a scan of every slot. Memory is a few
+ * ints per slot and per bot.
+ *
+ * Plateaus are escaped with a tabu list and random walk. A slot may not
+ * take back the bot it just gave up for 'tenure' moves, unless that would
+ * reach fewer conflicts than ever before. With probability 'walk' a
+ * clashing slot takes a random allowed value instead of the best one.
+ *
+ * solve() keeps the slots assigned on entry. repair() instead starts from
+ * them: they may all move, but only a conflict moves anything, so a
+ * schedule that a change has broken in a few places is mended there.
+ * Local search cannot prove that no schedule exists; it
+ * stops after maxSteps moves or when the thread's Deadline expires.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class MinConflicts {
+
+    private static final SearchMetrics METRICS = SearchTelemetry.csp("Min-Conflicts", "Random conflicted slot");
+
+    /** Slots tried at random for an unused bot before scanning for one. */
+    private static final int PROBES = 64;
+
+    // Search options
+    int tenure = 10;                    // moves before a slot may take back the bot it gave up
+    double walk = 0.02;                 // chance of a random value instead of the best
+
+    private final int[] assignment;
+    private final Domains domains;
+    private final Random rng;
+    private final boolean[] fixed;
+    private final int[] used;           // slots working each bot
+    private final int[] clashes;        // neighbours of each slot holding its bot
+    private final IndexSet clashing;    // free slots with clashes > 0
+    private final IndexSet unused;      // bots no slot works
+    private final int[] tabuBot, tabuUntil;
+    private int clashPairs;             // neighbouring pairs holding the same bot
+    private int best;                   // fewest conflicts seen
+    private int steps;
+
+    public MinConflicts(int[] assignment, Domains domains, long seed) {
+        this.assignment = assignment;
+        this.domains = domains;
+        this.rng = new Random(seed);
+        this.fixed = new boolean[domains.slots];
+        this.used = new int[domains.bots];
+        this.clashes = new int[domains.slots];
+        this.clashing = new IndexSet(domains.slots);
+        this.unused = new IndexSet(domains.bots);
+        this.tabuBot = new int[domains.slots];
+        this.tabuUntil = new int[domains.slots];
+        for (int s = 0; s < domains.slots; s++) fixed[s] = assignment[s] != CSPFramework.UNASSIGNED;
+    }
+
+    /** Moves made by the last solve(). */
+    public int steps() {
+        return steps;
+    }
+
+    /** Conflicts left: clashing neighbour pairs plus unused bots. */
+    public int conflicts() {
+        return clashPairs + unused.size;
+    }
+
+    /**
+     * Search for a schedule with no conflicts.
+     * @return true if the assignment is now complete and valid
+     */
+    public boolean solve(int maxSteps) {
+        return search(maxSteps, false);
+    }
+
+    /**
+     * Mend the assignment into a schedule with no conflicts, changing as
+     * little as the moves need. Slots that are unassigned or hold an
+     * excluded bot are filled greedily first; every slot may move.
+     * @return true if the assignment is now complete and valid
+     */
+    public boolean repair(int maxSteps) {
+        Arrays.fill(fixed, false);
+        return search(maxSteps, true);
+    }
+
+    private boolean search(int maxSteps, boolean keep) {
+        long startTime = System.nanoTime();
+        SearchEvents.Search event = SearchEvents.Search.start();
+        Deadline deadline = Deadline.current();
+        steps = 0;
+        boolean success = initialize(keep);
+        while (success && conflicts() > 0) {
+            if (steps >= maxSteps || (deadline != null && (steps & 1023) == 0 && deadline.expired())) {
+                success = false;
+                break;
+            }
+            // Clashing slots and unused bots in proportion to their numbers
+            int choices = clashing.size + unused.size;
+            if (choices == 0) {
+                success = false;                    // only fixed slots clash
+                break;
+            }
+            if (rng.nextInt(choices) < clashing.size) {
+                repairClash(clashing.random(rng));
+            } else {
+                cover(unused.random(rng));
+            }
+            steps++;
+            best = Math.min(best, conflicts());
+        }
+        success = success && conflicts() == 0 && CSPFramework.checkNoBackToBack(assignment);
+        METRICS.addCsp(steps, 0, 0);
+        METRICS.finish(0, System.nanoTime() - startTime);
+        event.finish(METRICS.algorithm(), METRICS.heuristic(), success,
+                success ? domains.slots : -1, steps, 0);
+        return success;
+    }
+
+    // -------------------- Initial Assignment --------------------
+
+    /**
+     * Fill every free slot, or with 'keep' every free slot that does not
+     * hold an allowed bot; false if some slot has an empty domain.
+     */
+    private boolean initialize(boolean keep) {
+        int n = domains.slots;
+        Arrays.fill(used, 0);
+        Arrays.fill(clashes, 0);
+        Arrays.fill(tabuUntil, 0);
+        clashing.clear();
+        unused.clear();
+        clashPairs = 0;
+        for (int s = 0; s < n; s++) {
+            int bot = assignment[s];
+            if (fixed[s] || (keep && bot != CSPFramework.UNASSIGNED && domains.contains(s, bot))) used[bot]++;
+            else assignment[s] = CSPFramework.UNASSIGNED;
+        }
+        for (int s = 0; s < n; s++) {
+            if (assignment[s] != CSPFramework.UNASSIGNED) continue;
+            if (domains.isEmpty(s)) return false;
+            int bot = bestValue(s, false);
+            assignment[s] = bot;
+            used[bot]++;
+        }
+        for (int b = 0; b < domains.bots; b++) {
+            if (used[b] == 0) unused.add(b);
+        }
+        for (int s = 0; s < n; s++) {
+            clashes[s] = countClashes(s, assignment[s]);
+            if (clashes[s] > 0 && !fixed[s]) clashing.add(s);
+            if (s > 0 && assignment[s - 1] == assignment[s]) clashPairs++;
+        }
+        best = conflicts();
+        return true;
+    }
+
+    // -------------------- Moves --------------------
+
+    /** Give a clashing slot the best value (or, on a random walk, any allowed value). */
+    private void repairClash(int s) {
+        int bot;
+        if (rng.nextDouble() < walk) {
+            bot = randomValue(s);
+        } else {
+            bot = bestValue(s, true);
+        }
+        if (bot >= 0) set(s, bot);
+    }
+
+    /**
+     * Give an unused bot to a slot that allows it and whose bot works other
+     * slots, preferring one where it clashes least. Random probes first,
+     * then a scan from a random slot if none of them fits; if no slot fits,
+     * a free slot that allows the bot takes it and leaves its own bot unused.
+     */
+    private void cover(int bot) {
+        int n = domains.slots;
+        int chosen = -1, fewest = Integer.MAX_VALUE;
+        for (int k = 0; k < PROBES && fewest > 0; k++) {
+            int s = rng.nextInt(n);
+            if (canCover(s, bot) && countClashes(s, bot) < fewest) {
+                chosen = s;
+                fewest = countClashes(s, bot);
+            }
+        }
+        int swap = -1;
+        for (int k = 0, start = rng.nextInt(n); k < n && chosen < 0; k++) {
+            int s = (start + k) % n;
+            if (canCover(s, bot)) chosen = s;
+            else if (swap < 0 && !fixed[s] && domains.contains(s, bot)) swap = s;
+        }
+        if (chosen < 0) chosen = swap;
+        if (chosen >= 0) set(chosen, bot);
+    }
+
+    private boolean canCover(int s, int bot) {
+        return !fixed[s] && used[assignment[s]] > 1 && domains.contains(s, bot);
+    }
+
+    /** Move slot s to bot, updating every count and index. */
+    private void set(int s, int bot) {
+        int old = assignment[s];
+        if (bot == old) return;
+        tabuBot[s] = old;
+        tabuUntil[s] = steps + tenure;
+
+        // Clashes with the neighbours, old bot then new bot
+        for (int n = s - 1; n <= s + 1; n += 2) {
+            if (n < 0 || n >= domains.slots) continue;
+            if (assignment[n] == old) {
+                clashPairs--;
+                clashes[s]--;
+                changeClashes(n, -1);
+            }
+            if (assignment[n] == bot) {
+                clashPairs++;
+                clashes[s]++;
+                changeClashes(n, +1);
+            }
+        }
+        if (clashes[s] > 0) clashing.add(s);
+        else clashing.remove(s);
+
+        assignment[s] = bot;
+        if (--used[old] == 0) unused.add(old);
+        if (used[bot]++ == 0) unused.remove(bot);
+    }
+
+    private void changeClashes(int s, int delta) {
+        clashes[s] += delta;
+        if (fixed[s]) return;
+        if (clashes[s] > 0) clashing.add(s);
+        else clashing.remove(s);
+    }
+
+    /** Neighbours of slot s that hold bot. */
+    private int countClashes(int s, int bot) {
+        int n = 0;
+        if (s > 0 && assignment[s - 1] == bot) n++;
+        if (s + 1 < domains.slots && assignment[s + 1] == bot) n++;
+        return n;
+    }
+
+    /**
+     * The value of slot s with the fewest conflicts, ties broken at random.
+     * With 'tabu', the bot the slot last gave up is skipped while it is tabu,
+     * unless it would reach fewer conflicts than ever before.
+     */
+    private int bestValue(int s, boolean tabu) {
+        int old = assignment[s];
+        int now = conflicts();
+        int chosen = -1, bestCost = Integer.MAX_VALUE, ties = 0;
+        for (int bot = domains.first(s); bot >= 0; bot = domains.next(s, bot + 1)) {
+            int cost = countClashes(s, bot);
+            if (bot != old) {
+                if (used[bot] == 0) cost--;
+                if (old != CSPFramework.UNASSIGNED && used[old] == 1) cost++;
+                if (tabu && bot == tabuBot[s] && steps < tabuUntil[s]
+                        && now - countClashes(s, old) + cost >= best) continue;
+            }
+            if (cost < bestCost) {
+                chosen = bot;
+                bestCost = cost;
+                ties = 1;
+            } else if (cost == bestCost && rng.nextInt(++ties) == 0) {
+                chosen = bot;
+            }
+        }
+        return chosen;
+    }
+
+    /** A random value of slot s, or -1 if its domain is empty. */
+    private int randomValue(int s) {
+        int size = domains.size(s);
+        if (size == 0) return -1;
+        int bot = domains.first(s);
+        for (int k = rng.nextInt(size); k > 0; k--) bot = domains.next(s, bot + 1);
+        return bot;
+    }
+
+    // -------------------- Index Set --------------------
+
+    /** A set of ints in [0, capacity): add, remove, contains and a random member in O(1). */
+    private static final class IndexSet {
+        private final int[] members;
+        private final int[] position;   // index in members, -1 if absent
+        private int size;
+
+        IndexSet(int capacity) {
+            members = new int[capacity];
+            position = new int[capacity];
+            Arrays.fill(position, -1);
+        }
+
+        void add(int x) {
+            if (position[x] >= 0) return;
+            position[x] = size;
+            members[size++] = x;
+        }
+
+        void remove(int x) {
+            int p = position[x];
+            if (p < 0) return;
+            int last = members[--size];
+            members[p] = last;
+            position[last] = p;
+            position[x] = -1;
+        }
+
+        int random(Random rng) {
+            return members[rng.nextInt(size)];
+        }
+
+        void clear() {
+            for (int k = 0; k < size; k++) position[members[k]] = -1;
+            size = 0;
+        }
+    }
+}
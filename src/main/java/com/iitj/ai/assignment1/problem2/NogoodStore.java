@@ -0,0 +1,189 @@
+package com.iitj.ai.assignment1.problem2;
+
+import java.util.*;
+
+/**
+ * NogoodStore - Nogoods learned by conflict-directed backjumping, checked
+ * with two watched literals.
+ *
+ * A nogood is a set of assignments (slot = bot) that cannot all hold: the
+ * conflict set of a slot whose values all failed, read as assignments.
+ * Each nogood watches two of its literals that are not true (the slot is
+ * unassigned or holds another bot). Only assigning a watched literal can
+ * change anything, so assigned() looks at the nogoods watching that
+ * literal alone: it moves the watch to another literal that is not true,
+ * or, if there is none, prunes the last literal's bot from its slot (the
+ * nogood is unit) or fails (every literal is true). Watches need no undo
+ * on backtracking, since undoing assignments only makes literals not true.
+ *
+ * The watch lists are int arrays: head[literal] (literal = slot * bots +
+ * bot) starts a doubly linked list of watch entries, entry 2g + k being
+ * nogood g's k-th watch, so a watch moves in O(1) and nothing is boxed. A
+ * unit pruning explains itself in one reused BitSet (ConflictSets copies
+ * it), so only add() allocates: the caller's literal arrays are kept, and
+ * head[] is made with the first nogood.
+ *
+ * The store is bounded: nogoods longer than MAX_LENGTH are not kept, and
+ * once 'capacity' are held the oldest is dropped for each new one.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+final class NogoodStore {
+
+    /** Longest nogood kept; long ones rarely become unit. */
+    static final int MAX_LENGTH = 16;
+
+    private final int[] assignment;
+    private final Domains domains;
+    private final ConflictSets conflicts;
+    private final int[][] slots, values;        // literals of each nogood, in a ring of 'capacity'
+    private final int[] watch;                  // watch[2g + k] = literal of nogood g watched by entry k
+    private final int[] watchNext, watchPrev;   // the entries watching the same literal
+    private int[] head;                         // head[literal] = first entry watching it, or -1
+    private final BitSet reason = new BitSet(); // levels behind a unit pruning
+    private int next, size;
+    int learned;                                // nogoods added
+    int prunings;                               // values removed by unit nogoods
+
+    NogoodStore(int[] assignment, Domains domains, ConflictSets conflicts, int capacity) {
+        this.assignment = assignment;
+        this.domains = domains;
+        this.conflicts = conflicts;
+        slots = new int[capacity][];
+        values = new int[capacity][];
+        watch = new int[2 * capacity];
+        watchNext = new int[2 * capacity];
+        watchPrev = new int[2 * capacity];
+    }
+
+    private int literal(int slot, int bot) {
+        return slot * domains.bots + bot;
+    }
+
+    /**
+     * Add a nogood. Its first two literals are watched, so they should be the
+     * ones assigned last (they are the first to be undone).
+     */
+    void add(int[] nogoodSlots, int[] nogoodValues) {
+        if (nogoodSlots.length > MAX_LENGTH) return;
+        if (head == null) {
+            head = new int[domains.slots * domains.bots];
+            Arrays.fill(head, -1);
+        }
+        int g = next;
+        next = (next + 1) % slots.length;
+        if (slots[g] != null) {
+            unlink(2 * g);
+            if (slots[g].length > 1) unlink(2 * g + 1);
+        } else {
+            size++;
+        }
+        slots[g] = nogoodSlots;
+        values[g] = nogoodValues;
+        watch[2 * g] = 0;
+        watch[2 * g + 1] = Math.min(1, nogoodSlots.length - 1);
+        link(2 * g, literal(nogoodSlots[0], nogoodValues[0]));
+        if (nogoodSlots.length > 1) link(2 * g + 1, literal(nogoodSlots[1], nogoodValues[1]));
+        learned++;
+    }
+
+    private void link(int e, int lit) {
+        int first = head[lit];
+        watchPrev[e] = -1;
+        watchNext[e] = first;
+        if (first >= 0) watchPrev[first] = e;
+        head[lit] = e;
+    }
+
+    private void unlink(int e) {
+        int g = e >> 1, j = watch[e];
+        int prev = watchPrev[e], after = watchNext[e];
+        if (prev >= 0) watchNext[prev] = after;
+        else head[literal(slots[g][j], values[g][j])] = after;
+        if (after >= 0) watchPrev[after] = prev;
+    }
+
+    /** Nogoods held. */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Check the nogoods watching slot = bot, which was just assigned.
+     * @param failure gets the levels behind a violated nogood or a wipeout
+     * @return false if a nogood is violated or a unit nogood empties a domain
+     */
+    boolean assigned(int slot, int bot, BitSet failure) {
+        if (size == 0) return true;
+        for (int e = head[literal(slot, bot)]; e >= 0; ) {
+            int after = watchNext[e];
+            int g = e >> 1;
+            int[] s = slots[g], v = values[g];
+            int mine = watch[e], other = watch[e ^ 1];
+
+            // Move the watch to a literal that is not true, if there is one
+            int free = -1;
+            for (int j = 0; j < s.length && free < 0; j++) {
+                if (j != mine && j != other && assignment[s[j]] != v[j]) free = j;
+            }
+            if (free >= 0) {
+                unlink(e);
+                watch[e] = free;
+                link(e, literal(s[free], v[free]));
+                e = after;
+                continue;
+            }
+            e = after;
+
+            int os = s[other], ov = v[other];
+            if (assignment[os] == ov) {
+                // Every literal holds
+                addLevels(s, -1, failure);
+                return false;
+            }
+            if (assignment[os] == CSPFramework.UNASSIGNED && domains.contains(os, ov)) {
+                // Every literal but one holds: that one must not
+                reason.clear();
+                addLevels(s, other, reason);
+                conflicts.because(reason);
+                domains.remove(os, ov);
+                prunings++;
+                if (domains.isEmpty(os)) {
+                    conflicts.addPrunings(os, failure);
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Enforce the nogoods of one literal, which hold whatever else is
+     * assigned: prune their bot from their slot. Run at the root.
+     * @return false if such a literal holds or its pruning empties a domain
+     */
+    boolean units() {
+        if (size == 0) return true;
+        for (int g = 0; g < slots.length; g++) {
+            if (slots[g] == null || slots[g].length != 1) continue;
+            int slot = slots[g][0], bot = values[g][0];
+            if (assignment[slot] == bot) return false;
+            if (assignment[slot] == CSPFramework.UNASSIGNED && domains.contains(slot, bot)) {
+                conflicts.because(0);
+                domains.remove(slot, bot);
+                prunings++;
+                if (domains.isEmpty(slot)) return false;
+            }
+        }
+        return true;
+    }
+
+    /** The levels of the nogood's literals, except literal 'skip'. */
+    private void addLevels(int[] s, int skip, BitSet into) {
+        for (int j = 0; j < s.length; j++) {
+            int level = conflicts.level(s[j]);
+            if (j != skip && level > 0) into.set(level);
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.iitj.ai.assignment1.problem2;
+
+import com.iitj.ai.jobs.Deadline;
+import com.iitj.ai.jobs.JobScheduler;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * PortfolioSolver - Races several CSP strategies on the current problem and
+ * keeps the first schedule found.
+ *
+ * Every Strategy runs on its own thread (a JobScheduler with one run permit
+ * per strategy) on its own copy of the domains. The first strategy to
+ * produce a complete, valid schedule wins; the others are cancelled through
+ * their Deadline and stop at their next check. A complete strategy (every
+ * one but MIN_CONFLICTS) that runs out of values before its deadline and
+ * its assignment budget proves that no schedule exists, and that too ends
+ * the race at once. Backtracking runtimes are
+ * heavy-tailed: one value ordering may thrash on an instance that another
+ * ordering, or local search, solves at once, so the race is decided by the
+ * lucky strategy rather than the average one.
+ *
+ * Wins are counted per instance class (see instanceClass) for the life of
+ * the process; printWins() reports them.
+ *
+ * solve() is synchronized: one race runs at a time. Rescheduler takes the
+ * same lock before it changes the current problem, so a race never sees
+ * the problem swapped under it. BacktrackingSearch serializes its own
+ * calls on its own lock, so it may also run outside a race without a
+ * second search sharing its static state.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class PortfolioSolver {
+
+    /** The strategies raced. */
+    public enum Strategy {
+        MRV_FORWARD_CHECKING("Backtracking + Forward Checking", "MRV, bots in order", "Forward Checking"),
+        AC3_BACKTRACKING("AC-3 + Backtracking", "MRV, random value order", "AC-3 Arc Consistency Preprocessing"),
+        MAC("MAC", "MRV, bots in order", "Maintained Arc Consistency"),
+        MAC_RANDOM("MAC", "MRV, random value order", "Maintained Arc Consistency"),
+        MIN_CONFLICTS("Min-Conflicts", "Random conflicted slot", "Local search");
+
+        public final String algorithm;
+        public final String heuristic;
+        public final String inference;
+
+        Strategy(String algorithm, String heuristic, String inference) {
+            this.algorithm = algorithm;
+            this.heuristic = heuristic;
+            this.inference = inference;
+        }
+
+        /** True if running out of values proves that no schedule exists. */
+        public boolean complete() {
+            return this != MIN_CONFLICTS;
+        }
+    }
+
+    /** The outcome of one race. */
+    public static final class Result {
+        public final Strategy winner;       // null if no schedule exists or none was found in time
+        public final int[] assignment;
+        public final int work;              // the winner's assignments (or moves)
+        public final long nanos;
+        public final String instanceClass;
+
+        Result(Strategy winner, int[] assignment, int work, long nanos, String instanceClass) {
+            this.winner = winner;
+            this.assignment = assignment;
+            this.work = work;
+            this.nanos = nanos;
+            this.instanceClass = instanceClass;
+        }
+
+        public boolean solved() {
+            return winner != null;
+        }
+    }
+
+    private static final Map<String, Map<Strategy, Integer>> WINS = new ConcurrentHashMap<>();
+
+    private PortfolioSolver() {
+    }
+
+    /**
+     * Race all strategies on the current problem.
+     * @param seed seed of the race; each randomized strategy runs with its own seedOf(strategy, seed)
+     */
+    public static synchronized Result solve(Duration timeout, long seed) {
+        return solve(EnumSet.allOf(Strategy.class), timeout, seed);
+    }
+
+    public static synchronized Result solve(Set<Strategy> strategies, Duration timeout, long seed) {
+        long start = System.nanoTime();
+        String instanceClass = instanceClass();
+        CompletableFuture<Result> first = new CompletableFuture<>();
+        List<JobScheduler.Job<Boolean>> jobs = new ArrayList<>();
+        try (JobScheduler scheduler = new JobScheduler(strategies.size(), 0)) {
+            for (Strategy strategy : strategies) {
+                jobs.add(scheduler.submit(() -> {
+                    int[] assignment = CSPFramework.emptyAssignment();
+                    int work = run(strategy, assignment, seed);
+                    if (!isSolution(assignment)) {
+                        if (strategy.complete() && work < CSPFramework.assignmentLimit
+                                && !Deadline.current().expired()) {
+                            first.complete(new Result(null, null, 0, System.nanoTime() - start, instanceClass));
+                        }
+                        return false;
+                    }
+                    first.complete(new Result(strategy, assignment, work, System.nanoTime() - start, instanceClass));
+                    return true;
+                }, timeout, outcome -> false));
+            }
+            CompletableFuture.allOf(jobs.stream().map(JobScheduler.Job::result).toArray(CompletableFuture[]::new))
+                    .whenComplete((v, e) -> first.complete(
+                            new Result(null, null, 0, System.nanoTime() - start, instanceClass)));
+            Result result = first.join();
+            for (JobScheduler.Job<Boolean> job : jobs) job.cancel();
+            if (result.solved()) {
+                WINS.computeIfAbsent(instanceClass, k -> new ConcurrentHashMap<>())
+                        .merge(result.winner, 1, Integer::sum);
+            }
+            return result;
+        }
+    }
+
+    /** Run one strategy on fresh domains; returns its assignments (or moves). */
+    static int run(Strategy strategy, int[] assignment, long seed) {
+        Domains domains = CSPFramework.initDomains();
+        seed = seedOf(strategy, seed);
+        switch (strategy) {
+            case MRV_FORWARD_CHECKING:
+                return BacktrackingSearch.solve(assignment, domains);
+            case AC3_BACKTRACKING:
+                return ArcConsistency.solve(assignment, domains, new int[1], seed);
+            case MAC:
+            case MAC_RANDOM: {
+                MacSearch mac = new MacSearch(assignment, domains, strategy == Strategy.MAC ? 0 : seed);
+                mac.solve();
+                return mac.assignments();
+            }
+            default: {
+                MinConflicts local = new MinConflicts(assignment, domains, seed);
+                local.solve(Integer.MAX_VALUE);
+                return local.steps();
+            }
+        }
+    }
+
+    /**
+     * The seed a strategy runs with: the race's seed and the strategy mixed
+     * by the SplitMix64 finalizer. It is never 0 (bot order to MacSearch)
+     * and differs between strategies, so no two strategies of one race
+     * share a value order.
+     */
+    static long seedOf(Strategy strategy, long seed) {
+        long z = seed + (strategy.ordinal() + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        z ^= z >>> 31;
+        return z != 0 ? z : 1;
+    }
+
+    static boolean isSolution(int[] assignment) {
+        for (int bot : assignment) {
+            if (bot == CSPFramework.UNASSIGNED) return false;
+        }
+        return CSPFramework.checkNoBackToBack(assignment)
+                && CSPFramework.checkMaintenanceBreak(assignment)
+                && CSPFramework.checkMinimumCoverage(assignment);
+    }
+
+    // -------------------- Instance Classes --------------------
+
+    /**
+     * The class of the current problem: slots rounded up to a power of ten,
+     * the number of bots, and the share of (slot, bot) pairs excluded, to
+     * the nearest 10%. Example: "<= 10^4 slots x 100 bots, 20% excluded".
+     */
+    static String instanceClass() {
+        int n = CSPFramework.NUM_SLOTS, bots = CSPFramework.BOTS.length;
+        long allowed = 0;
+        for (int i = 0; i < n; i++) allowed += CSPFramework.ALLOWED.size(i);
+        long excluded = Math.round(10.0 * (1 - (double) allowed / ((long) n * bots))) * 10;
+        int power = 0;
+        for (long p = 1; p < n; p *= 10) power++;
+        return "<= 10^" + power + " slots x " + bots + " bots, " + excluded + "% excluded";
+    }
+
+    /** Wins of each strategy so far, by instance class. */
+    public static Map<String, Map<Strategy, Integer>> wins() {
+        Map<String, Map<Strategy, Integer>> copy = new TreeMap<>();
+        WINS.forEach((k, v) -> copy.put(k, new EnumMap<>(v)));
+        return copy;
+    }
+
+    static void printWins() {
+        System.out.println("Portfolio winners by instance class:");
+        wins().forEach((instanceClass, wins) -> {
+            StringJoiner line = new StringJoiner(", ");
+            wins.forEach((strategy, count) -> line.add(strategy + " x" + count));
+            System.out.println("  " + instanceClass + " : " + line);
+        });
+    }
+
+    // -------------------- Main --------------------
+
+    /** Race the strategies on each input file in turn, then print the wins by class. */
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) args = new String[]{"input.txt"};
+        for (String inputFile : args) {
+            CSPFramework.readInput(inputFile);
+            System.out.println("#".repeat(55));
+            System.out.println("# SECURITY BOT SCHEDULING - PORTFOLIO: " + inputFile);
+            System.out.println("# " + instanceClass());
+            System.out.println("#".repeat(55));
+            System.out.println();
+
+            Result result = solve(Duration.ofSeconds(30), 42L);
+            long timeMs = result.nanos / 1_000_000;
+            if (result.solved()) {
+                System.out.println("Winner: " + result.winner + " after " + timeMs + " ms");
+                CSPFramework.printResult(result.winner.algorithm + " (portfolio winner)",
+                        result.winner.heuristic, result.winner.inference,
+                        true, result.assignment, result.work, timeMs);
+            } else {
+                System.out.println("No strategy found a schedule in " + timeMs + " ms.");
+                System.out.println();
+            }
+        }
+        printWins();
+    }
+}
@@ -0,0 +1,383 @@
+package com.iitj.ai.assignment1.problem2;
+
+import java.util.*;
+
+/**
+ * Rescheduler - Mends a live schedule when the problem changes, instead of
+ * solving again from scratch.
+ *
+ * A Delta lists the changes: exclusions added (a bot goes into maintenance
+ * for some slots), exclusions lifted, and slots added. Slots are kept in
+ * number order, as readInput puts them. reschedule() makes the changed
+ * problem the current one (CSPFramework), carries the schedule over by
+ * slot number and then looks only at the slots the delta broke: those
+ * whose bot is now excluded, and the new slots.
+ *   1. With none broken, the schedule is kept: lifting an exclusion or
+ *      excluding an unscheduled bot cannot break a valid schedule.
+ *   2. A broken slot that allows no bot, or a bot that loses its last slot
+ *      and is allowed nowhere, means no schedule exists.
+ *   3. Otherwise a window of w slots on each side of every broken slot is
+ *      freed and refilled by a small backtracking search, against the bots
+ *      of the slots just outside it. Each slot tries its old bot first, and
+ *      the bots that worked no slot outside the window (Minimum Coverage)
+ *      must be placed inside it. w starts at 1 and doubles up to maxWindow.
+ *   4. If no window works within repairSteps values, a full search
+ *      (BacktrackingSearch) runs.
+ * Apart from finding the bots that would lose coverage (a scan for each
+ * freed bot that stops at its first other slot), the work is proportional
+ * to the delta, not to the schedule. Excluding or allowing bots edits the
+ * current domains in place; only added slots rebuild the slot arrays.
+ *
+ * The Result reports the new schedule, the slots whose bot changed and
+ * how long the repair took.
+ *
+ * reschedule() holds the PortfolioSolver lock, so it never swaps the
+ * problem while a race is reading it, and a race waits for the repair.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class Rescheduler {
+
+    /** Values the local repair may try, over all its windows, before the full search. */
+    static int repairSteps = 100_000;
+
+    /** Widest window, in slots on each side of a broken slot, of the local repair. */
+    static int maxWindow = 64;
+
+    // Outcomes of one local repair
+    private static final int REPAIRED = 0, NOT_REPAIRED = 1, NO_SCHEDULE = 2;
+
+    /** Changes to the current problem, by bot name and slot number. */
+    public static final class Delta {
+        private final List<String> excludedBots = new ArrayList<>();
+        private final List<Integer> excludedSlots = new ArrayList<>();
+        private final List<String> allowedBots = new ArrayList<>();
+        private final List<Integer> allowedSlots = new ArrayList<>();
+        private final Map<Integer, Set<String>> newSlots = new TreeMap<>();
+
+        /** The bot may no longer work these slots (BOT_X_NOT_IN). */
+        public void exclude(String bot, int... slotNumbers) {
+            for (int slot : slotNumbers) {
+                excludedBots.add(bot);
+                excludedSlots.add(slot);
+            }
+        }
+
+        /** The bot may work these slots again. */
+        public void allow(String bot, int... slotNumbers) {
+            for (int slot : slotNumbers) {
+                allowedBots.add(bot);
+                allowedSlots.add(slot);
+            }
+        }
+
+        /** Add a slot, placed by its number; the given bots may not work it. */
+        public void addSlot(int slotNumber, String... excluded) {
+            if (newSlots.put(slotNumber, new HashSet<>(Arrays.asList(excluded))) != null) {
+                throw new IllegalArgumentException("slot " + slotNumber + " added twice");
+            }
+        }
+    }
+
+    /** The outcome of reschedule(). */
+    public static final class Result {
+        public final int[] assignment;      // over the changed problem; the old schedule if none exists
+        public final boolean solved;
+        public final boolean local;         // kept or repaired, without the full search
+        public final int changedSlots;      // slots that were there before and now have another bot
+        public final int addedSlots;
+        public final int moves;             // values tried by the local repair
+        public final long nanos;
+
+        Result(int[] assignment, boolean solved, boolean local, int changedSlots, int addedSlots,
+               int moves, long nanos) {
+            this.assignment = assignment;
+            this.solved = solved;
+            this.local = local;
+            this.changedSlots = changedSlots;
+            this.addedSlots = addedSlots;
+            this.moves = moves;
+            this.nanos = nanos;
+        }
+    }
+
+    private Rescheduler() {
+    }
+
+    /**
+     * Apply the delta to the current problem and mend the schedule.
+     * @param current a valid schedule of the current problem; only the slots
+     *                the delta touches are checked
+     * @throws IllegalArgumentException if the delta names an unknown bot or
+     *         slot, or adds a slot that exists
+     */
+    public static Result reschedule(int[] current, Delta delta) {
+        synchronized (PortfolioSolver.class) {
+            long start = System.nanoTime();
+            int[] before = apply(current, delta);
+            int[] assignment = before.clone();
+            int[] broken = broken(assignment, delta);
+            int added = delta.newSlots.size();
+            if (broken.length == 0) {
+                return new Result(assignment, true, true, 0, added, 0, System.nanoTime() - start);
+            }
+            for (int s : broken) {
+                if (CSPFramework.ALLOWED.isEmpty(s)) {
+                    return new Result(before, false, false, 0, added, 0, System.nanoTime() - start);
+                }
+            }
+
+            int[] steps = new int[1];
+            int outcome = CSPFramework.withSearchStack(() -> {
+                for (int w = 1; w <= maxWindow && steps[0] < repairSteps; w *= 2) {
+                    int done = repair(assignment, before, window(broken, w), steps, w == 1);
+                    if (done != NOT_REPAIRED) return done;
+                }
+                return NOT_REPAIRED;
+            });
+            if (outcome == NO_SCHEDULE) {
+                return new Result(before, false, false, 0, added, steps[0], System.nanoTime() - start);
+            }
+            boolean local = outcome == REPAIRED;
+            boolean solved = local;
+            int[] result = assignment;
+            if (!local) {
+                result = CSPFramework.emptyAssignment();
+                BacktrackingSearch.solve(result, CSPFramework.initDomains());
+                solved = PortfolioSolver.isSolution(result);
+                if (!solved) result = before;
+            }
+            int changed = 0;
+            for (int s = 0; s < result.length; s++) {
+                if (before[s] != CSPFramework.UNASSIGNED && before[s] != result[s]) changed++;
+            }
+            return new Result(result, solved, local, changed, added, steps[0], System.nanoTime() - start);
+        }
+    }
+
+    /** The slots, in order, that the delta left without an allowed bot. */
+    private static int[] broken(int[] assignment, Delta delta) {
+        TreeSet<Integer> touched = new TreeSet<>();
+        for (int slot : delta.excludedSlots) touched.add(Arrays.binarySearch(CSPFramework.SLOT_NUMBERS, slot));
+        for (int slot : delta.newSlots.keySet()) touched.add(Arrays.binarySearch(CSPFramework.SLOT_NUMBERS, slot));
+        int[] broken = new int[touched.size()];
+        int n = 0;
+        for (int s : touched) {
+            int bot = assignment[s];
+            if (bot == CSPFramework.UNASSIGNED || !CSPFramework.ALLOWED.contains(s, bot)) broken[n++] = s;
+        }
+        return Arrays.copyOf(broken, n);
+    }
+
+    /** The slots within w of a broken slot, in order. */
+    private static int[] window(int[] broken, int w) {
+        int n = CSPFramework.NUM_SLOTS;
+        int[] slots = new int[Math.min(n, broken.length * (2 * w + 1))];
+        int size = 0, end = 0;                      // slots below 'end' are taken
+        for (int s : broken) {
+            for (int t = Math.max(end, s - w); t <= Math.min(n - 1, s + w); t++) slots[size++] = t;
+            end = Math.max(end, Math.min(n, s + w + 1));
+        }
+        return Arrays.copyOf(slots, size);
+    }
+
+    // -------------------- Local Repair --------------------
+
+    /**
+     * Free the window's slots and refill them, keeping the bots outside it.
+     * @param refute check that each bot needing a slot is allowed somewhere
+     * @return REPAIRED, NOT_REPAIRED (the window is left free) or NO_SCHEDULE
+     */
+    private static int repair(int[] assignment, int[] before, int[] window, int[] steps, boolean refute) {
+        for (int s : window) assignment[s] = CSPFramework.UNASSIGNED;
+
+        // Bots of the freed slots that work no slot outside the window
+        int bots = CSPFramework.BOTS.length;
+        boolean[] required = new boolean[bots];
+        int missing = 0;
+        for (int s : window) {
+            int bot = before[s];
+            if (bot == CSPFramework.UNASSIGNED || required[bot] || worksAnywhere(assignment, bot)) continue;
+            if (refute && !allowedAnywhere(bot)) return NO_SCHEDULE;
+            required[bot] = true;
+            missing++;
+        }
+        if (fill(assignment, before, window, 0, required, new int[bots], missing, steps)) return REPAIRED;
+        for (int s : window) assignment[s] = CSPFramework.UNASSIGNED;
+        return NOT_REPAIRED;
+    }
+
+    private static boolean worksAnywhere(int[] assignment, int bot) {
+        for (int s = 0; s < assignment.length; s++) {
+            if (assignment[s] == bot) return true;
+        }
+        return false;
+    }
+
+    private static boolean allowedAnywhere(int bot) {
+        for (int s = 0; s < CSPFramework.NUM_SLOTS; s++) {
+            if (CSPFramework.ALLOWED.contains(s, bot)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Backtracking over window[i..], left to right. A slot tries its old bot
+     * first, then the rest in id order, leaving the old bot of the next slot
+     * for last so that slot can keep it; 'missing' required bots must still
+     * be placed.
+     */
+    private static boolean fill(int[] assignment, int[] before, int[] window, int i,
+                                boolean[] required, int[] placed, int missing, int[] steps) {
+        if (i == window.length) return missing == 0;
+        if (window.length - i < missing || steps[0] >= repairSteps) return false;
+        int s = window[i];
+        int old = before[s];
+        if (old != CSPFramework.UNASSIGNED
+                && tryValue(assignment, before, window, i, old, required, placed, missing, steps)) {
+            return true;
+        }
+        int keep = i + 1 < window.length && window[i + 1] == s + 1 ? before[s + 1] : CSPFramework.UNASSIGNED;
+        for (int b = CSPFramework.ALLOWED.first(s); b >= 0; b = CSPFramework.ALLOWED.next(s, b + 1)) {
+            if (b != old && b != keep
+                    && tryValue(assignment, before, window, i, b, required, placed, missing, steps)) {
+                return true;
+            }
+        }
+        return keep != CSPFramework.UNASSIGNED && keep != old && CSPFramework.ALLOWED.contains(s, keep)
+                && tryValue(assignment, before, window, i, keep, required, placed, missing, steps);
+    }
+
+    private static boolean tryValue(int[] assignment, int[] before, int[] window, int i, int bot,
+                                    boolean[] required, int[] placed, int missing, int[] steps) {
+        int s = window[i];
+        if (!CSPFramework.isConsistent(assignment, s, bot)) return false;
+        steps[0]++;
+        assignment[s] = bot;
+        int left = required[bot] && placed[bot]++ == 0 ? missing - 1 : missing;
+        if (fill(assignment, before, window, i + 1, required, placed, left, steps)) return true;
+        if (required[bot]) placed[bot]--;
+        assignment[s] = CSPFramework.UNASSIGNED;
+        return false;
+    }
+
+    // -------------------- Applying a Delta --------------------
+
+    /**
+     * Make the changed problem current.
+     * @return the old schedule over the new slots (new slots unassigned)
+     */
+    static int[] apply(int[] current, Delta delta) {
+        int oldSlots = CSPFramework.NUM_SLOTS;
+        if (current.length != oldSlots) throw new IllegalArgumentException("need one bot per slot");
+        int[] numbers;
+        String[] names = null;
+        Domains allowed;
+        int[] assignment;
+        if (delta.newSlots.isEmpty()) {
+            numbers = CSPFramework.SLOT_NUMBERS;
+            allowed = CSPFramework.ALLOWED;             // edited in place below
+            assignment = current.clone();
+        } else {
+            // Merge the new slot numbers into the old ones, both in order,
+            // carrying over the names, the domains and the schedule
+            int[] old = CSPFramework.SLOT_NUMBERS;
+            int bots = CSPFramework.BOTS.length;
+            Iterator<Map.Entry<Integer, Set<String>>> added = delta.newSlots.entrySet().iterator();
+            Map.Entry<Integer, Set<String>> next = added.next();
+            numbers = new int[oldSlots + delta.newSlots.size()];
+            names = new String[numbers.length];
+            allowed = new Domains(numbers.length, bots);
+            assignment = new int[numbers.length];
+            for (int i = 0, j = 0; i < numbers.length; i++) {
+                if (next != null && j < oldSlots && old[j] == next.getKey()) {
+                    throw new IllegalArgumentException("slot " + next.getKey() + " already exists");
+                }
+                if (next == null || (j < oldSlots && old[j] < next.getKey())) {
+                    numbers[i] = old[j];
+                    names[i] = CSPFramework.SLOT_NAMES[j];
+                    allowed.copySlot(i, CSPFramework.ALLOWED, j);
+                    assignment[i] = current[j++];
+                } else {
+                    numbers[i] = next.getKey();
+                    names[i] = "Slot" + numbers[i];
+                    for (int b = 0; b < bots; b++) allowed.add(i, b);
+                    for (String bot : next.getValue()) allowed.remove(i, botId(bot));
+                    assignment[i] = CSPFramework.UNASSIGNED;
+                    next = added.hasNext() ? added.next() : null;
+                }
+            }
+        }
+
+        // Exclusions are checked before any is applied, so a bad delta changes nothing
+        int excludes = delta.excludedBots.size();
+        int[] ids = new int[excludes + delta.allowedBots.size()];
+        int[] slots = new int[ids.length];
+        for (int j = 0; j < ids.length; j++) {
+            ids[j] = botId(j < excludes ? delta.excludedBots.get(j) : delta.allowedBots.get(j - excludes));
+            int slot = j < excludes ? delta.excludedSlots.get(j) : delta.allowedSlots.get(j - excludes);
+            slots[j] = Arrays.binarySearch(numbers, slot);
+            if (slots[j] < 0) throw new IllegalArgumentException("unknown slot " + slot);
+        }
+        for (int j = 0; j < ids.length; j++) {
+            if (j < excludes) allowed.remove(slots[j], ids[j]);
+            else allowed.add(slots[j], ids[j]);
+        }
+        if (names != null) CSPFramework.replaceSlots(numbers, names, allowed);
+        return assignment;
+    }
+
+    private static int botId(String name) {
+        int b = CSPFramework.botId(name);
+        if (b < 0) throw new IllegalArgumentException("unknown bot " + name);
+        return b;
+    }
+
+    // -------------------- Main --------------------
+
+    /**
+     * Solve the input, then send a bot into maintenance for some slots and
+     * reschedule. Usage: Rescheduler input.txt bot slot...
+     */
+    public static void main(String[] args) throws Exception {
+        String inputFile = args.length > 0 ? args[0] : "input.txt";
+        CSPFramework.readInput(inputFile);
+        String bot = args.length > 1 ? args[1] : CSPFramework.BOTS[0];
+        int[] slots = new int[Math.max(1, args.length - 2)];
+        slots[0] = CSPFramework.SLOT_NUMBERS[0];
+        for (int i = 2; i < args.length; i++) slots[i - 2] = Integer.parseInt(args[i]);
+
+        System.out.println("#".repeat(55));
+        System.out.println("# SECURITY BOT SCHEDULING - CSP");
+        System.out.println("# Incremental Rescheduling");
+        System.out.println("#".repeat(55));
+        System.out.println();
+
+        int[] schedule = CSPFramework.emptyAssignment();
+        long startTime = System.nanoTime();
+        BacktrackingSearch.solve(schedule, CSPFramework.initDomains());
+        long solveMs = (System.nanoTime() - startTime) / 1_000_000;
+        if (!PortfolioSolver.isSolution(schedule)) {
+            System.out.println("No valid schedule to start from.");
+            return;
+        }
+        System.out.println("Schedule  [" + solveMs + " ms from scratch]:");
+        CSPFramework.printAssignment(schedule);
+        System.out.println();
+
+        Delta delta = new Delta();
+        delta.exclude(bot, slots);
+        Result result = reschedule(schedule, delta);
+        System.out.println("Bot " + bot + " goes into maintenance for slots " + Arrays.toString(slots) + ":");
+        if (!result.solved) {
+            System.out.println("No valid schedule exists any more.");
+            return;
+        }
+        System.out.println("Rescheduled " + (result.local ? "locally" : "by full search")
+                + ": " + result.changedSlots + " slot(s) changed, " + result.moves + " value(s) tried, "
+                + String.format("%.3f", result.nanos / 1e6) + " ms");
+        CSPFramework.printAssignment(result.assignment);
+        System.out.println();
+    }
+}
@@ -1,8 +1,11 @@
+package com.iitj.ai.assignment1.problem2;
+
 /**
  * SecurityBotCSP - Master runner for all CSP algorithms.
  * Runs Backtracking+MRV+FC, AC-3, and Forward Checking demo.
  *
  * Usage: javac *.java && java SecurityBotCSP [input.txt]
+ *        java SecurityBotCSP --portfolio input.txt...   (race the solvers, see PortfolioSolver)
  *
  * Student : Suresh Babu Gandla | Roll No : 123245
  * IIT Jodhpur - M.Tech Programme
@@ -10,6 +13,10 @@
 public class SecurityBotCSP {
 
     public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--portfolio")) {
+            PortfolioSolver.main(java.util.Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
         String inputFile = args.length > 0 ? args[0] : "input.txt";
 
         System.out.println("#".repeat(55));
@@ -0,0 +1,76 @@
+package com.iitj.ai.assignment1.problem2;
+
+import java.util.*;
+
+/**
+ * Trail - An undo stack of domain removals, for searches that prune and
+ * then backtrack.
+ *
+ * Once a Trail is attached to a Domains, every value it removes (remove,
+ * removeAll, clear) is pushed here as (word index, bits removed). A search
+ * takes mark() before an assignment, and restore(mark) puts back everything
+ * removed since, whether by forward checking or AC propagation. Memory is
+ * one entry per changed word, and the arrays only grow, so a search that has
+ * warmed up allocates nothing per node.
+ *
+ * Listeners hear about every removal and restore as it happens, with the
+ * bits concerned, so incremental bookkeeping (MRV buckets, coverage support
+ * counts) stays in step with the domains in both directions.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class Trail {
+
+    /** Told of each change: 'bits' of word 'word' (bots 64 * word + bit) in the slot's domain. */
+    public interface Listener {
+        void removed(int slot, int word, long bits);
+
+        void restored(int slot, int word, long bits);
+    }
+
+    private final Domains domains;
+    private final Listener[] listeners;
+    private int[] words = new int[64];       // entry k: bits index in the domains
+    private long[] removed = new long[64];   //          the bits removed there
+    private int size;
+
+    /** Attach a new trail to domains; changes are reported to the listeners in order. */
+    public Trail(Domains domains, Listener... listeners) {
+        this.domains = domains;
+        this.listeners = listeners;
+        domains.trail = this;
+    }
+
+    /** Stop recording removals. */
+    public void detach() {
+        if (domains.trail == this) domains.trail = null;
+    }
+
+    /** Called by Domains after clearing 'bits' of word 'index'. */
+    void push(int index, long bits) {
+        if (size == words.length) {
+            words = Arrays.copyOf(words, size * 2);
+            removed = Arrays.copyOf(removed, size * 2);
+        }
+        words[size] = index;
+        removed[size++] = bits;
+        int slot = domains.slotOf(index), word = domains.wordOf(index);
+        for (Listener l : listeners) l.removed(slot, word, bits);
+    }
+
+    /** The current level, to restore to later. */
+    public int mark() {
+        return size;
+    }
+
+    /** Put back every value removed since mark, newest first. */
+    public void restore(int mark) {
+        while (size > mark) {
+            size--;
+            domains.restore(words[size], removed[size]);
+            int slot = domains.slotOf(words[size]), word = domains.wordOf(words[size]);
+            for (Listener l : listeners) l.restored(slot, word, removed[size]);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.iitj.ai.input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * MappedLines - Line-by-line parsing of a memory-mapped text file, split
+ * into chunks that are parsed in parallel.
+ *
+ * Chunking: the file is cut at equal byte offsets and every cut is moved
+ * forward to just after the next '\n', so each line lies in exactly one
+ * chunk. Every chunk is parsed into its own result object (no sharing, no
+ * locks) and the chunks come back in file order.
+ *
+ * Lines: a line ends at '\n', and a trailing '\r' is not part of it. A parser
+ * sees a byte range of the shared read-only buffer (absolute gets only),
+ * never a String. Line numbers passed to a parser count from 1 within its
+ * chunk; add Chunk.firstLine - 1 for the line number in the file.
+ *
+ * Errors: parsers record bad lines in a ParseErrors instead of throwing, so
+ * one bad line costs no more than a good one and every bad line is reported.
+ *
+ * A file is mapped as one buffer, so it must be smaller than 2 GB.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class MappedLines {
+
+    /** Chunks smaller than this are not worth a task of their own. */
+    static final int MIN_CHUNK = 1 << 16;
+
+    private MappedLines() {
+    }
+
+    /** Parses one line into a chunk's result. */
+    public interface LineParser<R> {
+        /**
+         * @param text the whole file; the line is bytes [from, to)
+         * @param line 1-based line number within the chunk
+         */
+        void line(ByteBuffer text, int from, int to, int line, R out);
+    }
+
+    /** Result of one chunk. */
+    public static final class Chunk<R> {
+        public final R result;
+        public final int lines;     // lines in this chunk
+        public int firstLine;       // file line number of its first line
+
+        Chunk(R result, int lines) {
+            this.result = result;
+            this.lines = lines;
+        }
+    }
+
+    // -------------------- Mapping --------------------
+
+    /** Map a file read-only; the mapping stays valid after the channel is closed. */
+    public static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size > Integer.MAX_VALUE) throw new IOException(file + " is larger than 2 GB");
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /** Chunk boundaries: cuts[i] .. cuts[i + 1] is chunk i, every cut just after a '\n'. */
+    static int[] cuts(ByteBuffer text, int parts) {
+        int n = text.limit();
+        parts = Math.max(1, Math.min(parts, n / MIN_CHUNK + 1));
+        int[] cuts = new int[parts + 1];
+        cuts[parts] = n;
+        for (int i = 1; i < parts; i++) {
+            int c = Math.max(Math.max(cuts[i - 1], 1), (int) ((long) n * i / parts));
+            while (c < n && text.get(c - 1) != '\n') c++;
+            cuts[i] = c;
+        }
+        return cuts;
+    }
+
+    // -------------------- Parsing --------------------
+
+    /**
+     * Parse every line of text with up to 'parts' chunks in parallel.
+     * @param results creates one empty result per chunk
+     * @return the chunks in file order, with firstLine set
+     */
+    public static <R> List<Chunk<R>> parse(ByteBuffer text, int parts, Supplier<R> results,
+                                           LineParser<R> parser) {
+        int[] cuts = cuts(text, parts);
+        List<Chunk<R>> chunks = new ArrayList<>(cuts.length - 1);
+        if (cuts.length == 2) {
+            chunks.add(parseRange(text, 0, cuts[1], results.get(), parser));
+        } else {
+            List<Callable<Chunk<R>>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < cuts.length; i++) {
+                int from = cuts[i], to = cuts[i + 1];
+                tasks.add(() -> parseRange(text, from, to, results.get(), parser));
+            }
+            for (Future<Chunk<R>> f : ForkJoinPool.commonPool().invokeAll(tasks)) {
+                try {
+                    chunks.add(f.get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("interrupted while parsing");
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                    throw new IllegalStateException(cause);
+                }
+            }
+        }
+        int line = 1;
+        for (Chunk<R> c : chunks) {
+            c.firstLine = line;
+            line += c.lines;
+        }
+        return chunks;
+    }
+
+    private static <R> Chunk<R> parseRange(ByteBuffer text, int from, int to, R out,
+                                           LineParser<R> parser) {
+        int line = 0, start = from;
+        for (int i = from; i < to; i++) {
+            if (text.get(i) != '\n') continue;
+            parser.line(text, start, trimCR(text, start, i), ++line, out);
+            start = i + 1;
+        }
+        if (start < to) parser.line(text, start, trimCR(text, start, to), ++line, out);
+        return new Chunk<>(out, line);
+    }
+
+    // -------------------- Byte Helpers --------------------
+
+    /** End of the line [from, to) without a trailing '\r'. */
+    public static int trimCR(ByteBuffer text, int from, int to) {
+        return to > from && text.get(to - 1) == '\r' ? to - 1 : to;
+    }
+
+    /** First index in [from, to) that is not a space or tab, or to. */
+    public static int skipBlanks(ByteBuffer text, int from, int to) {
+        while (from < to && (text.get(from) == ' ' || text.get(from) == '\t')) from++;
+        return from;
+    }
+
+    /** True if bytes [from, to) start with the ASCII prefix. */
+    public static boolean startsWith(ByteBuffer text, int from, int to, String prefix) {
+        if (to - from < prefix.length()) return false;
+        for (int i = 0; i < prefix.length(); i++) {
+            if (text.get(from + i) != prefix.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /** Last index + 1 in [from, to) that is not a space or tab, or from. */
+    public static int trimBlanks(ByteBuffer text, int from, int to) {
+        while (to > from && (text.get(to - 1) == ' ' || text.get(to - 1) == '\t')) to--;
+        return to;
+    }
+
+    /** True if bytes [from, to) are exactly the ASCII string s. */
+    public static boolean equalsAscii(ByteBuffer text, int from, int to, String s) {
+        return to - from == s.length() && startsWith(text, from, to, s);
+    }
+
+    /** Bytes [from, to) as an ASCII string, with surrounding blanks removed. */
+    public static String ascii(ByteBuffer text, int from, int to) {
+        from = skipBlanks(text, from, to);
+        to = trimBlanks(text, from, to);
+        byte[] b = new byte[to - from];
+        text.get(from, b);
+        return new String(b, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,42 @@
+package com.iitj.ai.input;
+
+import java.util.Arrays;
+
+/**
+ * ParseErrors - Bad input lines, recorded as (line number, error code)
+ * pairs in primitive arrays. The parser owns the meaning of the codes and
+ * turns them into messages only when the errors are reported.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class ParseErrors {
+
+    private int[] lines = new int[4];
+    private int[] codes = new int[4];
+    private int size;
+
+    public void add(int line, int code) {
+        if (size == lines.length) {
+            lines = Arrays.copyOf(lines, size * 2);
+            codes = Arrays.copyOf(codes, size * 2);
+        }
+        lines[size] = line;
+        codes[size++] = code;
+    }
+
+    /** Append another chunk's errors, shifting their line numbers by lineOffset. */
+    public void addAll(ParseErrors other, int lineOffset) {
+        for (int i = 0; i < other.size; i++) add(other.lines[i] + lineOffset, other.codes[i]);
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public int line(int i) { return lines[i]; }
+    public int code(int i) { return codes[i]; }
+
+    /** "line 12: message" for error i, with messages indexed by code. */
+    public String describe(int i, String[] messages) {
+        return "line " + lines[i] + ": " + messages[codes[i]];
+    }
+}
@@ -0,0 +1,75 @@
+package com.iitj.ai.jobs;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Deadline - Cooperative cancellation for one solver call.
+ *
+ * A Deadline is bound to the thread that runs the solve (call). The search
+ * loops look it up once per call (current) and then poll expired() every
+ * CHECK_INTERVAL expansions; when it reports true they stop and return the
+ * best partial result they have. Nothing is interrupted, so a solver always
+ * leaves its per-thread workspace in a reusable state.
+ *
+ * A Deadline expires when its time runs out or when cancel() is called,
+ * whichever comes first; cancelled() tells the two apart.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class Deadline {
+
+    /** Expansions between two deadline checks in the search loops (power of two). */
+    public static final int CHECK_INTERVAL = 1 << 10;
+    public static final int CHECK_MASK = CHECK_INTERVAL - 1;
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long expiresAt;          // System.nanoTime() value
+    private volatile boolean cancelled;
+
+    private Deadline(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /** A deadline the given time from now. */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /** The deadline of the solve running on this thread, or null if it has none. */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /** Run work with this deadline bound to the calling thread. */
+    public <T> T call(Supplier<T> work) {
+        Deadline outer = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return work.get();
+        } finally {
+            if (outer == null) CURRENT.remove();
+            else CURRENT.set(outer);
+        }
+    }
+
+    /** Stop the solve at its next check. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean cancelled() {
+        return cancelled;
+    }
+
+    public boolean expired() {
+        return cancelled || System.nanoTime() - expiresAt >= 0;
+    }
+
+    /** Nanoseconds left, 0 once expired. */
+    public long remainingNanos() {
+        return cancelled ? 0 : Math.max(0, expiresAt - System.nanoTime());
+    }
+}
@@ -0,0 +1,184 @@
+package com.iitj.ai.jobs;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * JobScheduler - Runs solver jobs on virtual threads with admission
+ * control and per-job deadlines.
+ *
+ * Design:
+ *   Admission : at most maxConcurrent + queueCapacity jobs are accepted at a
+ *               time. A job submitted beyond that is rejected at once, so a
+ *               burst of hard instances cannot grow an unbounded backlog.
+ *   Queue     : every accepted job gets its own virtual thread, which parks
+ *               on a fair semaphore until one of the maxConcurrent run
+ *               permits is free. A parked virtual thread costs a few hundred
+ *               bytes, so the queue is simply the set of waiting threads.
+ *   Running   : the solvers are CPU-bound and never block, so more running
+ *               jobs than cores would only time-slice them; maxConcurrent
+ *               defaults to the number of processors.
+ *   Deadlines : the Deadline starts at submission, so queueing time counts.
+ *               A job whose deadline passes in the queue is not run; a
+ *               running job sees it through its cooperative checks and
+ *               returns its best partial result.
+ *
+ * A job that never runs completes with fallback(Outcome) instead.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class JobScheduler implements AutoCloseable {
+
+    /** Why a job completed without running. */
+    public enum Outcome {
+        REJECTED,    // admission queue full
+        EXPIRED,     // deadline passed while queued
+        CANCELLED    // cancelled while queued
+    }
+
+    private final ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore admitted;
+    private final Semaphore running;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+
+    /**
+     * @param maxConcurrent jobs running at once
+     * @param queueCapacity jobs allowed to wait for a run permit
+     */
+    public JobScheduler(int maxConcurrent, int queueCapacity) {
+        if (maxConcurrent <= 0) throw new IllegalArgumentException("maxConcurrent must be > 0");
+        if (queueCapacity < 0) throw new IllegalArgumentException("queueCapacity must be >= 0");
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+        this.admitted = new Semaphore(maxConcurrent + queueCapacity);
+        this.running = new Semaphore(maxConcurrent, true);
+    }
+
+    /** A submitted job: its eventual result and a handle to cancel it. */
+    public static final class Job<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final Deadline deadline;
+        private volatile Thread waiter;   // set while the job waits for a run permit
+
+        Job(Deadline deadline) {
+            this.deadline = deadline;
+        }
+
+        public CompletableFuture<T> result() {
+            return result;
+        }
+
+        public Deadline deadline() {
+            return deadline;
+        }
+
+        /** Cancel the job: a queued job never runs, a running one stops at its next check. */
+        public void cancel() {
+            deadline.cancel();
+            Thread w = waiter;
+            if (w != null) w.interrupt();
+        }
+    }
+
+    // -------------------- Submission --------------------
+
+    /**
+     * Run work with a deadline of timeout from now.
+     * @param fallback result for a job that is rejected, expires or is cancelled before it runs
+     */
+    public <T> Job<T> submit(Supplier<? extends T> work, Duration timeout,
+                             Function<Outcome, ? extends T> fallback) {
+        submitted.increment();
+        Job<T> job = new Job<>(Deadline.after(timeout));
+        if (!admitted.tryAcquire()) {
+            rejected.increment();
+            job.result.complete(fallback.apply(Outcome.REJECTED));
+            return job;
+        }
+        try {
+            threads.execute(() -> run(job, work, fallback));
+        } catch (RejectedExecutionException e) {   // closed
+            admitted.release();
+            rejected.increment();
+            job.result.complete(fallback.apply(Outcome.REJECTED));
+        }
+        return job;
+    }
+
+    private <T> void run(Job<T> job, Supplier<? extends T> work,
+                         Function<Outcome, ? extends T> fallback) {
+        try {
+            if (!awaitPermit(job)) {
+                if (!job.deadline.cancelled()) expired.increment();
+                job.result.complete(fallback.apply(
+                        job.deadline.cancelled() ? Outcome.CANCELLED : Outcome.EXPIRED));
+                return;
+            }
+            try {
+                job.result.complete(job.deadline.call(work));
+                completed.increment();
+            } finally {
+                running.release();
+            }
+        } catch (Throwable t) {
+            job.result.completeExceptionally(t);
+        } finally {
+            admitted.release();
+        }
+    }
+
+    /** Wait for a run permit until the job's deadline; false if it expired or was cancelled first. */
+    private boolean awaitPermit(Job<?> job) {
+        job.waiter = Thread.currentThread();
+        try {
+            if (job.deadline.expired()) return false;
+            if (!running.tryAcquire(job.deadline.remainingNanos(), TimeUnit.NANOSECONDS)) return false;
+            if (job.deadline.expired()) {
+                running.release();
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            return false;   // cancel()
+        } finally {
+            job.waiter = null;
+            Thread.interrupted();
+        }
+    }
+
+    // -------------------- Statistics --------------------
+
+    public int maxConcurrent() { return maxConcurrent; }
+    public int queueCapacity() { return queueCapacity; }
+
+    /** Jobs currently running. */
+    public int running() {
+        return maxConcurrent - running.availablePermits();
+    }
+
+    /** Jobs accepted and waiting for a run permit. */
+    public int queued() {
+        return Math.max(0, maxConcurrent + queueCapacity - admitted.availablePermits() - running());
+    }
+
+    public long submitted() { return submitted.sum(); }
+    public long rejected() { return rejected.sum(); }
+    public long expired() { return expired.sum(); }
+    public long completed() { return completed.sum(); }
+
+    /** Stop accepting jobs and wait for the accepted ones; their deadlines bound the wait. */
+    @Override
+    public void close() {
+        threads.close();
+    }
+}
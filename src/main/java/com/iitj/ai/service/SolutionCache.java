@@ -0,0 +1,209 @@
+package com.iitj.ai.service;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * SolutionCache - Bounded, concurrent, size-aware LRU cache with
+ * single-flight loading.
+ *
+ * Design:
+ *   Segments    : the key space is split over independent segments, each an
+ *                 access-ordered LinkedHashMap behind its own lock, so
+ *                 lookups on different keys rarely contend.
+ *   Size bound  : every entry is weighed in bytes when stored; a segment
+ *                 evicts its least recently used entries until it is back
+ *                 under maxBytes / segments.
+ *   Single-flight: a miss registers a CompletableFuture for the key. Other
+ *                 callers asking for the same key while it loads wait for
+ *                 that future instead of loading it again.
+ *
+ * Failed loads are not cached; every waiter sees the same exception. A
+ * loaded value can also be handed to the waiters without being stored
+ * (get with a keep predicate), e.g. a partial result cut short by a deadline.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class SolutionCache<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final ToLongFunction<? super V> weigher;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder joins = new LongAdder();       // waited for another caller's load
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxBytes     total weight budget over all segments
+     * @param segmentCount number of independently locked segments (power of two)
+     * @param weigher      estimated bytes held by one value
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SolutionCache(long maxBytes, int segmentCount, ToLongFunction<? super V> weigher) {
+        if (maxBytes <= 0) throw new IllegalArgumentException("maxBytes must be > 0");
+        if (segmentCount <= 0 || Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("segmentCount must be a power of two");
+        }
+        this.weigher = weigher;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) segments[i] = new Segment<>(maxBytes / segmentCount);
+    }
+
+    // -------------------- Lookup --------------------
+
+    /** Cached value, or null. Counts as a hit only if found. */
+    public V getIfPresent(K key) {
+        V value = segmentFor(key).get(key);
+        if (value != null) hits.increment();
+        return value;
+    }
+
+    /**
+     * Cached value for key, loading it on a miss. Concurrent calls for the
+     * same missing key share one load.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return get(key, loader, v -> true);
+    }
+
+    /**
+     * Same as get(key, loader), but a loaded value is only stored if keep
+     * accepts it; callers waiting for the load receive it either way.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader, Predicate<? super V> keep) {
+        Segment<K, V> segment = segmentFor(key);
+        V value = segment.get(key);
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            joins.increment();
+            return await(running);
+        }
+        try {
+            value = segment.get(key);   // stored between our miss and putIfAbsent
+            if (value != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+                value = loader.apply(key);
+                if (value == null) throw new NullPointerException("loader returned null for " + key);
+                if (keep.test(value)) segment.put(key, value, weigher.applyAsLong(value), evictions);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw e;
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        return segments[h & (segments.length - 1)];
+    }
+
+    // -------------------- Statistics --------------------
+
+    public long hits() { return hits.sum(); }
+    public long misses() { return misses.sum(); }
+    public long joins() { return joins.sum(); }
+    public long evictions() { return evictions.sum(); }
+
+    public long size() {
+        long n = 0;
+        for (Segment<K, V> s : segments) n += s.size();
+        return n;
+    }
+
+    public long bytes() {
+        long n = 0;
+        for (Segment<K, V> s : segments) n += s.bytes();
+        return n;
+    }
+
+    public void clear() {
+        for (Segment<K, V> s : segments) s.clear();
+    }
+
+    // -------------------- Segment --------------------
+
+    /** One LRU segment: an access-ordered map plus the weight it holds. */
+    private static final class Segment<K, V> {
+        private final long maxBytes;
+        private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+        private long bytes = 0;
+
+        Segment(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized V get(K key) {
+            Entry<V> e = map.get(key);
+            return e == null ? null : e.value;
+        }
+
+        synchronized void put(K key, V value, long weight, LongAdder evictions) {
+            if (weight > maxBytes) return;           // would evict everything else
+            Entry<V> old = map.put(key, new Entry<>(value, weight));
+            if (old != null) bytes -= old.weight;
+            bytes += weight;
+            Iterator<Entry<V>> eldest = map.values().iterator();
+            while (bytes > maxBytes) {
+                bytes -= eldest.next().weight;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+
+        synchronized long bytes() {
+            return bytes;
+        }
+
+        synchronized void clear() {
+            map.clear();
+            bytes = 0;
+        }
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long weight;
+
+        Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.iitj.ai.service;
+
+import com.iitj.ai.assignment1.problem1.SearchResult;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * SolveController - Local HTTP/JSON endpoint for the puzzle solvers.
+ *
+ *   GET  /solve?board=123;B46;758[&goal=...][&algorithm=astar-h2][&timeoutMs=2000]
+ *   POST /solve   {"board": "...", "goal": "...", "algorithm": "...", "timeoutMs": 2000}
+ *   GET  /solve/next?board=...[&goal=...]   optimal next move from the policy table
+ *   GET  /solve/algorithms
+ *
+ * Malformed boards and unknown algorithms answer 400 with {"error": ...}.
+ * A solve that hits its deadline answers 200 with status TIMED_OUT and the
+ * best partial path (pathLength -1 if it expired before it started); a
+ * request turned away by a full job queue answers 503 with status REJECTED
+ * and a Retry-After header.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+@RestController
+@RequestMapping("/solve")
+public class SolveController {
+
+    private final SolveService service;
+
+    public SolveController(SolveService service) {
+        this.service = service;
+    }
+
+    /** POST body. */
+    public static class SolveRequest {
+        public String board;
+        public String goal;
+        public String algorithm;
+        public Long timeoutMs;
+    }
+
+    @GetMapping
+    public ResponseEntity<SolveResponse> solve(@RequestParam String board,
+                                               @RequestParam(required = false) String goal,
+                                               @RequestParam(required = false) String algorithm,
+                                               @RequestParam(required = false) Long timeoutMs) {
+        SolveService.Solution s = service.solve(board, goal, algorithm,
+                timeoutMs == null ? null : Duration.ofMillis(timeoutMs));
+        SolveResponse body = new SolveResponse(s.result, s.cached);
+        if (s.result.status == SearchResult.Status.REJECTED) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1").body(body);
+        }
+        return ResponseEntity.ok(body);
+    }
+
+    @PostMapping
+    public ResponseEntity<SolveResponse> solve(@RequestBody SolveRequest request) {
+        return solve(request.board, request.goal, request.algorithm, request.timeoutMs);
+    }
+
+    /** {"move": "Up"}, or {"move": null} at the goal. */
+    @GetMapping("/next")
+    public Map<String, String> next(@RequestParam String board,
+                                    @RequestParam(required = false) String goal) {
+        return Collections.singletonMap("move", service.nextMove(board, goal));
+    }
+
+    @GetMapping("/algorithms")
+    public Set<String> algorithms() {
+        return service.algorithms();
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, String>> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Map.of("error", e.getMessage()));
+    }
+}
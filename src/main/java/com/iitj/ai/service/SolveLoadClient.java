@@ -0,0 +1,160 @@
+package com.iitj.ai.service;
+
+import com.iitj.ai.assignment1.problem1.PuzzleState;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SolveLoadClient - Load test for a running solve service.
+ *
+ *   1. Miss phase: every board of a set of distinct random scrambles is
+ *      requested once, so each request runs a solver (miss-path throughput).
+ *   2. Hit phase : the same boards are requested again 'rounds' times and
+ *      are answered from the cache (hit-path latency).
+ * Both phases use 'threads' concurrent clients and report requests/s and
+ * p50 / p90 / p99 / max latency.
+ *
+ * Usage: start the application (mvn spring-boot:run), then
+ *        java -cp target/classes com.iitj.ai.service.SolveLoadClient
+ *             [baseUrl] [boards] [threads] [algorithm] [rounds]
+ *        defaults: http://127.0.0.1:8080 2000 4 astar-h2 5
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class SolveLoadClient {
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(java.time.Duration.ofSeconds(5))
+            .build();
+    private final String baseUrl;
+    private final String algorithm;
+
+    SolveLoadClient(String baseUrl, String algorithm) {
+        this.baseUrl = baseUrl;
+        this.algorithm = algorithm;
+    }
+
+    /** Phase statistics. */
+    static class Phase {
+        final long[] latencies;   // nanoseconds, sorted
+        final double seconds;
+        final int cached;
+        final int errors;
+
+        Phase(long[] latencies, double seconds, int cached, int errors) {
+            this.latencies = latencies;
+            this.seconds = seconds;
+            this.cached = cached;
+            this.errors = errors;
+        }
+
+        double percentileMs(double p) {
+            if (latencies.length == 0) return 0;
+            int i = (int) Math.ceil(p / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(i, latencies.length - 1))] / 1e6;
+        }
+    }
+
+    // -------------------- Requests --------------------
+
+    /** GET /solve for one board; returns the body, or null on a non-200 answer. */
+    String solve(String board) throws Exception {
+        URI uri = URI.create(baseUrl + "/solve?algorithm=" + algorithm
+                + "&board=" + URLEncoder.encode(board, StandardCharsets.UTF_8));
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        return response.statusCode() == 200 ? response.body() : null;
+    }
+
+    /** Request every board 'rounds' times from 'threads' workers. */
+    Phase run(List<String> boards, int rounds, int threads) throws Exception {
+        int total = boards.size() * rounds;
+        long[] latencies = new long[total];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger cached = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                for (int i; (i = next.getAndIncrement()) < total; ) {
+                    long t0 = System.nanoTime();
+                    String body = solve(boards.get(i % boards.size()));
+                    latencies[i] = System.nanoTime() - t0;
+                    if (body == null) errors.incrementAndGet();
+                    else if (body.contains("\"cached\":true")) cached.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> w : workers) w.get();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        Arrays.sort(latencies);
+        return new Phase(latencies, seconds, cached.get(), errors.get());
+    }
+
+    // -------------------- Boards --------------------
+
+    /** Distinct random solvable boards (PuzzleState.scramble). */
+    static List<String> scrambles(int count, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        Set<Long> seen = new HashSet<>();
+        List<String> boards = new ArrayList<>(count);
+        while (boards.size() < count) {
+            long key = PuzzleState.scramble(rng);
+            if (seen.add(key)) boards.add(PuzzleState.inputLine(key));
+        }
+        return boards;
+    }
+
+    // -------------------- Main --------------------
+
+    private static void print(String name, Phase p) {
+        int n = p.latencies.length;
+        System.out.printf("%-6s %8d %9.0f %9.3f %9.3f %9.3f %9.3f %7d %6d%n", name, n, n / p.seconds,
+                p.percentileMs(50), p.percentileMs(90), p.percentileMs(99), p.percentileMs(100),
+                p.cached, p.errors);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://127.0.0.1:8080";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        String algorithm = args.length > 3 ? args[3] : "astar-h2";
+        int rounds = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+
+        SolveLoadClient client = new SolveLoadClient(baseUrl, algorithm);
+        int warmup = Math.min(200, count);
+        List<String> all = scrambles(warmup + count, System.nanoTime());
+        List<String> boards = all.subList(warmup, all.size());   // never seen by the server
+
+        System.out.println("=".repeat(60));
+        System.out.println("SOLVE SERVICE LOAD TEST: " + baseUrl);
+        System.out.println("=".repeat(60));
+        System.out.println("Algorithm: " + algorithm + ", boards: " + count + ", threads: " + threads
+                + ", hit rounds: " + rounds);
+        client.run(all.subList(0, warmup), 1, threads);   // warm-up on other boards
+
+        Phase miss = client.run(boards, 1, threads);
+        Phase hit = client.run(boards, rounds, threads);
+
+        System.out.println();
+        System.out.println("Phase  Requests   Req/s   p50 (ms)  p90 (ms)  p99 (ms)  max (ms)  Cached  Errors");
+        print("miss", miss);
+        print("hit", hit);
+        System.out.println();
+    }
+}
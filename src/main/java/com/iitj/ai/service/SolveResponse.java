@@ -0,0 +1,39 @@
+package com.iitj.ai.service;
+
+import com.iitj.ai.assignment1.problem1.PuzzleState;
+import com.iitj.ai.assignment1.problem1.SearchResult;
+
+import java.util.*;
+
+/**
+ * SolveResponse - JSON body returned by SolveController.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public class SolveResponse {
+
+    public final String algorithm;
+    public final String heuristic;
+    public final String status;          // SOLVED, FAILED, TIMED_OUT, CANCELLED or REJECTED
+    public final int pathLength;         // -1 if there is no path; partial if TIMED_OUT / CANCELLED
+    public final List<String> moves;     // blank moves: Up, Down, Left, Right
+    public final long expanded;
+    public final long generated;
+    public final long solveNanos;        // time of the original solve, not of this request
+    public final boolean cached;
+
+    SolveResponse(SearchResult r, boolean cached) {
+        this.algorithm = r.algorithm;
+        this.heuristic = r.heuristic;
+        this.status = r.status.name();
+        this.pathLength = r.pathLength;
+        List<String> m = new ArrayList<>(Math.max(r.pathLength, 0));
+        for (int i = 0; i < r.pathLength; i++) m.add(PuzzleState.DIR_NAMES[r.moveAt(i)]);
+        this.moves = m;
+        this.expanded = r.expanded;
+        this.generated = r.generated;
+        this.solveNanos = r.nanos;
+        this.cached = cached;
+    }
+}
@@ -0,0 +1,312 @@
+package com.iitj.ai.service;
+
+import com.iitj.ai.assignment1.problem1.*;
+import com.iitj.ai.jobs.JobScheduler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * SolveService - Solves Manuscript Sorting boards on request, behind a
+ * SolutionCache.
+ *
+ * A request is a start board, an optional goal board and an algorithm id.
+ * The solvers always search towards PuzzleState.GOAL, so a goal with the
+ * blank in the bottom-right corner is handled by relabelling the tiles:
+ * the tile at goal position i is renamed GOAL[i] in both boards. The blank
+ * moves of the relabelled problem are exactly the moves of the original
+ * one, so the cache key is (relabelled packed start, algorithm) - every
+ * (start, goal) pair with the same relabelled start shares one entry.
+ *
+ * Solver runs go through a JobScheduler (virtual threads, bounded queue)
+ * with a per-request deadline. Only complete answers (SOLVED / FAILED) are
+ * cached; a TIMED_OUT result carries the best partial path (none if the
+ * deadline passed while queued) and a REJECTED one no path, and the next
+ * request for the board tries again.
+ *
+ * The A* and IDA* solvers share one SolutionMemo: every optimal path they
+ * return is memoized state by state, so a later board that runs into any of
+ * those states stops there. With solver.memo.file set, the memo is an
+ * append-only file replayed at startup and survives restarts.
+ *
+ * Algorithm "policy" and nextMove() read a PolicyTable instead of
+ * searching: the optimal next move of every solvable board, 2 bits each,
+ * memory-mapped from solver.policy.file (built there if missing) or
+ * generated in memory at startup.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+@Service
+public class SolveService implements AutoCloseable {
+
+    /** Algorithm ids accepted by the service, in display order. */
+    static final Map<String, Solver> SOLVERS = new LinkedHashMap<>();
+
+    static {
+        SOLVERS.put("bfs", new BFSSearch());
+        SOLVERS.put("dfs", new DFSSearch());
+        SOLVERS.put("greedy", new GreedyBestFirstSearch());
+        SOLVERS.put("astar-h1", new AStarSearch(true));
+        SOLVERS.put("astar-h2", new AStarSearch(false));
+        SOLVERS.put("idastar-h1", new IDAStarSearch(true));
+        SOLVERS.put("idastar-h2", new IDAStarSearch(false));
+        SOLVERS.put("annealing", new SimulatedAnnealingSearch());
+    }
+
+    static final String DEFAULT_ALGORITHM = "astar-h2";
+
+    // Estimated bytes of one cached SearchResult besides its move words
+    // (object header and fields, key, map entry, LRU links)
+    private static final long ENTRY_BYTES = 160;
+
+    private final Map<String, Solver> solvers = new LinkedHashMap<>(SOLVERS);
+    private final SolutionMemo memo;
+    private final PolicyTable policy;
+    private final SolutionCache<Key, SearchResult> cache;
+    private final JobScheduler scheduler;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+
+    public SolveService(@Value("${solver.cache.max-bytes:67108864}") long maxBytes,
+                        @Value("${solver.cache.segments:16}") int segments,
+                        @Value("${solver.jobs.max-concurrent:0}") int maxConcurrent,
+                        @Value("${solver.jobs.queue-capacity:64}") int queueCapacity,
+                        @Value("${solver.jobs.default-timeout:2s}") Duration defaultTimeout,
+                        @Value("${solver.jobs.max-timeout:30s}") Duration maxTimeout,
+                        @Value("${solver.memo.capacity:131072}") int memoCapacity,
+                        @Value("${solver.memo.file:}") String memoFile,
+                        @Value("${solver.policy.file:}") String policyFile,
+                        MeterRegistry registry) {
+        try {
+            this.memo = memoFile.isBlank() ? new SolutionMemo(memoCapacity)
+                    : SolutionMemo.open(Path.of(memoFile), memoCapacity);
+            this.policy = policyFile.isBlank() ? PolicyTable.inMemory()
+                    : PolicyTable.open(Path.of(policyFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot open solver tables", e);
+        }
+        solvers.put("astar-h1", new AStarSearch(true, memo));
+        solvers.put("astar-h2", new AStarSearch(false, memo));
+        solvers.put("idastar-h1", new IDAStarSearch(true, false, memo));
+        solvers.put("idastar-h2", new IDAStarSearch(false, false, memo));
+        solvers.put("policy", policy);
+        this.cache = new SolutionCache<>(maxBytes, segments,
+                r -> ENTRY_BYTES + 8L * r.packedMoves().length);
+        this.scheduler = new JobScheduler(
+                maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors(),
+                queueCapacity);
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+        bindMetrics(registry);
+    }
+
+    /** Cache key: packed start for the standard goal plus the algorithm id. */
+    static final class Key {
+        final long start;
+        final String algorithm;
+
+        Key(long start, String algorithm) {
+            this.start = start;
+            this.algorithm = algorithm;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return start == k.start && algorithm.equals(k.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            long h = start * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) * 31 + algorithm.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return Long.toHexString(start) + "/" + algorithm;
+        }
+    }
+
+    /** Result of one request; cached is true if no solver ran for it. */
+    public static final class Solution {
+        public final SearchResult result;
+        public final boolean cached;
+
+        Solution(SearchResult result, boolean cached) {
+            this.result = result;
+            this.cached = cached;
+        }
+    }
+
+    // -------------------- Solving --------------------
+
+    /** Solve with the default deadline. */
+    public Solution solve(String start, String goal, String algorithm) {
+        return solve(start, goal, algorithm, null);
+    }
+
+    /**
+     * Solve start towards goal (null = PuzzleState.GOAL) with the given algorithm.
+     * @param timeout deadline for the solve including queueing, null = default;
+     *                capped at solver.jobs.max-timeout
+     * @throws IllegalArgumentException for unknown algorithms, malformed boards or timeouts
+     */
+    public Solution solve(String start, String goal, String algorithm, Duration timeout) {
+        String id = algorithm == null || algorithm.isBlank() ? DEFAULT_ALGORITHM : algorithm;
+        Solver solver = solvers.get(id);
+        if (solver == null) {
+            throw new IllegalArgumentException("unknown algorithm '" + id + "', expected one of "
+                    + solvers.keySet());
+        }
+        int[] startBoard = parseBoard(start);
+        int[] goalBoard = goal == null || goal.isBlank() ? PuzzleState.GOAL : parseBoard(goal);
+        Key key = new Key(PuzzleState.pack(relabel(startBoard, goalBoard)), id);
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        Duration limit = timeout == null ? defaultTimeout
+                : timeout.compareTo(maxTimeout) > 0 ? maxTimeout : timeout;
+
+        SearchResult hit = cache.getIfPresent(key);
+        if (hit != null) return new Solution(hit, true);
+
+        // A load joined from a caller with an earlier deadline may time out while
+        // this caller still has time left: then load again with what is left
+        long deadline = System.nanoTime() + limit.toNanos();
+        while (true) {
+            boolean[] loaded = new boolean[1];
+            Duration left = Duration.ofNanos(deadline - System.nanoTime());
+            SearchResult result = cache.get(key, k -> {
+                loaded[0] = true;
+                return run(solver, k.start, left);
+            }, SolveService::complete);
+            if (loaded[0] || result.status != SearchResult.Status.TIMED_OUT
+                    || deadline - System.nanoTime() <= 0) {
+                return new Solution(result, false);
+            }
+        }
+    }
+
+    /** Run one solve through the scheduler and wait for its (possibly partial) result. */
+    private SearchResult run(Solver solver, long start, Duration timeout) {
+        return scheduler.submit(() -> solver.solve(start), timeout,
+                why -> SearchResult.rejected(solver.name(), solver.heuristic(), status(why)))
+                .result().join();
+    }
+
+    private static SearchResult.Status status(JobScheduler.Outcome why) {
+        switch (why) {
+            case EXPIRED: return SearchResult.Status.TIMED_OUT;
+            case CANCELLED: return SearchResult.Status.CANCELLED;
+            default: return SearchResult.Status.REJECTED;
+        }
+    }
+
+    /** Results worth caching: the search finished on its own. */
+    private static boolean complete(SearchResult r) {
+        return r.status == SearchResult.Status.SOLVED || r.status == SearchResult.Status.FAILED;
+    }
+
+    /**
+     * Optimal next move from start towards goal (null = PuzzleState.GOAL),
+     * read from the policy table: a direction name, or null at the goal.
+     * @throws IllegalArgumentException for malformed or unsolvable boards
+     */
+    public String nextMove(String start, String goal) {
+        int[] goalBoard = goal == null || goal.isBlank() ? PuzzleState.GOAL : parseBoard(goal);
+        long key = PuzzleState.pack(relabel(parseBoard(start), goalBoard));
+        if (key == PuzzleState.pack(PuzzleState.GOAL)) return null;
+        int d = policy.nextMove(key);
+        if (d < 0) throw new IllegalArgumentException("board cannot reach the goal: '" + start + "'");
+        return PuzzleState.DIR_NAMES[d];
+    }
+
+    /** Board string in any format PuzzleState.parseState accepts, checked to be a permutation. */
+    static int[] parseBoard(String s) {
+        if (s == null) throw new IllegalArgumentException("missing board");
+        String compact = s.replace(";", "").replace(" ", "").replace("B", "0");
+        if (compact.length() != 9) throw new IllegalArgumentException("not a 3x3 board: '" + s + "'");
+        int[] board = PuzzleState.parseState(compact);
+        boolean[] seen = new boolean[9];
+        for (int v : board) {
+            if (v < 0 || v > 8 || seen[v]) throw new IllegalArgumentException("not a 3x3 board: '" + s + "'");
+            seen[v] = true;
+        }
+        return board;
+    }
+
+    /** Start board with tiles renamed so that goal becomes PuzzleState.GOAL. */
+    static int[] relabel(int[] start, int[] goal) {
+        if (goal[8] != 0) {
+            throw new IllegalArgumentException("goal must have the blank in the bottom-right corner");
+        }
+        int[] rename = new int[9];
+        for (int i = 0; i < 9; i++) rename[goal[i]] = PuzzleState.GOAL[i];
+        int[] relabelled = new int[9];
+        for (int i = 0; i < 9; i++) relabelled[i] = rename[start[i]];
+        return relabelled;
+    }
+
+    public Set<String> algorithms() {
+        return Collections.unmodifiableSet(solvers.keySet());
+    }
+
+    SolutionCache<Key, SearchResult> cache() {
+        return cache;
+    }
+
+    JobScheduler scheduler() {
+        return scheduler;
+    }
+
+    SolutionMemo memo() {
+        return memo;
+    }
+
+    @Override
+    public void close() throws IOException {
+        scheduler.close();
+        memo.close();
+    }
+
+    // -------------------- Metrics --------------------
+
+    private void bindMetrics(MeterRegistry registry) {
+        FunctionCounter.builder("solve.cache.hits", cache, SolutionCache::hits)
+                .description("Requests answered from the cache").register(registry);
+        FunctionCounter.builder("solve.cache.misses", cache, SolutionCache::misses)
+                .description("Requests that ran a solver").register(registry);
+        FunctionCounter.builder("solve.cache.joins", cache, SolutionCache::joins)
+                .description("Requests that waited for an identical request in flight").register(registry);
+        FunctionCounter.builder("solve.cache.evictions", cache, SolutionCache::evictions)
+                .description("Entries evicted to stay within the byte budget").register(registry);
+        Gauge.builder("solve.cache.entries", cache, SolutionCache::size).register(registry);
+        Gauge.builder("solve.cache.bytes", cache, SolutionCache::bytes)
+                .baseUnit("bytes").register(registry);
+
+        FunctionCounter.builder("solve.jobs.completed", scheduler, JobScheduler::completed)
+                .description("Solver jobs that ran").register(registry);
+        FunctionCounter.builder("solve.jobs.rejected", scheduler, JobScheduler::rejected)
+                .description("Solver jobs turned away because the queue was full").register(registry);
+        FunctionCounter.builder("solve.jobs.expired", scheduler, JobScheduler::expired)
+                .description("Solver jobs whose deadline passed while queued").register(registry);
+        Gauge.builder("solve.jobs.running", scheduler, JobScheduler::running).register(registry);
+        Gauge.builder("solve.jobs.queued", scheduler, JobScheduler::queued).register(registry);
+
+        Gauge.builder("solve.memo.entries", memo, SolutionMemo::size)
+                .description("Boards with a memoized optimal distance").register(registry);
+        FunctionCounter.builder("solve.memo.shortcuts", memo, SolutionMemo::shortcuts)
+                .description("Searches finished through a memoized state").register(registry);
+    }
+}
@@ -0,0 +1,275 @@
+package com.iitj.ai.telemetry;
+
+import jdk.jfr.*;
+
+/**
+ * SearchEvents - JDK Flight Recorder events for the solvers.
+ *
+ * Record with e.g.
+ *   java -XX:StartFlightRecording=filename=search.jfr,settings=profile ...
+ *   jfr print --events com.iitj.ai.* search.jfr
+ * and the search phases line up with GC pauses and allocation samples on
+ * the same timeline.
+ *
+ * Events:
+ *   Search          : one solver call, start to result (duration)
+ *   NodeExpansion   : one expansion out of every EXPANSION_SAMPLE (instant)
+ *   IDAStarIteration: one threshold iteration of IDA* (duration)
+ *   AnnealingProgress: simulated annealing state every ANNEALING_SAMPLE iterations
+ *   AlphaBetaDepth  : an adversarial search completed to a given depth (duration)
+ *   AC3Revision     : an AC-3 revision that removed values
+ *
+ * When no recording is running, shouldCommit() is false and nothing is
+ * written; a phase event then costs one short-lived object. The per-node
+ * events sit behind a sampling mask, so the search loops only pay for one
+ * predictable branch per expansion.
+ *
+ * The first event created in a JVM loads the JFR runtime, which takes a
+ * few hundred milliseconds. load() does that once, outside any timed
+ * search: SearchTelemetry calls it when the first solver registers its
+ * metrics, in the solver's static initializer.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class SearchEvents {
+
+    /** Expansions between two NodeExpansion samples (power of two). */
+    public static final int EXPANSION_SAMPLE = 1 << 12;
+    public static final int EXPANSION_MASK = EXPANSION_SAMPLE - 1;
+
+    /** Annealing iterations between two AnnealingProgress events (power of two). */
+    public static final int ANNEALING_SAMPLE = 1 << 10;
+    public static final int ANNEALING_MASK = ANNEALING_SAMPLE - 1;
+
+    static {
+        new Search();
+        new NodeExpansion();
+        new IDAStarIteration();
+        new AnnealingProgress();
+        new AlphaBetaDepth();
+        new AC3Revision();
+    }
+
+    private SearchEvents() {
+    }
+
+    /** Load the event classes and the JFR runtime (see the class comment). */
+    public static void load() {
+    }
+
+    // -------------------- Search --------------------
+
+    @Name("com.iitj.ai.Search")
+    @Label("Search")
+    @Category({"AI Search"})
+    @Description("One solver call, from start state to result")
+    @StackTrace(false)
+    public static final class Search extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        @Label("Heuristic")
+        String heuristic;
+        @Label("Solved")
+        boolean solved;
+        @Label("Path Length")
+        int pathLength;
+        @Label("Expanded")
+        long expanded;
+        @Label("Generated")
+        long generated;
+
+        /** New event with its start time set. */
+        public static Search start() {
+            Search event = new Search();
+            event.begin();
+            return event;
+        }
+
+        /** Set the outcome and commit, if the event is being recorded. */
+        public void finish(String algorithm, String heuristic, boolean solved, int pathLength,
+                           long expanded, long generated) {
+            end();
+            if (!shouldCommit()) return;
+            this.algorithm = algorithm;
+            this.heuristic = heuristic;
+            this.solved = solved;
+            this.pathLength = pathLength;
+            this.expanded = expanded;
+            this.generated = generated;
+            commit();
+        }
+    }
+
+    // -------------------- Node Expansion --------------------
+
+    @Name("com.iitj.ai.NodeExpansion")
+    @Label("Node Expansion (sampled)")
+    @Category({"AI Search"})
+    @Description("One node expansion out of every 4096")
+    @StackTrace(false)
+    public static final class NodeExpansion extends Event {
+        @Label("Search")
+        String search;
+        @Label("Expanded So Far")
+        long expanded;
+        @Label("State")
+        @Description("Packed board, 4 bits per cell")
+        long state;
+        @Label("g")
+        int g;
+        @Label("h")
+        int h;
+        @Label("Frontier Size")
+        int frontier;
+
+        /** Commit one sample, if the event is being recorded. */
+        public static void sample(String search, long expanded, long state, int g, int h, int frontier) {
+            NodeExpansion event = new NodeExpansion();
+            if (!event.shouldCommit()) return;
+            event.search = search;
+            event.expanded = expanded;
+            event.state = state;
+            event.g = g;
+            event.h = h;
+            event.frontier = frontier;
+            event.commit();
+        }
+    }
+
+    // -------------------- IDA* --------------------
+
+    @Name("com.iitj.ai.IDAStarIteration")
+    @Label("IDA* Iteration")
+    @Category({"AI Search"})
+    @Description("One depth-first pass of IDA* below an f threshold")
+    @StackTrace(false)
+    public static final class IDAStarIteration extends Event {
+        @Label("Heuristic")
+        String heuristic;
+        @Label("Iteration")
+        int iteration;
+        @Label("Threshold")
+        int threshold;
+        @Label("Next Threshold")
+        @Description("Smallest f above the threshold, -1 if the goal was found, -2 if the deadline expired")
+        int nextThreshold;
+        @Label("Expanded")
+        long expanded;
+
+        public static IDAStarIteration start() {
+            IDAStarIteration event = new IDAStarIteration();
+            event.begin();
+            return event;
+        }
+
+        public void finish(String heuristic, int iteration, int threshold, int nextThreshold,
+                           long expanded) {
+            end();
+            if (!shouldCommit()) return;
+            this.heuristic = heuristic;
+            this.iteration = iteration;
+            this.threshold = threshold;
+            this.nextThreshold = nextThreshold;
+            this.expanded = expanded;
+            commit();
+        }
+    }
+
+    // -------------------- Simulated Annealing --------------------
+
+    @Name("com.iitj.ai.AnnealingProgress")
+    @Label("Annealing Progress")
+    @Category({"AI Search"})
+    @Description("Simulated annealing state, every 1024 iterations")
+    @StackTrace(false)
+    public static final class AnnealingProgress extends Event {
+        @Label("Iteration")
+        int iteration;
+        @Label("Temperature")
+        double temperature;
+        @Label("Current h2")
+        int currentH;
+        @Label("Best h2")
+        int bestH;
+        @Label("Accepted Moves")
+        int accepted;
+
+        public static void sample(int iteration, double temperature, int currentH, int bestH,
+                                  int accepted) {
+            AnnealingProgress event = new AnnealingProgress();
+            if (!event.shouldCommit()) return;
+            event.iteration = iteration;
+            event.temperature = temperature;
+            event.currentH = currentH;
+            event.bestH = bestH;
+            event.accepted = accepted;
+            event.commit();
+        }
+    }
+
+    // -------------------- Adversarial Search --------------------
+
+    @Name("com.iitj.ai.AlphaBetaDepth")
+    @Label("Alpha-Beta Depth Completed")
+    @Category({"AI Search"})
+    @Description("An adversarial search finished at a given depth")
+    @StackTrace(false)
+    public static final class AlphaBetaDepth extends Event {
+        @Label("Algorithm")
+        String algorithm;
+        @Label("Depth")
+        int depth;
+        @Label("Best Move")
+        String bestMove;
+        @Label("Value")
+        int value;
+        @Label("Nodes")
+        long nodes;
+
+        public static AlphaBetaDepth start() {
+            AlphaBetaDepth event = new AlphaBetaDepth();
+            event.begin();
+            return event;
+        }
+
+        public void finish(String algorithm, int depth, String bestMove, int value, long nodes) {
+            end();
+            if (!shouldCommit()) return;
+            this.algorithm = algorithm;
+            this.depth = depth;
+            this.bestMove = bestMove;
+            this.value = value;
+            this.nodes = nodes;
+            commit();
+        }
+    }
+
+    // -------------------- AC-3 --------------------
+
+    @Name("com.iitj.ai.AC3Revision")
+    @Label("AC-3 Revision")
+    @Category({"AI Search", "CSP"})
+    @Description("An arc revision that removed values from a domain")
+    @StackTrace(false)
+    public static final class AC3Revision extends Event {
+        @Label("Variable")
+        int xi;
+        @Label("Neighbour")
+        int xj;
+        @Label("Values Removed")
+        int removed;
+        @Label("Domain Size")
+        int remaining;
+
+        public static void emit(int xi, int xj, int removed, int remaining) {
+            AC3Revision event = new AC3Revision();
+            if (!event.shouldCommit()) return;
+            event.xi = xi;
+            event.xj = xj;
+            event.removed = removed;
+            event.remaining = remaining;
+            event.commit();
+        }
+    }
+}
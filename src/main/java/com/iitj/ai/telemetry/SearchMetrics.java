@@ -0,0 +1,112 @@
+package com.iitj.ai.telemetry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SearchMetrics - Running totals for one (algorithm, heuristic) pair.
+ *
+ * Solvers never touch these in their inner loops. They count into local
+ * ints and fields as before and hand the totals over in batches: once per
+ * solve, or once per iteration for long iterative searches. The totals are
+ * LongAdders (striped, so concurrent solver threads rarely contend), and a
+ * metrics registry only reads them when it is scraped.
+ *
+ * Get an instance from SearchTelemetry and keep it in a field.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class SearchMetrics {
+
+    public enum Kind {
+        SEARCH,   // state-space search: expansions, generated, duplicates, ...
+        CSP       // constraint solver: assignments, prunings, AC-3 revisions
+    }
+
+    private final Kind kind;
+    private final String algorithm;
+    private final String heuristic;
+
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder solveNanos = new LongAdder();
+    private final LongAdder expansions = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder heuristicEvaluations = new LongAdder();
+    private final LongAccumulator openPeak = new LongAccumulator(Math::max, 0);
+    private final LongAdder assignments = new LongAdder();
+    private final LongAdder prunings = new LongAdder();
+    private final LongAdder revisions = new LongAdder();
+
+    SearchMetrics(Kind kind, String algorithm, String heuristic) {
+        this.kind = kind;
+        this.algorithm = algorithm;
+        this.heuristic = heuristic;
+    }
+
+    // -------------------- Recording --------------------
+
+    /** Add one batch of search work (a whole solve or one iteration of it). */
+    public void add(long expanded, long generated, long duplicates, long heuristicEvaluations) {
+        if (expanded != 0) this.expansions.add(expanded);
+        if (generated != 0) this.generated.add(generated);
+        if (duplicates != 0) this.duplicates.add(duplicates);
+        if (heuristicEvaluations != 0) this.heuristicEvaluations.add(heuristicEvaluations);
+    }
+
+    /** Add one batch of constraint-solver work. */
+    public void addCsp(long assignments, long prunings, long revisions) {
+        if (assignments != 0) this.assignments.add(assignments);
+        if (prunings != 0) this.prunings.add(prunings);
+        if (revisions != 0) this.revisions.add(revisions);
+    }
+
+    /**
+     * Close one solve.
+     * @param openPeak largest open list (queue, stack, heap or path) of the solve
+     * @param nanos    wall-clock time of the solve
+     */
+    public void finish(long openPeak, long nanos) {
+        solves.increment();
+        solveNanos.add(nanos);
+        this.openPeak.accumulate(openPeak);
+    }
+
+    /** add() and finish() for a solve reported in one batch. */
+    public void record(long expanded, long generated, long duplicates, long heuristicEvaluations,
+                       long openPeak, long nanos) {
+        add(expanded, generated, duplicates, heuristicEvaluations);
+        finish(openPeak, nanos);
+    }
+
+    // -------------------- Reading --------------------
+
+    public Kind kind() { return kind; }
+    public String algorithm() { return algorithm; }
+    public String heuristic() { return heuristic; }
+
+    public long solves() { return solves.sum(); }
+    public double totalTime(TimeUnit unit) { return (double) solveNanos.sum() / unit.toNanos(1); }
+    public long expansions() { return expansions.sum(); }
+    public long generated() { return generated.sum(); }
+    public long duplicates() { return duplicates.sum(); }
+    public long heuristicEvaluations() { return heuristicEvaluations.sum(); }
+    public long openPeak() { return openPeak.get(); }
+    public long assignments() { return assignments.sum(); }
+    public long prunings() { return prunings.sum(); }
+    public long revisions() { return revisions.sum(); }
+
+    @Override
+    public String toString() {
+        return algorithm + (heuristic.isEmpty() ? "" : " (" + heuristic + ")") + ": "
+                + solves() + " solves, "
+                + (kind == Kind.SEARCH
+                    ? expansions() + " expanded, " + generated() + " generated, "
+                        + duplicates() + " duplicates, " + heuristicEvaluations() + " h evals, "
+                        + "open peak " + openPeak()
+                    : assignments() + " assignments, " + prunings() + " prunings, "
+                        + revisions() + " revisions");
+    }
+}
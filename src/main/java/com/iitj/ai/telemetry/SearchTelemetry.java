@@ -0,0 +1,76 @@
+package com.iitj.ai.telemetry;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * SearchTelemetry - Process-wide registry of SearchMetrics.
+ *
+ * Plain Java on purpose: the solvers report here whether or not Spring is
+ * running (the command-line mains just accumulate totals nobody reads).
+ * Inside the Spring application, SearchMetricsBinder subscribes with
+ * onRegister() and exposes every entry as Micrometer meters tagged with
+ * the algorithm and heuristic.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+public final class SearchTelemetry {
+
+    private static final Map<String, SearchMetrics> METRICS = new ConcurrentHashMap<>();
+    private static final List<Consumer<SearchMetrics>> LISTENERS = new ArrayList<>();
+
+    static {
+        SearchEvents.load();                // before any solver starts its clock
+    }
+
+    private SearchTelemetry() {
+    }
+
+    /** Totals for a state-space search, created on first use. */
+    public static SearchMetrics search(String algorithm, String heuristic) {
+        return metrics(SearchMetrics.Kind.SEARCH, algorithm, heuristic);
+    }
+
+    /** Totals for a constraint solver, created on first use. */
+    public static SearchMetrics csp(String algorithm, String heuristic) {
+        return metrics(SearchMetrics.Kind.CSP, algorithm, heuristic);
+    }
+
+    private static SearchMetrics metrics(SearchMetrics.Kind kind, String algorithm, String heuristic) {
+        String key = kind + "\0" + algorithm + "\0" + heuristic;
+        SearchMetrics m = METRICS.get(key);
+        if (m != null) return m;
+        synchronized (LISTENERS) {
+            m = METRICS.get(key);
+            if (m == null) {
+                m = new SearchMetrics(kind, algorithm, heuristic);
+                METRICS.put(key, m);
+                for (Consumer<SearchMetrics> listener : LISTENERS) listener.accept(m);
+            }
+            return m;
+        }
+    }
+
+    /** Snapshot of every entry created so far. */
+    public static List<SearchMetrics> all() {
+        return new ArrayList<>(METRICS.values());
+    }
+
+    /**
+     * Call listener for every existing entry and for each one created later.
+     * @return handle that unsubscribes the listener
+     */
+    public static Runnable onRegister(Consumer<SearchMetrics> listener) {
+        synchronized (LISTENERS) {
+            for (SearchMetrics m : METRICS.values()) listener.accept(m);
+            LISTENERS.add(listener);
+        }
+        return () -> {
+            synchronized (LISTENERS) {
+                LISTENERS.remove(listener);
+            }
+        };
+    }
+}
@@ -0,0 +1,107 @@
+package com.iitj.ai.telemetry.micrometer;
+
+import com.iitj.ai.telemetry.SearchMetrics;
+import com.iitj.ai.telemetry.SearchTelemetry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * SearchMetricsBinder - Exposes SearchTelemetry through Micrometer.
+ *
+ * Every SearchMetrics entry, present or future, becomes a set of
+ * function-based meters tagged with algorithm and heuristic:
+ *
+ *   search.solve                    timer   (count + total time)
+ *   search.expansions               counter
+ *   search.generated                counter
+ *   search.duplicates               counter  successors already seen
+ *   search.heuristic.evaluations    counter
+ *   search.open.peak                gauge    largest open list so far
+ *
+ *   csp.solve                       timer
+ *   csp.assignments                 counter
+ *   csp.prunings                    counter  domain values removed
+ *   csp.revisions                   counter  AC-3 revisions that removed values
+ *
+ * The meters read the LongAdder totals when the registry is scraped, so
+ * the solvers never call into Micrometer themselves.
+ *
+ * Student : Suresh Babu Gandla | Roll No : 123245
+ * IIT Jodhpur - M.Tech Programme
+ */
+@Component
+public class SearchMetricsBinder implements MeterBinder, AutoCloseable {
+
+    private final List<Runnable> subscriptions = new ArrayList<>();
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Runnable subscription = SearchTelemetry.onRegister(m -> register(registry, m));
+        synchronized (subscriptions) {
+            subscriptions.add(subscription);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (subscriptions) {
+            subscriptions.forEach(Runnable::run);
+            subscriptions.clear();
+        }
+    }
+
+    static void register(MeterRegistry registry, SearchMetrics m) {
+        Tags tags = Tags.of("algorithm", m.algorithm(),
+                "heuristic", m.heuristic().isEmpty() ? "none" : m.heuristic());
+
+        if (m.kind() == SearchMetrics.Kind.SEARCH) {
+            timer(registry, "search.solve", m, tags, "Completed solves");
+            counter(registry, "search.expansions", m, SearchMetrics::expansions, tags,
+                    "States taken from the open list and expanded");
+            counter(registry, "search.generated", m, SearchMetrics::generated, tags,
+                    "Successor states produced");
+            counter(registry, "search.duplicates", m, SearchMetrics::duplicates, tags,
+                    "Successors that were already seen or on the current path");
+            counter(registry, "search.heuristic.evaluations", m, SearchMetrics::heuristicEvaluations, tags,
+                    "Heuristic values computed");
+            Gauge.builder("search.open.peak", m, SearchMetrics::openPeak)
+                    .tags(tags)
+                    .description("Largest open list of any solve")
+                    .register(registry);
+        } else {
+            timer(registry, "csp.solve", m, tags, "Completed solves");
+            counter(registry, "csp.assignments", m, SearchMetrics::assignments, tags,
+                    "Variable assignments tried");
+            counter(registry, "csp.prunings", m, SearchMetrics::prunings, tags,
+                    "Domain values removed by propagation");
+            counter(registry, "csp.revisions", m, SearchMetrics::revisions, tags,
+                    "AC-3 arc revisions that removed values");
+        }
+    }
+
+    private static void timer(MeterRegistry registry, String name, SearchMetrics m, Tags tags,
+                              String description) {
+        FunctionTimer.builder(name, m, SearchMetrics::solves,
+                        x -> x.totalTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS)
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+
+    private static void counter(MeterRegistry registry, String name, SearchMetrics m,
+                                ToDoubleFunction<SearchMetrics> total, Tags tags, String description) {
+        FunctionCounter.builder(name, m, total)
+                .tags(tags)
+                .description(description)
+                .register(registry);
+    }
+}
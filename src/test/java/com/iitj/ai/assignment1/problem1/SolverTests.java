@@ -0,0 +1,349 @@
+package com.iitj.ai.assignment1.problem1;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.iitj.ai.jobs.Deadline;
+
+class SolverTests {
+
+	private static final int[] START = PuzzleState.parseState("123;B46;758");
+
+	private static List<int[]> scrambles(int count, long seed) {
+		Random rng = new Random(seed);
+		List<int[]> states = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			int[] s = PuzzleState.GOAL.clone();
+			for (int k = 0; k < 40; k++) {
+				List<int[]> n = PuzzleState.getNeighbors(s);
+				s = n.get(rng.nextInt(n.size()));
+			}
+			states.add(s);
+		}
+		return states;
+	}
+
+	private static void assertReachesGoal(SearchResult r, int[] start) {
+		assertTrue(r.isSolved(), r.toString());
+		List<int[]> path = r.path(start);
+		assertArrayEquals(PuzzleState.GOAL, path.get(r.pathLength));
+	}
+
+	@Test
+	void optimalSolversAgreeWithBfs() {
+		Solver[] optimal = {new AStarSearch(true), new AStarSearch(false), new IDAStarSearch(false)};
+		for (int[] s : scrambles(30, 1)) {
+			SearchResult bfs = new BFSSearch().solve(s);
+			assertReachesGoal(bfs, s);
+			for (Solver solver : optimal) {
+				SearchResult r = solver.solve(s);
+				assertReachesGoal(r, s);
+				assertEquals(bfs.pathLength, r.pathLength, solver.name());
+			}
+		}
+	}
+
+	@Test
+	void sampleInputIsSolvedByEverySolver() {
+		Solver[] solvers = {new BFSSearch(), new DFSSearch(), new GreedyBestFirstSearch(),
+				new AStarSearch(false), new IDAStarSearch(true), new SimulatedAnnealingSearch()};
+		for (Solver solver : solvers) {
+			assertReachesGoal(solver.solve(START), START);
+		}
+		assertEquals(3, new AStarSearch(false).solve(START).pathLength);
+	}
+
+	@Test
+	void informedSearchesExpandWhatThePriorityQueueVersionsDid() {
+		// States explored and path lengths printed before the searches moved to SearchWorkspace
+		int[] s = PuzzleState.parseState("813;B42;765");
+		SearchResult greedy = new GreedyBestFirstSearch().solve(s);
+		assertEquals(27, greedy.expanded);
+		assertEquals(15, greedy.pathLength);
+		assertEquals(295, new AStarSearch(true).solve(s).expanded);
+		assertEquals(68, new AStarSearch(false).solve(s).expanded);
+
+		s = PuzzleState.parseState("867;254;3B1");
+		greedy = new GreedyBestFirstSearch().solve(s);
+		assertEquals(96, greedy.expanded);
+		assertEquals(51, greedy.pathLength);
+		assertEquals(122223, new AStarSearch(true).solve(s).expanded);
+		assertEquals(6855, new AStarSearch(false).solve(s).expanded);
+	}
+
+	@Test
+	void repeatedAndConcurrentCallsGiveTheSameResult() throws Exception {
+		Solver solver = new AStarSearch(false);
+		List<int[]> states = scrambles(64, 2);
+		List<SearchResult> serial = new ArrayList<>();
+		for (int[] s : states) serial.add(solver.solve(s));
+
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<SearchResult>> futures = new ArrayList<>();
+			for (int[] s : states) futures.add(pool.submit(() -> solver.solve(s)));
+			for (int i = 0; i < states.size(); i++) {
+				SearchResult r = futures.get(i).get();
+				assertEquals(serial.get(i).pathLength, r.pathLength);
+				assertEquals(serial.get(i).expanded, r.expanded);
+				assertArrayEquals(serial.get(i).packedMoves(), r.packedMoves());
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	void unsolvableStateFails() {
+		int[] unsolvable = {2, 1, 3, 4, 5, 6, 7, 8, 0};
+		assertFalse(new IDAStarSearch(false).solve(unsolvable).isSolved());
+		assertEquals(-1, new AStarSearch(false).solve(unsolvable).pathLength);
+	}
+
+	@Test
+	void expiredDeadlineStopsWithBestPartialPath() {
+		int[] hard = PuzzleState.parseState("867;254;3B1");
+		Solver[] solvers = {new BFSSearch(), new AStarSearch(true), new IDAStarSearch(true)};
+		for (Solver solver : solvers) {
+			SearchResult r = Deadline.after(Duration.ZERO).call(() -> solver.solve(hard));
+			assertEquals(SearchResult.Status.TIMED_OUT, r.status, solver.name());
+			assertEquals(Deadline.CHECK_INTERVAL, r.expanded, solver.name());
+			List<int[]> path = r.path(hard);
+			assertTrue(PuzzleState.h2(path.get(r.pathLength)) < PuzzleState.h2(hard), solver.name());
+		}
+
+		Deadline cancelled = Deadline.after(Duration.ofMinutes(1));
+		cancelled.cancel();
+		assertEquals(SearchResult.Status.CANCELLED, cancelled.call(() -> new AStarSearch(false).solve(hard)).status);
+		assertReachesGoal(new AStarSearch(false).solve(hard), hard);   // workspace still usable
+	}
+
+	@Test
+	void memoizedSolvesStayOptimalAndExpandLess() {
+		SolutionMemo memo = new SolutionMemo(1 << 16);
+		Solver[] solvers = {new AStarSearch(false, memo), new IDAStarSearch(false, false, memo)};
+		List<int[]> states = scrambles(20, 3);
+		for (int[] s : states) {
+			int optimal = new BFSSearch().solve(s).pathLength;
+			for (Solver solver : solvers) {
+				SearchResult r = solver.solve(s);
+				assertReachesGoal(r, s);
+				assertEquals(optimal, r.pathLength, solver.name());
+				assertEquals(optimal, memo.distance(PuzzleState.pack(s)));
+			}
+		}
+		assertTrue(memo.shortcuts() > 0);
+
+		int[] s = states.get(0);
+		SearchResult again = new AStarSearch(false, memo).solve(s);
+		assertEquals(0, again.expanded);                // answered from the memo
+		assertReachesGoal(again, s);
+	}
+
+	@Test
+	void memoFileSurvivesReopenAndTornTail(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("memo.bin");
+		List<int[]> states = scrambles(5, 4);
+		try (SolutionMemo memo = SolutionMemo.open(file, 1 << 12)) {
+			Solver solver = new AStarSearch(false, memo);
+			for (int[] s : states) solver.solve(s);
+		}
+		long size = Files.size(file);
+		try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			ch.truncate(size - 3);                      // last entry torn
+		}
+		try (SolutionMemo memo = SolutionMemo.open(file, 1 << 12)) {
+			for (int[] s : states.subList(0, 4)) {
+				assertEquals(new BFSSearch().solve(s).pathLength, memo.distance(PuzzleState.pack(s)));
+			}
+			assertEquals(size - 8, Files.size(file));      // torn entry dropped
+		}
+	}
+
+	@Test
+	void policyTableFollowsOptimalPaths(@TempDir Path dir) throws Exception {
+		PolicyTable built = PolicyTable.build(dir.resolve("policy.bin"));
+		PolicyTable policy = PolicyTable.load(dir.resolve("policy.bin"));
+		for (int[] s : scrambles(30, 5)) {
+			long key = PuzzleState.pack(s);
+			SearchResult r = policy.solve(s);
+			assertReachesGoal(r, s);
+			assertEquals(new BFSSearch().solve(s).pathLength, r.pathLength);
+			assertArrayEquals(r.packedMoves(), built.solve(key).packedMoves());
+			int[] streamed = policy.moves(key).toArray();
+			assertEquals(r.pathLength, streamed.length);
+			for (int i = 0; i < streamed.length; i++) assertEquals(r.moveAt(i), streamed[i]);
+		}
+		assertEquals(-1, policy.nextMove(PuzzleState.GOAL));
+		int[] unsolvable = {2, 1, 3, 4, 5, 6, 7, 8, 0};
+		assertEquals(-1, policy.nextMove(unsolvable));
+		assertFalse(policy.solve(unsolvable).isSolved());
+	}
+
+	@Test
+	void tablebaseRejectsBadHorizonsAndHeaders(@TempDir Path dir) throws Exception {
+		assertThrows(IllegalArgumentException.class,
+				() -> GameTablebase.inMemory(GameTablebase.Mode.HORIZON, GameTablebase.MAX_HORIZON + 1, 1));
+		Path file = dir.resolve("tablebase.bin");
+		GameTablebase built = GameTablebase.build(GameTablebase.Mode.HORIZON, 2, 2, file);
+		assertEquals(built.bestMove(START, true, AdversarialSearch.NO_MOVE),
+				GameTablebase.inMemory(GameTablebase.Mode.HORIZON, 2, 2).bestMove(START, true, AdversarialSearch.NO_MOVE));
+
+		try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			ch.write(ByteBuffer.wrap(new byte[]{0, 0, 0, 9}), 4);     // unknown mode
+		}
+		assertThrows(IOException.class, () -> GameTablebase.load(file));
+		GameTablebase reopened = GameTablebase.open(GameTablebase.Mode.HORIZON, 2, file);   // rebuilt
+		assertEquals(2, reopened.horizon);
+		assertEquals(2, GameTablebase.load(file).horizon);
+	}
+
+	@Test
+	void adversarialVariantsPickTheSameMove() {
+		int minimax = new AdversarialSearch(AdversarialSearch.Variant.MINIMAX, 6).solve(START).bestMove();
+		for (AdversarialSearch.Variant v : AdversarialSearch.Variant.values()) {
+			assertEquals(minimax, new AdversarialSearch(v, 6).solve(START).bestMove(), v.name());
+		}
+	}
+
+	@Test
+	void tablebaseLookupMatchesAlphaBeta() throws Exception {
+		GameTablebase table = GameTablebase.inMemory(GameTablebase.Mode.HORIZON, 4, 2);
+		Solver lookup = new AdversarialSearch(AdversarialSearch.Variant.ALPHA_BETA, 4, table);
+		Solver alphaBeta = new AdversarialSearch(AdversarialSearch.Variant.ALPHA_BETA, 4);
+		List<int[]> states = scrambles(20, 6);
+		states.add(START);
+		for (int[] s : states) {
+			AdversarialSearch.Result expected = (AdversarialSearch.Result) alphaBeta.solve(s);
+			AdversarialSearch.Result r = (AdversarialSearch.Result) lookup.solve(s);
+			assertEquals(expected.bestMove(), r.bestMove(), PuzzleState.stateToString(s));
+			assertEquals(expected.value, r.value, PuzzleState.stateToString(s));
+			if (!PuzzleState.isGoal(s)) assertEquals(0, r.expanded);    // answered by the table
+		}
+		// A table of another horizon is not used
+		AdversarialSearch.Result searched = new AdversarialSearch(AdversarialSearch.Variant.ALPHA_BETA, 3, table).solve(START);
+		assertTrue(searched.expanded > 0);
+	}
+
+	@Test
+	void parallelAlphaBetaMatchesSerialAlphaBeta() {
+		AdversarialSearch serial = new AdversarialSearch(AdversarialSearch.Variant.ALPHA_BETA, 7);
+		List<int[]> states = scrambles(15, 7);
+		states.add(START);
+		for (int threads : new int[]{1, 4}) {
+			ParallelAlphaBetaSearch parallel = new ParallelAlphaBetaSearch(threads);
+			try {
+				for (int[] s : states) {
+					AdversarialSearch.Result expected = serial.solve(s);
+					ParallelAlphaBetaSearch.RootResult r = parallel.run(s, 7);
+					String label = threads + " threads, " + PuzzleState.stateToString(s);
+					assertEquals(expected.bestMove(), r.bestMove, label);
+					assertEquals(expected.value, r.value, label);
+				}
+			} finally {
+				parallel.shutdown();
+			}
+		}
+	}
+
+	@Test
+	void batchSolverWritesEveryLineInInputOrder(@TempDir Path dir) throws Exception {
+		// Five batches of scrambles, with bad, unsolvable, blank and comment lines among them
+		SplittableRandom rng = new SplittableRandom(30);
+		List<String> lines = new ArrayList<>();
+		List<String> expected = new ArrayList<>();        // per board line: ERROR text, "-1", or the board
+		List<Long> starts = new ArrayList<>();
+		for (int i = 0; i < 4 * BatchSolver.BATCH_SIZE + 300; i++) {
+			int lineNumber = lines.size() + 1;
+			if (i % 1000 == 7) {
+				lines.add("12x;456;78B");
+				expected.add("ERROR line " + lineNumber + ": " + BoardInput.MESSAGES[BoardInput.BAD_CHARACTER]);
+			} else if (i % 1000 == 8) {
+				lines.add("113;456;78B");
+				expected.add("ERROR line " + lineNumber + ": " + BoardInput.MESSAGES[BoardInput.REPEATED_CELL]);
+			} else if (i % 1000 == 9) {
+				lines.add("123;456;78B;1");
+				expected.add("ERROR line " + lineNumber + ": " + BoardInput.MESSAGES[BoardInput.WRONG_CELL_COUNT]);
+			} else if (i % 1000 == 10) {
+				lines.add("213;456;78B");
+				expected.add("-1");
+			} else if (i % 1000 == 11) {
+				lines.add("# comment");
+				lines.add("");
+				continue;
+			} else {
+				long key = PuzzleState.scramble(rng);
+				lines.add(i % 2 == 0 ? PuzzleState.inputLine(key) : BatchSolver.boardString(key) + "\r");
+				expected.add(BatchSolver.boardString(key));
+				starts.add(key);
+				continue;
+			}
+			starts.add(BatchSolver.INVALID);
+		}
+		Path input = dir.resolve("instances.txt"), output = dir.resolve("results.txt");
+		Files.write(input, lines);
+
+		BatchSolver.run(input, output, 3);
+		List<String> out = Files.readAllLines(output);
+		assertEquals(expected.size() + 1, out.size());
+		assertTrue(out.get(0).startsWith("#"));
+		assertTrue(BatchSolver.batchesAllocated <= 4, BatchSolver.batchesAllocated + " batches allocated");
+		AStarSearch astar = new AStarSearch(false);
+		for (int i = 0; i < expected.size(); i++) {
+			String line = out.get(i + 1), want = expected.get(i);
+			if (want.startsWith("ERROR")) {
+				assertEquals(want, line);
+				continue;
+			}
+			String[] f = line.split(" ");
+			assertEquals(5, f.length, line);
+			if (want.equals("-1")) {
+				assertEquals("21345678B", f[0]);
+				assertEquals(List.of("-1", "0", "0"), List.of(f[1], f[2], f[3]), line);
+				continue;
+			}
+			// The packed moves lead from the board, in input order, to the goal
+			assertEquals(want, f[0], "output line " + (i + 2));
+			int length = Integer.parseInt(f[1]);
+			long moves = Long.parseUnsignedLong(f[2], 16), key = starts.get(i);
+			for (int k = 0; k < length; k++) key = PuzzleState.applyMove(key, (int) (moves >>> (2 * k)) & 3);
+			assertEquals(PuzzleState.pack(PuzzleState.GOAL), key, line);
+			if (i % 500 == 0) {
+				assertEquals(astar.solve(PuzzleState.unpack(starts.get(i))).pathLength, length, line);
+			}
+		}
+	}
+
+	@Test
+	void latencyHistogramPercentilesAreWithinOneBucket() {
+		BatchSolver.LatencyHistogram histogram = new BatchSolver.LatencyHistogram();
+		SplittableRandom rng = new SplittableRandom(30);
+		long[] ns = new long[10_000];
+		for (int i = 0; i < ns.length; i++) {
+			ns[i] = i < 100 ? 1 + i % 15 : rng.nextLong(1, 50_000_000);
+			histogram.record(ns[i]);
+		}
+		Arrays.sort(ns);
+		assertEquals(ns.length, histogram.total);
+		assertEquals(ns[ns.length - 1], histogram.max);
+		long previous = 0;
+		for (double p : new double[]{0.5, 1, 10, 50, 90, 99, 99.9, 100}) {
+			long truth = ns[(int) Math.ceil(p / 100.0 * ns.length) - 1];
+			long got = histogram.percentile(p);
+			// Exact below 16 ns, else the upper edge of a bucket 1/16 as wide as its power of two
+			assertTrue(truth <= got && got <= truth + truth / 16 + 1, "p" + p + ": " + got + " for " + truth);
+			assertTrue(got >= previous, "p" + p);
+			previous = got;
+		}
+	}
+}
@@ -0,0 +1,521 @@
+package com.iitj.ai.assignment1.problem2;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigInteger;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CSPSolverTests {
+
+	@AfterEach
+	void restoreAssignmentInstance() {
+		CSPFramework.reset();
+	}
+
+	/**
+	 * Write an instance with a planted schedule: every bot in the first slots,
+	 * then random non-repeating bots; other (slot, bot) pairs are excluded
+	 * with the given density.
+	 */
+	private static Path plantedInstance(Path dir, int slots, int bots, double density, long seed)
+			throws Exception {
+		Random rng = new Random(seed);
+		List<Integer> order = new ArrayList<>();
+		for (int b = 0; b < bots; b++) order.add(b);
+		Collections.shuffle(order, rng);
+		int[] planted = new int[slots];
+		for (int i = 0; i < slots; i++) {
+			planted[i] = i < bots ? order.get(i) : rng.nextInt(bots);
+			if (i >= bots && planted[i] == planted[i - 1]) planted[i] = (planted[i] + 1) % bots;
+		}
+		StringBuilder text = new StringBuilder("BOTS: ");
+		for (int b = 0; b < bots; b++) text.append(b == 0 ? "" : ", ").append("Bot").append(b);
+		text.append("\nSLOTS: 1-").append(slots).append('\n');
+		for (int b = 0; b < bots; b++) {
+			StringBuilder line = new StringBuilder();
+			for (int i = 0; i < slots; i++) {
+				if (planted[i] != b && rng.nextDouble() < density) line.append(line.length() == 0 ? "" : ",").append(i + 1);
+			}
+			if (line.length() > 0) text.append("BOT_Bot").append(b).append("_NOT_IN: ").append(line).append('\n');
+		}
+		Path file = dir.resolve("planted.txt");
+		Files.writeString(file, text);
+		return file;
+	}
+
+	private static void assertValidSchedule(int[] assignment) {
+		assertFalse(Arrays.stream(assignment).anyMatch(b -> b == CSPFramework.UNASSIGNED), "incomplete schedule");
+		assertTrue(CSPFramework.checkNoBackToBack(assignment));
+		assertTrue(CSPFramework.checkMaintenanceBreak(assignment));
+		assertTrue(CSPFramework.checkMinimumCoverage(assignment));
+	}
+
+	@Test
+	void readInputBuildsTheModel(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("csp.txt");
+		Files.writeString(file, "BOTS: Alpha, B, C, D\nSLOTS: 7, 1-3\nBOT_C_NOT_IN: 7\nBOT_Alpha_NOT_IN: 1, 7\n");
+		CSPFramework.readInput(file.toString());
+
+		assertArrayEquals(new String[]{"Alpha", "B", "C", "D"}, CSPFramework.BOTS);
+		assertArrayEquals(new String[]{"Slot1", "Slot2", "Slot3", "Slot7"}, CSPFramework.SLOT_NAMES);
+		Domains domains = CSPFramework.initDomains();
+		assertEquals(List.of("B", "C", "D"), domains.names(0));
+		assertEquals(List.of("Alpha", "B", "C", "D"), domains.names(2));
+		assertEquals(List.of("B", "D"), domains.names(3));
+		assertEquals(2, domains.size(3));
+		assertFalse(CSPFramework.isAssignmentInstance());
+
+		int[] assignment = CSPFramework.emptyAssignment();
+		BacktrackingSearch.solve(assignment, domains);
+		assertValidSchedule(assignment);
+
+		Files.writeString(file, "BOTS: A, B\nSLOTS: 1-4\nBOT_C_NOT_IN: 4\n");
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> CSPFramework.readInput(file.toString()));
+		assertTrue(e.getMessage().contains("BOT_C_NOT_IN names an unknown bot"), e.getMessage());
+		Files.writeString(file, "BOTS: A, B\nSLOTS: 1-4\nBOT_B_NOT_IN: 5\n");
+		assertThrows(IllegalArgumentException.class, () -> CSPFramework.readInput(file.toString()));
+	}
+
+	@Test
+	void domainsSpanSeveralWords() {
+		Domains d = Domains.full(3, 130);
+		assertEquals(130, d.size(0));
+		assertTrue(d.remove(0, 64));
+		assertFalse(d.remove(0, 64));
+		assertEquals(65, d.next(0, 64));
+		d.clear(1);
+		d.add(1, 129);
+		assertEquals(129, d.first(1));
+		assertTrue(d.removeAll(2, 1));
+		assertEquals(129, d.size(2));
+		assertFalse(d.contains(2, 129));
+
+		long[] mask = d.emptyMask();
+		d.addTo(mask, 1);
+		assertFalse(d.isFull(mask));
+		d.addTo(mask, 2);
+		assertTrue(d.isFull(mask));
+		assertEquals(d, d.copy());
+	}
+
+	@Test
+	void trailRestoresPrunings() {
+		CSPFramework.configure(new String[]{"A", "B", "C"}, 5, List.of(Set.of(), Set.of(), Set.of(), Set.of(), Set.of()));
+		Domains domains = CSPFramework.initDomains();
+		List<Integer> restored = new ArrayList<>();
+		Trail trail = new Trail(domains, new Trail.Listener() {
+			@Override
+			public void removed(int slot, int word, long bits) {
+			}
+
+			@Override
+			public void restored(int slot, int word, long bits) {
+				restored.add(slot);
+			}
+		});
+
+		int start = trail.mark();
+		domains.remove(1, 0);
+		domains.remove(1, 2);
+		int afterPrune = trail.mark();
+		assertTrue(ArcConsistency.ac3(domains, new int[1], false));
+		assertEquals(List.of("A", "C"), domains.names(0));
+		assertTrue(trail.mark() > afterPrune);
+
+		trail.restore(afterPrune);
+		assertEquals(List.of("A", "B", "C"), domains.names(0));
+		assertEquals(List.of("B"), domains.names(1));
+		trail.restore(start);
+		assertEquals(CSPFramework.initDomains(), domains);
+		assertTrue(restored.contains(1) && restored.contains(0));
+
+		trail.detach();
+		domains.remove(0, 0);
+		assertEquals(start, trail.mark());
+	}
+
+	@Test
+	void ac2001PrunesLikeAc3(@TempDir Path dir) throws Exception {
+		for (long seed = 1; seed <= 20; seed++) {
+			CSPFramework.readInput(plantedInstance(dir, 200, 3, 0.6, seed).toString());
+			Domains byAc3 = CSPFramework.initDomains();
+			Domains byAc2001 = CSPFramework.initDomains();
+			int[] ac3 = new int[2], ac2001 = new int[2];
+			assertEquals(ArcConsistency.ac3(byAc3, ac3, false), ArcConsistency.ac2001(byAc2001, ac2001, false));
+			assertEquals(byAc3, byAc2001, "seed " + seed);
+			assertTrue(ac2001[1] <= ac3[1]);
+		}
+
+		// Slot2 = {B} forces B out of Slot1 and Slot3, which leaves Slot3 = {A} and so on
+		CSPFramework.configure(new String[]{"A", "B"}, 4,
+				List.of(Set.of(), Set.of("A"), Set.of(), Set.of()));
+		Domains domains = CSPFramework.initDomains();
+		assertTrue(ArcConsistency.ac2001(domains, new int[1], false));
+		assertEquals(List.of("A"), domains.names(0));
+		assertEquals(List.of("B"), domains.names(3));
+		CSPFramework.configure(new String[]{"A", "B"}, 3,
+				List.of(Set.of("B"), Set.of("B"), Set.of()));
+		assertFalse(ArcConsistency.ac2001(CSPFramework.initDomains(), new int[1], false));
+	}
+
+	@Test
+	void coveragePropagatorMatchesAndPrunes() {
+		// C and D may only work Slot4: each bot has a slot, but not one of its own
+		CSPFramework.configure(new String[]{"A", "B", "C", "D"}, 4, List.of(
+				Set.of("C", "D"), Set.of("C", "D"), Set.of("C", "D"), Set.of()));
+		int[] assignment = CSPFramework.emptyAssignment();
+		Domains domains = CSPFramework.initDomains();
+		assertTrue(CSPFramework.canSatisfyCoverage(assignment, domains));
+		assertFalse(new CoveragePropagator(assignment, domains).propagate());
+
+		// C may only work Slot3, so Slot3 = {C}; once A works Slot1, Slot2 and Slot4 are left for B and D
+		CSPFramework.configure(new String[]{"A", "B", "C", "D"}, 4, List.of(
+				Set.of("C"), Set.of("C"), Set.of(), Set.of("C")));
+		assignment = CSPFramework.emptyAssignment();
+		domains = CSPFramework.initDomains();
+		CoveragePropagator coverage = new CoveragePropagator(assignment, domains);
+		Trail trail = new Trail(domains, coverage);
+		assertTrue(coverage.propagate());
+		assertEquals(List.of("C"), domains.names(2));
+		int mark = trail.mark();
+		assignment[0] = 0;
+		coverage.assign(0, 0);
+		assertTrue(coverage.propagate());
+		assertEquals(List.of("B", "D"), domains.names(1));
+		assertEquals(List.of("B", "D"), domains.names(3));
+		assignment[1] = 3;
+		coverage.assign(1, 3);
+		assertTrue(coverage.propagate());
+		assertEquals(List.of("B"), domains.names(3));
+
+		trail.restore(mark);
+		coverage.unassign(1, 3);
+		assignment[1] = CSPFramework.UNASSIGNED;
+		coverage.unassign(0, 0);
+		assignment[0] = CSPFramework.UNASSIGNED;
+		assertEquals(List.of("A", "B", "D"), domains.names(3));
+		assertTrue(coverage.propagate());
+		assertEquals(6, coverage.prunings);            // 3 + 2 + 1, none made again
+	}
+
+	@Test
+	void assignmentInputKeepsTheAssignmentInstance() throws Exception {
+		CSPFramework.readInput("src/main/resources/input2.txt");
+		assertTrue(CSPFramework.isAssignmentInstance());
+		int[] assignment = CSPFramework.emptyAssignment();
+		assertEquals(4, BacktrackingSearch.solve(assignment, CSPFramework.initDomains()));
+		assertArrayEquals(new String[]{"C", "A", "B", "A"}, CSPFramework.names(assignment));
+	}
+
+	@Test
+	void uncoverableBotIsRefutedBeforeAnyAssignment() {
+		List<Set<String>> noC = new ArrayList<>();
+		for (int i = 0; i < 100; i++) noC.add(Set.of("C"));
+		CSPFramework.configure(new String[]{"A", "B", "C"}, 100, noC);
+		try {
+			for (boolean backjumping : new boolean[]{true, false}) {
+				BacktrackingSearch.backjumping = backjumping;
+				int[] assignment = CSPFramework.emptyAssignment();
+				assertEquals(0, BacktrackingSearch.solve(assignment, CSPFramework.initDomains()));
+				assertFalse(BacktrackingSearch.stopped());
+			}
+		} finally {
+			BacktrackingSearch.backjumping = false;
+		}
+	}
+
+	@Test
+	void solversScaleToTenThousandSlots(@TempDir Path dir) throws Exception {
+		for (int bots : new int[]{3, 100}) {
+			CSPFramework.readInput(plantedInstance(dir, 10_000, bots, 0.2, bots).toString());
+
+			int[] fc = CSPFramework.emptyAssignment();
+			BacktrackingSearch.solve(fc, CSPFramework.initDomains());
+			assertValidSchedule(fc);
+
+			int[] ac = CSPFramework.emptyAssignment();
+			ArcConsistency.solve(ac, CSPFramework.initDomains(), new int[1]);
+			assertValidSchedule(ac);
+		}
+	}
+
+	@Test
+	void macAndMinConflictsSolvePlantedInstances(@TempDir Path dir) throws Exception {
+		for (int bots : new int[]{3, 100}) {
+			CSPFramework.readInput(plantedInstance(dir, 2_000, bots, 0.2, bots).toString());
+			for (long seed : new long[]{0, 7}) {
+				int[] mac = CSPFramework.emptyAssignment();
+				assertTrue(new MacSearch(mac, CSPFramework.initDomains(), seed).solve());
+				assertValidSchedule(mac);
+			}
+			int[] local = CSPFramework.emptyAssignment();
+			assertTrue(new MinConflicts(local, CSPFramework.initDomains(), 7).solve(1_000_000));
+			assertValidSchedule(local);
+		}
+
+		// Slot2 = {B}: the fixed Slot1 = A is kept, and MAC proves the rest
+		CSPFramework.configure(new String[]{"A", "B"}, 3, List.of(Set.of(), Set.of("A"), Set.of()));
+		int[] assignment = CSPFramework.emptyAssignment();
+		assignment[0] = 0;
+		assertTrue(new MacSearch(assignment, CSPFramework.initDomains(), 0).solve());
+		assertArrayEquals(new String[]{"A", "B", "A"}, CSPFramework.names(assignment));
+		CSPFramework.configure(new String[]{"A", "B"}, 2, List.of(Set.of("B"), Set.of("B")));
+		assertFalse(new MacSearch(CSPFramework.emptyAssignment(), CSPFramework.initDomains(), 0).solve());
+	}
+
+	@Test
+	void minConflictsScalesToAHundredThousandSlots(@TempDir Path dir) throws Exception {
+		CSPFramework.readInput(plantedInstance(dir, 100_000, 3, 0.6, 3).toString());
+		int[] assignment = CSPFramework.emptyAssignment();
+		MinConflicts local = new MinConflicts(assignment, CSPFramework.initDomains(), 1);
+		assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertTrue(local.solve(1_000_000)));
+		assertTrue(local.steps() > 0);
+		assertEquals(0, local.conflicts());
+		assertValidSchedule(assignment);
+
+		// Fixed slots are kept; two fixed neighbours with one bot cannot be repaired
+		CSPFramework.configure(new String[]{"A", "B", "C"}, 4, List.of(Set.of(), Set.of(), Set.of(), Set.of()));
+		assignment = new int[]{0, CSPFramework.UNASSIGNED, 0, CSPFramework.UNASSIGNED};
+		assertTrue(new MinConflicts(assignment, CSPFramework.initDomains(), 2).solve(1_000));
+		assertValidSchedule(assignment);
+		assertEquals(0, assignment[0]);
+		assertEquals(0, assignment[2]);
+		assignment = new int[]{0, 0, CSPFramework.UNASSIGNED, CSPFramework.UNASSIGNED};
+		assertFalse(new MinConflicts(assignment, CSPFramework.initDomains(), 2).solve(1_000));
+	}
+
+	@Test
+	void portfolioReturnsTheFirstValidSchedule(@TempDir Path dir) throws Exception {
+		CSPFramework.readInput(plantedInstance(dir, 10_000, 100, 0.2, 3).toString());
+		PortfolioSolver.Result result = PortfolioSolver.solve(Duration.ofSeconds(60), 1);
+		assertTrue(result.solved());
+		assertValidSchedule(result.assignment);
+		assertEquals("<= 10^4 slots x 100 bots, 20% excluded", result.instanceClass);
+		assertTrue(PortfolioSolver.wins().get(result.instanceClass).get(result.winner) >= 1);
+
+		CSPFramework.readInput("src/main/resources/input2.txt");
+		result = PortfolioSolver.solve(Duration.ofSeconds(60), 1);
+		assertTrue(result.solved());
+		assertValidSchedule(result.assignment);
+		assertEquals("C", CSPFramework.name(result.assignment[0]));
+
+		// No schedule: a complete strategy proves it and the race ends at once,
+		// without waiting for Min-Conflicts to run out of time
+		CSPFramework.configure(new String[]{"A", "B"}, 2, List.of(Set.of("B"), Set.of("B")));
+		result = PortfolioSolver.solve(Duration.ofSeconds(60), 1);
+		assertFalse(result.solved());
+		assertTrue(result.nanos < Duration.ofSeconds(10).toNanos(), result.nanos + " ns");
+
+		List<Set<String>> noC = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) noC.add(Set.of("C"));
+		CSPFramework.configure(new String[]{"A", "B", "C"}, 10_000, noC);
+		result = PortfolioSolver.solve(Duration.ofSeconds(60), 1);
+		assertFalse(result.solved());
+		assertTrue(result.nanos < Duration.ofSeconds(10).toNanos(), result.nanos + " ns");
+
+		// Every strategy runs with its own non-zero seed, even in a race seeded 0
+		Set<Long> seeds = new HashSet<>();
+		for (PortfolioSolver.Strategy strategy : PortfolioSolver.Strategy.values()) {
+			long seed = PortfolioSolver.seedOf(strategy, 0);
+			assertNotEquals(0, seed);
+			assertTrue(seeds.add(seed), strategy.name());
+		}
+
+		// The seeded value order of AC-3 + Backtracking still finds a valid schedule
+		CSPFramework.readInput(plantedInstance(dir, 1_000, 10, 0.2, 5).toString());
+		int[] assignment = CSPFramework.emptyAssignment();
+		ArcConsistency.solve(assignment, CSPFramework.initDomains(), new int[1], PortfolioSolver.seedOf(
+				PortfolioSolver.Strategy.AC3_BACKTRACKING, 0));
+		assertValidSchedule(assignment);
+	}
+
+	/** Count the valid schedules that agree with the fixed slots by trying every assignment. */
+	private static int bruteForceCount(int[] fixed) {
+		int n = CSPFramework.NUM_SLOTS, d = CSPFramework.BOTS.length, count = 0;
+		int[] assignment = new int[n];
+		for (int code = 0; code < Math.pow(d, n); code++) {
+			for (int i = 0, c = code; i < n; i++, c /= d) assignment[i] = c % d;
+			boolean agrees = true;
+			for (int i = 0; i < n; i++) agrees &= fixed[i] == CSPFramework.UNASSIGNED || fixed[i] == assignment[i];
+			if (agrees && CSPFramework.checkNoBackToBack(assignment) && CSPFramework.checkMaintenanceBreak(assignment)
+					&& CSPFramework.checkMinimumCoverage(assignment)) count++;
+		}
+		return count;
+	}
+
+	@Test
+	void chainDPCountsSamplesAndEnumerates(@TempDir Path dir) throws Exception {
+		Random rng = new Random(5);
+		String[] bots = {"A", "B", "C", "D"};
+		for (int trial = 0; trial < 30; trial++) {
+			int n = 4 + rng.nextInt(4), d = 3 + trial % 2;
+			List<Set<String>> excluded = new ArrayList<>();
+			for (int i = 0; i < n; i++) {
+				Set<String> out = new HashSet<>();
+				for (int b = 0; b < d; b++) if (rng.nextDouble() < 0.25) out.add(bots[b]);
+				excluded.add(out);
+			}
+			CSPFramework.configure(Arrays.copyOf(bots, d), n, excluded);
+			int[] fixed = CSPFramework.emptyAssignment();
+			if (trial % 3 == 0) fixed[1] = 0;
+			ChainDP dp = new ChainDP(fixed, CSPFramework.initDomains());
+
+			int expected = bruteForceCount(fixed);
+			assertEquals(BigInteger.valueOf(expected), dp.count(), "trial " + trial);
+			Set<List<String>> seen = new HashSet<>();
+			dp.enumerate().forEach(schedule -> {
+				assertValidSchedule(schedule);
+				assertTrue(fixed[1] == CSPFramework.UNASSIGNED || schedule[1] == 0);
+				assertTrue(seen.add(List.of(CSPFramework.names(schedule))));
+			});
+			assertEquals(expected, seen.size());
+			int[] sample = dp.sample(rng);
+			if (expected == 0) {
+				assertNull(sample);
+				assertFalse(dp.solve(CSPFramework.emptyAssignment()));
+			} else {
+				assertTrue(seen.contains(List.of(CSPFramework.names(sample))));
+			}
+		}
+
+		// The assignment instance has 12 schedules; each is sampled about equally often
+		CSPFramework.reset();
+		ChainDP dp = new ChainDP(CSPFramework.emptyAssignment(), CSPFramework.initDomains());
+		assertEquals(BigInteger.valueOf(12), dp.count());
+		Map<List<String>, Integer> draws = new HashMap<>();
+		for (int k = 0; k < 12_000; k++) draws.merge(List.of(CSPFramework.names(dp.sample(rng))), 1, Integer::sum);
+		assertEquals(12, draws.size());
+		draws.values().forEach(times -> assertTrue(times > 850 && times < 1150, draws.toString()));
+
+		CSPFramework.readInput(plantedInstance(dir, 10_000, 3, 0.6, 9).toString());
+		dp = new ChainDP(CSPFramework.emptyAssignment(), CSPFramework.initDomains());
+		int[] assignment = CSPFramework.emptyAssignment();
+		assertTrue(dp.solve(assignment));
+		assertValidSchedule(assignment);
+		assertValidSchedule(dp.sample(rng));
+		assertTrue(dp.count().bitLength() > 1000);
+	}
+
+	@Test
+	void backjumpingAgreesWithChronologicalSearch() {
+		Random rng = new Random(8);
+		String[] bots = {"A", "B", "C", "D", "E", "F"};
+		try {
+			for (int trial = 0; trial < 300; trial++) {
+				int d = 3 + trial % 4, n = d + rng.nextInt(12);
+				List<Set<String>> excluded = new ArrayList<>();
+				for (int i = 0; i < n; i++) {
+					Set<String> out = new HashSet<>();
+					for (int b = 0; b < d; b++) if (rng.nextDouble() < 0.5) out.add(bots[b]);
+					excluded.add(out);
+				}
+				CSPFramework.configure(Arrays.copyOf(bots, d), n, excluded);
+				int[] fixed = CSPFramework.emptyAssignment();
+				if (trial % 3 == 0 && !CSPFramework.ALLOWED.isEmpty(0)) fixed[0] = CSPFramework.ALLOWED.first(0);
+				boolean expected = new ChainDP(fixed, CSPFramework.initDomains()).count().signum() > 0;
+
+				// Chronological, backjumping, and backjumping with a restart after every failure
+				for (int mode = 0; mode < 3; mode++) {
+					BacktrackingSearch.backjumping = mode > 0;
+					BacktrackingSearch.restarts = mode == 2;
+					BacktrackingSearch.firstRestart = 1;
+					int[] assignment = fixed.clone();
+					BacktrackingSearch.solve(assignment, CSPFramework.initDomains());
+					assertEquals(expected, PortfolioSolver.isSolution(assignment), "trial " + trial + ", mode " + mode);
+					if (expected) assertTrue(fixed[0] == CSPFramework.UNASSIGNED || assignment[0] == fixed[0]);
+				}
+			}
+		} finally {
+			BacktrackingSearch.backjumping = false;
+			BacktrackingSearch.restarts = false;
+			BacktrackingSearch.firstRestart = 100;
+		}
+
+		// A nogood made unit prunes its last literal, with the other literals' levels as the reason
+		CSPFramework.configure(new String[]{"A", "B", "C"}, 3, List.of(Set.of(), Set.of(), Set.of()));
+		int[] assignment = CSPFramework.emptyAssignment();
+		Domains domains = CSPFramework.initDomains();
+		CoveragePropagator coverage = new CoveragePropagator(assignment, domains);
+		ConflictSets conflicts = new ConflictSets(assignment, domains, coverage);
+		Trail trail = new Trail(domains, conflicts);
+		NogoodStore nogoods = new NogoodStore(assignment, domains, conflicts, 10);
+		nogoods.add(new int[]{0, 2}, new int[]{0, 1});
+		int mark = trail.mark();
+		assignment[0] = 0;
+		conflicts.assign(0, 1);
+		BitSet failure = new BitSet();
+		assertTrue(nogoods.assigned(0, 0, failure));
+		assertFalse(domains.contains(2, 1));
+		BitSet reason = new BitSet();
+		conflicts.addPrunings(2, reason);
+		assertEquals(BitSet.valueOf(new long[]{0b10}), reason);
+		trail.restore(mark);
+		assertTrue(domains.contains(2, 1));
+		trail.detach();
+	}
+
+	@Test
+	void reschedulingRepairsOnlyWhatTheChangeBreaks(@TempDir Path dir) throws Exception {
+		CSPFramework.readInput(plantedInstance(dir, 2_000, 3, 0.2, 4).toString());
+		int[] schedule = CSPFramework.emptyAssignment();
+		BacktrackingSearch.solve(schedule, CSPFramework.initDomains());
+		assertValidSchedule(schedule);
+
+		// The bot of a slot that any bot may work goes into maintenance there
+		int slot = 1_000;
+		while (CSPFramework.ALLOWED.size(slot) < 3) slot++;
+		Rescheduler.Delta delta = new Rescheduler.Delta();
+		delta.exclude(CSPFramework.BOTS[schedule[slot]], slot + 1);
+		Rescheduler.Result result = Rescheduler.reschedule(schedule, delta);
+		assertTrue(result.solved);
+		assertTrue(result.local);
+		assertValidSchedule(result.assignment);
+		assertNotEquals(schedule[slot], result.assignment[slot]);
+		assertTrue(result.changedSlots >= 1 && result.changedSlots <= 5, "changed " + result.changedSlots);
+		assertTrue(result.nanos > 0);
+
+		// Two slots added, one of them between existing slots
+		delta = new Rescheduler.Delta();
+		delta.addSlot(2001);
+		delta.addSlot(2500, "Bot0");
+		int[] before = result.assignment;
+		result = Rescheduler.reschedule(before, delta);
+		assertEquals(2_002, CSPFramework.NUM_SLOTS);
+		assertEquals(2, result.addedSlots);
+		assertTrue(result.local);
+		assertValidSchedule(result.assignment);
+		assertNotEquals(0, result.assignment[2_001]);
+		assertTrue(result.changedSlots <= 2);
+
+		// Lifting an exclusion keeps the schedule; an unknown bot changes nothing
+		CSPFramework.reset();
+		int[] assignment = {2, 0, 1, 0};
+		delta = new Rescheduler.Delta();
+		delta.allow("C", 4);
+		result = Rescheduler.reschedule(assignment, delta);
+		assertTrue(CSPFramework.ALLOWED.contains(3, 2));
+		assertArrayEquals(assignment, result.assignment);
+		assertEquals(0, result.changedSlots);
+		Rescheduler.Delta unknown = new Rescheduler.Delta();
+		unknown.exclude("D", 1);
+		assertThrows(IllegalArgumentException.class, () -> Rescheduler.reschedule(assignment, unknown));
+		assertTrue(CSPFramework.ALLOWED.contains(3, 2));
+
+		// Bot A out of every slot: no schedule, found before any repair move,
+		// and the old one is returned
+		delta = new Rescheduler.Delta();
+		delta.exclude("A", 1, 2, 3, 4);
+		result = Rescheduler.reschedule(assignment, delta);
+		assertFalse(result.solved);
+		assertFalse(result.local);
+		assertEquals(0, result.moves);
+		assertArrayEquals(assignment, result.assignment);
+	}
+}
@@ -0,0 +1,68 @@
+package com.iitj.ai.input;
+
+import com.iitj.ai.assignment1.problem1.BoardInput;
+import com.iitj.ai.assignment1.problem1.PuzzleState;
+import com.iitj.ai.assignment1.problem2.CSPInput;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLinesTests {
+
+	@Test
+	void chunkedBoardParseMatchesSerialParseAndReportsBadLines(@TempDir Path dir) throws Exception {
+		StringBuilder text = new StringBuilder("# instances\n");
+		for (int i = 0; i < 50_000; i++) {
+			if (i == 12_345) text.append("123;B46;75\n");        // line 12347: 8 cells
+			if (i == 40_000) text.append("113 B46 758\r\n");     // line 40003: repeated cell
+			text.append(i % 2 == 0 ? "123;B46;758\n" : "867 254 3B1\r\n");
+		}
+		text.append("12x456780");                                 // last line, no newline
+		Path file = dir.resolve("boards.txt");
+		Files.writeString(file, text);
+
+		BoardInput serial = BoardInput.read(file, 1);
+		BoardInput chunked = BoardInput.read(file, 8);
+		assertEquals(50_000, serial.size);
+		assertArrayEquals(serial.boards, chunked.boards);
+		assertArrayEquals(serial.lines, chunked.lines);
+		assertEquals(PuzzleState.pack(PuzzleState.parseState("867;254;3B1")), chunked.boards[1]);
+		assertEquals(3, chunked.lines[1]);
+
+		assertEquals(3, chunked.errors.size());
+		assertEquals("line 12347: a board needs 9 cells", chunked.error(0));
+		assertEquals("line 40003: a cell value appears twice", chunked.error(1));
+		assertEquals("line 50004: unexpected character", chunked.error(2));
+	}
+
+	@Test
+	void cspInputAcceptsRangesAndAnyBotExclusion(@TempDir Path dir) throws Exception {
+		Path file = dir.resolve("csp.txt");
+		Files.writeString(file, String.join("\n",
+				"# Security Bot Scheduling",
+				"BOTS: A, B, C",
+				"BOTS: Delta",
+				"SLOTS: 1-3, 4",
+				"BOT_C_NOT_IN: 4",
+				"BOT_Delta_NOT_IN: 1, 2",
+				"SLOTS: 7-5",
+				"SHIFTS: 3",
+				"BOTS: E,,F",
+				"SLOTS: 8, 1-999999999"));
+
+		CSPInput in = CSPInput.read(file, 1);
+		assertArrayEquals(new String[]{"A", "B", "C", "Delta"}, in.bots);
+		assertArrayEquals(new int[]{1, 2, 3, 4}, in.slots);
+		assertArrayEquals(new String[]{"C", "Delta", "Delta"}, in.excludedBot);
+		assertArrayEquals(new int[]{4, 1, 2}, in.excludedSlot);
+		assertEquals(4, in.errors.size());
+		assertEquals("line 7: expected a number or a range a-b", in.error(0));
+		assertEquals(8, in.errors.line(1));
+		assertEquals(CSPInput.EMPTY_NAME, in.errors.code(2));
+		assertEquals(CSPInput.BAD_NUMBER, in.errors.code(3));        // range too long, not expanded
+	}
+}
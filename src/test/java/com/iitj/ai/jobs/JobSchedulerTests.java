@@ -0,0 +1,69 @@
+package com.iitj.ai.jobs;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobSchedulerTests {
+
+	private static String hold(CountDownLatch started, CountDownLatch release) {
+		started.countDown();
+		try {
+			release.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return "done";
+	}
+
+	@Test
+	void fullQueueRejectsAtOnce() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try (JobScheduler scheduler = new JobScheduler(1, 1)) {
+			JobScheduler.Job<String> running = scheduler.submit(() -> hold(started, release),
+					Duration.ofSeconds(10), Enum::name);
+			started.await();
+			JobScheduler.Job<String> queued = scheduler.submit(() -> "queued", Duration.ofSeconds(10), Enum::name);
+			JobScheduler.Job<String> rejected = scheduler.submit(() -> "rejected", Duration.ofSeconds(10), Enum::name);
+
+			assertEquals("REJECTED", rejected.result().getNow(null));
+			assertEquals(1, scheduler.rejected());
+			assertEquals(1, scheduler.running());
+			release.countDown();
+			assertEquals("done", running.result().get(5, TimeUnit.SECONDS));
+			assertEquals("queued", queued.result().get(5, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	void queuedJobsExpireOrAreCancelledWithoutRunning() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		try (JobScheduler scheduler = new JobScheduler(1, 4)) {
+			scheduler.submit(() -> hold(started, release), Duration.ofSeconds(10), Enum::name);
+			started.await();
+			JobScheduler.Job<String> expiring = scheduler.submit(() -> "ran", Duration.ofMillis(50), Enum::name);
+			JobScheduler.Job<String> cancelled = scheduler.submit(() -> "ran", Duration.ofSeconds(10), Enum::name);
+			cancelled.cancel();
+
+			assertEquals("EXPIRED", expiring.result().get(5, TimeUnit.SECONDS));
+			assertEquals("CANCELLED", cancelled.result().get(5, TimeUnit.SECONDS));
+			assertEquals(1, scheduler.expired());
+			release.countDown();
+		}
+	}
+
+	@Test
+	void jobsSeeTheirDeadline() throws Exception {
+		try (JobScheduler scheduler = new JobScheduler(2, 0)) {
+			JobScheduler.Job<Deadline> job = scheduler.submit(Deadline::current, Duration.ofSeconds(10), why -> null);
+			assertSame(job.deadline(), job.result().get(5, TimeUnit.SECONDS));
+		}
+		assertNull(Deadline.current());
+	}
+}
@@ -0,0 +1,79 @@
+package com.iitj.ai.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SolutionCacheTests {
+
+	@Test
+	void evictsLeastRecentlyUsedEntriesOverTheByteBudget() {
+		SolutionCache<Integer, String> cache = new SolutionCache<>(300, 1, v -> 100);
+		for (int k = 0; k < 3; k++) cache.get(k, String::valueOf);
+		cache.getIfPresent(0);          // 1 is now the least recently used entry
+		cache.get(3, String::valueOf);
+
+		assertEquals(3, cache.size());
+		assertEquals(300, cache.bytes());
+		assertEquals(1, cache.evictions());
+		assertNull(cache.getIfPresent(1));
+		assertEquals("0", cache.getIfPresent(0));
+		assertEquals("3", cache.getIfPresent(3));
+	}
+
+	@Test
+	void concurrentMissesForOneKeyShareOneLoad() throws Exception {
+		SolutionCache<Integer, String> cache = new SolutionCache<>(1 << 20, 4, v -> 64);
+		AtomicInteger loads = new AtomicInteger();
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			results.add(pool.submit(() -> cache.get(7, k -> {
+				loads.incrementAndGet();
+				loading.countDown();
+				await(release);
+				return "seven";
+			})));
+			loading.await();
+			for (int i = 0; i < 3; i++) {
+				results.add(pool.submit(() -> cache.get(7, k -> {
+					loads.incrementAndGet();
+					return "again";
+				})));
+			}
+			while (cache.joins() < 3) Thread.onSpinWait();
+			release.countDown();
+			for (Future<String> f : results) assertEquals("seven", f.get(5, TimeUnit.SECONDS));
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(1, loads.get());
+		assertEquals(1, cache.misses());
+		assertEquals(3, cache.joins());
+	}
+
+	@Test
+	void failedLoadsAreNotCached() {
+		SolutionCache<Integer, String> cache = new SolutionCache<>(1 << 20, 4, v -> 64);
+		assertThrows(IllegalStateException.class, () -> cache.get(1, k -> {
+			throw new IllegalStateException("solver failed");
+		}));
+		assertEquals(0, cache.size());
+		assertEquals("1", cache.get(1, String::valueOf));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
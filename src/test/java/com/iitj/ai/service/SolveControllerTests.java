@@ -0,0 +1,104 @@
+package com.iitj.ai.service;
+
+import com.iitj.ai.assignment1.problem1.SearchResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SolveControllerTests {
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private SolveService service;
+
+	private final HttpClient http = HttpClient.newHttpClient();
+
+	private HttpResponse<String> get(String query) throws Exception {
+		return get("/solve", query);
+	}
+
+	private HttpResponse<String> get(String path, String query) throws Exception {
+		URI uri = URI.create("http://127.0.0.1:" + port + path + "?" + query);
+		return http.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+	}
+
+	@Test
+	void repeatedRequestIsAnsweredFromTheCache() throws Exception {
+		service.cache().clear();
+		HttpResponse<String> first = get("board=123;B46;758");
+		HttpResponse<String> second = get("board=123;B46;758");
+
+		assertEquals(200, first.statusCode());
+		assertTrue(first.body().contains("\"pathLength\":3"), first.body());
+		assertTrue(first.body().contains("\"cached\":false"), first.body());
+		assertTrue(second.body().contains("\"cached\":true"), second.body());
+	}
+
+	@Test
+	void relabelledGoalSharesTheCacheEntry() {
+		// Swapping tiles 1 and 2 in both boards is the same problem
+		SolveService.Solution a = service.solve("213;B46;758", "213;456;78B", "astar-h1");
+		SolveService.Solution b = service.solve("123;B46;758", null, "astar-h1");
+
+		assertEquals(3, a.result.pathLength);
+		assertTrue(b.cached);
+		assertSame(a.result, b.result);
+	}
+
+	@Test
+	void expiredDeadlineReturnsPartialResultThatIsNotCached() throws Exception {
+		HttpResponse<String> first = get("board=867;254;3B1&algorithm=bfs&timeoutMs=1");
+		HttpResponse<String> second = get("board=867;254;3B1&algorithm=bfs&timeoutMs=1");
+
+		assertEquals(200, first.statusCode());
+		assertTrue(first.body().contains("\"status\":\"TIMED_OUT\""), first.body());
+		assertTrue(second.body().contains("\"cached\":false"), second.body());
+	}
+
+	@Test
+	void joiningALoadWithAnEarlierDeadlineStillGetsTheLongerTimeout() throws Exception {
+		service.cache().clear();
+		Thread shortCaller = new Thread(() -> service.solve("867;254;3B1", null, "bfs", Duration.ofMillis(20)));
+		shortCaller.start();
+		Thread.sleep(5);
+		SolveService.Solution solution = service.solve("867;254;3B1", null, "bfs", Duration.ofSeconds(60));
+		shortCaller.join();
+
+		assertEquals(SearchResult.Status.SOLVED, solution.result.status);
+		assertEquals(31, solution.result.pathLength);
+	}
+
+	@Test
+	void policyGivesTheNextMoveWithoutSearching() throws Exception {
+		HttpResponse<String> next = get("/solve/next", "board=123;B46;758");
+		assertEquals(200, next.statusCode());
+		assertTrue(next.body().contains("\"move\":\"Right\""), next.body());
+		assertNull(service.nextMove("123;456;78B", null));
+		assertEquals(400, get("/solve/next", "board=213;456;78B").statusCode());
+
+		SolveService.Solution s = service.solve("867;254;3B1", null, "policy");
+		assertEquals(31, s.result.pathLength);
+		assertEquals(0, s.result.expanded);
+	}
+
+	@Test
+	void malformedInputIsRejected() throws Exception {
+		assertEquals(400, get("board=123;456;7").statusCode());
+		assertEquals(400, get("board=113;B46;758").statusCode());
+		assertEquals(400, get("board=123;B46;758&goal=B23;146;758").statusCode());
+		assertEquals(400, get("board=123;B46;758&algorithm=nope").statusCode());
+		assertEquals(400, get("board=123;B46;758&timeoutMs=0").statusCode());
+	}
+}
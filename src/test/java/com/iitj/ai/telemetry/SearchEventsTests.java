@@ -0,0 +1,70 @@
+package com.iitj.ai.telemetry;
+
+import com.iitj.ai.assignment1.problem1.AStarSearch;
+import com.iitj.ai.assignment1.problem1.AdversarialSearch;
+import com.iitj.ai.assignment1.problem1.BFSSearch;
+import com.iitj.ai.assignment1.problem1.IDAStarSearch;
+import com.iitj.ai.assignment1.problem1.PuzzleState;
+import com.iitj.ai.assignment1.problem1.SearchResult;
+import com.iitj.ai.assignment1.problem1.SimulatedAnnealingSearch;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchEventsTests {
+
+	private static final String[] EVENTS = {"com.iitj.ai.Search", "com.iitj.ai.NodeExpansion",
+			"com.iitj.ai.IDAStarIteration", "com.iitj.ai.AnnealingProgress", "com.iitj.ai.AlphaBetaDepth"};
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void solversEmitPhaseAndSampledExpansionEvents() throws Exception {
+		int[] hard = PuzzleState.parseState("867;254;3B1");
+		int[] sample = PuzzleState.parseState("123;B46;758");
+		SearchResult bfs;
+		IDAStarSearch.Result ida;
+		Path file = dir.resolve("search.jfr");
+		try (Recording recording = new Recording()) {
+			for (String name : EVENTS) recording.enable(name);
+			recording.start();
+			bfs = new BFSSearch().solve(hard);
+			new AStarSearch(false).solve(hard);
+			ida = new IDAStarSearch(false).solve(hard);
+			new SimulatedAnnealingSearch().solve(sample);
+			new AdversarialSearch(AdversarialSearch.Variant.ALPHA_BETA, 4).solve(sample);
+			recording.stop();
+			recording.dump(file);
+		}
+
+		Map<String, List<RecordedEvent>> byType = RecordingFile.readAllEvents(file).stream()
+				.collect(Collectors.groupingBy(e -> e.getEventType().getName()));
+		for (String name : EVENTS) assertTrue(byType.containsKey(name), name);
+
+		assertEquals(5, byType.get("com.iitj.ai.Search").size());
+		RecordedEvent bfsEvent = byType.get("com.iitj.ai.Search").get(0);
+		assertEquals("Breadth-First Search (BFS)", bfsEvent.getString("algorithm"));
+		assertEquals(bfs.expanded, bfsEvent.getLong("expanded"));
+		assertEquals(bfs.pathLength, bfsEvent.getInt("pathLength"));
+
+		long bfsSamples = byType.get("com.iitj.ai.NodeExpansion").stream()
+				.filter(e -> e.getString("search").equals("BFS")).count();
+		assertEquals(bfs.expanded / SearchEvents.EXPANSION_SAMPLE, bfsSamples);
+
+		List<RecordedEvent> iterations = byType.get("com.iitj.ai.IDAStarIteration");
+		assertEquals(ida.iterations, iterations.size());
+		assertEquals(-1, iterations.get(iterations.size() - 1).getInt("nextThreshold"));
+		assertEquals(ida.expanded, iterations.stream().mapToLong(e -> e.getLong("expanded")).sum());
+
+		assertEquals(4, byType.get("com.iitj.ai.AlphaBetaDepth").get(0).getInt("depth"));
+	}
+}
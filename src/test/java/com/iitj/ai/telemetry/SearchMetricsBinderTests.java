@@ -0,0 +1,83 @@
+package com.iitj.ai.telemetry;
+
+import com.iitj.ai.assignment1.problem1.AStarSearch;
+import com.iitj.ai.assignment1.problem1.IDAStarSearch;
+import com.iitj.ai.assignment1.problem1.PuzzleState;
+import com.iitj.ai.assignment1.problem1.SearchResult;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class SearchMetricsBinderTests {
+
+	private static final int[] SAMPLE = PuzzleState.parseState("123;B46;758");
+
+	@Autowired
+	private MeterRegistry registry;
+
+	private double counter(String name, String algorithm, String heuristic) {
+		FunctionCounter c = registry.find(name).tag("algorithm", algorithm).tag("heuristic", heuristic)
+				.functionCounter();
+		assertNotNull(c, name);
+		return c.count();
+	}
+
+	@Test
+	void solvesAreCountedPerAlgorithmAndHeuristic() {
+		AStarSearch solver = new AStarSearch(false);
+		SearchMetrics totals = SearchTelemetry.search(solver.name(), solver.heuristic());
+		long solvesBefore = totals.solves();
+		double expandedBefore = counter("search.expansions", solver.name(), solver.heuristic());
+
+		SearchResult first = solver.solve(SAMPLE);
+		SearchResult second = solver.solve(SAMPLE);
+
+		assertEquals(expandedBefore + first.expanded + second.expanded,
+				counter("search.expansions", solver.name(), solver.heuristic()));
+		FunctionTimer timer = registry.find("search.solve").tag("algorithm", solver.name())
+				.tag("heuristic", solver.heuristic()).functionTimer();
+		assertNotNull(timer);
+		assertEquals(solvesBefore + 2, timer.count());
+		assertTrue(timer.totalTime(TimeUnit.NANOSECONDS) >= first.nanos + second.nanos);
+		assertTrue(registry.get("search.open.peak").tag("algorithm", solver.name()).gauge().value() > 0);
+	}
+
+	@Test
+	void idaStarFlushesEveryIteration() {
+		IDAStarSearch solver = new IDAStarSearch(true);
+		SearchMetrics totals = SearchTelemetry.search(solver.name(), solver.heuristic());
+		long expandedBefore = totals.expansions();
+		long generatedBefore = totals.generated();
+		long duplicatesBefore = totals.duplicates();
+		long evaluationsBefore = totals.heuristicEvaluations();
+
+		IDAStarSearch.Result result = solver.solve(PuzzleState.parseState("867;254;3B1"));
+
+		assertTrue(result.iterations > 1);
+		assertEquals(expandedBefore + result.expanded, totals.expansions());
+		assertEquals(generatedBefore + result.generated, totals.generated());
+		// Every successor is either a repeat on the path or gets a heuristic value (+1 for the root)
+		assertEquals(result.generated + 1, totals.duplicates() - duplicatesBefore
+				+ totals.heuristicEvaluations() - evaluationsBefore);
+	}
+
+	@Test
+	void entriesCreatedAfterStartupAreRegistered() {
+		SearchMetrics late = SearchTelemetry.csp("Test Solver", "");
+		late.addCsp(5, 3, 2);
+		late.finish(0, 1_000);
+
+		assertEquals(5, counter("csp.assignments", "Test Solver", "none"));
+		assertEquals(3, counter("csp.prunings", "Test Solver", "none"));
+		assertEquals(2, counter("csp.revisions", "Test Solver", "none"));
+		assertNull(registry.find("search.expansions").tag("algorithm", "Test Solver").meter());
+	}
+}